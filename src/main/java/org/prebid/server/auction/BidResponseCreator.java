@@ -61,6 +61,7 @@ import org.prebid.server.identity.IdGenerator;
 import org.prebid.server.identity.IdGeneratorType;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.MetricName;
 import org.prebid.server.proto.openrtb.ext.request.ExtDealLine;
 import org.prebid.server.proto.openrtb.ext.request.ExtImp;
 import org.prebid.server.proto.openrtb.ext.request.ExtImpAuctionEnvironment;
@@ -186,6 +187,7 @@ public class BidResponseCreator {
                                BidRequestCacheInfo cacheInfo,
                                Map<String, MultiBidConfig> bidderToMultiBids) {
 
+        final long startNanos = System.nanoTime();
         final List<AuctionParticipation> auctionParticipations = auctionContext.getAuctionParticipations();
         final List<Imp> imps = auctionContext.getBidRequest().getImp();
         final EventsContext eventsContext = createEventsContext(auctionContext);
@@ -214,7 +216,10 @@ public class BidResponseCreator {
                                 videoStoredDataResult,
                                 eventsContext))
 
-                        .map(bidResponse -> populateSeatNonBid(auctionContext, bidResponse)));
+                        .map(bidResponse -> populateSeatNonBid(auctionContext, bidResponse)))
+
+                .onComplete(ignored -> auctionContext.getStageTimings()
+                        .record(MetricName.response_creation, startNanos));
     }
 
     private List<BidderResponse> updateBids(List<BidderResponse> bidderResponses,
@@ -882,7 +887,9 @@ public class BidResponseCreator {
                 .shouldCacheVideoBids(cacheInfo.isShouldCacheVideoBids())
                 .build();
 
-        return cacheService.cacheBidsOpenrtb(bidsValidToBeCached, auctionContext, cacheContext, eventsContext)
+        return auctionContext.getStageTimings()
+                .measure(MetricName.prebid_cache, () -> cacheService.cacheBidsOpenrtb(
+                        bidsValidToBeCached, auctionContext, cacheContext, eventsContext))
                 .map(cacheResult -> addNotCachedBids(cacheResult, bidsToCache));
     }
 
@@ -0,0 +1,200 @@
+package org.prebid.server.auction;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Dooh;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.User;
+import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Fills {@link BidRequest} with values of the default request.
+ * <p>
+ * Overlay is compiled once from the default request and contains only fields set there. Result equals to JSON merge
+ * of the request over the default request: fields absent in the request are taken from the default request as is,
+ * and objects present in both of them get only missing fields filled from the default object, which is converted
+ * to JSON tree once.
+ */
+class DefaultBidRequestOverlay {
+
+    private static final List<Field<?>> FIELDS = List.of(
+            Field.leaf("id", BidRequest::getId, BidRequest.BidRequestBuilder::id),
+            Field.leaf("imp", BidRequest::getImp, BidRequest.BidRequestBuilder::imp),
+            Field.object("site", BidRequest::getSite, BidRequest.BidRequestBuilder::site, Site.class),
+            Field.object("app", BidRequest::getApp, BidRequest.BidRequestBuilder::app, App.class),
+            Field.object("dooh", BidRequest::getDooh, BidRequest.BidRequestBuilder::dooh, Dooh.class),
+            Field.object("device", BidRequest::getDevice, BidRequest.BidRequestBuilder::device, Device.class),
+            Field.object("user", BidRequest::getUser, BidRequest.BidRequestBuilder::user, User.class),
+            Field.leaf("test", BidRequest::getTest, BidRequest.BidRequestBuilder::test),
+            Field.leaf("at", BidRequest::getAt, BidRequest.BidRequestBuilder::at),
+            Field.leaf("tmax", BidRequest::getTmax, BidRequest.BidRequestBuilder::tmax),
+            Field.leaf("wseat", BidRequest::getWseat, BidRequest.BidRequestBuilder::wseat),
+            Field.leaf("bseat", BidRequest::getBseat, BidRequest.BidRequestBuilder::bseat),
+            Field.leaf("allimps", BidRequest::getAllimps, BidRequest.BidRequestBuilder::allimps),
+            Field.leaf("cur", BidRequest::getCur, BidRequest.BidRequestBuilder::cur),
+            Field.leaf("wlang", BidRequest::getWlang, BidRequest.BidRequestBuilder::wlang),
+            Field.leaf("wlangb", BidRequest::getWlangb, BidRequest.BidRequestBuilder::wlangb),
+            Field.leaf("bcat", BidRequest::getBcat, BidRequest.BidRequestBuilder::bcat),
+            Field.leaf("cattax", BidRequest::getCattax, BidRequest.BidRequestBuilder::cattax),
+            Field.leaf("badv", BidRequest::getBadv, BidRequest.BidRequestBuilder::badv),
+            Field.leaf("bapp", BidRequest::getBapp, BidRequest.BidRequestBuilder::bapp),
+            Field.object("source", BidRequest::getSource, BidRequest.BidRequestBuilder::source, Source.class),
+            Field.object("regs", BidRequest::getRegs, BidRequest.BidRequestBuilder::regs, Regs.class),
+            Field.object("ext", BidRequest::getExt, BidRequest.BidRequestBuilder::ext, ExtRequest.class));
+
+    private final JacksonMapper mapper;
+    private final List<FieldOverlay<?>> overlays;
+
+    DefaultBidRequestOverlay(BidRequest defaultBidRequest, JacksonMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper);
+        this.overlays = defaultBidRequest != null
+                ? FIELDS.stream()
+                .<FieldOverlay<?>>map(field -> field.overlayFrom(defaultBidRequest, mapper))
+                .filter(Objects::nonNull)
+                .toList()
+                : List.of();
+    }
+
+    BidRequest apply(BidRequest bidRequest) {
+        if (bidRequest == null || overlays.isEmpty()) {
+            return bidRequest;
+        }
+
+        BidRequest.BidRequestBuilder builder = null;
+        for (FieldOverlay<?> overlay : overlays) {
+            if (overlay.isApplicableTo(bidRequest)) {
+                builder = builder != null ? builder : bidRequest.toBuilder();
+                overlay.apply(bidRequest, builder, mapper);
+            }
+        }
+
+        return builder != null ? builder.build() : bidRequest;
+    }
+
+    private static class Field<T> {
+
+        private final String name;
+        private final Function<BidRequest, T> getter;
+        private final BiConsumer<BidRequest.BidRequestBuilder, T> setter;
+        private final Class<T> objectClass;
+
+        private Field(String name,
+                      Function<BidRequest, T> getter,
+                      BiConsumer<BidRequest.BidRequestBuilder, T> setter,
+                      Class<T> objectClass) {
+
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.objectClass = objectClass;
+        }
+
+        /**
+         * Scalars and arrays of the request replace default values entirely.
+         */
+        static <T> Field<T> leaf(String name,
+                                 Function<BidRequest, T> getter,
+                                 BiConsumer<BidRequest.BidRequestBuilder, T> setter) {
+
+            return new Field<>(name, getter, setter, null);
+        }
+
+        /**
+         * Objects of the request are merged with default values.
+         */
+        static <T> Field<T> object(String name,
+                                   Function<BidRequest, T> getter,
+                                   BiConsumer<BidRequest.BidRequestBuilder, T> setter,
+                                   Class<T> objectClass) {
+
+            return new Field<>(name, getter, setter, objectClass);
+        }
+
+        FieldOverlay<T> overlayFrom(BidRequest defaultBidRequest, JacksonMapper mapper) {
+            final T defaultValue = getter.apply(defaultBidRequest);
+            if (defaultValue == null) {
+                return null;
+            }
+
+            final ObjectNode defaultTree = objectClass != null ? mapper.mapper().valueToTree(defaultValue) : null;
+            return new FieldOverlay<>(this, defaultValue, defaultTree);
+        }
+    }
+
+    private static class FieldOverlay<T> {
+
+        private final Field<T> field;
+        private final T defaultValue;
+        private final ObjectNode defaultTree;
+
+        private FieldOverlay(Field<T> field, T defaultValue, ObjectNode defaultTree) {
+            this.field = field;
+            this.defaultValue = defaultValue;
+            this.defaultTree = defaultTree;
+        }
+
+        boolean isApplicableTo(BidRequest bidRequest) {
+            return field.objectClass != null || field.getter.apply(bidRequest) == null;
+        }
+
+        void apply(BidRequest bidRequest, BidRequest.BidRequestBuilder builder, JacksonMapper mapper) {
+            final T value = field.getter.apply(bidRequest);
+            field.setter.accept(builder, value == null ? defaultValue : fillMissing(value, mapper));
+        }
+
+        private T fillMissing(T value, JacksonMapper mapper) {
+            final ObjectNode tree = mapper.mapper().valueToTree(value);
+            if (!fillMissing(tree, defaultTree)) {
+                return value;
+            }
+
+            try {
+                return mapper.mapper().treeToValue(tree, field.objectClass);
+            } catch (JsonProcessingException e) {
+                throw new InvalidRequestException("Can't convert merging result class " + field.objectClass.getName());
+            }
+        }
+
+        /**
+         * Sets fields of the default tree which are absent in the target tree. Default nodes are not copied,
+         * as resulting tree is only read while converted back to object.
+         * <p>
+         * Returns true if target tree was changed.
+         */
+        private static boolean fillMissing(ObjectNode tree, ObjectNode defaultTree) {
+            boolean changed = false;
+
+            final Iterator<Map.Entry<String, JsonNode>> defaultFields = defaultTree.fields();
+            while (defaultFields.hasNext()) {
+                final Map.Entry<String, JsonNode> defaultField = defaultFields.next();
+                final String name = defaultField.getKey();
+                final JsonNode defaultNode = defaultField.getValue();
+                final JsonNode node = tree.get(name);
+
+                if (node == null) {
+                    tree.set(name, defaultNode);
+                    changed = true;
+                } else if (node.isObject() && defaultNode.isObject()) {
+                    changed |= fillMissing((ObjectNode) node, (ObjectNode) defaultNode);
+                }
+            }
+
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package org.prebid.server.auction;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iab.openrtb.response.Bid;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.BidRejectionReason;
+import org.prebid.server.auction.model.BidRejectionTracker;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderError;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.AccountAuctionConfig;
+import org.prebid.server.settings.model.AccountEarlyCompletionConfig;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Requests bids from auction participants and waits for their responses, completing auction before the slowest
+ * bidders answer if account has early completion enabled.
+ * <p>
+ * Auction is completed early when all bidders required by account have answered and bids received so far bring at
+ * least configured fraction of expected auction revenue, or when soft deadline passes and at least one bidder
+ * has answered. Expected revenue of a bidder is the moving average of revenue of its previous responses, bidders
+ * having no history yet are expected to bring the average of expected revenues of other bidders.
+ * <p>
+ * Bidders not answered by that moment are reported as timed out. Their calls are cancelled: bids requester is told
+ * so to not proceed with further steps, and responses are not merged into auction when they arrive. Revenue of late
+ * responses is still recorded, so bidders answering late are not left with no history.
+ * <p>
+ * Expected revenues are tracked per account, as bidders perform differently for different publishers.
+ */
+public class EarlyAuctionCompletionService {
+
+    // weight of the latest response revenue in the average
+    private static final double REVENUE_AVERAGE_WEIGHT = 0.125;
+
+    private static final String CANCELLED_MESSAGE = "Timed out: auction was completed before bidder responded";
+
+    // accounts having early completion enabled are tracked, default account config can enable it for any account
+    private static final int MAX_ACCOUNTS = 10_000;
+
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final Map<String, Map<String, Double>> accountToBidderRevenues;
+
+    public EarlyAuctionCompletionService(Vertx vertx, Metrics metrics, Clock clock) {
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        accountToBidderRevenues = Caffeine.newBuilder()
+                .maximumSize(MAX_ACCOUNTS)
+                .<String, Map<String, Double>>build()
+                .asMap();
+    }
+
+    /**
+     * Requests bids from all auction participants.
+     * <p>
+     * Bids requester is given a cancellation check of the participant, which becomes true once auction is completed
+     * without it. Requester should not proceed with further steps of the call when it is true.
+     */
+    public Future<List<AuctionParticipation>> requestBids(
+            AuctionContext auctionContext,
+            BidderAliases aliases,
+            BiFunction<AuctionParticipation, BooleanSupplier, Future<AuctionParticipation>> bidsRequester) {
+
+        final List<AuctionParticipation> auctionParticipations = auctionContext.getAuctionParticipations();
+        final AccountEarlyCompletionConfig config = earlyCompletionConfig(auctionContext.getAccount());
+        if (config == null) {
+            return CompositeFuture.join(auctionParticipations.stream()
+                            .map(auctionParticipation -> bidsRequester.apply(auctionParticipation, () -> false))
+                            .collect(Collectors.toCollection(ArrayList::new)))
+                    .map(CompositeFuture::<AuctionParticipation>list);
+        }
+
+        return new Completion(auctionContext, config, aliases).start(bidsRequester);
+    }
+
+    private static AccountEarlyCompletionConfig earlyCompletionConfig(Account account) {
+        return Optional.ofNullable(account)
+                .map(Account::getAuction)
+                .map(AccountAuctionConfig::getEarlyCompletion)
+                .filter(config -> BooleanUtils.isTrue(config.getEnabled()))
+                .orElse(null);
+    }
+
+    private Map<String, Double> bidderRevenues(Account account) {
+        return accountToBidderRevenues.computeIfAbsent(account.getId(), ignored -> new ConcurrentHashMap<>());
+    }
+
+    private static double revenue(BidderResponse bidderResponse) {
+        final BidderSeatBid seatBid = bidderResponse != null ? bidderResponse.getSeatBid() : null;
+        final List<BidderBid> bids = seatBid != null ? seatBid.getBids() : null;
+        if (bids == null) {
+            return 0;
+        }
+
+        return bids.stream()
+                .map(BidderBid::getBid)
+                .map(Bid::getPrice)
+                .filter(Objects::nonNull)
+                .mapToDouble(BigDecimal::doubleValue)
+                .sum();
+    }
+
+    private static void recordRevenue(Map<String, Double> bidderToAverageRevenue, String bidder, double revenue) {
+        bidderToAverageRevenue.merge(bidder, revenue,
+                (average, latest) -> average + (latest - average) * REVENUE_AVERAGE_WEIGHT);
+    }
+
+    /**
+     * Tracks responses of single auction.
+     * <p>
+     * Responses and soft deadline are handled on the Vert.x context auction was started on, whatever thread they
+     * arrive on, so no synchronization is needed.
+     */
+    private class Completion {
+
+        private final AuctionContext auctionContext;
+        private final AccountEarlyCompletionConfig config;
+        private final BidderAliases aliases;
+        private final List<AuctionParticipation> auctionParticipations;
+        private final AuctionParticipation[] results;
+        private final Map<String, Double> bidderToAverageRevenue;
+        private final Promise<List<AuctionParticipation>> promise = Promise.promise();
+
+        private final boolean[] required;
+        private final double[] expectedRevenues;
+        private final double totalExpectedRevenue;
+
+        private int pending;
+        private int pendingRequired;
+        private int answered;
+        private double receivedRevenue;
+        private Throwable failure;
+        private boolean started;
+        private boolean deadlinePassed;
+        private Long timerId;
+        private Context context;
+
+        // read by bidder calls possibly running on other threads
+        private volatile boolean completed;
+
+        Completion(AuctionContext auctionContext, AccountEarlyCompletionConfig config, BidderAliases aliases) {
+            this.auctionContext = auctionContext;
+            this.config = config;
+            this.aliases = aliases;
+            this.auctionParticipations = auctionContext.getAuctionParticipations();
+            this.bidderToAverageRevenue = bidderRevenues(auctionContext.getAccount());
+
+            final int size = auctionParticipations.size();
+            results = new AuctionParticipation[size];
+            required = new boolean[size];
+            expectedRevenues = new double[size];
+
+            final List<String> requiredBidders = ListUtils.emptyIfNull(config.getRequiredBidders());
+            final double unknownBidderRevenue = unknownBidderRevenue();
+            double expectedRevenuesSum = 0;
+            for (int i = 0; i < size; i++) {
+                final String bidder = auctionParticipations.get(i).getBidder();
+                final String resolvedBidder = aliases.resolveBidder(bidder);
+
+                required[i] = requiredBidders.contains(bidder) || requiredBidders.contains(resolvedBidder);
+                expectedRevenues[i] = bidderToAverageRevenue.getOrDefault(resolvedBidder, unknownBidderRevenue);
+                expectedRevenuesSum += expectedRevenues[i];
+                pendingRequired += required[i] ? 1 : 0;
+            }
+
+            pending = size;
+            totalExpectedRevenue = expectedRevenuesSum;
+        }
+
+        /**
+         * Returns revenue expected from bidder having no history within the account, so it is not considered
+         * worthless, and auction is not completed before it had a chance to answer.
+         */
+        private double unknownBidderRevenue() {
+            return bidderToAverageRevenue.values().stream()
+                    .mapToDouble(Double::doubleValue)
+                    .average()
+                    .orElse(0);
+        }
+
+        Future<List<AuctionParticipation>> start(
+                BiFunction<AuctionParticipation, BooleanSupplier, Future<AuctionParticipation>> bidsRequester) {
+
+            context = Vertx.currentContext();
+            for (int i = 0; i < auctionParticipations.size(); i++) {
+                final int index = i;
+                bidsRequester.apply(auctionParticipations.get(i), () -> isCancelled(index))
+                        .onComplete(result -> runOnContext(() -> onResponse(index, result)));
+            }
+
+            started = true;
+            scheduleSoftDeadline();
+            checkCompletion();
+
+            return promise.future();
+        }
+
+        private void scheduleSoftDeadline() {
+            final Long softDeadlineMs = config.getSoftDeadlineMs();
+            if (softDeadlineMs == null || promise.future().isComplete()) {
+                return;
+            }
+
+            final long delay = auctionContext.getStartTime() + softDeadlineMs - clock.millis();
+            if (delay < 1) {
+                deadlinePassed = true;
+            } else {
+                timerId = vertx.setTimer(delay, ignored -> runOnContext(this::onSoftDeadline));
+            }
+        }
+
+        private void runOnContext(Runnable action) {
+            if (context != null && context != Vertx.currentContext()) {
+                context.runOnContext(ignored -> action.run());
+            } else {
+                action.run();
+            }
+        }
+
+        /**
+         * Returns true if auction was completed without the participant, so its call should be abandoned.
+         * <p>
+         * Results are not changed after completion, so reading them after volatile flag is safe.
+         */
+        private boolean isCancelled(int index) {
+            return completed && results[index] == null;
+        }
+
+        private void onSoftDeadline() {
+            timerId = null;
+            deadlinePassed = true;
+            checkCompletion();
+        }
+
+        private void onResponse(int index, AsyncResult<AuctionParticipation> result) {
+            final AuctionParticipation auctionParticipation = result.succeeded() ? result.result() : null;
+            final double revenue = auctionParticipation != null
+                    ? revenue(auctionParticipation.getBidderResponse())
+                    : 0;
+            if (auctionParticipation != null) {
+                recordRevenue(bidderToAverageRevenue, aliases.resolveBidder(auctionParticipation.getBidder()), revenue);
+            }
+
+            // late response only contributes to revenue history
+            if (promise.future().isComplete()) {
+                return;
+            }
+
+            pending--;
+            pendingRequired -= required[index] ? 1 : 0;
+
+            if (auctionParticipation != null) {
+                results[index] = auctionParticipation;
+                answered++;
+                receivedRevenue += revenue;
+            } else if (failure == null) {
+                failure = result.cause();
+            }
+
+            checkCompletion();
+        }
+
+        private void checkCompletion() {
+            if (!started || promise.future().isComplete()) {
+                return;
+            }
+
+            if (pending == 0 || (answered > 0 && (deadlinePassed || isEnoughAnswered()))) {
+                complete();
+            }
+        }
+
+        private boolean isEnoughAnswered() {
+            final Double revenueFraction = config.getRevenueFraction();
+            if (CollectionUtils.isEmpty(config.getRequiredBidders()) && revenueFraction == null) {
+                return false;
+            }
+
+            return pendingRequired == 0
+                    && (revenueFraction == null
+                    || (totalExpectedRevenue > 0 && receivedRevenue >= revenueFraction * totalExpectedRevenue));
+        }
+
+        private void complete() {
+            if (timerId != null) {
+                vertx.cancelTimer(timerId);
+            }
+
+            completed = true;
+            if (failure != null) {
+                promise.fail(failure);
+                return;
+            }
+
+            final List<AuctionParticipation> completed = new ArrayList<>(results.length);
+            for (int i = 0; i < results.length; i++) {
+                completed.add(results[i] != null ? results[i] : cancel(auctionParticipations.get(i)));
+            }
+
+            promise.complete(completed);
+        }
+
+        private AuctionParticipation cancel(AuctionParticipation auctionParticipation) {
+            final String bidder = auctionParticipation.getBidder();
+            metrics.updateAdapterRequestErrorMetric(aliases.resolveBidder(bidder), MetricName.cancelled);
+
+            // late response still reaches the tracker given to the bidder call, so it is replaced with detached one
+            final Map<String, BidRejectionTracker> bidRejectionTrackers = auctionContext.getBidRejectionTrackers();
+            final BidRejectionTracker bidRejectionTracker = bidRejectionTrackers.get(bidder);
+            if (bidRejectionTracker != null) {
+                bidRejectionTrackers.put(bidder, bidRejectionTracker.withAllRejected(BidRejectionReason.TIMED_OUT));
+            }
+
+            final BidderSeatBid seatBid = BidderSeatBid.builder()
+                    .errors(Collections.singletonList(BidderError.timeout(CANCELLED_MESSAGE)))
+                    .build();
+            final int responseTime = (int) (clock.millis() - auctionContext.getStartTime());
+
+            return auctionParticipation.with(BidderResponse.of(bidder, seatBid, responseTime));
+        }
+    }
+}
@@ -1,13 +1,11 @@
 package org.prebid.server.auction;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.DecimalNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.App;
 import com.iab.openrtb.request.BidRequest;
-import com.iab.openrtb.request.Content;
 import com.iab.openrtb.request.Deal;
 import com.iab.openrtb.request.Eid;
 import com.iab.openrtb.request.Imp;
@@ -18,7 +16,6 @@ import com.iab.openrtb.request.User;
 import com.iab.openrtb.response.Bid;
 import com.iab.openrtb.response.BidResponse;
 import com.iab.openrtb.response.SeatBid;
-import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -36,6 +33,7 @@ import org.prebid.server.auction.mediatypeprocessor.MediaTypeProcessingResult;
 import org.prebid.server.auction.mediatypeprocessor.MediaTypeProcessor;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.AuctionStageTimings;
 import org.prebid.server.auction.model.BidRejectionReason;
 import org.prebid.server.auction.model.BidRejectionTracker;
 import org.prebid.server.auction.model.BidRequestCacheInfo;
@@ -86,10 +84,7 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.UpdateResult;
 import org.prebid.server.proto.openrtb.ext.ExtPrebidBidders;
-import org.prebid.server.proto.openrtb.ext.request.ExtApp;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidderConfigOrtb;
-import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebid;
-import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebidFloors;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestBidAdjustmentFactors;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
@@ -100,7 +95,6 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidDataEidPermis
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidMultiBid;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidSchain;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestTargeting;
-import org.prebid.server.proto.openrtb.ext.request.ExtSite;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
 import org.prebid.server.proto.openrtb.ext.request.ImpMediaType;
 import org.prebid.server.proto.openrtb.ext.request.TraceLevel;
@@ -137,6 +131,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -176,6 +172,7 @@ public class ExchangeService {
     private final TimeoutFactory timeoutFactory;
     private final BidRequestOrtbVersionConversionManager ortbVersionConversionManager;
     private final HttpBidderRequester httpBidderRequester;
+    private final EarlyAuctionCompletionService earlyAuctionCompletionService;
     private final ResponseBidValidator responseBidValidator;
     private final CurrencyConversionService currencyService;
     private final BidResponseCreator bidResponseCreator;
@@ -206,6 +203,7 @@ public class ExchangeService {
                            TimeoutFactory timeoutFactory,
                            BidRequestOrtbVersionConversionManager ortbVersionConversionManager,
                            HttpBidderRequester httpBidderRequester,
+                           EarlyAuctionCompletionService earlyAuctionCompletionService,
                            ResponseBidValidator responseBidValidator,
                            CurrencyConversionService currencyService,
                            BidResponseCreator bidResponseCreator,
@@ -239,6 +237,7 @@ public class ExchangeService {
         this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
         this.ortbVersionConversionManager = Objects.requireNonNull(ortbVersionConversionManager);
         this.httpBidderRequester = Objects.requireNonNull(httpBidderRequester);
+        this.earlyAuctionCompletionService = Objects.requireNonNull(earlyAuctionCompletionService);
         this.responseBidValidator = Objects.requireNonNull(responseBidValidator);
         this.currencyService = Objects.requireNonNull(currencyService);
         this.bidResponseCreator = Objects.requireNonNull(bidResponseCreator);
@@ -263,7 +262,9 @@ public class ExchangeService {
         return processAuctionRequest(context)
                 .compose(this::invokeResponseHooks)
                 .map(this::enrichWithHooksDebugInfo)
-                .map(this::updateHooksMetrics);
+                .map(this::updateHooksMetrics)
+                .onSuccess(auctionContext -> auctionContext.getStageTimings()
+                        .report(auctionContext.getAccount(), metrics));
     }
 
     private Future<AuctionContext> processAuctionRequest(AuctionContext context) {
@@ -303,17 +304,16 @@ public class ExchangeService {
 
                 .map(context -> updateRequestMetric(context, uidsCookie, aliases, account, requestTypeMetric))
 
-                .compose(context -> CompositeFuture.join(
-                                context.getAuctionParticipations().stream()
-                                        .map(auctionParticipation -> processAndRequestBids(
+                .compose(context -> context.getStageTimings().measure(MetricName.bidder_calls, () ->
+                                // send all the requests to the bidders and gathers results
+                                earlyAuctionCompletionService.requestBids(context, aliases,
+                                        (auctionParticipation, cancelled) -> processAndRequestBids(
                                                 context,
                                                 auctionParticipation.getBidderRequest(),
                                                 timeout,
-                                                aliases)
-                                                .map(auctionParticipation::with))
-                                        .collect(Collectors.toCollection(ArrayList::new)))
-                        // send all the requests to the bidders and gathers results
-                        .map(CompositeFuture::<AuctionParticipation>list)
+                                                aliases,
+                                                cancelled)
+                                                .map(auctionParticipation::with)))
                         .map(storedResponseProcessor::updateStoredBidResponse)
                         .map(auctionParticipations -> storedResponseProcessor.mergeWithBidderResponses(
                                 auctionParticipations, storedAuctionResponses, bidRequest.getImp()))
@@ -606,11 +606,13 @@ public class ExchangeService {
         final Map<String, User> bidderToUser =
                 prepareUsers(bidders, context, aliases, biddersToConfigs, eidPermissions);
 
-        return privacyEnforcementService
-                .mask(context, bidderToUser, bidders, aliases)
-                .map(bidderToPrivacyResult ->
+        final AuctionStageTimings stageTimings = context.getStageTimings();
+        return stageTimings
+                .measure(MetricName.privacy, () -> privacyEnforcementService.mask(
+                        context, bidderToUser, bidders, aliases))
+                .map(bidderToPrivacyResult -> stageTimings.measureSync(MetricName.bidder_requests, () ->
                         getAuctionParticipation(bidderToPrivacyResult, bidRequest, impBidderToStoredResponse, imps,
-                                bidderToMultiBid, biddersToConfigs, aliases, context));
+                                bidderToMultiBid, biddersToConfigs, aliases, context)));
     }
 
     private Map<String, ExtBidderConfigOrtb> getBiddersToConfigs(ExtRequestPrebid prebid) {
@@ -777,6 +779,7 @@ public class ExchangeService {
             AuctionContext context) {
 
         final Map<String, JsonNode> bidderToPrebidBidders = bidderToPrebidBidders(bidRequest);
+        final SharedRequestParts sharedRequestParts = new SharedRequestParts(fpdResolver, mapper);
 
         final List<AuctionParticipation> bidderRequests = bidderPrivacyResults.stream()
                 // for each bidder create a new request that is a copy of original request except buyerid, imp
@@ -790,6 +793,7 @@ public class ExchangeService {
                         biddersToConfigs,
                         bidderToPrebidBidders,
                         aliases,
+                        sharedRequestParts,
                         context))
                 // Can't be removed after we prepare workflow to filter blocked
                 .filter(auctionParticipation -> !auctionParticipation.isRequestBlocked())
@@ -831,6 +835,7 @@ public class ExchangeService {
             Map<String, ExtBidderConfigOrtb> biddersToConfigs,
             Map<String, JsonNode> bidderToPrebidBidders,
             BidderAliases bidderAliases,
+            SharedRequestParts sharedRequestParts,
             AuctionContext context) {
 
         final boolean blockedRequestByTcf = bidderPrivacyResult.isBlockedRequestByTcf();
@@ -859,6 +864,7 @@ public class ExchangeService {
                 bidderToMultiBid,
                 biddersToConfigs,
                 bidderToPrebidBidders,
+                sharedRequestParts,
                 context);
 
         final BidderRequest bidderRequest = BidderRequest.builder()
@@ -885,6 +891,7 @@ public class ExchangeService {
                                          Map<String, MultiBidConfig> bidderToMultiBid,
                                          Map<String, ExtBidderConfigOrtb> biddersToConfigs,
                                          Map<String, JsonNode> bidderToPrebidBidders,
+                                         SharedRequestParts sharedRequestParts,
                                          AuctionContext context) {
 
         final BidRequest bidRequest = context.getBidRequest();
@@ -902,8 +909,8 @@ public class ExchangeService {
         final ObjectNode fpdSite = fpdConfig != null ? fpdConfig.getSite() : null;
         final ObjectNode fpdApp = fpdConfig != null ? fpdConfig.getApp() : null;
 
-        final App preparedApp = prepareApp(app, fpdApp, useFirstPartyData);
-        final Site preparedSite = prepareSite(site, fpdSite, useFirstPartyData);
+        final App preparedApp = sharedRequestParts.app(app, fpdApp, useFirstPartyData);
+        final Site preparedSite = sharedRequestParts.site(site, fpdSite, useFirstPartyData);
         if (preparedApp != null && preparedSite != null) {
             context.getDebugWarnings().add("BidRequest contains app and site. Removed site object");
         }
@@ -912,10 +919,10 @@ public class ExchangeService {
                 // User was already prepared above
                 .user(bidderPrivacyResult.getUser())
                 .device(bidderPrivacyResult.getDevice())
-                .imp(prepareImps(bidder, imps, bidRequest, useFirstPartyData, context.getAccount()))
+                .imp(prepareImps(bidder, imps, bidRequest, useFirstPartyData, context.getAccount(), sharedRequestParts))
                 .app(preparedApp)
                 .site(preparedApp == null ? preparedSite : null)
-                .source(prepareSource(bidder, bidRequest))
+                .source(prepareSource(bidder, bidRequest, sharedRequestParts))
                 .ext(prepareExt(bidder, bidderToPrebidBidders, bidderToMultiBid, bidRequest.getExt()))
                 .build();
     }
@@ -928,11 +935,12 @@ public class ExchangeService {
                                   List<Imp> imps,
                                   BidRequest bidRequest,
                                   boolean useFirstPartyData,
-                                  Account account) {
+                                  Account account,
+                                  SharedRequestParts sharedRequestParts) {
 
         return imps.stream()
                 .filter(imp -> bidderParamsFromImpExt(imp.getExt()).hasNonNull(bidder))
-                .map(imp -> prepareImp(imp, bidder, bidRequest, useFirstPartyData, account))
+                .map(imp -> prepareImp(imp, bidder, bidRequest, useFirstPartyData, account, sharedRequestParts))
                 .toList();
     }
 
@@ -940,14 +948,13 @@ public class ExchangeService {
                            String bidder,
                            BidRequest bidRequest,
                            boolean useFirstPartyData,
-                           Account account) {
+                           Account account,
+                           SharedRequestParts sharedRequestParts) {
 
         final BigDecimal adjustedFloor = resolveBidFloor(imp, bidder, bidRequest, account);
+        final JsonNode bidderParams = bidderParamsFromImpExt(imp.getExt()).get(bidder);
 
-        return imp.toBuilder()
-                .bidfloor(adjustedFloor)
-                .ext(prepareImpExt(bidder, imp.getExt(), adjustedFloor, useFirstPartyData))
-                .build();
+        return sharedRequestParts.imp(imp, adjustedFloor, bidderParams, useFirstPartyData);
     }
 
     /**
@@ -957,135 +964,10 @@ public class ExchangeService {
         return priceFloorAdjuster.adjustForImp(imp, bidder, bidRequest, account);
     }
 
-    /**
-     * Creates a new imp extension for particular bidder having:
-     * <ul>
-     * <li>"prebid" field populated with an imp.ext.prebid field value, may be null</li>
-     * <li>"bidder" field populated with an imp.ext.prebid.bidder.{bidder} field value, not null</li>
-     * <li>"context" field populated with an imp.ext.context field value, may be null</li>
-     * <li>"data" field populated with an imp.ext.data field value, may be null</li>
-     * </ul>
-     */
-    private ObjectNode prepareImpExt(String bidder,
-                                     ObjectNode impExt,
-                                     BigDecimal adjustedFloor,
-                                     boolean useFirstPartyData) {
-
-        final ObjectNode modifiedImpExt = impExt.deepCopy();
-
-        final JsonNode impExtPrebid = prepareImpExt(impExt.get(PREBID_EXT), adjustedFloor);
-        if (impExtPrebid == null) {
-            modifiedImpExt.remove(PREBID_EXT);
-        } else {
-            modifiedImpExt.set(PREBID_EXT, impExtPrebid);
-        }
-
-        modifiedImpExt.set(BIDDER_EXT, bidderParamsFromImpExt(impExt).get(bidder));
-
-        return fpdResolver.resolveImpExt(modifiedImpExt, useFirstPartyData);
-    }
-
-    private JsonNode prepareImpExt(JsonNode extImpPrebidNode, BigDecimal adjustedFloor) {
-        if (extImpPrebidNode.size() > 1) {
-            final ExtImpPrebid extImpPrebid = extImpPrebid(extImpPrebidNode);
-            final ExtImpPrebidFloors floors = extImpPrebid.getFloors();
-            final ExtImpPrebidFloors updatedFloors = floors != null
-                    ? ExtImpPrebidFloors.of(floors.getFloorRule(),
-                    floors.getFloorRuleValue(),
-                    adjustedFloor,
-                    floors.getFloorMin(),
-                    floors.getFloorMinCur())
-                    : null;
-
-            return mapper.mapper().valueToTree(
-                    extImpPrebid(extImpPrebidNode).toBuilder()
-                            .floors(updatedFloors)
-                            .bidder(null)
-                            .build());
-        }
-
-        return null;
-    }
-
-    /**
-     * Returns {@link ExtImpPrebid} from imp.ext.prebid {@link JsonNode}.
-     */
-    private ExtImpPrebid extImpPrebid(JsonNode extImpPrebid) {
-        try {
-            return mapper.mapper().treeToValue(extImpPrebid, ExtImpPrebid.class);
-        } catch (JsonProcessingException e) {
-            throw new PreBidException("Error decoding imp.ext.prebid: " + e.getMessage(), e);
-        }
-    }
-
-    /**
-     * Checks whether to pass the app.ext.data and app.content.data depending on request having a first party data
-     * allowed for given bidder or not. And merge masked app with fpd config.
-     */
-    private App prepareApp(App app, ObjectNode fpdApp, boolean useFirstPartyData) {
-        final ExtApp appExt = app != null ? app.getExt() : null;
-        final Content content = app != null ? app.getContent() : null;
-
-        final boolean shouldCleanExtData = appExt != null && appExt.getData() != null && !useFirstPartyData;
-        final boolean shouldCleanContentData = content != null && content.getData() != null && !useFirstPartyData;
-
-        final App maskedApp = shouldCleanExtData || shouldCleanContentData
-                ? app.toBuilder()
-                .ext(shouldCleanExtData ? maskExtApp(appExt) : appExt)
-                .content(shouldCleanContentData ? prepareContent(content) : content)
-                .build()
-                : app;
-
-        return useFirstPartyData
-                ? fpdResolver.resolveApp(maskedApp, fpdApp)
-                : maskedApp;
-    }
-
-    private ExtApp maskExtApp(ExtApp appExt) {
-        final ExtApp maskedExtApp = ExtApp.of(appExt.getPrebid(), null);
-        return maskedExtApp.isEmpty() ? null : maskedExtApp;
-    }
-
-    /**
-     * Checks whether to pass the site.ext.data  and site.content.data depending on request having a first party data
-     * allowed for given bidder or not. And merge masked site with fpd config.
-     */
-    private Site prepareSite(Site site, ObjectNode fpdSite, boolean useFirstPartyData) {
-        final ExtSite siteExt = site != null ? site.getExt() : null;
-        final Content content = site != null ? site.getContent() : null;
-
-        final boolean shouldCleanExtData = siteExt != null && siteExt.getData() != null && !useFirstPartyData;
-        final boolean shouldCleanContentData = content != null && content.getData() != null && !useFirstPartyData;
-
-        final Site maskedSite = shouldCleanExtData || shouldCleanContentData
-                ? site.toBuilder()
-                .ext(shouldCleanExtData ? maskExtSite(siteExt) : siteExt)
-                .content(shouldCleanContentData ? prepareContent(content) : content)
-                .build()
-                : site;
-
-        return useFirstPartyData
-                ? fpdResolver.resolveSite(maskedSite, fpdSite)
-                : maskedSite;
-    }
-
-    private Content prepareContent(Content content) {
-        final Content updatedContent = content.toBuilder()
-                .data(null)
-                .build();
-
-        return updatedContent.isEmpty() ? null : updatedContent;
-    }
-
-    private ExtSite maskExtSite(ExtSite siteExt) {
-        final ExtSite maskedExtSite = ExtSite.of(siteExt.getAmp(), null);
-        return maskedExtSite.isEmpty() ? null : maskedExtSite;
-    }
-
     /**
      * Returns {@link Source} with corresponding request.ext.prebid.schains.
      */
-    private Source prepareSource(String bidder, BidRequest bidRequest) {
+    private Source prepareSource(String bidder, BidRequest bidRequest, SharedRequestParts sharedRequestParts) {
         final Source receivedSource = bidRequest.getSource();
 
         final SupplyChain bidderSchain = supplyChainResolver.resolveForBidder(bidder, bidRequest);
@@ -1094,9 +976,7 @@ public class ExchangeService {
             return receivedSource;
         }
 
-        return receivedSource == null
-                ? Source.builder().schain(bidderSchain).build()
-                : receivedSource.toBuilder().schain(bidderSchain).build();
+        return sharedRequestParts.source(receivedSource, bidderSchain);
     }
 
     /**
@@ -1254,7 +1134,8 @@ public class ExchangeService {
     private Future<BidderResponse> processAndRequestBids(AuctionContext auctionContext,
                                                          BidderRequest bidderRequest,
                                                          Timeout timeout,
-                                                         BidderAliases aliases) {
+                                                         BidderAliases aliases,
+                                                         BooleanSupplier cancelled) {
 
         final String bidderName = bidderRequest.getBidder();
         final MediaTypeProcessingResult mediaTypeProcessingResult = mediaTypeProcessor.process(
@@ -1276,7 +1157,7 @@ public class ExchangeService {
         return Future.succeededFuture(mediaTypeProcessingResult.getBidRequest())
                 .map(bidderRequest::with)
                 .compose(modifiedBidderRequest -> invokeHooksAndRequestBids(
-                        auctionContext, modifiedBidderRequest, timeout, aliases))
+                        auctionContext, modifiedBidderRequest, timeout, aliases, cancelled))
                 .map(bidderResponse -> bidderResponse.with(
                         addWarnings(bidderResponse.getSeatBid(), mediaTypeProcessingErrors)));
     }
@@ -1292,17 +1173,30 @@ public class ExchangeService {
     private Future<BidderResponse> invokeHooksAndRequestBids(AuctionContext auctionContext,
                                                              BidderRequest bidderRequest,
                                                              Timeout timeout,
-                                                             BidderAliases aliases) {
+                                                             BidderAliases aliases,
+                                                             BooleanSupplier cancelled) {
 
         return hookStageExecutor.executeBidderRequestStage(bidderRequest, auctionContext)
-                .compose(stageResult -> requestBidsOrRejectBidder(
-                        stageResult, bidderRequest, auctionContext, timeout, aliases))
+                .compose(stageResult -> unlessCancelled(cancelled, () -> requestBidsOrRejectBidder(
+                        stageResult, bidderRequest, auctionContext, timeout, aliases)))
 
-                .compose(bidderResponse -> hookStageExecutor.executeRawBidderResponseStage(
-                                bidderResponse, auctionContext)
+                // late response is passed as is, only to let its revenue be tracked
+                .compose(bidderResponse -> cancelled.getAsBoolean()
+                        ? Future.succeededFuture(bidderResponse)
+                        : hookStageExecutor.executeRawBidderResponseStage(bidderResponse, auctionContext)
                         .map(stageResult -> rejectBidderResponseOrProceed(stageResult, bidderResponse)));
     }
 
+    /**
+     * Abandons bidder call if auction has been completed without the bidder, so its late results
+     * do not change auction state.
+     */
+    private static <T> Future<T> unlessCancelled(BooleanSupplier cancelled, Supplier<Future<T>> nextStep) {
+        return cancelled.getAsBoolean()
+                ? Future.failedFuture(new CancellationException("Bidder call was cancelled"))
+                : nextStep.get();
+    }
+
     private Future<BidderResponse> requestBidsOrRejectBidder(
             HookStageExecutionResult<BidderRequestPayload> hookStageResult,
             BidderRequest bidderRequest,
@@ -1704,6 +1598,7 @@ public class ExchangeService {
             case bad_server_response -> MetricName.badserverresponse;
             case failed_to_request_bids -> MetricName.failedtorequestbids;
             case timeout -> MetricName.timeout;
+            case throttled -> MetricName.throttled;
             case invalid_bid -> MetricName.bid_validation;
             case rejected_ipf, generic -> MetricName.unknown_error;
         };
@@ -1,11 +1,30 @@
 package org.prebid.server.auction;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.AccessPattern;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
@@ -14,7 +33,10 @@ import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.json.JsonMerger;
 import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidBidderConfig;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -46,6 +69,8 @@ public class OrtbTypesResolver {
     private static final String UNKNOWN_REFERER = "unknown referer";
     private static final String DATA = "data";
     private static final String EXT = "ext";
+    private static final String BIDDERCONFIG = "bidrequest.ext.prebid.bidderconfig";
+    private static final String WARNINGS_ATTRIBUTE = "ortbTypesResolverWarnings";
 
     private static final Map<String, Set<String>> FIRST_ARRAY_ELEMENT_STANDARD_FIELDS;
     private static final Map<String, Set<String>> FIRST_ARRAY_ELEMENT_REQUEST_FIELDS;
@@ -77,34 +102,64 @@ public class OrtbTypesResolver {
     private final JacksonMapper jacksonMapper;
     private final JsonMerger jsonMerger;
 
+    private final ObjectReader bidRequestReader;
+
     public OrtbTypesResolver(double logSamplingRate, JacksonMapper jacksonMapper, JsonMerger jsonMerger) {
         this.logSamplingRate = logSamplingRate;
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.jsonMerger = Objects.requireNonNull(jsonMerger);
+
+        bidRequestReader = jacksonMapper.mapper().copy()
+                .registerModule(new SimpleModule().setDeserializerModifier(new NormalizingDeserializerModifier()))
+                .readerFor(BidRequest.class);
+    }
+
+    /**
+     * Parses {@link BidRequest} from {@param body} resolving fields types inconsistency to ortb2 protocol while the
+     * body is being read, the same way {@link #normalizeBidRequest} does for JSON tree. Only parts of the request
+     * subject to normalization (user, app, site and bidderconfig) are materialized as JSON trees.
+     * Mutates {@param warnings}.
+     */
+    public BidRequest parseBidRequest(Buffer body, List<String> warnings, String referer) throws IOException {
+        final List<String> resolverWarnings = new ArrayList<>();
+        final BidRequest bidRequest = bidRequestReader
+                .withAttribute(WARNINGS_ATTRIBUTE, resolverWarnings)
+                .readValue((InputStream) new ByteBufInputStream(body.getByteBuf()));
+
+        processWarnings(resolverWarnings, warnings, body::toString, referer, BIDREQUEST);
+        return bidRequest;
     }
 
     /**
      * Resolves fields types inconsistency to ortb2 protocol for {@param bidRequest} for bidRequest level parameters
      * and bidderconfig.
      * Mutates both parameters, {@param fpdContainerNode} and {@param warnings}.
+     * <p>
+     * Not used by request processing, which normalizes request while parsing it by {@link #parseBidRequest}.
+     * Kept only as a test oracle: the whole tree normalization which parsing must be equivalent to.
      */
-    public void normalizeBidRequest(JsonNode bidRequest, List<String> warnings, String referer) {
+    void normalizeBidRequest(JsonNode bidRequest, List<String> warnings, String referer) {
         final List<String> resolverWarnings = new ArrayList<>();
         final String rowOriginBidRequest = getOriginalRowContainerNode(bidRequest);
         normalizeRequestFpdFields(bidRequest, resolverWarnings);
         final JsonNode bidderConfigs = bidRequest.path("ext").path("prebid").path("bidderconfig");
         if (!bidderConfigs.isMissingNode() && bidderConfigs.isArray()) {
             for (JsonNode bidderConfig : bidderConfigs) {
+                normalizeBidderConfig(bidderConfig, resolverWarnings);
+            }
+        }
+        processWarnings(resolverWarnings, warnings, () -> rowOriginBidRequest, referer, BIDREQUEST);
+    }
 
-                mergeFpdFieldsToOrtb2(bidderConfig);
+    private JsonNode normalizeBidderConfig(JsonNode bidderConfig, List<String> warnings) {
+        mergeFpdFieldsToOrtb2(bidderConfig);
 
-                final JsonNode ortb2Config = bidderConfig.path("config").path("ortb2");
-                if (!ortb2Config.isMissingNode()) {
-                    normalizeStandardFpdFields(ortb2Config, resolverWarnings, "bidrequest.ext.prebid.bidderconfig");
-                }
-            }
+        final JsonNode ortb2Config = bidderConfig.path("config").path("ortb2");
+        if (!ortb2Config.isMissingNode()) {
+            normalizeStandardFpdFields(ortb2Config, warnings, BIDDERCONFIG);
         }
-        processWarnings(resolverWarnings, warnings, rowOriginBidRequest, referer, BIDREQUEST);
+
+        return bidderConfig;
     }
 
     private String getOriginalRowContainerNode(JsonNode bidRequest) {
@@ -170,7 +225,7 @@ public class OrtbTypesResolver {
         final List<String> resolverWarnings = new ArrayList<>();
         final String rowOriginTargeting = getOriginalRowContainerNode(targeting);
         normalizeStandardFpdFields(targeting, resolverWarnings, TARGETING);
-        processWarnings(resolverWarnings, warnings, rowOriginTargeting, referer, TARGETING);
+        processWarnings(resolverWarnings, warnings, () -> rowOriginTargeting, referer, TARGETING);
     }
 
     /**
@@ -190,6 +245,11 @@ public class OrtbTypesResolver {
         }
     }
 
+    private JsonNode normalizeRequestFpdNode(JsonNode node, String nodeName, List<String> warnings) {
+        return normalizeNode(node, nodeName, FIRST_ARRAY_ELEMENT_REQUEST_FIELDS, COMMA_SEPARATED_ELEMENT_FIELDS,
+                BIDREQUEST + ".", warnings);
+    }
+
     private void normalizeRequestFpdFields(JsonNode fpdContainerNode, List<String> warnings) {
         if (fpdContainerNode != null && fpdContainerNode.isObject()) {
             final ObjectNode fpdContainerObjectNode = (ObjectNode) fpdContainerNode;
@@ -360,8 +420,8 @@ public class OrtbTypesResolver {
         return StreamSupport.stream(arrayNode.spliterator(), false).allMatch(JsonNode::isTextual);
     }
 
-    private void processWarnings(List<String> resolverWarning, List<String> warnings, String containerValue,
-                                 String referer, String containerName) {
+    private void processWarnings(List<String> resolverWarning, List<String> warnings,
+                                 Supplier<String> containerValue, String referer, String containerName) {
         if (CollectionUtils.isNotEmpty(resolverWarning)) {
             warnings.addAll(updateWithWarningPrefix(resolverWarning));
             // log only 1% of cases
@@ -370,7 +430,7 @@ public class OrtbTypesResolver {
                             String.join("\n", resolverWarning),
                             StringUtils.isNotBlank(referer) ? referer : UNKNOWN_REFERER,
                             containerName,
-                            containerValue),
+                            containerValue.get()),
                     logSamplingRate);
         }
     }
@@ -378,4 +438,92 @@ public class OrtbTypesResolver {
     private List<String> updateWithWarningPrefix(List<String> resolverWarning) {
         return resolverWarning.stream().map(warning -> "WARNING: " + warning).toList();
     }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> warnings(DeserializationContext context) {
+        return (List<String>) context.getAttribute(WARNINGS_ATTRIBUTE);
+    }
+
+    /**
+     * Plugs normalization of request level user, app, site and bidderconfig into deserialization of
+     * {@link BidRequest}.
+     */
+    private class NormalizingDeserializerModifier extends BeanDeserializerModifier {
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+                                                      BeanDescription beanDescription,
+                                                      JsonDeserializer<?> deserializer) {
+
+            final Class<?> beanClass = beanDescription.getBeanClass();
+            if (beanClass == User.class) {
+                return new NormalizingDeserializer(deserializer,
+                        (node, warnings) -> normalizeRequestFpdNode(node, USER, warnings));
+            } else if (beanClass == App.class) {
+                return new NormalizingDeserializer(deserializer,
+                        (node, warnings) -> normalizeRequestFpdNode(node, APP, warnings));
+            } else if (beanClass == Site.class) {
+                return new NormalizingDeserializer(deserializer,
+                        (node, warnings) -> normalizeRequestFpdNode(node, SITE, warnings));
+            } else if (beanClass == ExtRequestPrebidBidderConfig.class) {
+                return new NormalizingDeserializer(deserializer, OrtbTypesResolver.this::normalizeBidderConfig);
+            }
+
+            return deserializer;
+        }
+    }
+
+    /**
+     * Reads value as JSON tree, normalizes it and passes to the delegate deserializer.
+     * Value is skipped if normalization dropped it.
+     */
+    private static class NormalizingDeserializer extends DelegatingDeserializer {
+
+        private final BiFunction<JsonNode, List<String>, JsonNode> normalizer;
+
+        NormalizingDeserializer(JsonDeserializer<?> delegatee,
+                                BiFunction<JsonNode, List<String>, JsonNode> normalizer) {
+
+            super(delegatee);
+            this.normalizer = normalizer;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new NormalizingDeserializer(newDelegatee, normalizer);
+        }
+
+        @Override
+        public Object getNullValue(DeserializationContext context) throws JsonMappingException {
+            // explicit null is ignored anyway, but normalizer warns about it as about any value of a wrong type;
+            // also called for values dropped by normalization, which were warned about already
+            if (context.getParser().currentToken() == JsonToken.VALUE_NULL) {
+                normalizer.apply(NullNode.getInstance(), warnings(context));
+            }
+            return super.getNullValue(context);
+        }
+
+        @Override
+        public Object getAbsentValue(DeserializationContext context) throws JsonMappingException {
+            return _delegatee.getAbsentValue(context);
+        }
+
+        @Override
+        public AccessPattern getNullAccessPattern() {
+            return AccessPattern.DYNAMIC;
+        }
+
+        @Override
+        public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            final JsonNode node = normalizer.apply(context.readTree(parser), warnings(context));
+            if (node == null) {
+                return null;
+            }
+
+            try (JsonParser nodeParser = parser.getCodec().treeAsTokens(node)) {
+                nodeParser.nextToken();
+                return _delegatee.deserialize(nodeParser, context);
+            }
+        }
+    }
 }
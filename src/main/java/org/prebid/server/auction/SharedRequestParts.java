@@ -0,0 +1,224 @@
+package org.prebid.server.auction;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.Content;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.SupplyChain;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.proto.openrtb.ext.request.ExtApp;
+import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebid;
+import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebidFloors;
+import org.prebid.server.proto.openrtb.ext.request.ExtSite;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Prepares parts of bidder requests built within single auction. Bidders getting equal parts share the same
+ * instances, so they are built once per auction instead of once per bidder.
+ * <p>
+ * Shared parts, including JSON nodes of imp extensions, must not be modified.
+ * Not thread-safe, as bidder requests are prepared sequentially.
+ */
+class SharedRequestParts {
+
+    private static final String PREBID_EXT = "prebid";
+    private static final String BIDDER_EXT = "bidder";
+
+    private final FpdResolver fpdResolver;
+    private final JacksonMapper mapper;
+
+    private final Map<Pair<Boolean, ObjectNode>, App> apps = new HashMap<>();
+    private final Map<Pair<Boolean, ObjectNode>, Site> sites = new HashMap<>();
+    private final Map<SupplyChain, Source> sources = new HashMap<>();
+    private final Map<Imp, Map<Triple<BigDecimal, JsonNode, Boolean>, Imp>> imps = new IdentityHashMap<>();
+    private final Map<JsonNode, Map<BigDecimal, JsonNode>> impExtPrebids = new IdentityHashMap<>();
+
+    SharedRequestParts(FpdResolver fpdResolver, JacksonMapper mapper) {
+        this.fpdResolver = Objects.requireNonNull(fpdResolver);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * Checks whether to pass the app.ext.data and app.content.data depending on request having a first party data
+     * allowed for given bidder or not. And merge masked app with fpd config.
+     */
+    App app(App app, ObjectNode fpdApp, boolean useFirstPartyData) {
+        return apps.computeIfAbsent(
+                Pair.of(useFirstPartyData, useFirstPartyData ? fpdApp : null),
+                key -> prepareApp(app, fpdApp, useFirstPartyData));
+    }
+
+    /**
+     * Checks whether to pass the site.ext.data  and site.content.data depending on request having a first party data
+     * allowed for given bidder or not. And merge masked site with fpd config.
+     */
+    Site site(Site site, ObjectNode fpdSite, boolean useFirstPartyData) {
+        return sites.computeIfAbsent(
+                Pair.of(useFirstPartyData, useFirstPartyData ? fpdSite : null),
+                key -> prepareSite(site, fpdSite, useFirstPartyData));
+    }
+
+    /**
+     * Returns {@link Source} with given bidder schain.
+     */
+    Source source(Source receivedSource, SupplyChain bidderSchain) {
+        return sources.computeIfAbsent(bidderSchain, key -> receivedSource == null
+                ? Source.builder().schain(bidderSchain).build()
+                : receivedSource.toBuilder().schain(bidderSchain).build());
+    }
+
+    /**
+     * Returns {@link Imp} with adjusted floor and extension crafted to contain only "prebid", "context", "data" and
+     * given bidder params.
+     * <p>
+     * Bidders having equal params and floor get the same imp. Extensions of imps prepared for different bidders are
+     * shallow copies of the original one, so they share all nested nodes except for the imp.ext.prebid.
+     */
+    Imp imp(Imp imp, BigDecimal adjustedFloor, JsonNode bidderParams, boolean useFirstPartyData) {
+        return imps.computeIfAbsent(imp, key -> new HashMap<>())
+                .computeIfAbsent(
+                        Triple.of(adjustedFloor, bidderParams, useFirstPartyData),
+                        key -> imp.toBuilder()
+                                .bidfloor(adjustedFloor)
+                                .ext(prepareImpExt(imp.getExt(), adjustedFloor, bidderParams, useFirstPartyData))
+                                .build());
+    }
+
+    /**
+     * Creates a new imp extension having:
+     * <ul>
+     * <li>"prebid" field populated with an imp.ext.prebid field value, may be null</li>
+     * <li>"bidder" field populated with given bidder params, not null</li>
+     * <li>"context" field populated with an imp.ext.context field value, may be null</li>
+     * <li>"data" field populated with an imp.ext.data field value, may be null</li>
+     * </ul>
+     */
+    private ObjectNode prepareImpExt(ObjectNode impExt,
+                                     BigDecimal adjustedFloor,
+                                     JsonNode bidderParams,
+                                     boolean useFirstPartyData) {
+
+        final ObjectNode modifiedImpExt = mapper.mapper().createObjectNode().setAll(impExt);
+
+        final JsonNode impExtPrebid = impExtPrebid(impExt.get(PREBID_EXT), adjustedFloor);
+        if (impExtPrebid == null) {
+            modifiedImpExt.remove(PREBID_EXT);
+        } else {
+            modifiedImpExt.set(PREBID_EXT, impExtPrebid);
+        }
+
+        modifiedImpExt.set(BIDDER_EXT, bidderParams);
+
+        return fpdResolver.resolveImpExt(modifiedImpExt, useFirstPartyData);
+    }
+
+    /**
+     * Returns imp.ext.prebid with adjusted floor and without bidders, or null if there is nothing to pass.
+     */
+    private JsonNode impExtPrebid(JsonNode extImpPrebidNode, BigDecimal adjustedFloor) {
+        return impExtPrebids
+                .computeIfAbsent(extImpPrebidNode, key -> new HashMap<>())
+                .computeIfAbsent(adjustedFloor, key -> prepareImpExtPrebid(extImpPrebidNode, adjustedFloor));
+    }
+
+    private App prepareApp(App app, ObjectNode fpdApp, boolean useFirstPartyData) {
+        final ExtApp appExt = app != null ? app.getExt() : null;
+        final Content content = app != null ? app.getContent() : null;
+
+        final boolean shouldCleanExtData = appExt != null && appExt.getData() != null && !useFirstPartyData;
+        final boolean shouldCleanContentData = content != null && content.getData() != null && !useFirstPartyData;
+
+        final App maskedApp = shouldCleanExtData || shouldCleanContentData
+                ? app.toBuilder()
+                .ext(shouldCleanExtData ? maskExtApp(appExt) : appExt)
+                .content(shouldCleanContentData ? prepareContent(content) : content)
+                .build()
+                : app;
+
+        return useFirstPartyData
+                ? fpdResolver.resolveApp(maskedApp, fpdApp)
+                : maskedApp;
+    }
+
+    private static ExtApp maskExtApp(ExtApp appExt) {
+        final ExtApp maskedExtApp = ExtApp.of(appExt.getPrebid(), null);
+        return maskedExtApp.isEmpty() ? null : maskedExtApp;
+    }
+
+    private Site prepareSite(Site site, ObjectNode fpdSite, boolean useFirstPartyData) {
+        final ExtSite siteExt = site != null ? site.getExt() : null;
+        final Content content = site != null ? site.getContent() : null;
+
+        final boolean shouldCleanExtData = siteExt != null && siteExt.getData() != null && !useFirstPartyData;
+        final boolean shouldCleanContentData = content != null && content.getData() != null && !useFirstPartyData;
+
+        final Site maskedSite = shouldCleanExtData || shouldCleanContentData
+                ? site.toBuilder()
+                .ext(shouldCleanExtData ? maskExtSite(siteExt) : siteExt)
+                .content(shouldCleanContentData ? prepareContent(content) : content)
+                .build()
+                : site;
+
+        return useFirstPartyData
+                ? fpdResolver.resolveSite(maskedSite, fpdSite)
+                : maskedSite;
+    }
+
+    private static Content prepareContent(Content content) {
+        final Content updatedContent = content.toBuilder()
+                .data(null)
+                .build();
+
+        return updatedContent.isEmpty() ? null : updatedContent;
+    }
+
+    private static ExtSite maskExtSite(ExtSite siteExt) {
+        final ExtSite maskedExtSite = ExtSite.of(siteExt.getAmp(), null);
+        return maskedExtSite.isEmpty() ? null : maskedExtSite;
+    }
+
+    private JsonNode prepareImpExtPrebid(JsonNode extImpPrebidNode, BigDecimal adjustedFloor) {
+        if (extImpPrebidNode.size() > 1) {
+            final ExtImpPrebid extImpPrebid = extImpPrebid(extImpPrebidNode);
+            final ExtImpPrebidFloors floors = extImpPrebid.getFloors();
+            final ExtImpPrebidFloors updatedFloors = floors != null
+                    ? ExtImpPrebidFloors.of(floors.getFloorRule(),
+                    floors.getFloorRuleValue(),
+                    adjustedFloor,
+                    floors.getFloorMin(),
+                    floors.getFloorMinCur())
+                    : null;
+
+            return mapper.mapper().valueToTree(
+                    extImpPrebid.toBuilder()
+                            .floors(updatedFloors)
+                            .bidder(null)
+                            .build());
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns {@link ExtImpPrebid} from imp.ext.prebid {@link JsonNode}.
+     */
+    private ExtImpPrebid extImpPrebid(JsonNode extImpPrebid) {
+        try {
+            return mapper.mapper().treeToValue(extImpPrebid, ExtImpPrebid.class);
+        } catch (JsonProcessingException e) {
+            throw new PreBidException("Error decoding imp.ext.prebid: " + e.getMessage(), e);
+        }
+    }
+}
@@ -47,7 +47,7 @@ public class StoredRequestProcessor {
     private static final String OVERRIDE_BID_REQUEST_ID_TEMPLATE = "{{UUID}}";
 
     private final long defaultTimeout;
-    private final BidRequest defaultBidRequest;
+    private final DefaultBidRequestOverlay defaultBidRequestOverlay;
     private final boolean generateBidRequestId;
     private final ApplicationSettings applicationSettings;
     private final IdGenerator idGenerator;
@@ -68,8 +68,10 @@ public class StoredRequestProcessor {
                                   JsonMerger jsonMerger) {
 
         this.defaultTimeout = defaultTimeout;
-        this.defaultBidRequest = readBidRequest(
-                defaultBidRequestPath, Objects.requireNonNull(fileSystem), Objects.requireNonNull(mapper));
+        this.defaultBidRequestOverlay = new DefaultBidRequestOverlay(
+                readBidRequest(defaultBidRequestPath, Objects.requireNonNull(fileSystem),
+                        Objects.requireNonNull(mapper)),
+                mapper);
         this.generateBidRequestId = generateBidRequestId;
         this.applicationSettings = Objects.requireNonNull(applicationSettings);
         this.idGenerator = Objects.requireNonNull(idGenerator);
@@ -263,7 +265,7 @@ public class StoredRequestProcessor {
     }
 
     private BidRequest mergeDefaultRequest(BidRequest bidRequest) {
-        return jsonMerger.merge(bidRequest, defaultBidRequest, BidRequest.class);
+        return defaultBidRequestOverlay.apply(bidRequest);
     }
 
     /**
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
 import org.prebid.server.auction.gpp.model.GppContext;
@@ -80,6 +81,11 @@ public class AuctionContext {
 
     CachedDebugLog cachedDebugLog;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    AuctionStageTimings stageTimings = AuctionStageTimings.create();
+
     public AuctionContext with(Account account) {
         return this.toBuilder().account(account).build();
     }
@@ -0,0 +1,58 @@
+package org.prebid.server.auction.model;
+
+import io.vertx.core.Future;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.model.Account;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects durations of auction stages to report the breakdown of auction time once it is done.
+ * <p>
+ * Stages of single auction follow each other on the same Vert.x context, so no synchronization is needed.
+ * Durations of a stage passed several times are summed up.
+ */
+public class AuctionStageTimings {
+
+    private final Map<MetricName, Long> stageToNanos = new EnumMap<>(MetricName.class);
+
+    private AuctionStageTimings() {
+    }
+
+    public static AuctionStageTimings create() {
+        return new AuctionStageTimings();
+    }
+
+    public <T> Future<T> measure(MetricName stage, Supplier<Future<T>> stageRunner) {
+        final long startNanos = System.nanoTime();
+        return stageRunner.get().onComplete(ignored -> record(stage, startNanos));
+    }
+
+    public <T> T measureSync(MetricName stage, Supplier<T> stageRunner) {
+        final long startNanos = System.nanoTime();
+        try {
+            return stageRunner.get();
+        } finally {
+            record(stage, startNanos);
+        }
+    }
+
+    public void record(MetricName stage, long startNanos) {
+        stageToNanos.merge(stage, System.nanoTime() - startNanos, Long::sum);
+    }
+
+    public Map<MetricName, Long> stageToNanos() {
+        return Collections.unmodifiableMap(stageToNanos);
+    }
+
+    /**
+     * Reports collected stage durations once the auction is done.
+     */
+    public void report(Account account, Metrics metrics) {
+        metrics.updateAuctionStageMetrics(account, stageToNanos());
+    }
+}
@@ -7,6 +7,7 @@ public enum BidRejectionReason {
 
     NO_BID(0),
     TIMED_OUT(101),
+    BIDDER_THROTTLED(103),
     REJECTED_BY_HOOK(200),
     REJECTED_BY_PRIVACY(202),
     REJECTED_BY_MEDIA_TYPE(204),
@@ -28,6 +29,7 @@ public enum BidRejectionReason {
     public static BidRejectionReason fromBidderError(BidderError error) {
         return switch (error.getType()) {
             case timeout -> BidRejectionReason.TIMED_OUT;
+            case throttled -> BidRejectionReason.BIDDER_THROTTLED;
             case rejected_ipf -> BidRejectionReason.REJECTED_DUE_TO_PRICE_FLOOR;
             default -> BidRejectionReason.OTHER_ERROR;
         };
@@ -77,6 +77,19 @@ public class BidRejectionTracker {
         involvedImpIds.forEach(impId -> reject(impId, reason));
     }
 
+    /**
+     * Creates tracker having all involved imps rejected, keeping reasons of already rejected ones.
+     * <p>
+     * Created tracker is detached: changes made to this tracker later are not reflected in it.
+     */
+    public BidRejectionTracker withAllRejected(BidRejectionReason reason) {
+        final BidRejectionTracker tracker = new BidRejectionTracker(bidder, involvedImpIds, logSamplingRate);
+        involvedImpIds.forEach(impId ->
+                tracker.rejectedImpIds.put(impId, rejectedImpIds.getOrDefault(impId, reason)));
+
+        return tracker;
+    }
+
     public Map<String, BidRejectionReason> getRejectionReasons() {
         final Map<String, BidRejectionReason> missingImpIds = new HashMap<>();
         for (String impId : involvedImpIds) {
@@ -1,11 +1,12 @@
 package org.prebid.server.auction.requestfactory;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Regs;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.DebugResolver;
 import org.prebid.server.auction.ImplicitParametersExtractor;
 import org.prebid.server.auction.InterstitialProcessor;
@@ -17,12 +18,14 @@ import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.AuctionStoredResult;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
 import org.prebid.server.exception.InvalidRequestException;
-import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.MetricName;
+import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.Endpoint;
 import org.prebid.server.model.HttpRequestContext;
 import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
+import org.prebid.server.protobuf.auction.ProtobufAuctionMapper;
 import org.prebid.server.settings.model.Account;
+import org.prebid.server.util.HttpUtil;
 
 import java.io.IOException;
 import java.util.List;
@@ -44,8 +47,8 @@ public class AuctionRequestFactory {
     private final InterstitialProcessor interstitialProcessor;
     private final PrivacyEnforcementService privacyEnforcementService;
     private final DebugResolver debugResolver;
-    private final JacksonMapper mapper;
     private final OrtbTypesResolver ortbTypesResolver;
+    private final ProtobufAuctionMapper protobufAuctionMapper;
 
     private static final String ENDPOINT = Endpoint.openrtb2_auction.value();
 
@@ -60,7 +63,7 @@ public class AuctionRequestFactory {
                                  OrtbTypesResolver ortbTypesResolver,
                                  PrivacyEnforcementService privacyEnforcementService,
                                  DebugResolver debugResolver,
-                                 JacksonMapper mapper) {
+                                 ProtobufAuctionMapper protobufAuctionMapper) {
 
         this.maxRequestSize = maxRequestSize;
         this.ortb2RequestFactory = Objects.requireNonNull(ortb2RequestFactory);
@@ -73,14 +76,14 @@ public class AuctionRequestFactory {
         this.ortbTypesResolver = Objects.requireNonNull(ortbTypesResolver);
         this.privacyEnforcementService = Objects.requireNonNull(privacyEnforcementService);
         this.debugResolver = Objects.requireNonNull(debugResolver);
-        this.mapper = Objects.requireNonNull(mapper);
+        this.protobufAuctionMapper = protobufAuctionMapper;
     }
 
     /**
      * Creates {@link AuctionContext} based on {@link RoutingContext}.
      */
     public Future<AuctionContext> fromRequest(RoutingContext routingContext, long startTime) {
-        final String body;
+        final Buffer body;
         try {
             body = extractAndValidateBody(routingContext);
         } catch (InvalidRequestException e) {
@@ -114,7 +117,8 @@ public class AuctionRequestFactory {
                 .compose(auctionContext -> updateAndValidateBidRequest(auctionContext)
                         .map(auctionContext::with))
 
-                .compose(auctionContext -> privacyEnforcementService.contextFromBidRequest(auctionContext)
+                .compose(auctionContext -> auctionContext.getStageTimings().measure(MetricName.privacy,
+                                () -> privacyEnforcementService.contextFromBidRequest(auctionContext))
                         .map(auctionContext::with))
 
                 .map(auctionContext -> auctionContext.with(
@@ -125,52 +129,68 @@ public class AuctionRequestFactory {
 
                 .compose(ortb2RequestFactory::populateUserAdditionalInfo)
 
-                .map(ortb2RequestFactory::enrichWithPriceFloors)
+                .map(this::enrichWithPriceFloors)
 
                 .map(auctionContext -> ortb2RequestFactory.updateTimeout(auctionContext, startTime))
 
                 .recover(ortb2RequestFactory::restoreResultFromRejection);
     }
 
-    private String extractAndValidateBody(RoutingContext routingContext) {
-        final String body = routingContext.getBodyAsString();
-        if (body == null) {
-            throw new InvalidRequestException("Incoming request has no body");
-        }
+    private Buffer extractAndValidateBody(RoutingContext routingContext) {
+        final Buffer body = routingContext.getBody();
+        // body handler rejects request as soon as received body exceeds the limit, so there is no body to check
+        if (routingContext.statusCode() == HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()
+                || body != null && body.length() > maxRequestSize) {
 
-        if (body.length() > maxRequestSize) {
             throw new InvalidRequestException("Request size exceeded max size of %d bytes.".formatted(maxRequestSize));
         }
 
+        if (body == null) {
+            throw new InvalidRequestException("Incoming request has no body");
+        }
+
         return body;
     }
 
     private Future<BidRequest> parseBidRequest(HttpRequestContext httpRequest, List<String> errors) {
         try {
-            final JsonNode bidRequestNode = bodyAsJsonNode(httpRequest.getBody());
-
             final String referer = paramsExtractor.refererFrom(httpRequest);
-            ortbTypesResolver.normalizeBidRequest(bidRequestNode, errors, referer);
+            final BidRequest bidRequest = isProtobufRequest(httpRequest)
+                    ? protobufBodyAsBidRequest(rawBody(httpRequest))
+                    : bodyAsBidRequest(rawBody(httpRequest), errors, referer);
 
-            return Future.succeededFuture(jsonNodeAsBidRequest(bidRequestNode))
-                    .map(bidRequest -> fillWithValuesFromHttpRequest(bidRequest, httpRequest));
+            return Future.succeededFuture(fillWithValuesFromHttpRequest(bidRequest, httpRequest));
         } catch (Exception e) {
             return Future.failedFuture(e);
         }
     }
 
-    private JsonNode bodyAsJsonNode(String body) {
+    private static Buffer rawBody(HttpRequestContext httpRequest) {
+        final Buffer rawBody = httpRequest.getRawBody();
+
+        // body replaced by entrypoint hooks is available only as string
+        return rawBody != null ? rawBody : Buffer.buffer(StringUtils.defaultString(httpRequest.getBody()));
+    }
+
+    private BidRequest bodyAsBidRequest(Buffer body, List<String> errors, String referer) {
         try {
-            return mapper.mapper().readTree(body);
+            return ortbTypesResolver.parseBidRequest(body, errors, referer);
         } catch (IOException e) {
             throw new InvalidRequestException("Error decoding bidRequest: " + e.getMessage());
         }
     }
 
-    private BidRequest jsonNodeAsBidRequest(JsonNode bidRequestNode) {
+    private boolean isProtobufRequest(HttpRequestContext httpRequest) {
+        final CaseInsensitiveMultiMap headers = httpRequest.getHeaders();
+        return protobufAuctionMapper != null
+                && headers != null
+                && ProtobufAuctionMapper.isProtobuf(headers.get(HttpUtil.CONTENT_TYPE_HEADER));
+    }
+
+    private BidRequest protobufBodyAsBidRequest(Buffer body) {
         try {
-            return mapper.mapper().treeToValue(bidRequestNode, BidRequest.class);
-        } catch (JsonProcessingException e) {
+            return protobufAuctionMapper.decodeBidRequest(body);
+        } catch (IOException | IllegalArgumentException e) {
             throw new InvalidRequestException("Error decoding bidRequest: " + e.getMessage());
         }
     }
@@ -213,12 +233,22 @@ public class AuctionRequestFactory {
         final Account account = auctionContext.getAccount();
         final List<String> debugWarnings = auctionContext.getDebugWarnings();
 
-        return storedRequestProcessor.processAuctionRequest(account.getId(), auctionContext.getBidRequest())
+        return auctionContext.getStageTimings()
+                .measure(MetricName.stored_request, () -> storedRequestProcessor.processAuctionRequest(
+                        account.getId(), auctionContext.getBidRequest()))
                 .compose(auctionStoredResult -> updateBidRequest(auctionStoredResult, auctionContext))
                 .compose(bidRequest -> ortb2RequestFactory.validateRequest(bidRequest, debugWarnings))
                 .map(interstitialProcessor::process);
     }
 
+    private AuctionContext enrichWithPriceFloors(AuctionContext auctionContext) {
+        final long startNanos = System.nanoTime();
+        final AuctionContext enrichedAuctionContext = ortb2RequestFactory.enrichWithPriceFloors(auctionContext);
+        auctionContext.getStageTimings().record(MetricName.price_floors, startNanos);
+
+        return enrichedAuctionContext;
+    }
+
     private Future<BidRequest> updateBidRequest(AuctionStoredResult auctionStoredResult,
                                                 AuctionContext auctionContext) {
 
@@ -8,6 +8,7 @@ import com.iab.openrtb.request.Publisher;
 import com.iab.openrtb.request.Site;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
@@ -38,6 +39,7 @@ import org.prebid.server.geolocation.model.GeoInfo;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.entrypoint.BufferEntrypointPayload;
 import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
 import org.prebid.server.hooks.v1.entrypoint.EntrypointPayload;
 import org.prebid.server.log.ConditionalLogger;
@@ -219,7 +221,7 @@ public class Ortb2RequestFactory {
     }
 
     public Future<HttpRequestContext> executeEntrypointHooks(RoutingContext routingContext,
-                                                             String body,
+                                                             Buffer body,
                                                              AuctionContext auctionContext) {
 
         return hookStageExecutor.executeEntrypointStage(
@@ -258,14 +260,18 @@ public class Ortb2RequestFactory {
             throw new RejectedRequestException(auctionContext);
         }
 
-        return HttpRequestContext.builder()
+        final EntrypointPayload payload = stageResult.getPayload();
+        final HttpRequestContext.HttpRequestContextBuilder httpRequestBuilder = HttpRequestContext.builder()
                 .absoluteUri(routingContext.request().absoluteURI())
-                .queryParams(stageResult.getPayload().queryParams())
-                .headers(stageResult.getPayload().headers())
-                .body(stageResult.getPayload().body())
+                .queryParams(payload.queryParams())
+                .headers(payload.headers())
                 .scheme(routingContext.request().scheme())
-                .remoteHost(routingContext.request().remoteAddress().host())
-                .build();
+                .remoteHost(routingContext.request().remoteAddress().host());
+
+        // body not replaced by hooks is passed on as received
+        return payload instanceof BufferEntrypointPayload bufferPayload
+                ? httpRequestBuilder.rawBody(bufferPayload.rawBody()).build()
+                : httpRequestBuilder.body(payload.body()).build();
     }
 
     private static BidRequest toBidRequest(HookStageExecutionResult<AuctionRequestPayload> stageResult,
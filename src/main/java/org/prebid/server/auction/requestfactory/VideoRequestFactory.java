@@ -9,7 +9,9 @@ import com.iab.openrtb.request.video.BidRequestVideo;
 import com.iab.openrtb.request.video.Pod;
 import com.iab.openrtb.request.video.PodError;
 import com.iab.openrtb.request.video.Podconfig;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -90,7 +92,7 @@ public class VideoRequestFactory {
      * Creates {@link AuctionContext} and {@link List} of {@link PodError} based on {@link RoutingContext}.
      */
     public Future<WithPodErrors<AuctionContext>> fromRequest(RoutingContext routingContext, long startTime) {
-        final String body;
+        final Buffer body;
         try {
             body = extractAndValidateBody(routingContext);
         } catch (InvalidRequestException e) {
@@ -145,16 +147,19 @@ public class VideoRequestFactory {
                 .map(auctionContext -> WithPodErrors.of(auctionContext, podErrors));
     }
 
-    private String extractAndValidateBody(RoutingContext routingContext) {
-        final String body = routingContext.getBodyAsString();
-        if (body == null) {
-            throw new InvalidRequestException("Incoming request has no body");
-        }
+    private Buffer extractAndValidateBody(RoutingContext routingContext) {
+        final Buffer body = routingContext.getBody();
+        // body handler rejects request as soon as received body exceeds the limit, so there is no body to check
+        if (routingContext.statusCode() == HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()
+                || body != null && body.length() > maxRequestSize) {
 
-        if (body.length() > maxRequestSize) {
             throw new InvalidRequestException("Request size exceeded max size of %d bytes.".formatted(maxRequestSize));
         }
 
+        if (body == null) {
+            throw new InvalidRequestException("Incoming request has no body");
+        }
+
         return body;
     }
 
@@ -212,7 +217,10 @@ public class VideoRequestFactory {
      */
     private BidRequestVideo parseRequest(HttpRequestContext httpRequest) {
         try {
-            final BidRequestVideo bidRequestVideo = mapper.decodeValue(httpRequest.getBody(), BidRequestVideo.class);
+            final Buffer rawBody = httpRequest.getRawBody();
+            final BidRequestVideo bidRequestVideo = rawBody != null
+                    ? mapper.decodeValue(rawBody, BidRequestVideo.class)
+                    : mapper.decodeValue(httpRequest.getBody(), BidRequestVideo.class);
             return insertDeviceUa(httpRequest, bidRequestVideo);
         } catch (DecodeException e) {
             throw new InvalidRequestException(e.getMessage());
@@ -0,0 +1,167 @@
+package org.prebid.server.bidder;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Limits number of in-flight requests to each bidder endpoint adapting the limit to endpoint health
+ * with AIMD (additive increase, multiplicative decrease) algorithm.
+ * <p>
+ * While responses arrive within target latency and the limit is utilized, it grows by one per limit-sized batch of
+ * requests. On timeout the limit is cut by backoff ratio, once per generation of requests: timeouts of requests sent
+ * before the last cut do not cut it again. So degraded bidder gets less traffic long before circuit breaker would
+ * react on errors, and excess requests are rejected without waiting for the bidder.
+ * <p>
+ * Limits are tracked per bidder and endpoint origin (scheme, host and port), all state is updated lock-free.
+ */
+public class BidderConcurrencyLimiter {
+
+    private static final int MAX_ENDPOINTS = 10_000;
+    private static final int ENDPOINT_EXPIRE_HOURS = 1;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyMs;
+    private final double backoffRatio;
+    private final Clock clock;
+
+    private final Map<String, EndpointLimit> limits;
+
+    public BidderConcurrencyLimiter(int initialLimit,
+                                    int minLimit,
+                                    int maxLimit,
+                                    long targetLatencyMs,
+                                    double backoffRatio,
+                                    Clock clock) {
+
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Concurrency limits should satisfy 0 < min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio should be in range (0, 1)");
+        }
+
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyMs = targetLatencyMs;
+        this.backoffRatio = backoffRatio;
+        this.clock = Objects.requireNonNull(clock);
+
+        limits = Caffeine.newBuilder()
+                .maximumSize(MAX_ENDPOINTS)
+                .expireAfterAccess(ENDPOINT_EXPIRE_HOURS, TimeUnit.HOURS)
+                .<String, EndpointLimit>build()
+                .asMap();
+    }
+
+    /**
+     * Returns {@link Permit} for the request to the given bidder endpoint or null if limit of in-flight requests
+     * to the endpoint is reached.
+     * <p>
+     * Obtained permit should be released once the request is completed.
+     */
+    public Permit tryAcquire(String bidder, String uri) {
+        final EndpointLimit limit = limits.computeIfAbsent(endpointKey(bidder, uri), ignored -> new EndpointLimit());
+        return limit.tryAcquire() ? new Permit(limit, clock.millis()) : null;
+    }
+
+    /**
+     * Returns current limit of in-flight requests to the given bidder endpoint.
+     */
+    public int limit(String bidder, String uri) {
+        final EndpointLimit limit = limits.get(endpointKey(bidder, uri));
+        return limit != null ? limit.currentLimit() : initialLimit;
+    }
+
+    private static String endpointKey(String bidder, String uri) {
+        if (uri == null) {
+            return bidder;
+        }
+
+        final int schemeEnd = uri.indexOf("://");
+        final int hostStart = schemeEnd != -1 ? schemeEnd + 3 : 0;
+
+        int originEnd = hostStart;
+        while (originEnd < uri.length() && "/?#".indexOf(uri.charAt(originEnd)) == -1) {
+            originEnd++;
+        }
+
+        return bidder + '|' + uri.substring(0, originEnd);
+    }
+
+    public class Permit {
+
+        private final EndpointLimit limit;
+        private final long startTime;
+
+        private Permit(EndpointLimit limit, long startTime) {
+            this.limit = limit;
+            this.startTime = startTime;
+        }
+
+        /**
+         * Releases the permit adjusting the limit by outcome of the request.
+         * <p>
+         * Requests failed for other reasons than timeout do not affect the limit.
+         */
+        public void release(boolean succeeded, boolean timedOut) {
+            final long now = clock.millis();
+            limit.release(startTime, now, succeeded && now - startTime <= targetLatencyMs, timedOut);
+        }
+    }
+
+    private class EndpointLimit {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // double value of the limit, fractional part accumulates additive increase
+        private final AtomicLong limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+
+        private volatile long lastDecreaseTime;
+
+        boolean tryAcquire() {
+            final int currentLimit = currentLimit();
+
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= currentLimit) {
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+
+            return true;
+        }
+
+        void release(long startTime, long now, boolean withinTargetLatency, boolean timedOut) {
+            final int released = inFlight.getAndDecrement();
+
+            if (timedOut) {
+                // requests sent before the last decrease already account for it
+                if (startTime >= lastDecreaseTime) {
+                    lastDecreaseTime = now;
+                    updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+                }
+            } else if (withinTargetLatency && released * 2 >= currentLimit()) {
+                updateLimit(limit -> Math.min(maxLimit, limit + 1 / limit));
+            }
+        }
+
+        int currentLimit() {
+            return (int) Double.longBitsToDouble(limitBits.get());
+        }
+
+        private void updateLimit(DoubleUnaryOperator updater) {
+            limitBits.updateAndGet(bits ->
+                    Double.doubleToLongBits(updater.applyAsDouble(Double.longBitsToDouble(bits))));
+        }
+    }
+}
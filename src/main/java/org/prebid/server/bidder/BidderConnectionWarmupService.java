@@ -0,0 +1,303 @@
+package org.prebid.server.bidder;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.Initializable;
+import org.prebid.server.vertx.http.HttpClient;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Opens connections to endpoint hosts of active bidders in advance, so the first auctions after startup
+ * do not pay TCP and TLS handshake cost.
+ * <p>
+ * HTTP clients (along with their connection pools) are bound to event loops, so connections are opened on each
+ * context registered by {@link #addContext(Context)}. Warm-up starts once the application is initialized, servers
+ * running on registered contexts are expected to start listening only after warm-up on their context is done.
+ * After that hosts having no open connections left in the pool (e.g. closed by idle timeout) are warmed up again.
+ */
+public class BidderConnectionWarmupService implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidderConnectionWarmupService.class);
+
+    private final Vertx vertx;
+    private final BidderHttpClientProvider httpClientProvider;
+    private final Metrics metrics;
+    private final Clock clock;
+    private final int connectionsPerHost;
+    private final long timeoutMs;
+    private final long maxWaitMs;
+    private final long rewarmPeriodMs;
+
+    private final Map<String, Origin> bidderOrigins;
+    private final Map<Context, Promise<Void>> contextToWarmUp = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicInteger pendingHosts = new AtomicInteger();
+    private final AtomicInteger pendingContexts = new AtomicInteger();
+
+    private volatile Instant lastWarmUpTime;
+
+    public BidderConnectionWarmupService(Vertx vertx,
+                                         BidderCatalog bidderCatalog,
+                                         BidderHttpClientProvider httpClientProvider,
+                                         Metrics metrics,
+                                         Clock clock,
+                                         int connectionsPerHost,
+                                         long timeoutMs,
+                                         long maxWaitMs,
+                                         long rewarmPeriodMs) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.httpClientProvider = Objects.requireNonNull(httpClientProvider);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.connectionsPerHost = connectionsPerHost;
+        this.timeoutMs = timeoutMs;
+        this.maxWaitMs = maxWaitMs;
+        this.rewarmPeriodMs = rewarmPeriodMs;
+
+        if (connectionsPerHost < 1) {
+            throw new IllegalArgumentException("Number of connections per host should be positive");
+        }
+        if (maxWaitMs < 1) {
+            throw new IllegalArgumentException("Max wait time should be positive");
+        }
+
+        bidderOrigins = resolveBidderOrigins(Objects.requireNonNull(bidderCatalog));
+    }
+
+    private static Map<String, Origin> resolveBidderOrigins(BidderCatalog bidderCatalog) {
+        final Map<String, Origin> origins = new HashMap<>();
+        for (String bidder : bidderCatalog.names()) {
+            final BidderInfo bidderInfo = bidderCatalog.bidderInfoByName(bidder);
+            final Origin origin = bidderInfo != null && bidderCatalog.isActive(bidder)
+                    ? origin(bidderInfo.getEndpoint())
+                    : null;
+
+            if (origin != null) {
+                origins.put(bidder, origin);
+            }
+        }
+
+        return origins;
+    }
+
+    private static Origin origin(String endpoint) {
+        if (StringUtils.isBlank(endpoint)) {
+            return null;
+        }
+
+        final URL url;
+        try {
+            url = new URL(endpoint);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+
+        final String host = url.getHost();
+        // hosts resolved from macros are known only at request time
+        if (StringUtils.isEmpty(host) || StringUtils.containsAny(host, '{', '}')) {
+            return null;
+        }
+
+        final String rootUrl = url.getPort() != -1
+                ? "%s://%s:%d/".formatted(url.getProtocol(), host, url.getPort())
+                : "%s://%s/".formatted(url.getProtocol(), host);
+
+        return Origin.of(rootUrl, host, url.getPort() != -1 ? url.getPort() : url.getDefaultPort());
+    }
+
+    /**
+     * Registers Vert.x context serving auctions, connections are opened on it once warm-up is started.
+     * <p>
+     * Returns {@link Future} completed on the given context when warm-up on it is done or took longer than
+     * configured max wait time.
+     */
+    public synchronized Future<Void> addContext(Context context) {
+        final Promise<Void> warmUpPromise = Promise.promise();
+        contextToWarmUp.put(Objects.requireNonNull(context), warmUpPromise);
+
+        if (started.get()) {
+            pendingContexts.incrementAndGet();
+            context.runOnContext(ignored -> warmUp(warmUpPromise));
+        }
+
+        return warmUpPromise.future();
+    }
+
+    /**
+     * Starts warm-up on all registered contexts.
+     * <p>
+     * Invoked on application context refresh, so HTTP clients bound to contexts can already be created.
+     */
+    @Override
+    public synchronized void initialize() {
+        // application context can be refreshed more than once
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+
+        metrics.createBidderConnectionWarmupGauge(pendingHosts::get);
+
+        logger.info("Bidder connection warm-up started for {0} hosts, {1} connections per host",
+                new HashSet<>(bidderOrigins.values()).size(), connectionsPerHost);
+
+        pendingContexts.set(contextToWarmUp.size());
+        contextToWarmUp.forEach((context, warmUpPromise) -> context.runOnContext(ignored -> warmUp(warmUpPromise)));
+    }
+
+    /**
+     * Opens connections to bidder hosts using HTTP clients of the current Vert.x context and schedules periodic
+     * re-warming of hosts with drained connection pool.
+     */
+    private void warmUp(Promise<Void> warmUpPromise) {
+        final ContextState contextState = new ContextState(warmupTargets());
+        final long maxWaitTimerId = vertx.setTimer(maxWaitMs, ignored -> warmUpPromise.tryComplete());
+
+        warmUpTargets(contextState, contextState.targets)
+                .onComplete(ignored -> {
+                    vertx.cancelTimer(maxWaitTimerId);
+                    pendingContexts.decrementAndGet();
+                    lastWarmUpTime = clock.instant();
+                    warmUpPromise.tryComplete();
+                    scheduleRewarm(contextState);
+                });
+    }
+
+    private Set<WarmupTarget> warmupTargets() {
+        return bidderOrigins.entrySet().stream()
+                .map(bidderAndOrigin -> WarmupTarget.of(
+                        httpClientProvider.httpClient(bidderAndOrigin.getKey()), bidderAndOrigin.getValue()))
+                .collect(Collectors.toSet());
+    }
+
+    private Future<Void> warmUpTargets(ContextState contextState, Set<WarmupTarget> targets) {
+        final List<Future> hostFutures = new ArrayList<>();
+        for (WarmupTarget target : targets) {
+            if (contextState.warmingTargets.add(target)) {
+                hostFutures.add(warmUpTarget(target)
+                        .onComplete(ignored -> contextState.warmingTargets.remove(target)));
+            }
+        }
+
+        return CompositeFuture.join(hostFutures).mapEmpty();
+    }
+
+    private Future<Void> warmUpTarget(WarmupTarget target) {
+        pendingHosts.incrementAndGet();
+
+        // concurrent requests make the pool open separate connection for each of them
+        final List<Future> connectionFutures = IntStream.range(0, connectionsPerHost)
+                .mapToObj(ignored -> openConnection(target))
+                .collect(Collectors.toList());
+
+        return CompositeFuture.join(connectionFutures)
+                .<Void>mapEmpty()
+                .recover(ignored -> Future.succeededFuture())
+                .onComplete(ignored -> pendingHosts.decrementAndGet());
+    }
+
+    private Future<Void> openConnection(WarmupTarget target) {
+        // any response status is fine, the goal is to have connection established and pooled
+        final Origin origin = target.getOrigin();
+        return target.getHttpClient().warmUpConnection(origin.getRootUrl(), timeoutMs)
+                .onComplete(result -> {
+                    metrics.updateBidderConnectionWarmupMetric(result.succeeded());
+                    if (result.failed()) {
+                        logger.debug("Failed to open connection to {0}: {1}",
+                                origin.getRootUrl(), result.cause().getMessage());
+                    }
+                });
+    }
+
+    private void scheduleRewarm(ContextState contextState) {
+        if (rewarmPeriodMs > 0) {
+            vertx.setPeriodic(rewarmPeriodMs, ignored -> rewarmDrainedTargets(contextState));
+        }
+    }
+
+    private void rewarmDrainedTargets(ContextState contextState) {
+        final Set<WarmupTarget> drainedTargets = contextState.targets.stream()
+                .filter(BidderConnectionWarmupService::isDrained)
+                .collect(Collectors.toSet());
+
+        if (!drainedTargets.isEmpty()) {
+            warmUpTargets(contextState, drainedTargets);
+        }
+    }
+
+    /**
+     * Returns true if the pool of target HTTP client has no open connections to the target host.
+     * <p>
+     * Hosts of clients not tracking open connections are never considered drained.
+     */
+    private static boolean isDrained(WarmupTarget target) {
+        final Origin origin = target.getOrigin();
+        return target.getHttpClient().openConnections(origin.getHost(), origin.getPort()) == 0;
+    }
+
+    /**
+     * Returns true if warm-up was started and completed on all contexts.
+     */
+    public boolean isWarmedUp() {
+        return started.get() && pendingContexts.get() == 0;
+    }
+
+    public Instant getLastWarmUpTime() {
+        return lastWarmUpTime;
+    }
+
+    @Value(staticConstructor = "of")
+    private static class Origin {
+
+        String rootUrl;
+
+        String host;
+
+        int port;
+    }
+
+    @Value(staticConstructor = "of")
+    private static class WarmupTarget {
+
+        HttpClient httpClient;
+
+        Origin origin;
+    }
+
+    /**
+     * Warm-up state of single Vert.x context, accessed only from that context.
+     */
+    private static class ContextState {
+
+        private final Set<WarmupTarget> targets;
+        private final Set<WarmupTarget> warmingTargets = new HashSet<>();
+
+        ContextState(Set<WarmupTarget> targets) {
+            this.targets = targets;
+        }
+    }
+}
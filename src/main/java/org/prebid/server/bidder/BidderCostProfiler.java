@@ -0,0 +1,75 @@
+package org.prebid.server.bidder;
+
+import com.sun.management.ThreadMXBean;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Measures cost of bidder adapter code running on event loop, so it can be attributed to particular adapter.
+ * <p>
+ * Wall time of each call is measured. Thread CPU time and bytes allocated by the call are measured for sampled calls
+ * only, as reading them is more expensive, and only if JVM supports it.
+ */
+public class BidderCostProfiler {
+
+    private final Metrics metrics;
+    private final double samplingRate;
+    private final ThreadMXBean threadMXBean;
+
+    private final boolean cpuTimeSupported;
+    private final boolean allocatedBytesSupported;
+
+    public BidderCostProfiler(Metrics metrics, double samplingRate) {
+        this(metrics, samplingRate, platformThreadMXBean());
+    }
+
+    BidderCostProfiler(Metrics metrics, double samplingRate, ThreadMXBean threadMXBean) {
+        if (samplingRate < 0 || samplingRate > 1) {
+            throw new IllegalArgumentException("Sampling rate should be in range [0, 1]");
+        }
+
+        this.metrics = Objects.requireNonNull(metrics);
+        this.samplingRate = samplingRate;
+        this.threadMXBean = threadMXBean;
+
+        cpuTimeSupported = threadMXBean != null
+                && threadMXBean.isCurrentThreadCpuTimeSupported()
+                && threadMXBean.isThreadCpuTimeEnabled();
+        allocatedBytesSupported = threadMXBean != null
+                && threadMXBean.isThreadAllocatedMemorySupported()
+                && threadMXBean.isThreadAllocatedMemoryEnabled();
+    }
+
+    private static ThreadMXBean platformThreadMXBean() {
+        return ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threadMXBean ? threadMXBean : null;
+    }
+
+    public <T> T profile(String bidder, MetricName method, Supplier<T> call) {
+        final boolean sampled = samplingRate > 0 && ThreadLocalRandom.current().nextDouble() < samplingRate;
+        final boolean measureCpuTime = sampled && cpuTimeSupported;
+        final boolean measureAllocatedBytes = sampled && allocatedBytesSupported;
+
+        final long startAllocatedBytes = measureAllocatedBytes ? threadMXBean.getCurrentThreadAllocatedBytes() : 0L;
+        final long startCpuNanos = measureCpuTime ? threadMXBean.getCurrentThreadCpuTime() : 0L;
+        final long startNanos = System.nanoTime();
+
+        try {
+            return call.get();
+        } finally {
+            metrics.updateAdapterMethodTimeMetric(bidder, method, System.nanoTime() - startNanos);
+            if (measureCpuTime) {
+                metrics.updateAdapterMethodCpuTimeMetric(
+                        bidder, method, threadMXBean.getCurrentThreadCpuTime() - startCpuNanos);
+            }
+            if (measureAllocatedBytes) {
+                metrics.updateAdapterMethodAllocatedBytesMetric(
+                        bidder, method, threadMXBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.prebid.server.bidder;
+
+import org.prebid.server.vertx.http.HttpClient;
+
+/**
+ * Provides {@link HttpClient} to be used for communication with particular bidder.
+ */
+@FunctionalInterface
+public interface BidderHttpClientProvider {
+
+    HttpClient httpClient(String bidder);
+}
@@ -5,6 +5,7 @@ import lombok.Value;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.versionconverter.OrtbVersion;
 import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.spring.config.bidder.model.HttpProtocol;
 import org.prebid.server.spring.config.bidder.model.MediaType;
 
 import java.util.List;
@@ -20,6 +21,8 @@ public class BidderInfo {
 
     boolean usesHttps;
 
+    String endpoint;
+
     String aliasOf;
 
     MaintainerInfo maintainer;
@@ -36,6 +39,20 @@ public class BidderInfo {
 
     CompressionType compressionType;
 
+    int compressionLevel;
+
+    int compressionMinSize;
+
+    /**
+     * Whether compressed responses should be requested from the bidder, null means server-wide default is used.
+     */
+    Boolean responseCompression;
+
+    /**
+     * Dedicated HTTP client settings, null means shared HTTP client is used for the bidder.
+     */
+    HttpClientInfo httpClient;
+
     public static BidderInfo create(boolean enabled,
                                     OrtbVersion ortbVersion,
                                     boolean debugAllowed,
@@ -48,13 +65,18 @@ public class BidderInfo {
                                     int vendorId,
                                     boolean ccpaEnforced,
                                     boolean modifyingVastXmlAllowed,
-                                    CompressionType compressionType) {
+                                    CompressionType compressionType,
+                                    int compressionLevel,
+                                    int compressionMinSize,
+                                    Boolean responseCompression,
+                                    HttpClientInfo httpClient) {
 
         return of(
                 enabled,
                 ortbVersion,
                 debugAllowed,
                 StringUtils.startsWith(endpoint, "https://"),
+                endpoint,
                 aliasOf,
                 new MaintainerInfo(maintainerEmail),
                 new CapabilitiesInfo(platformInfo(appMediaTypes), platformInfo(siteMediaTypes)),
@@ -62,7 +84,11 @@ public class BidderInfo {
                 new GdprInfo(vendorId),
                 ccpaEnforced,
                 modifyingVastXmlAllowed,
-                compressionType);
+                compressionType,
+                compressionLevel,
+                compressionMinSize,
+                responseCompression,
+                httpClient);
     }
 
     private static PlatformInfo platformInfo(List<MediaType> mediaTypes) {
@@ -90,6 +116,26 @@ public class BidderInfo {
         List<MediaType> mediaTypes;
     }
 
+    @Value(staticConstructor = "of")
+    public static class HttpClientInfo {
+
+        Integer maxPoolSize;
+
+        Integer maxWaitQueueSize;
+
+        Integer idleTimeoutMs;
+
+        Integer connectTimeoutMs;
+
+        Boolean keepAlive;
+
+        HttpProtocol protocol;
+
+        Integer http2MaxPoolSize;
+
+        Integer http2MultiplexingLimit;
+    }
+
     @Value
     public static class GdprInfo {
 
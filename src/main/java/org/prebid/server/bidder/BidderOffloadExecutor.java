@@ -0,0 +1,115 @@
+package org.prebid.server.bidder;
+
+import com.iab.openrtb.request.BidRequest;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
+import lombok.Value;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs heavy bidder adapter calls on worker threads instead of event loop, so they do not delay other connections
+ * served by the event loop.
+ * <p>
+ * Call is considered heavy if bid request has many imps or the average time of previous calls of the same adapter
+ * method exceeds the threshold. Number of calls waiting for or running on workers is bounded: when the bound is
+ * reached, calls are made on event loop as usual. Results of offloaded calls are delivered on the Vert.x context
+ * the call was made on.
+ */
+public class BidderOffloadExecutor {
+
+    // weight of the latest call time in the average, as in TCP round-trip time estimation
+    private static final int AVERAGE_COST_WEIGHT_SHIFT = 3;
+
+    private final WorkerExecutor workerExecutor;
+    private final int maxPending;
+    private final int minImps;
+    private final long costThresholdNanos;
+    private final Metrics metrics;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<CostKey, Long> averageCostNanos = new ConcurrentHashMap<>();
+
+    public BidderOffloadExecutor(WorkerExecutor workerExecutor,
+                                 int maxPending,
+                                 int minImps,
+                                 long costThresholdMs,
+                                 Metrics metrics) {
+
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Max pending calls should be positive");
+        }
+
+        this.workerExecutor = Objects.requireNonNull(workerExecutor);
+        this.maxPending = maxPending;
+        this.minImps = minImps;
+        this.costThresholdNanos = TimeUnit.MILLISECONDS.toNanos(costThresholdMs);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    public <T> Future<T> execute(String bidder, MetricName method, BidRequest bidRequest, Supplier<T> call) {
+        final CostKey costKey = CostKey.of(bidder, method);
+
+        if (!isHeavy(costKey, bidRequest)) {
+            return Future.succeededFuture(measure(costKey, call));
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            metrics.updateBidderOffloadRejectedMetric();
+            return Future.succeededFuture(measure(costKey, call));
+        }
+
+        final long enqueuedNanos = System.nanoTime();
+        final Promise<T> promise = Promise.promise();
+        workerExecutor.<T>executeBlocking(
+                blockingPromise -> {
+                    metrics.updateBidderOffloadQueueTimeMetric(System.nanoTime() - enqueuedNanos);
+                    blockingPromise.complete(measure(costKey, call));
+                },
+                false,
+                result -> {
+                    pending.decrementAndGet();
+                    promise.handle(result);
+                });
+
+        return promise.future();
+    }
+
+    private boolean isHeavy(CostKey costKey, BidRequest bidRequest) {
+        final List<?> imps = bidRequest != null ? bidRequest.getImp() : null;
+        if (minImps > 0 && imps != null && imps.size() >= minImps) {
+            return true;
+        }
+
+        final Long averageCost = averageCostNanos.get(costKey);
+        return costThresholdNanos > 0 && averageCost != null && averageCost >= costThresholdNanos;
+    }
+
+    private <T> T measure(CostKey costKey, Supplier<T> call) {
+        final long startNanos = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            final long costNanos = System.nanoTime() - startNanos;
+            averageCostNanos.merge(costKey, costNanos,
+                    (average, cost) -> average + ((cost - average) >> AVERAGE_COST_WEIGHT_SHIFT));
+        }
+    }
+
+    @Value(staticConstructor = "of")
+    private static class CostKey {
+
+        String bidder;
+
+        MetricName method;
+    }
+}
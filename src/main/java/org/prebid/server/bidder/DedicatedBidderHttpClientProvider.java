@@ -0,0 +1,52 @@
+package org.prebid.server.bidder;
+
+import org.prebid.server.vertx.http.HttpClient;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * {@link BidderHttpClientProvider} which creates dedicated {@link HttpClient} (with its own connection pool)
+ * for each active bidder having {@link BidderInfo.HttpClientInfo} configured, other bidders share default client.
+ * <p>
+ * Expected to be created per Vert.x context, so that each event loop has its own set of clients.
+ */
+public class DedicatedBidderHttpClientProvider implements BidderHttpClientProvider {
+
+    private final HttpClient defaultHttpClient;
+    private final Map<String, HttpClient> bidderHttpClients;
+
+    public DedicatedBidderHttpClientProvider(HttpClient defaultHttpClient,
+                                             BidderCatalog bidderCatalog,
+                                             Function<BidderInfo.HttpClientInfo, HttpClient> httpClientFactory) {
+
+        this.defaultHttpClient = Objects.requireNonNull(defaultHttpClient);
+        this.bidderHttpClients = createBidderHttpClients(
+                Objects.requireNonNull(bidderCatalog),
+                Objects.requireNonNull(httpClientFactory));
+    }
+
+    private static Map<String, HttpClient> createBidderHttpClients(
+            BidderCatalog bidderCatalog,
+            Function<BidderInfo.HttpClientInfo, HttpClient> httpClientFactory) {
+
+        final Map<String, HttpClient> httpClients = new HashMap<>();
+        for (String bidder : bidderCatalog.names()) {
+            final BidderInfo bidderInfo = bidderCatalog.bidderInfoByName(bidder);
+            final BidderInfo.HttpClientInfo httpClientInfo = bidderInfo != null ? bidderInfo.getHttpClient() : null;
+
+            if (httpClientInfo != null && bidderCatalog.isActive(bidder)) {
+                httpClients.put(bidder, httpClientFactory.apply(httpClientInfo));
+            }
+        }
+
+        return httpClients;
+    }
+
+    @Override
+    public HttpClient httpClient(String bidder) {
+        return bidderHttpClients.getOrDefault(bidder, defaultHttpClient);
+    }
+}
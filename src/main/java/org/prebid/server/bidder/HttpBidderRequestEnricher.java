@@ -26,6 +26,7 @@ import java.util.stream.Stream;
 public class HttpBidderRequestEnricher {
 
     private static final Set<CharSequence> HEADERS_TO_COPY = Collections.singleton(HttpUtil.SEC_GPC_HEADER.toString());
+    private static final String ACCEPT_ENCODING_COMPRESSED = "gzip, deflate";
 
     private final PrebidVersionProvider prebidVersionProvider;
 
@@ -48,7 +49,10 @@ public class HttpBidderRequestEnricher {
 
         addOriginalRequestHeaders(bidderRequestHeadersCopy, originalRequestHeaders);
         addXPrebidHeader(bidderRequestHeadersCopy, bidRequest);
-        addContentEncodingHeader(bidderRequestHeadersCopy, resolveCompressionType(bidderName, aliases));
+
+        final BidderInfo bidderInfo = bidderCatalog.bidderInfoByName(aliases.resolveBidder(bidderName));
+        addContentEncodingHeader(bidderRequestHeadersCopy, resolveCompressionType(bidderInfo));
+        addAcceptEncodingHeader(bidderRequestHeadersCopy, bidderInfo);
 
         return bidderRequestHeadersCopy;
     }
@@ -108,9 +112,23 @@ public class HttpBidderRequestEnricher {
         }
     }
 
-    private CompressionType resolveCompressionType(String bidderName, BidderAliases aliases) {
-        return Optional.ofNullable(bidderCatalog.bidderInfoByName(aliases.resolveBidder(bidderName)))
+    private static CompressionType resolveCompressionType(BidderInfo bidderInfo) {
+        return Optional.ofNullable(bidderInfo)
                 .map(BidderInfo::getCompressionType)
                 .orElse(CompressionType.NONE);
     }
+
+    /**
+     * Overrides server-wide response compression negotiation if it is configured for the bidder.
+     */
+    private static void addAcceptEncodingHeader(MultiMap bidderHeaders, BidderInfo bidderInfo) {
+        final Boolean responseCompression = bidderInfo != null ? bidderInfo.getResponseCompression() : null;
+        if (responseCompression == null || bidderHeaders.contains(HttpUtil.ACCEPT_ENCODING_HEADER)) {
+            return;
+        }
+
+        bidderHeaders.add(
+                HttpUtil.ACCEPT_ENCODING_HEADER,
+                responseCompression ? ACCEPT_ENCODING_COMPRESSED : HttpHeaderValues.IDENTITY);
+    }
 }
@@ -25,18 +25,22 @@ import org.prebid.server.bidder.model.CompositeBidderResponse;
 import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.HttpResponse;
 import org.prebid.server.bidder.model.Result;
-import org.prebid.server.exception.PreBidException;
+import org.prebid.server.exception.ResponseSizeExceededException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.proto.openrtb.ext.response.FledgeAuctionConfig;
+import org.prebid.server.util.GzipUtil;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.model.DecompressionStats;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,10 +49,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Deflater;
 
 /**
  * Implements HTTP communication functionality common for {@link Bidder}'s.
@@ -63,23 +69,41 @@ public class HttpBidderRequester {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpBidderRequester.class);
 
-    private final HttpClient httpClient;
+    private final BidderHttpClientProvider httpClientProvider;
+    private final BidderCatalog bidderCatalog;
     private final BidderRequestCompletionTrackerFactory completionTrackerFactory;
     private final BidderErrorNotifier bidderErrorNotifier;
     private final HttpBidderRequestEnricher requestEnricher;
     private final JacksonMapper mapper;
-
-    public HttpBidderRequester(HttpClient httpClient,
+    private final Metrics metrics;
+    private final long maxResponseSize;
+    private final BidderConcurrencyLimiter concurrencyLimiter;
+    private final BidderCostProfiler costProfiler;
+    private final BidderOffloadExecutor offloadExecutor;
+
+    public HttpBidderRequester(BidderHttpClientProvider httpClientProvider,
+                               BidderCatalog bidderCatalog,
                                BidderRequestCompletionTrackerFactory completionTrackerFactory,
                                BidderErrorNotifier bidderErrorNotifier,
                                HttpBidderRequestEnricher requestEnricher,
-                               JacksonMapper mapper) {
-
-        this.httpClient = Objects.requireNonNull(httpClient);
+                               JacksonMapper mapper,
+                               Metrics metrics,
+                               long maxResponseSize,
+                               BidderConcurrencyLimiter concurrencyLimiter,
+                               BidderCostProfiler costProfiler,
+                               BidderOffloadExecutor offloadExecutor) {
+
+        this.httpClientProvider = Objects.requireNonNull(httpClientProvider);
+        this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.completionTrackerFactory = completionTrackerFactoryOrFallback(completionTrackerFactory);
         this.bidderErrorNotifier = Objects.requireNonNull(bidderErrorNotifier);
         this.requestEnricher = Objects.requireNonNull(requestEnricher);
         this.mapper = Objects.requireNonNull(mapper);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.maxResponseSize = maxResponseSize;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.costProfiler = costProfiler;
+        this.offloadExecutor = offloadExecutor;
     }
 
     /**
@@ -94,9 +118,28 @@ public class HttpBidderRequester {
                                                  boolean debugEnabled) {
 
         final String bidderName = bidderRequest.getBidder();
+        final String resolvedBidderName = aliases.resolveBidder(bidderName);
+        final BidRequest bidRequest = bidderRequest.getBidRequest();
+
+        return execute(resolvedBidderName, MetricName.make_http_requests, bidRequest,
+                () -> bidder.makeHttpRequests(bidRequest))
+                .compose(httpRequestsWithErrors -> sendHttpRequests(bidder, bidderRequest, httpRequestsWithErrors,
+                        bidRejectionTracker, timeout, requestHeaders, aliases, debugEnabled));
+    }
+
+    private <T> Future<BidderSeatBid> sendHttpRequests(Bidder<T> bidder,
+                                                       BidderRequest bidderRequest,
+                                                       Result<List<HttpRequest<T>>> httpRequestsWithErrors,
+                                                       BidRejectionTracker bidRejectionTracker,
+                                                       Timeout timeout,
+                                                       CaseInsensitiveMultiMap requestHeaders,
+                                                       BidderAliases aliases,
+                                                       boolean debugEnabled) {
+
+        final String bidderName = bidderRequest.getBidder();
+        final String resolvedBidderName = aliases.resolveBidder(bidderName);
         final BidRequest bidRequest = bidderRequest.getBidRequest();
 
-        final Result<List<HttpRequest<T>>> httpRequestsWithErrors = bidder.makeHttpRequests(bidRequest);
         final List<BidderError> errors = httpRequestsWithErrors.getErrors();
         final List<HttpRequest<T>> httpRequests = enrichRequests(
                 bidderName, httpRequestsWithErrors.getValue(), requestHeaders, aliases, bidRequest);
@@ -107,11 +150,14 @@ public class HttpBidderRequester {
         }
 
         final String storedResponse = bidderRequest.getStoredResponse();
+        final BidderInfo bidderInfo = bidderCatalog.bidderInfoByName(resolvedBidderName);
+        final HttpClient httpClient = httpClientProvider.httpClient(resolvedBidderName);
 
         // stored response available only for single request interaction for the moment.
         final Stream<Future<BidderCall<T>>> httpCalls = isStoredResponse(httpRequests, storedResponse, bidderName)
                 ? Stream.of(makeStoredHttpCall(httpRequests.get(0), storedResponse))
-                : httpRequests.stream().map(httpRequest -> doRequest(httpRequest, timeout));
+                : httpRequests.stream().map(httpRequest ->
+                        doRequest(httpClient, bidderName, bidderInfo, httpRequest, timeout));
 
         // httpCalls contains recovered and mapped to succeeded Future<BidderHttpCall> with error inside
         final BidderRequestCompletionTracker completionTracker = completionTrackerFactory.create(bidRequest);
@@ -121,7 +167,8 @@ public class HttpBidderRequester {
         final List<Future<Void>> httpRequestFutures = httpCalls
                 .map(httpCallFuture -> httpCallFuture
                         .map(httpCall -> bidderErrorNotifier.processTimeout(httpCall, bidder))
-                        .map(httpCall -> processHttpCall(bidder, bidRequest, resultBuilder, httpCall)))
+                        .compose(httpCall -> processHttpCall(
+                                bidder, resolvedBidderName, bidRequest, resultBuilder, httpCall)))
                 .toList();
 
         return CompositeFuture.any(
@@ -168,6 +215,8 @@ public class HttpBidderRequester {
     }
 
     private <T> Future<BidderCall<T>> makeStoredHttpCall(HttpRequest<T> httpRequest, String storedResponse) {
+        releaseBodyBuffer(httpRequest);
+
         final HttpResponse httpResponse = HttpResponse.of(HttpResponseStatus.OK.code(), null, storedResponse);
         return Future.succeededFuture(BidderCall.storedHttp(httpRequest, httpResponse));
     }
@@ -191,50 +240,188 @@ public class HttpBidderRequester {
     /**
      * Makes an HTTP request and returns {@link Future} that will be eventually completed with success or error result.
      */
-    private <T> Future<BidderCall<T>> doRequest(HttpRequest<T> httpRequest, Timeout timeout) {
+    private <T> Future<BidderCall<T>> doRequest(HttpClient httpClient,
+                                                String bidderName,
+                                                BidderInfo bidderInfo,
+                                                HttpRequest<T> httpRequest,
+                                                Timeout timeout) {
+
         final long remainingTimeout = timeout.remaining();
         if (remainingTimeout <= 0) {
+            releaseBodyBuffer(httpRequest);
             return failResponse(new TimeoutException("Timeout has been exceeded"), httpRequest);
         }
 
-        return createRequest(httpRequest, remainingTimeout)
-                .compose(response -> processResponse(response, httpRequest))
-                .recover(exception -> failResponse(exception, httpRequest));
+        final BidderConcurrencyLimiter.Permit permit = concurrencyLimiter != null
+                ? concurrencyLimiter.tryAcquire(bidderName, httpRequest.getUri())
+                : null;
+        if (concurrencyLimiter != null && permit == null) {
+            releaseBodyBuffer(httpRequest);
+            return throttledResponse(httpRequest);
+        }
+
+        Future<HttpClientResponse> responseFuture;
+        try {
+            responseFuture = createRequest(httpClient, bidderName, bidderInfo, httpRequest, remainingTimeout);
+        } catch (RuntimeException e) {
+            releaseBodyBuffer(httpRequest);
+            responseFuture = Future.failedFuture(e);
+        }
+        if (permit != null) {
+            responseFuture.onComplete(result -> permit.release(result.succeeded(), isTimeout(result.cause())));
+        }
+
+        return responseFuture
+                .compose(response -> processResponse(bidderName, response, httpRequest))
+                .recover(exception -> handleRequestFailure(bidderName, exception, httpRequest));
     }
 
-    private <T> Future<HttpClientResponse> createRequest(HttpRequest<T> httpRequest, long remainingTimeout) {
+    /**
+     * Produces {@link Future} with {@link BidderCall} for the request rejected by {@link BidderConcurrencyLimiter}.
+     */
+    private static <T> Future<BidderCall<T>> throttledResponse(HttpRequest<T> httpRequest) {
+        final String message = "Limit of concurrent requests to bidder url: %s has been reached"
+                .formatted(httpRequest.getUri());
+
+        return Future.succeededFuture(BidderCall.failedHttp(httpRequest, BidderError.throttled(message)));
+    }
+
+    private <T> Future<BidderCall<T>> handleRequestFailure(String bidderName,
+                                                           Throwable exception,
+                                                           HttpRequest<T> httpRequest) {
+
+        if (exception instanceof ResponseSizeExceededException sizeExceededException) {
+            metrics.updateAdapterResponseSizeExceededMetrics(
+                    bidderName, sizeExceededException.getReceivedBytes());
+        }
+
+        return failResponse(exception, httpRequest);
+    }
+
+    private <T> Future<HttpClientResponse> createRequest(HttpClient httpClient,
+                                                         String bidderName,
+                                                         BidderInfo bidderInfo,
+                                                         HttpRequest<T> httpRequest,
+                                                         long remainingTimeout) {
+
         final MultiMap requestHeaders = httpRequest.getHeaders();
-        final byte[] preparedBody = compressIfRequired(httpRequest.getBody(), requestHeaders);
+        if (httpRequest.hasPooledBody()) {
+            return createPooledBodyRequest(httpClient, bidderName, bidderInfo, httpRequest, remainingTimeout);
+        }
+
+        // explicitly set body takes precedence, so pooled one is not needed
+        releaseBodyBuffer(httpRequest);
+
+        final byte[] body = httpRequest.getBody();
+        final boolean compressionRequired = body != null
+                && isCompressionRequired(bidderInfo, body.length, requestHeaders);
+        if (!compressionRequired) {
+            removeGzipContentEncoding(requestHeaders);
+        }
+
+        final byte[] preparedBody = compressionRequired
+                ? compress(bidderName, bidderInfo, ByteBuffer.wrap(body))
+                : body;
 
         return httpClient.request(
                 httpRequest.getMethod(),
                 httpRequest.getUri(),
                 requestHeaders,
                 preparedBody,
-                remainingTimeout);
+                remainingTimeout,
+                maxResponseSize);
     }
 
-    private static byte[] compressIfRequired(byte[] body, MultiMap headers) {
-        final String contentEncodingHeader = headers.get(HttpUtil.CONTENT_ENCODING_HEADER);
-        return Objects.equals(contentEncodingHeader, HttpHeaderValues.GZIP.toString())
-                ? gzip(body)
-                : body;
+    /**
+     * Passes pooled body to the {@link HttpClient} as is or, if compression is required, compresses it
+     * right from the pooled memory and releases the buffer.
+     */
+    private <T> Future<HttpClientResponse> createPooledBodyRequest(HttpClient httpClient,
+                                                                   String bidderName,
+                                                                   BidderInfo bidderInfo,
+                                                                   HttpRequest<T> httpRequest,
+                                                                   long remainingTimeout) {
+
+        final MultiMap requestHeaders = httpRequest.getHeaders();
+        final PooledBuffer body = httpRequest.getBodyBuffer();
+
+        if (!isCompressionRequired(bidderInfo, body.length(), requestHeaders)) {
+            removeGzipContentEncoding(requestHeaders);
+            return httpClient.request(
+                    httpRequest.getMethod(),
+                    httpRequest.getUri(),
+                    requestHeaders,
+                    body,
+                    remainingTimeout,
+                    maxResponseSize);
+        }
+
+        final byte[] compressedBody;
+        try {
+            compressedBody = compress(bidderName, bidderInfo, body.nioBuffer());
+        } finally {
+            body.release();
+        }
+
+        return httpClient.request(
+                httpRequest.getMethod(),
+                httpRequest.getUri(),
+                requestHeaders,
+                compressedBody,
+                remainingTimeout,
+                maxResponseSize);
+    }
+
+    private static boolean isCompressionRequired(BidderInfo bidderInfo, int bodyLength, MultiMap headers) {
+        // small payloads are not worth spending CPU on compression
+        final int compressionMinSize = bidderInfo != null ? bidderInfo.getCompressionMinSize() : 0;
+        return isGzipContentEncoding(headers) && bodyLength >= compressionMinSize;
+    }
+
+    private static boolean isGzipContentEncoding(MultiMap headers) {
+        return Objects.equals(headers.get(HttpUtil.CONTENT_ENCODING_HEADER), HttpHeaderValues.GZIP.toString());
     }
 
-    private static byte[] gzip(byte[] value) {
-        try (
-                ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
+    /**
+     * Removes gzip content encoding set by bidder for the body which is sent uncompressed.
+     */
+    private static void removeGzipContentEncoding(MultiMap headers) {
+        if (isGzipContentEncoding(headers)) {
+            headers.remove(HttpUtil.CONTENT_ENCODING_HEADER);
+        }
+    }
 
-            gzip.write(value);
-            gzip.finish();
+    private byte[] compress(String bidderName, BidderInfo bidderInfo, ByteBuffer body) {
+        final int compressionLevel = bidderInfo != null
+                ? bidderInfo.getCompressionLevel()
+                : Deflater.DEFAULT_COMPRESSION;
+
+        final int bodyLength = body.remaining();
+        final long startTime = System.nanoTime();
+        final byte[] compressedBody = GzipUtil.gzip(body, compressionLevel);
+        metrics.updateAdapterRequestCompressionMetrics(
+                bidderName,
+                bodyLength,
+                compressedBody.length,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+
+        return compressedBody;
+    }
 
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("Failed to compress request : " + e.getMessage());
+    /**
+     * Releases pooled body of the request which is not going to be sent.
+     */
+    private static void releaseBodyBuffer(HttpRequest<?> httpRequest) {
+        final PooledBuffer bodyBuffer = httpRequest.getBodyBuffer();
+        if (bodyBuffer != null) {
+            bodyBuffer.release();
         }
     }
 
+    private static boolean isTimeout(Throwable exception) {
+        return exception instanceof TimeoutException || exception instanceof ConnectTimeoutException;
+    }
+
     /**
      * Produces {@link Future} with {@link BidderCall} containing request and error description.
      */
@@ -244,10 +431,9 @@ public class HttpBidderRequester {
         logger.debug("Error occurred while sending HTTP request to a bidder url: {0}",
                 exception, httpRequest.getUri());
 
-        final BidderError.Type errorType =
-                exception instanceof TimeoutException || exception instanceof ConnectTimeoutException
-                        ? BidderError.Type.timeout
-                        : BidderError.Type.generic;
+        final BidderError.Type errorType = isTimeout(exception)
+                ? BidderError.Type.timeout
+                : BidderError.Type.generic;
 
         return Future.succeededFuture(
                 BidderCall.failedHttp(httpRequest, BidderError.create(exception.getMessage(), errorType)));
@@ -257,11 +443,22 @@ public class HttpBidderRequester {
      * Produces {@link Future} with {@link BidderCall} containing request, response and possible error description
      * (if status code indicates an error).
      */
-    private static <T> Future<BidderCall<T>> processResponse(HttpClientResponse response,
-                                                             HttpRequest<T> httpRequest) {
+    private <T> Future<BidderCall<T>> processResponse(String bidderName,
+                                                      HttpClientResponse response,
+                                                      HttpRequest<T> httpRequest) {
+
+        final DecompressionStats decompressionStats = response.getDecompressionStats();
+        if (decompressionStats != null) {
+            metrics.updateAdapterResponseDecompressionMetrics(
+                    bidderName,
+                    decompressionStats.getCompressedBytes(),
+                    decompressionStats.getDecompressedBytes(),
+                    TimeUnit.NANOSECONDS.toMicros(decompressionStats.getInflateTimeNanos()));
+        }
 
         final int statusCode = response.getStatusCode();
-        final HttpResponse httpResponse = HttpResponse.of(statusCode, response.getHeaders(), response.getBody());
+        final HttpResponse httpResponse =
+                HttpResponse.ofBuffer(statusCode, response.getHeaders(), response.getBodyBuffer());
         return Future.succeededFuture(BidderCall.succeededHttp(httpRequest, httpResponse, errorOrNull(statusCode)));
     }
 
@@ -279,13 +476,33 @@ public class HttpBidderRequester {
         return null;
     }
 
-    private <T> Void processHttpCall(Bidder<T> bidder,
-                                     BidRequest bidRequest,
-                                     ResultBuilder<T> seatBidBuilder,
-                                     BidderCall<T> httpCall) {
+    private <T> Future<Void> processHttpCall(Bidder<T> bidder,
+                                             String resolvedBidderName,
+                                             BidRequest bidRequest,
+                                             ResultBuilder<T> seatBidBuilder,
+                                             BidderCall<T> httpCall) {
+
+        return execute(resolvedBidderName, MetricName.make_bids, bidRequest,
+                () -> makeBids(bidder, httpCall, bidRequest))
+                .map(bidderResponse -> {
+                    seatBidBuilder.addHttpCall(httpCall, bidderResponse);
+                    return null;
+                });
+    }
 
-        seatBidBuilder.addHttpCall(httpCall, makeBids(bidder, httpCall, bidRequest));
-        return null;
+    /**
+     * Makes given call of bidder adapter on worker thread if it is heavy enough to be offloaded,
+     * or right away otherwise.
+     */
+    private <R> Future<R> execute(String bidderName, MetricName method, BidRequest bidRequest, Supplier<R> call) {
+        final Supplier<R> profiledCall = () -> profile(bidderName, method, call);
+        return offloadExecutor != null
+                ? offloadExecutor.execute(bidderName, method, bidRequest, profiledCall)
+                : Future.succeededFuture(profiledCall.get());
+    }
+
+    private <R> R profile(String bidderName, MetricName method, Supplier<R> call) {
+        return costProfiler != null ? costProfiler.profile(bidderName, method, call) : call.get();
     }
 
     /**
@@ -426,6 +643,7 @@ public class HttpBidderRequester {
                     .requestbody(mapper.encodeToString(request.getPayload()))
                     .requestheaders(HttpUtil.toDebugHeaders(request.getHeaders()));
 
+            // response body is decoded to string only here, when debug info is requested
             final HttpResponse response = httpCall.getResponse();
             if (response != null) {
                 builder.responsebody(response.getBody());
@@ -12,6 +12,7 @@ import com.iab.openrtb.request.Site;
 import com.iab.openrtb.request.User;
 import com.iab.openrtb.response.Bid;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -240,7 +241,7 @@ public class AdnuntiusBidder implements Bidder<AdnuntiusRequest> {
     @Override
     public Result<List<BidderBid>> makeBids(BidderCall<AdnuntiusRequest> httpCall, BidRequest bidRequest) {
         try {
-            final String body = httpCall.getResponse().getBody();
+            final Buffer body = httpCall.getResponse().getBodyBuffer();
             final AdnuntiusResponse bidResponse = mapper.decodeValue(body, AdnuntiusResponse.class);
             return Result.withValues(extractBids(bidRequest, bidResponse));
         } catch (DecodeException | PreBidException e) {
@@ -116,7 +116,7 @@ public class BizzclickBidder implements Bidder<BidRequest> {
 
     private BidResponse parseBidResponse(HttpResponse response) {
         try {
-            return mapper.decodeValue(response.getBody(), BidResponse.class);
+            return mapper.decodeValue(response.getBodyBuffer(), BidResponse.class);
         } catch (DecodeException e) {
             throw new PreBidException("Bad server response.");
         }
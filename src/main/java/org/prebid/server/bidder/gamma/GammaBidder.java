@@ -9,6 +9,7 @@ import com.iab.openrtb.request.Format;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.response.Bid;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -195,7 +196,7 @@ public class GammaBidder implements Bidder<Void> {
 
     @Override
     public Result<List<BidderBid>> makeBids(BidderCall<Void> httpCall, BidRequest bidRequest) {
-        final String body = httpCall.getResponse().getBody();
+        final Buffer body = httpCall.getResponse().getBodyBuffer();
         if (body == null) {
             return Result.withError(BidderError.badServerResponse("bad server response: body is empty"));
         }
@@ -53,6 +53,10 @@ public class BidderError {
         return BidderError.of(message, Type.timeout);
     }
 
+    public static BidderError throttled(String message) {
+        return BidderError.of(message, Type.throttled);
+    }
+
     public enum Type {
         /**
          * Should be used when returning errors which are caused by bad input.
@@ -95,6 +99,12 @@ public class BidderError {
          */
         rejected_ipf(6),
 
+        /**
+         * Covers the case where a request was not sent because the limit of in-flight requests to the bidder
+         * endpoint has been reached.
+         */
+        throttled(7),
+
         timeout(1),
         generic(999);
 
@@ -3,7 +3,10 @@ package org.prebid.server.bidder.model;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpMethod;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
 import java.util.Set;
 
@@ -24,5 +27,28 @@ public class HttpRequest<T> {
 
     byte[] body;
 
+    /**
+     * Body serialized into pooled buffer, used if {@link #body} is not set. Buffer is released once written,
+     * so it should not be used after request has been made.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    PooledBuffer bodyBuffer;
+
     T payload;
+
+    /**
+     * Returns body of the request, copying it from {@link #bodyBuffer} if request has been created with one.
+     * The copy is made once, so it should not be modified. Used by equality as well, so requests with the same
+     * body are equal regardless of how the body is held.
+     *
+     * @throws IllegalStateException if {@link #bodyBuffer} had been released before the copy was made
+     */
+    public byte[] getBody() {
+        return hasPooledBody() ? bodyBuffer.getBytes() : body;
+    }
+
+    public boolean hasPooledBody() {
+        return body == null && bodyBuffer != null;
+    }
 }
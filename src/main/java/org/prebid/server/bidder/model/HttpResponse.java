@@ -1,13 +1,23 @@
 package org.prebid.server.bidder.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 /**
  * Packages together information from the server's http response.
+ * <p>
+ * Body received from the bidder is kept as raw {@link Buffer}, {@link String} representation is built only
+ * on demand (e.g. for debug output) and kept for subsequent calls, so bidders should decode response
+ * from {@link #getBodyBuffer()}.
  */
-@AllArgsConstructor(staticName = "of")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Value
 public class HttpResponse {
 
@@ -15,5 +25,38 @@ public class HttpResponse {
 
     MultiMap headers;
 
+    @Getter(AccessLevel.NONE)
     String body;
+
+    @Getter(AccessLevel.NONE)
+    Buffer bodyBuffer;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String decodedBody;
+
+    public static HttpResponse of(int statusCode, MultiMap headers, String body) {
+        return new HttpResponse(statusCode, headers, body, null, null);
+    }
+
+    public static HttpResponse ofBuffer(int statusCode, MultiMap headers, Buffer body) {
+        return new HttpResponse(statusCode, headers, null, body, null);
+    }
+
+    public String getBody() {
+        if (body != null || bodyBuffer == null) {
+            return body;
+        }
+
+        if (decodedBody == null) {
+            decodedBody = bodyBuffer.toString();
+        }
+        return decodedBody;
+    }
+
+    public Buffer getBodyBuffer() {
+        return bodyBuffer != null || body == null ? bodyBuffer : Buffer.buffer(body);
+    }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.response.Bid;
+import io.vertx.core.buffer.Buffer;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.bidder.Bidder;
@@ -136,7 +137,7 @@ public class StroeerCoreBidder implements Bidder<BidRequest> {
     @Override
     public Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final String body = httpCall.getResponse().getBody();
+            final Buffer body = httpCall.getResponse().getBodyBuffer();
             final StroeerCoreBidResponse response = mapper.decodeValue(body, StroeerCoreBidResponse.class);
             return Result.withValues(extractBids(response));
         } catch (DecodeException e) {
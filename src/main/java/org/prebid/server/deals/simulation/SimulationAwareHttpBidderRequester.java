@@ -15,6 +15,7 @@ import org.prebid.server.auction.model.BidRejectionReason;
 import org.prebid.server.auction.model.BidRejectionTracker;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.bidder.BidderErrorNotifier;
 import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
 import org.prebid.server.bidder.HttpBidderRequestEnricher;
@@ -27,6 +28,7 @@ import org.prebid.server.deals.lineitem.LineItem;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.request.ExtDeal;
 import org.prebid.server.proto.openrtb.ext.request.ExtDealLine;
@@ -58,13 +60,16 @@ public class SimulationAwareHttpBidderRequester extends HttpBidderRequester {
 
     public SimulationAwareHttpBidderRequester(
             HttpClient httpClient,
+            BidderCatalog bidderCatalog,
             BidderRequestCompletionTrackerFactory bidderRequestCompletionTrackerFactory,
             BidderErrorNotifier bidderErrorNotifier,
             HttpBidderRequestEnricher requestEnricher,
             LineItemService lineItemService,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            Metrics metrics) {
 
-        super(httpClient, bidderRequestCompletionTrackerFactory, bidderErrorNotifier, requestEnricher, mapper);
+        super(bidder -> httpClient, bidderCatalog, bidderRequestCompletionTrackerFactory, bidderErrorNotifier,
+                requestEnricher, mapper, metrics, Long.MAX_VALUE, null, null, null);
 
         this.lineItemService = Objects.requireNonNull(lineItemService);
         this.mapper = Objects.requireNonNull(mapper);
@@ -0,0 +1,22 @@
+package org.prebid.server.exception;
+
+/**
+ * Thrown when HTTP response body exceeds configured size limit.
+ * <p>
+ * Holds amount of bytes received before response reading was aborted or, if response was rejected by its
+ * declared Content-Length, the declared size.
+ */
+@SuppressWarnings("serial")
+public class ResponseSizeExceededException extends PreBidException {
+
+    private final long receivedBytes;
+
+    public ResponseSizeExceededException(String message, long receivedBytes) {
+        super(message);
+        this.receivedBytes = receivedBytes;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+}
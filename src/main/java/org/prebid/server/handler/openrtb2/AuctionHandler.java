@@ -5,11 +5,15 @@ import com.iab.openrtb.request.Imp;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.reporter.AnalyticsReporterDelegator;
 import org.prebid.server.auction.ExchangeService;
@@ -30,6 +34,7 @@ import org.prebid.server.model.Endpoint;
 import org.prebid.server.model.HttpRequestContext;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.model.PrivacyContext;
+import org.prebid.server.protobuf.auction.ProtobufAuctionMapper;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.version.PrebidVersionProvider;
 
@@ -53,6 +58,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
     private final HttpInteractionLogger httpInteractionLogger;
     private final PrebidVersionProvider prebidVersionProvider;
     private final JacksonMapper mapper;
+    private final ProtobufAuctionMapper protobufAuctionMapper;
 
     public AuctionHandler(double logSamplingRate,
                           AuctionRequestFactory auctionRequestFactory,
@@ -62,7 +68,8 @@ public class AuctionHandler implements Handler<RoutingContext> {
                           Clock clock,
                           HttpInteractionLogger httpInteractionLogger,
                           PrebidVersionProvider prebidVersionProvider,
-                          JacksonMapper mapper) {
+                          JacksonMapper mapper,
+                          ProtobufAuctionMapper protobufAuctionMapper) {
 
         this.logSamplingRate = logSamplingRate;
         this.auctionRequestFactory = Objects.requireNonNull(auctionRequestFactory);
@@ -73,6 +80,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
         this.httpInteractionLogger = Objects.requireNonNull(httpInteractionLogger);
         this.prebidVersionProvider = Objects.requireNonNull(prebidVersionProvider);
         this.mapper = Objects.requireNonNull(mapper);
+        this.protobufAuctionMapper = protobufAuctionMapper;
     }
 
     @Override
@@ -128,6 +136,17 @@ public class AuctionHandler implements Handler<RoutingContext> {
                               long startTime) {
         final boolean responseSucceeded = responseResult.succeeded();
 
+        final boolean protobufResponse = responseSucceeded && isProtobufResponse(routingContext);
+        final Buffer protobufBody;
+        try {
+            protobufBody = protobufResponse
+                    ? protobufAuctionMapper.encodeBidResponse(responseResult.result().getBidResponse())
+                    : null;
+        } catch (RuntimeException e) {
+            handleResult(Future.failedFuture(e), auctionEventBuilder, routingContext, startTime);
+            return;
+        }
+
         final AuctionContext auctionContext = responseSucceeded ? responseResult.result() : null;
         final MetricName requestType = responseSucceeded
                 ? auctionContext.getRequestTypeMetric()
@@ -146,8 +165,14 @@ public class AuctionHandler implements Handler<RoutingContext> {
             errorMessages = Collections.emptyList();
 
             status = HttpResponseStatus.OK;
-            enrichWithSuccessfulHeaders(response);
-            body = mapper.encodeToString(responseResult.result().getBidResponse());
+            if (protobufResponse) {
+                enrichWithProtobufHeaders(response);
+                // interaction logger encodes bid response to JSON only if it is going to be logged
+                body = null;
+            } else {
+                enrichWithSuccessfulHeaders(response);
+                body = mapper.encodeToString(responseResult.result().getBidResponse());
+            }
         } else {
             final Throwable exception = responseResult.cause();
             if (exception instanceof InvalidRequestException invalidRequestException) {
@@ -204,21 +229,20 @@ public class AuctionHandler implements Handler<RoutingContext> {
         final AuctionEvent auctionEvent = auctionEventBuilder.status(status.code()).errors(errorMessages).build();
         final PrivacyContext privacyContext = auctionContext != null ? auctionContext.getPrivacyContext() : null;
         final TcfContext tcfContext = privacyContext != null ? privacyContext.getTcfContext() : TcfContext.empty();
-        respondWith(routingContext, status, body, startTime, requestType, metricRequestStatus, auctionEvent,
-                tcfContext);
+        respondWith(routingContext, status, body, protobufBody, startTime, requestType, metricRequestStatus,
+                auctionEvent, tcfContext);
 
         httpInteractionLogger.maybeLogOpenrtb2Auction(auctionContext, routingContext, status.code(), body);
     }
 
-    private void respondWith(RoutingContext routingContext, HttpResponseStatus status, String body, long startTime,
-                             MetricName requestType, MetricName metricRequestStatus, AuctionEvent event,
-                             TcfContext tcfContext) {
+    private void respondWith(RoutingContext routingContext, HttpResponseStatus status, String body,
+                             Buffer protobufBody, long startTime, MetricName requestType,
+                             MetricName metricRequestStatus, AuctionEvent event, TcfContext tcfContext) {
 
         final boolean responseSent = HttpUtil.executeSafely(routingContext, Endpoint.openrtb2_auction,
-                response -> response
+                response -> end(response
                         .exceptionHandler(throwable -> handleResponseException(throwable, requestType))
-                        .setStatusCode(status.code())
-                        .end(body));
+                        .setStatusCode(status.code()), body, protobufBody));
 
         if (responseSent) {
             metrics.updateRequestTimeMetric(MetricName.request_time, clock.millis() - startTime);
@@ -229,6 +253,14 @@ public class AuctionHandler implements Handler<RoutingContext> {
         }
     }
 
+    private static void end(HttpServerResponse response, String body, Buffer protobufBody) {
+        if (protobufBody != null) {
+            response.end(protobufBody);
+        } else {
+            response.end(body);
+        }
+    }
+
     private void handleResponseException(Throwable throwable, MetricName requestType) {
         logger.warn("Failed to send auction response: {0}", throwable.getMessage());
         metrics.updateRequestTypeMetric(requestType, MetricName.networkerr);
@@ -243,4 +275,28 @@ public class AuctionHandler implements Handler<RoutingContext> {
         response.headers()
                 .add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
     }
+
+    private void enrichWithProtobufHeaders(HttpServerResponse response) {
+        response.headers()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, ProtobufAuctionMapper.CONTENT_TYPE);
+    }
+
+    /**
+     * Protobuf response is sent if client explicitly accepts it, or if request was sent in protobuf
+     * and client does not ask for JSON.
+     */
+    private boolean isProtobufResponse(RoutingContext routingContext) {
+        if (protobufAuctionMapper == null) {
+            return false;
+        }
+
+        final MultiMap headers = routingContext.request().headers();
+        final String accept = headers.get(HttpUtil.ACCEPT_HEADER);
+        if (ProtobufAuctionMapper.isProtobuf(accept)) {
+            return true;
+        }
+
+        return ProtobufAuctionMapper.isProtobuf(headers.get(HttpUtil.CONTENT_TYPE_HEADER))
+                && !StringUtils.containsIgnoreCase(accept, HttpHeaderValues.APPLICATION_JSON);
+    }
 }
@@ -0,0 +1,39 @@
+package org.prebid.server.health;
+
+import org.prebid.server.bidder.BidderConnectionWarmupService;
+import org.prebid.server.health.model.Status;
+import org.prebid.server.health.model.StatusResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+public class BidderConnectionWarmupHealthChecker implements HealthChecker {
+
+    private static final String NAME = "bidder-connection-warmup";
+
+    private final BidderConnectionWarmupService bidderConnectionWarmupService;
+    private final Clock clock;
+
+    public BidderConnectionWarmupHealthChecker(BidderConnectionWarmupService bidderConnectionWarmupService,
+                                               Clock clock) {
+
+        this.bidderConnectionWarmupService = Objects.requireNonNull(bidderConnectionWarmupService);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public StatusResponse status() {
+        final Instant lastWarmUpTime = bidderConnectionWarmupService.getLastWarmUpTime();
+
+        return StatusResponse.of(
+                bidderConnectionWarmupService.isWarmedUp() ? Status.UP.name() : Status.DOWN.name(),
+                lastWarmUpTime != null ? ZonedDateTime.ofInstant(lastWarmUpTime, clock.getZone()) : null);
+    }
+}
@@ -5,6 +5,7 @@ import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
@@ -30,6 +31,7 @@ import org.prebid.server.hooks.execution.v1.bidder.AllProcessedBidResponsesPaylo
 import org.prebid.server.hooks.execution.v1.bidder.BidderInvocationContextImpl;
 import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
 import org.prebid.server.hooks.execution.v1.bidder.BidderResponsePayloadImpl;
+import org.prebid.server.hooks.execution.v1.entrypoint.BufferEntrypointPayload;
 import org.prebid.server.hooks.execution.v1.entrypoint.EntrypointPayloadImpl;
 import org.prebid.server.hooks.v1.Hook;
 import org.prebid.server.hooks.v1.InvocationContext;
@@ -112,11 +114,30 @@ public class HookStageExecutor {
             String body,
             HookExecutionContext context) {
 
+        return executeEntrypointStage(EntrypointPayloadImpl.of(queryParams, headers, body), context);
+    }
+
+    /**
+     * Executes entrypoint stage keeping the body undecoded unless some hook asks for it.
+     */
+    public Future<HookStageExecutionResult<EntrypointPayload>> executeEntrypointStage(
+            CaseInsensitiveMultiMap queryParams,
+            CaseInsensitiveMultiMap headers,
+            Buffer body,
+            HookExecutionContext context) {
+
+        return executeEntrypointStage(BufferEntrypointPayload.of(queryParams, headers, body), context);
+    }
+
+    private Future<HookStageExecutionResult<EntrypointPayload>> executeEntrypointStage(
+            EntrypointPayload initialPayload,
+            HookExecutionContext context) {
+
         final Endpoint endpoint = context.getEndpoint();
 
         return stageExecutor(StageWithHookType.ENTRYPOINT, ENTITY_HTTP_REQUEST, context)
                 .withExecutionPlan(planForEntrypointStage(endpoint))
-                .withInitialPayload(EntrypointPayloadImpl.of(queryParams, headers, body))
+                .withInitialPayload(initialPayload)
                 .withInvocationContextProvider(invocationContextProvider(endpoint))
                 .withRejectAllowed(true)
                 .execute();
@@ -0,0 +1,39 @@
+package org.prebid.server.hooks.execution.v1.entrypoint;
+
+import io.vertx.core.buffer.Buffer;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import lombok.experimental.NonFinal;
+import org.prebid.server.hooks.v1.entrypoint.EntrypointPayload;
+import org.prebid.server.model.CaseInsensitiveMultiMap;
+
+/**
+ * {@link EntrypointPayload} holding the body as received, so it is decoded to string only if some hook asks for it.
+ */
+@Accessors(fluent = true)
+@RequiredArgsConstructor(staticName = "of")
+@Value
+public class BufferEntrypointPayload implements EntrypointPayload {
+
+    CaseInsensitiveMultiMap queryParams;
+
+    CaseInsensitiveMultiMap headers;
+
+    Buffer rawBody;
+
+    @NonFinal
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String body;
+
+    @Override
+    public String body() {
+        if (body == null && rawBody != null) {
+            body = rawBody.toString();
+        }
+        return body;
+    }
+}
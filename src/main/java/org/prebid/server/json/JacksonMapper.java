@@ -3,12 +3,17 @@ package org.prebid.server.json;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.vertx.core.buffer.Buffer;
 import org.prebid.server.proto.openrtb.ext.FlexibleExtension;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Objects;
 
 public class JacksonMapper {
@@ -40,6 +45,27 @@ public class JacksonMapper {
         }
     }
 
+    /**
+     * Serializes object right into the buffer taken from Netty's pooled allocator, avoiding intermediate
+     * byte array. Caller takes the ownership of returned buffer and is responsible for its release.
+     */
+    public <T> PooledBuffer encodeToPooledBuffer(T obj) throws EncodeException {
+        final ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.buffer();
+        boolean encoded = false;
+        try (OutputStream outputStream = new ByteBufOutputStream(byteBuf)) {
+            mapper.writeValue(outputStream, obj);
+            encoded = true;
+        } catch (IOException e) {
+            throw new EncodeException("Failed to encode as buffer: " + e.getMessage());
+        } finally {
+            if (!encoded) {
+                byteBuf.release();
+            }
+        }
+
+        return PooledBuffer.of(byteBuf);
+    }
+
     public <T> T decodeValue(String str, Class<T> clazz) throws DecodeException {
         try {
             return mapper.readValue(str, clazz);
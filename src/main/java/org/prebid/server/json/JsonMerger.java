@@ -1,21 +1,48 @@
 package org.prebid.server.json;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.github.fge.jsonpatch.JsonPatchException;
-import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.JsonNodeDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.exception.InvalidRequestException;
 
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+/**
+ * Merges JSON documents following JSON Merge Patch (RFC 7386) semantics: object fields of the patch are merged
+ * recursively into the target, null fields of the patch remove target fields, any other patch value replaces
+ * the target one.
+ * <p>
+ * Objects are merged by updating a fresh copy of the lower priority object with values of the higher priority one,
+ * so neither of them is converted to JSON tree and back. JSON nodes within objects are merged as trees.
+ */
 public class JsonMerger {
 
     private final JacksonMapper mapper;
+    private final JsonTreeCache storedDataCache;
+    private final ObjectMapper updatingMapper;
 
     public JsonMerger(JacksonMapper mapper) {
+        this(mapper, null);
+    }
+
+    public JsonMerger(JacksonMapper mapper, JsonTreeCache storedDataCache) {
         this.mapper = Objects.requireNonNull(mapper);
+        this.storedDataCache = storedDataCache;
+        this.updatingMapper = createUpdatingMapper(mapper.mapper());
     }
 
     /**
@@ -24,22 +51,21 @@ public class JsonMerger {
      * with reason message.
      */
     public <T> T merge(T originalObject, String storedData, String id, Class<T> classToCast) {
-        final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
         final JsonNode storedRequestJsonNode;
         try {
-            storedRequestJsonNode = mapper.mapper().readTree(storedData);
+            storedRequestJsonNode = storedDataCache != null && storedData != null
+                    ? storedDataCache.readTree(storedData)
+                    : mapper.mapper().readTree(storedData);
         } catch (IOException e) {
             throw new InvalidRequestException("Can't parse Json for stored request with id " + id);
         }
+
+        // Http request fields have higher priority and will override fields from stored requests
+        // in case they have different values
         try {
-            // Http request fields have higher priority and will override fields from stored requests
-            // in case they have different values
-            return mapper.mapper().treeToValue(JsonMergePatch.fromJson(originJsonNode).apply(storedRequestJsonNode),
-                    classToCast);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException(
-                    "Couldn't create merge patch from origin object node for id %s: %s".formatted(id, e.getMessage()));
-        } catch (JsonProcessingException e) {
+            final T storedObject = mapper.mapper().treeToValue(storedRequestJsonNode, classToCast);
+            return storedObject != null ? updatingMapper.updateValue(storedObject, originalObject) : originalObject;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
             throw new InvalidRequestException(
                     "Can't convert merging result for id %s: %s".formatted(id, e.getMessage()));
         }
@@ -50,15 +76,9 @@ public class JsonMerger {
             return ObjectUtils.defaultIfNull(originalObject, mergingObject);
         }
 
-        final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
-        final JsonNode mergingObjectJsonNode = mapper.mapper().valueToTree(mergingObject);
         try {
-            final JsonNode mergedNode = JsonMergePatch.fromJson(originJsonNode).apply(mergingObjectJsonNode);
-            return mapper.mapper().treeToValue(mergedNode, classToCast);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException(
-                    "Couldn't create merge patch for objects with class " + classToCast.getName());
-        } catch (JsonProcessingException e) {
+            return updatingMapper.updateValue(copy(mergingObject, classToCast), originalObject);
+        } catch (IOException | IllegalArgumentException e) {
             throw new InvalidRequestException("Can't convert merging result class " + classToCast.getName());
         }
     }
@@ -67,12 +87,101 @@ public class JsonMerger {
      * Returns 'toNode' with merged properties from 'fromNode'
      * <p>
      * fromNode object fields has priority over the toNode
+     * <p>
+     * Passed nodes are left untouched.
      */
     public JsonNode merge(JsonNode fromNode, JsonNode toNode) {
-        try {
-            return JsonMergePatch.fromJson(fromNode).apply(toNode);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException("Couldn't create merge patch for json nodes");
+        return mergePatch(fromNode.deepCopy(), toNode != null ? toNode.deepCopy() : null);
+    }
+
+    private ObjectMapper createUpdatingMapper(ObjectMapper objectMapper) {
+        final ObjectMapper updatingMapper = objectMapper.copy()
+                .setDefaultMergeable(true)
+                .registerModule(new SimpleModule()
+                        .addDeserializer(JsonNode.class, new MergingNodeDeserializer<>(JsonNode.class))
+                        .addDeserializer(ObjectNode.class, new MergingNodeDeserializer<>(ObjectNode.class)));
+
+        // lists are replaced as a whole, like any other value which is not an object
+        updatingMapper.configOverride(List.class).setMergeable(false);
+        updatingMapper.configOverride(Set.class).setMergeable(false);
+
+        return updatingMapper;
+    }
+
+    /**
+     * Returns a copy of object owned by caller, as merging object passed in may be shared.
+     */
+    private <T> T copy(T object, Class<T> objectClass) throws IOException {
+        final ObjectMapper objectMapper = mapper.mapper();
+        try (TokenBuffer tokenBuffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(tokenBuffer, object);
+            return objectMapper.readValue(tokenBuffer.asParser(), objectClass);
+        }
+    }
+
+    /**
+     * Merges patch into target without modifying the target: only objects on the patched paths are copied,
+     * untouched target subtrees and patch nodes are reused by the result.
+     * <p>
+     * That allows target to be a shared tree, like cached stored data, while patch must be owned by the caller.
+     */
+    private JsonNode mergePatch(JsonNode patch, JsonNode target) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        final ObjectNode result = mapper.mapper().createObjectNode();
+        if (target != null && target.isObject()) {
+            result.setAll((ObjectNode) target);
+        }
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String name = field.getKey();
+            final JsonNode value = field.getValue();
+
+            if (value.isNull()) {
+                result.remove(name);
+            } else {
+                result.set(name, mergePatch(value, result.get(name)));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Deserializes JSON node of the higher priority object and merges it into the node of updated object
+     * by JSON Merge Patch rules, as Jackson merge of nodes keeps null values instead of removing fields.
+     */
+    private class MergingNodeDeserializer<T extends JsonNode> extends StdDeserializer<T> {
+
+        MergingNodeDeserializer(Class<T> nodeClass) {
+            super(nodeClass);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return (T) JsonNodeDeserializer.getDeserializer(handledType()).deserialize(parser, context);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T deserialize(JsonParser parser, DeserializationContext context, T intoValue) throws IOException {
+            return (T) mergePatch(deserialize(parser, context), intoValue);
+        }
+
+        @Override
+        public T getNullValue(DeserializationContext context) {
+            // same as MissingJsonNodeModule does
+            return null;
+        }
+
+        @Override
+        public Boolean supportsUpdate(DeserializationConfig config) {
+            return Boolean.TRUE;
         }
     }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
@@ -51,12 +52,21 @@ public class HttpInteractionLogger {
                     routingContext.request().uri(),
                     toOneLineString(routingContext.getBodyAsString()),
                     statusCode,
-                    responseBody);
+                    responseBody != null ? responseBody : bidResponseAsString(auctionContext));
 
             incLoggedInteractions();
         }
     }
 
+    /**
+     * Encodes bid response to JSON for responses sent without JSON body (like protobuf ones),
+     * so encoding is paid only when interaction is logged.
+     */
+    private String bidResponseAsString(AuctionContext auctionContext) {
+        final BidResponse bidResponse = auctionContext != null ? auctionContext.getBidResponse() : null;
+        return bidResponse != null ? mapper.encodeToString(bidResponse) : null;
+    }
+
     private String toOneLineString(String value) {
         try {
             return mapper.encodeToString(mapper.mapper().readTree(value));
@@ -17,6 +17,8 @@ class AccountMetrics extends UpdatableMetrics {
     // thread-safe
     private final Function<MetricName, RequestTypeMetrics> requestTypeMetricsCreator;
     private final Map<MetricName, RequestTypeMetrics> requestTypeMetrics;
+    private final Function<MetricName, AuctionStageMetrics> auctionStageMetricsCreator;
+    private final Map<MetricName, AuctionStageMetrics> auctionStageMetrics;
     private final AdapterMetrics adapterMetrics;
     private final RequestMetrics requestsMetrics;
     private final CacheMetrics cacheMetrics;
@@ -31,6 +33,9 @@ class AccountMetrics extends UpdatableMetrics {
                 new RequestTypeMetrics(metricRegistry, counterType, createPrefix(account), requestType);
         adapterMetrics = new AdapterMetrics(metricRegistry, counterType, createPrefix(account));
         requestTypeMetrics = new HashMap<>();
+        auctionStageMetricsCreator = stage ->
+                new AuctionStageMetrics(metricRegistry, counterType, createPrefix(account), stage);
+        auctionStageMetrics = new HashMap<>();
         requestsMetrics = new RequestMetrics(metricRegistry, counterType, createPrefix(account));
         cacheMetrics = new CacheMetrics(metricRegistry, counterType, createPrefix(account));
         responseMetrics = new ResponseMetrics(metricRegistry, counterType, createPrefix(account));
@@ -54,6 +59,10 @@ class AccountMetrics extends UpdatableMetrics {
         return requestTypeMetrics.computeIfAbsent(requestType, requestTypeMetricsCreator);
     }
 
+    AuctionStageMetrics auctionStage(MetricName stage) {
+        return auctionStageMetrics.computeIfAbsent(stage, auctionStageMetricsCreator);
+    }
+
     RequestMetrics requests() {
         return requestsMetrics;
     }
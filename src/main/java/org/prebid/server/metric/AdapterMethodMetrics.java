@@ -0,0 +1,27 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Adapter method cost metrics support.
+ */
+class AdapterMethodMetrics extends UpdatableMetrics {
+
+    AdapterMethodMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, MetricName method) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(createPrefix(Objects.requireNonNull(prefix), Objects.requireNonNull(method))));
+    }
+
+    private static String createPrefix(String prefix, MetricName method) {
+        return "%s.%s".formatted(prefix, method);
+    }
+
+    private static Function<MetricName, String> nameCreator(String prefix) {
+        return metricName -> "%s.%s".formatted(prefix, metricName);
+    }
+}
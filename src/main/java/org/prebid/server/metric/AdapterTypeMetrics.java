@@ -19,6 +19,8 @@ class AdapterTypeMetrics extends UpdatableMetrics {
     private final Map<String, BidTypeMetrics> bidTypeMetrics;
     private final ResponseMetrics responseMetrics;
     private final ActivitiesMetrics activitiesMetrics;
+    private final Function<MetricName, AdapterMethodMetrics> methodMetricsCreator;
+    private final Map<MetricName, AdapterMethodMetrics> methodMetrics;
 
     AdapterTypeMetrics(MetricRegistry metricRegistry, CounterType counterType, String adapterType) {
         super(
@@ -35,6 +37,9 @@ class AdapterTypeMetrics extends UpdatableMetrics {
         bidTypeMetrics = new HashMap<>();
         responseMetrics = new ResponseMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType));
         activitiesMetrics = new ActivitiesMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType));
+        methodMetricsCreator = method ->
+                new AdapterMethodMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType), method);
+        methodMetrics = new HashMap<>();
     }
 
     AdapterTypeMetrics(MetricRegistry metricRegistry,
@@ -61,6 +66,8 @@ class AdapterTypeMetrics extends UpdatableMetrics {
         bidTypeMetrics = null;
         responseMetrics = null;
         activitiesMetrics = null;
+        methodMetricsCreator = null;
+        methodMetrics = null;
     }
 
     private static String createAdapterPrefix(String adapterType) {
@@ -94,4 +101,8 @@ class AdapterTypeMetrics extends UpdatableMetrics {
     ActivitiesMetrics activities() {
         return activitiesMetrics;
     }
+
+    AdapterMethodMetrics method(MetricName method) {
+        return methodMetrics.computeIfAbsent(method, methodMetricsCreator);
+    }
 }
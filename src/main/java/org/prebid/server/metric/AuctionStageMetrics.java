@@ -0,0 +1,38 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Auction stage metrics support.
+ */
+class AuctionStageMetrics extends UpdatableMetrics {
+
+    AuctionStageMetrics(MetricRegistry metricRegistry, CounterType counterType, MetricName stage) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(createPrefix(Objects.requireNonNull(stage))));
+    }
+
+    AuctionStageMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, MetricName stage) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(createPrefix(Objects.requireNonNull(prefix), Objects.requireNonNull(stage))));
+    }
+
+    private static String createPrefix(String prefix, MetricName stage) {
+        return "%s.%s".formatted(prefix, createPrefix(stage));
+    }
+
+    private static String createPrefix(MetricName stage) {
+        return "auction.stage." + stage;
+    }
+
+    private static Function<MetricName, String> nameCreator(String prefix) {
+        return metricName -> "%s.%s".formatted(prefix, metricName);
+    }
+}
@@ -17,6 +17,22 @@ public enum MetricName {
     // database
     db_query_time,
 
+    // bidder connection warm-up
+    bidder_connection_warmup_ok,
+    bidder_connection_warmup_err,
+    bidder_connection_warmup_pending,
+
+    // bidder offload
+    bidder_offload_queue_time,
+    bidder_offload_rejected,
+
+    // dns cache
+    dns_lookups,
+    dns_lookup_time,
+    dns_hits,
+    dns_stale_hits,
+    dns_refresh_failures,
+
     // geo location
     geolocation_requests,
     geolocation_request_time,
@@ -38,6 +54,13 @@ public enum MetricName {
     adm_bids_received,
     nurl_bids_received,
 
+    // auction stages
+    privacy,
+    bidder_requests("bidder-requests"),
+    bidder_calls("bidder-calls"),
+    response_creation("response-creation"),
+    prebid_cache("prebid-cache"),
+
     // request types,
     openrtb2web("openrtb2-web"),
     openrtb2app("openrtb2-app"),
@@ -66,6 +89,8 @@ public enum MetricName {
     badserverresponse,
     failedtorequestbids,
     timeout,
+    throttled,
+    cancelled,
     bid_validation,
     unknown_error,
     err,
@@ -74,6 +99,24 @@ public enum MetricName {
     // bids validation
     warn,
 
+    // adapter request compression
+    request_compression_ratio,
+    request_compression_time,
+
+    // adapter methods cost
+    make_http_requests,
+    make_bids,
+    wall_time,
+    cpu_time,
+    allocated_bytes,
+
+    // adapter response
+    size_exceeded,
+    aborted_bytes,
+    compressed_bytes,
+    decompressed_bytes,
+    inflate_time,
+
     // cookie sync
     cookie_sync_requests,
     opt_outs,
@@ -125,11 +168,16 @@ public enum MetricName {
     // settings cache
     stored_request("stored-request"),
     amp_stored_request("amp-stored-request"),
+    video_stored_request("video-stored-request"),
     account,
+    categories,
     initialize,
     update,
     hit,
     miss,
+    coalesced,
+    weight,
+    evictions,
 
     // hooks
     call,
@@ -16,6 +16,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
@@ -38,6 +39,7 @@ public class Metrics extends UpdatableMetrics {
     private final Function<Integer, BidderCardinalityMetrics> bidderCardinalityMetricsCreator;
     private final Function<MetricName, CircuitBreakerMetrics> circuitBreakerMetricsCreator;
     private final Function<MetricName, SettingsCacheMetrics> settingsCacheMetricsCreator;
+    private final Function<MetricName, AuctionStageMetrics> auctionStageMetricsCreator;
     // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
     // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
     // thread-safe
@@ -57,6 +59,7 @@ public class Metrics extends UpdatableMetrics {
     private final TimeoutNotificationMetrics timeoutNotificationMetrics;
     private final CurrencyRatesMetrics currencyRatesMetrics;
     private final Map<MetricName, SettingsCacheMetrics> settingsCacheMetrics;
+    private final Map<MetricName, AuctionStageMetrics> auctionStageMetrics;
     private final HooksMetrics hooksMetrics;
     private final PgMetrics pgMetrics;
 
@@ -79,6 +82,7 @@ public class Metrics extends UpdatableMetrics {
                 metricRegistry, counterType, moduleType);
         circuitBreakerMetricsCreator = type -> new CircuitBreakerMetrics(metricRegistry, counterType, type);
         settingsCacheMetricsCreator = type -> new SettingsCacheMetrics(metricRegistry, counterType, type);
+        auctionStageMetricsCreator = stage -> new AuctionStageMetrics(metricRegistry, counterType, stage);
 
         requestsMetrics = new RequestsMetrics(metricRegistry, counterType);
         requestMetrics = new EnumMap<>(MetricName.class);
@@ -96,6 +100,7 @@ public class Metrics extends UpdatableMetrics {
         timeoutNotificationMetrics = new TimeoutNotificationMetrics(metricRegistry, counterType);
         currencyRatesMetrics = new CurrencyRatesMetrics(metricRegistry, counterType);
         settingsCacheMetrics = new HashMap<>();
+        auctionStageMetrics = new EnumMap<>(MetricName.class);
         hooksMetrics = new HooksMetrics(metricRegistry, counterType);
         pgMetrics = new PgMetrics(metricRegistry, counterType);
     }
@@ -172,6 +177,10 @@ public class Metrics extends UpdatableMetrics {
         return hooksMetrics;
     }
 
+    AuctionStageMetrics forAuctionStage(MetricName stage) {
+        return auctionStageMetrics.computeIfAbsent(stage, auctionStageMetricsCreator);
+    }
+
     public void updateAppAndNoCookieAndImpsRequestedMetrics(boolean isApp, boolean liveUidsPresent, int numImps) {
         if (isApp) {
             incCounter(MetricName.app_requests);
@@ -226,6 +235,19 @@ public class Metrics extends UpdatableMetrics {
         updateTimer(requestType, millis);
     }
 
+    public void updateAuctionStageMetrics(Account account, Map<MetricName, Long> stageToNanos) {
+        final boolean accountDetailed = account != null && accountMetricsVerbosityResolver.forAccount(account)
+                .isAtLeast(AccountMetricsVerbosityLevel.detailed);
+
+        stageToNanos.forEach((stage, nanos) -> {
+            forAuctionStage(stage).updateTimer(MetricName.duration, nanos, TimeUnit.NANOSECONDS);
+            if (accountDetailed) {
+                forAccount(account.getId()).auctionStage(stage)
+                        .updateTimer(MetricName.duration, nanos, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
     public void updateRequestTypeMetric(MetricName requestType, MetricName requestStatus) {
         forRequestType(requestType).incCounter(requestStatus);
     }
@@ -283,6 +305,18 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateAdapterMethodTimeMetric(String bidder, MetricName method, long nanos) {
+        forAdapter(bidder).method(method).updateHistogram(MetricName.wall_time, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void updateAdapterMethodCpuTimeMetric(String bidder, MetricName method, long nanos) {
+        forAdapter(bidder).method(method).updateHistogram(MetricName.cpu_time, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void updateAdapterMethodAllocatedBytesMetric(String bidder, MetricName method, long bytes) {
+        forAdapter(bidder).method(method).updateHistogram(MetricName.allocated_bytes, bytes);
+    }
+
     public void updateAdapterRequestNobidMetrics(String bidder, Account account) {
         forAdapter(bidder).request().incCounter(MetricName.nobid);
         if (accountMetricsVerbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
@@ -316,6 +350,36 @@ public class Metrics extends UpdatableMetrics {
         forAdapter(bidder).request().incCounter(errorMetric);
     }
 
+    public void updateAdapterRequestCompressionMetrics(String bidder,
+                                                       int originalSize,
+                                                       int compressedSize,
+                                                       long compressionTimeMicros) {
+
+        final AdapterTypeMetrics adapterTypeMetrics = forAdapter(bidder);
+        if (originalSize > 0) {
+            adapterTypeMetrics.updateHistogram(
+                    MetricName.request_compression_ratio, compressedSize * 100L / originalSize);
+        }
+        adapterTypeMetrics.updateHistogram(MetricName.request_compression_time, compressionTimeMicros);
+    }
+
+    public void updateAdapterResponseDecompressionMetrics(String bidder,
+                                                          long compressedBytes,
+                                                          long decompressedBytes,
+                                                          long inflateTimeMicros) {
+
+        final ResponseMetrics responseMetrics = forAdapter(bidder).response();
+        responseMetrics.incCounter(MetricName.compressed_bytes, compressedBytes);
+        responseMetrics.incCounter(MetricName.decompressed_bytes, decompressedBytes);
+        responseMetrics.updateHistogram(MetricName.inflate_time, inflateTimeMicros);
+    }
+
+    public void updateAdapterResponseSizeExceededMetrics(String bidder, long abortedBytes) {
+        final ResponseMetrics responseMetrics = forAdapter(bidder).response();
+        responseMetrics.incCounter(MetricName.size_exceeded);
+        responseMetrics.incCounter(MetricName.aborted_bytes, abortedBytes);
+    }
+
     public void updateAnalyticEventMetric(String analyticCode, MetricName eventType, MetricName result) {
         forAnalyticReporter(analyticCode).forEventType(eventType).incCounter(result);
     }
@@ -482,6 +546,38 @@ public class Metrics extends UpdatableMetrics {
         updateTimer(MetricName.db_query_time, millis);
     }
 
+    public void updateBidderConnectionWarmupMetric(boolean successful) {
+        incCounter(successful ? MetricName.bidder_connection_warmup_ok : MetricName.bidder_connection_warmup_err);
+    }
+
+    public void createBidderConnectionWarmupGauge(LongSupplier pendingHostsSupplier) {
+        createGauge(MetricName.bidder_connection_warmup_pending, pendingHostsSupplier);
+    }
+
+    public void updateBidderOffloadQueueTimeMetric(long nanos) {
+        updateTimer(MetricName.bidder_offload_queue_time, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void updateBidderOffloadRejectedMetric() {
+        incCounter(MetricName.bidder_offload_rejected);
+    }
+
+    public void updateDnsLookupMetric() {
+        incCounter(MetricName.dns_lookups);
+    }
+
+    public void updateDnsLookupTimeMetric(long millis) {
+        updateTimer(MetricName.dns_lookup_time, millis);
+    }
+
+    public void updateDnsCacheHitMetric(boolean stale) {
+        incCounter(stale ? MetricName.dns_stale_hits : MetricName.dns_hits);
+    }
+
+    public void updateDnsRefreshFailureMetric() {
+        incCounter(MetricName.dns_refresh_failures);
+    }
+
     public void createDatabaseCircuitBreakerGauge(BooleanSupplier stateSupplier) {
         forCircuitBreakerType(MetricName.db)
                 .createGauge(MetricName.opened, () -> stateSupplier.getAsBoolean() ? 1 : 0);
@@ -622,6 +718,15 @@ public class Metrics extends UpdatableMetrics {
         forSettingsCacheType(cacheType).incCounter(event);
     }
 
+    public void createSettingsCacheGauges(MetricName cacheType,
+                                          LongSupplier weightSupplier,
+                                          LongSupplier evictionsSupplier) {
+
+        final SettingsCacheMetrics settingsCacheMetrics = forSettingsCacheType(cacheType);
+        settingsCacheMetrics.createGauge(MetricName.weight, weightSupplier);
+        settingsCacheMetrics.createGauge(MetricName.evictions, evictionsSupplier);
+    }
+
     public void updateHooksMetrics(
             String moduleCode,
             Stage stage,
@@ -1,6 +1,7 @@
 package org.prebid.server.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.ext.web.RoutingContext;
 import lombok.Builder;
@@ -24,10 +25,23 @@ public class HttpRequestContext {
 
     String body;
 
+    /**
+     * Body of the request as received, used if {@link #body} is not set. It stays undecoded unless somebody asks
+     * for the body as string, so request can be parsed right from the bytes.
+     */
+    Buffer rawBody;
+
     String scheme;
 
     String remoteHost;
 
+    /**
+     * Returns body of the request, decoding it from {@link #rawBody} if context has been created with one.
+     */
+    public String getBody() {
+        return body == null && rawBody != null ? rawBody.toString() : body;
+    }
+
     public static HttpRequestContext from(RoutingContext context) {
         return HttpRequestContext.builder()
                 .absoluteUri(context.request().uri())
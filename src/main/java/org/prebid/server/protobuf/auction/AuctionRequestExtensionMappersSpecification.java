@@ -0,0 +1,144 @@
+package org.prebid.server.protobuf.auction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.Extension;
+import com.google.protobuf.ExtensionRegistry;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import lombok.Builder;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import org.prebid.server.proto.openrtb.ext.request.ExtApp;
+import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
+import org.prebid.server.proto.openrtb.ext.request.ExtGeo;
+import org.prebid.server.proto.openrtb.ext.request.ExtPublisher;
+import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtSite;
+import org.prebid.server.proto.openrtb.ext.request.ExtSource;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.protobuf.response.ProtobufBackwardExtensionMapper;
+import org.prebid.server.protobuf.response.ProtobufJsonExtensionMapper;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Extension mappers used to read incoming protobuf auction request.
+ */
+@Value
+@Builder
+@Accessors(fluent = true)
+public class AuctionRequestExtensionMappersSpecification {
+
+    ObjectMapper objectMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest, ?, ExtRequest> bidRequestExtMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Site, ?, ExtSite> siteExtMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.App, ?, ExtApp> appExtMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Device, ?, ExtDevice> deviceExtMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.User, ?, ExtUser> userExtMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Source, ?, ExtSource> sourceExtMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Regs, ?, ExtRegs> regsExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp, ?> impExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Metric, ?> metricExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Banner, ?> bannerExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Banner.Format, ?> formatExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Video, ?> videoExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Audio, ?> audioExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Native, ?> nativeExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.NativeRequest, ?> nativeRequestExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.Asset, ?> nativeAssetExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.Asset.Title, ?> nativeTitleExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.Asset.Image, ?> nativeImageExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Video, ?> nativeVideoExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.Asset.Data, ?> nativeDataExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.EventTrackers, ?> nativeEventTrackerExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Pmp, ?> pmpExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Pmp.Deal, ?> dealExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Data, ?> dataExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Data.Segment, ?> segmentExtMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Publisher, ?, ExtPublisher> publisherExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Content, ?> contentExtMapper;
+
+    ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Producer, ?> producerExtMapper;
+
+    ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Geo, ?, ExtGeo> geoExtMapper;
+
+    private static AuctionRequestExtensionMappersSpecificationBuilder builder() {
+        return new AuctionRequestExtensionMappersSpecificationBuilder();
+    }
+
+    public static AuctionRequestExtensionMappersSpecificationBuilder builder(ObjectMapper objectMapper) {
+        return builder().objectMapper(Objects.requireNonNull(objectMapper));
+    }
+
+    /**
+     * Returns registry of all specified extensions, so they are recognized while parsing the request.
+     */
+    public ExtensionRegistry extensionRegistry() {
+        final ExtensionRegistry extensionRegistry = ExtensionRegistry.newInstance();
+
+        Stream.<ProtobufBackwardExtensionMapper<?, ?, ?>>of(
+                        bidRequestExtMapper,
+                        siteExtMapper,
+                        appExtMapper,
+                        deviceExtMapper,
+                        userExtMapper,
+                        sourceExtMapper,
+                        regsExtMapper,
+                        impExtMapper,
+                        metricExtMapper,
+                        bannerExtMapper,
+                        formatExtMapper,
+                        videoExtMapper,
+                        audioExtMapper,
+                        nativeExtMapper,
+                        nativeRequestExtMapper,
+                        nativeAssetExtMapper,
+                        nativeTitleExtMapper,
+                        nativeImageExtMapper,
+                        nativeVideoExtMapper,
+                        nativeDataExtMapper,
+                        nativeEventTrackerExtMapper,
+                        pmpExtMapper,
+                        dealExtMapper,
+                        dataExtMapper,
+                        segmentExtMapper,
+                        publisherExtMapper,
+                        contentExtMapper,
+                        producerExtMapper,
+                        geoExtMapper)
+                .filter(Objects::nonNull)
+                .<Extension<?, ?>>map(ProtobufBackwardExtensionMapper::extensionDescriptor)
+                .distinct()
+                .forEach(extensionRegistry::add);
+
+        return extensionRegistry;
+    }
+}
@@ -0,0 +1,24 @@
+package org.prebid.server.protobuf.auction;
+
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import lombok.Builder;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
+import org.prebid.server.protobuf.request.JsonProtobufExtensionMapper;
+import org.prebid.server.protobuf.request.ProtobufForwardExtensionMapper;
+
+/**
+ * Extension mappers used to write outgoing protobuf auction response.
+ */
+@Value
+@Builder
+@Accessors(fluent = true)
+public class AuctionResponseExtensionMappersSpecification {
+
+    ProtobufForwardExtensionMapper<OpenRtb.BidResponse, ExtBidResponse, ?> bidResponseExtMapper;
+
+    JsonProtobufExtensionMapper<OpenRtb.BidResponse.SeatBid, ?> seatBidExtMapper;
+
+    JsonProtobufExtensionMapper<OpenRtb.BidResponse.SeatBid.Bid, ?> bidExtMapper;
+}
@@ -0,0 +1,181 @@
+package org.prebid.server.protobuf.auction;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.Extension;
+import com.google.protobuf.Message;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.proto.openrtb.ext.request.ExtApp;
+import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
+import org.prebid.server.proto.openrtb.ext.request.ExtGeo;
+import org.prebid.server.proto.openrtb.ext.request.ExtPublisher;
+import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtSite;
+import org.prebid.server.proto.openrtb.ext.request.ExtSource;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.protobuf.request.JsonProtobufExtensionMapper;
+import org.prebid.server.protobuf.request.ProtobufForwardExtensionMapper;
+import org.prebid.server.protobuf.response.ProtobufBackwardExtensionMapper;
+import org.prebid.server.protobuf.response.ProtobufJsonExtensionMapper;
+
+import java.util.Objects;
+
+/**
+ * Extension mappers carrying OpenRTB "ext" objects as JSON encoded strings, see prebid-openrtb-json-ext.proto.
+ * <p>
+ * Used by default for /openrtb2/auction protobuf requests and responses, so clients are able to pass any "ext"
+ * without sharing custom proto definitions with the host.
+ */
+public class JsonStringExtensionMappers {
+
+    private JsonStringExtensionMappers() {
+    }
+
+    public static AuctionRequestExtensionMappersSpecification requestSpecification(ObjectMapper mapper) {
+        return AuctionRequestExtensionMappersSpecification.builder(mapper)
+                .bidRequestExtMapper(backward(OpenRtbJsonExt.bidRequestExt, mapper, ExtRequest.class))
+                .siteExtMapper(backward(OpenRtbJsonExt.siteExt, mapper, ExtSite.class))
+                .appExtMapper(backward(OpenRtbJsonExt.appExt, mapper, ExtApp.class))
+                .deviceExtMapper(backward(OpenRtbJsonExt.deviceExt, mapper, ExtDevice.class))
+                .userExtMapper(backward(OpenRtbJsonExt.userExt, mapper, ExtUser.class))
+                .sourceExtMapper(backward(OpenRtbJsonExt.sourceExt, mapper, ExtSource.class))
+                .regsExtMapper(backward(OpenRtbJsonExt.regsExt, mapper, ExtRegs.class))
+                .impExtMapper(backwardJson(OpenRtbJsonExt.impExt, mapper))
+                .metricExtMapper(backwardJson(OpenRtbJsonExt.metricExt, mapper))
+                .bannerExtMapper(backwardJson(OpenRtbJsonExt.bannerExt, mapper))
+                .formatExtMapper(backwardJson(OpenRtbJsonExt.formatExt, mapper))
+                .videoExtMapper(backwardJson(OpenRtbJsonExt.videoExt, mapper))
+                .audioExtMapper(backwardJson(OpenRtbJsonExt.audioExt, mapper))
+                .nativeExtMapper(backwardJson(OpenRtbJsonExt.nativeExt, mapper))
+                .nativeRequestExtMapper(backwardJson(OpenRtbJsonExt.nativeRequestExt, mapper))
+                .nativeAssetExtMapper(backwardJson(OpenRtbJsonExt.nativeAssetExt, mapper))
+                .nativeTitleExtMapper(backwardJson(OpenRtbJsonExt.nativeTitleExt, mapper))
+                .nativeImageExtMapper(backwardJson(OpenRtbJsonExt.nativeImageExt, mapper))
+                .nativeVideoExtMapper(backwardJson(OpenRtbJsonExt.videoExt, mapper))
+                .nativeDataExtMapper(backwardJson(OpenRtbJsonExt.nativeDataExt, mapper))
+                .nativeEventTrackerExtMapper(backwardJson(OpenRtbJsonExt.nativeEventTrackerExt, mapper))
+                .pmpExtMapper(backwardJson(OpenRtbJsonExt.pmpExt, mapper))
+                .dealExtMapper(backwardJson(OpenRtbJsonExt.dealExt, mapper))
+                .dataExtMapper(backwardJson(OpenRtbJsonExt.dataExt, mapper))
+                .segmentExtMapper(backwardJson(OpenRtbJsonExt.segmentExt, mapper))
+                .publisherExtMapper(backward(OpenRtbJsonExt.publisherExt, mapper, ExtPublisher.class))
+                .contentExtMapper(backwardJson(OpenRtbJsonExt.contentExt, mapper))
+                .producerExtMapper(backwardJson(OpenRtbJsonExt.producerExt, mapper))
+                .geoExtMapper(backward(OpenRtbJsonExt.geoExt, mapper, ExtGeo.class))
+                .build();
+    }
+
+    public static AuctionResponseExtensionMappersSpecification responseSpecification(ObjectMapper mapper) {
+        return AuctionResponseExtensionMappersSpecification.builder()
+                .bidResponseExtMapper(forward(OpenRtbJsonExt.bidResponseExt, mapper))
+                .seatBidExtMapper(forwardJson(OpenRtbJsonExt.seatBidExt, mapper))
+                .bidExtMapper(forwardJson(OpenRtbJsonExt.bidExt, mapper))
+                .build();
+    }
+
+    public static <ContainingType extends Message, ToType>
+            ProtobufBackwardExtensionMapper<ContainingType, String, ToType> backward(
+            Extension<ContainingType, String> extension, ObjectMapper mapper, Class<ToType> type) {
+
+        Objects.requireNonNull(extension);
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(type);
+
+        return new ProtobufBackwardExtensionMapper<>() {
+
+            @Override
+            public ToType map(String value) {
+                return decode(mapper, value, type);
+            }
+
+            @Override
+            public Extension<ContainingType, String> extensionDescriptor() {
+                return extension;
+            }
+        };
+    }
+
+    public static <ContainingType extends Message> ProtobufJsonExtensionMapper<ContainingType, String> backwardJson(
+            Extension<ContainingType, String> extension, ObjectMapper mapper) {
+
+        Objects.requireNonNull(extension);
+        Objects.requireNonNull(mapper);
+
+        return new ProtobufJsonExtensionMapper<>() {
+
+            @Override
+            public ObjectNode map(String value) {
+                return decode(mapper, value, ObjectNode.class);
+            }
+
+            @Override
+            public Extension<ContainingType, String> extensionDescriptor() {
+                return extension;
+            }
+        };
+    }
+
+    public static <ContainingType extends Message, FromType>
+            ProtobufForwardExtensionMapper<ContainingType, FromType, String> forward(
+            Extension<ContainingType, String> extension, ObjectMapper mapper) {
+
+        Objects.requireNonNull(extension);
+        Objects.requireNonNull(mapper);
+
+        return new ProtobufForwardExtensionMapper<>() {
+
+            @Override
+            public String map(FromType value) {
+                return encode(mapper, value);
+            }
+
+            @Override
+            public Extension<ContainingType, String> extensionDescriptor() {
+                return extension;
+            }
+        };
+    }
+
+    public static <ContainingType extends Message> JsonProtobufExtensionMapper<ContainingType, String> forwardJson(
+            Extension<ContainingType, String> extension, ObjectMapper mapper) {
+
+        Objects.requireNonNull(extension);
+        Objects.requireNonNull(mapper);
+
+        return new JsonProtobufExtensionMapper<>() {
+
+            @Override
+            public String map(ObjectNode value) {
+                return encode(mapper, value);
+            }
+
+            @Override
+            public Extension<ContainingType, String> extensionDescriptor() {
+                return extension;
+            }
+        };
+    }
+
+    private static <T> T decode(ObjectMapper mapper, String value, Class<T> type) {
+        if (StringUtils.isEmpty(value)) {
+            return null;
+        }
+
+        try {
+            return mapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(
+                    "Failed to decode %s extension: %s".formatted(type.getSimpleName(), e.getMessage()), e);
+        }
+    }
+
+    private static String encode(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to encode extension: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.prebid.server.protobuf.auction;
+
+import com.google.protobuf.ExtensionRegistry;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.BidResponse;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.protobuf.ProtobufMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Decodes protobuf encoded /openrtb2/auction requests and encodes responses back to protobuf.
+ */
+public class ProtobufAuctionMapper {
+
+    public static final String CONTENT_TYPE = "application/x-protobuf";
+
+    private static final String ALTERNATIVE_CONTENT_TYPE = "application/protobuf";
+
+    private final ProtobufMapper<OpenRtb.BidRequest, BidRequest> bidRequestMapper;
+    private final ProtobufMapper<BidResponse, OpenRtb.BidResponse> bidResponseMapper;
+    private final ExtensionRegistry extensionRegistry;
+
+    public ProtobufAuctionMapper(AuctionRequestExtensionMappersSpecification requestSpecification,
+                                 AuctionResponseExtensionMappersSpecification responseSpecification) {
+
+        this.bidRequestMapper = ProtobufAuctionRequestUtils.bidRequestMapper(
+                Objects.requireNonNull(requestSpecification));
+        this.bidResponseMapper = ProtobufAuctionResponseUtils.bidResponseMapper(
+                Objects.requireNonNull(responseSpecification));
+        this.extensionRegistry = requestSpecification.extensionRegistry();
+    }
+
+    /**
+     * Checks whether given Content-Type or Accept header value refers to protobuf media type.
+     */
+    public static boolean isProtobuf(String mediaType) {
+        return StringUtils.containsIgnoreCase(mediaType, CONTENT_TYPE)
+                || StringUtils.containsIgnoreCase(mediaType, ALTERNATIVE_CONTENT_TYPE);
+    }
+
+    public BidRequest decodeBidRequest(Buffer body) throws IOException {
+        try (InputStream inputStream = new ByteBufInputStream(body.getByteBuf())) {
+            return bidRequestMapper.map(OpenRtb.BidRequest.parseFrom(inputStream, extensionRegistry));
+        }
+    }
+
+    public Buffer encodeBidResponse(BidResponse bidResponse) {
+        return Buffer.buffer(bidResponseMapper.map(bidResponse).toByteArray());
+    }
+}
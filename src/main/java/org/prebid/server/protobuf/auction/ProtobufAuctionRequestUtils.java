@@ -0,0 +1,725 @@
+package org.prebid.server.protobuf.auction;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.GeneratedMessageV3;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.Asset;
+import com.iab.openrtb.request.Audio;
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Content;
+import com.iab.openrtb.request.Data;
+import com.iab.openrtb.request.DataObject;
+import com.iab.openrtb.request.Deal;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.EventTracker;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Geo;
+import com.iab.openrtb.request.ImageObject;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Metric;
+import com.iab.openrtb.request.Native;
+import com.iab.openrtb.request.Pmp;
+import com.iab.openrtb.request.Producer;
+import com.iab.openrtb.request.Publisher;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Request;
+import com.iab.openrtb.request.Segment;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.TitleObject;
+import com.iab.openrtb.request.User;
+import com.iab.openrtb.request.Video;
+import com.iab.openrtb.request.VideoObject;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import org.apache.commons.lang3.BooleanUtils;
+import org.prebid.server.proto.openrtb.ext.request.ExtApp;
+import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
+import org.prebid.server.proto.openrtb.ext.request.ExtGeo;
+import org.prebid.server.proto.openrtb.ext.request.ExtPublisher;
+import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtSite;
+import org.prebid.server.proto.openrtb.ext.request.ExtSource;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.protobuf.ProtobufMapper;
+import org.prebid.server.protobuf.response.ProtobufBackwardExtensionMapper;
+import org.prebid.server.protobuf.response.ProtobufJsonExtensionMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Mappers of incoming protobuf auction request to internal models.
+ * <p>
+ * Unlike JSON, protobuf has default values for absent fields, so each optional field is mapped only if it is present
+ * in the request, and empty repeated fields are mapped to null.
+ */
+public class ProtobufAuctionRequestUtils {
+
+    private ProtobufAuctionRequestUtils() {
+    }
+
+    public static ProtobufMapper<OpenRtb.BidRequest, BidRequest> bidRequestMapper(
+            AuctionRequestExtensionMappersSpecification spec) {
+
+        final ProtobufMapper<OpenRtb.BidRequest.Imp.Banner, Banner> bannerMapper =
+                bannerMapper(formatMapper(spec.formatExtMapper()), spec.bannerExtMapper());
+
+        final ProtobufMapper<OpenRtb.NativeRequest.Asset, Asset> assetMapper = assetMapper(
+                titleMapper(spec.nativeTitleExtMapper()),
+                nativeImageMapper(spec.nativeImageExtMapper()),
+                nativeVideoMapper(spec.nativeVideoExtMapper()),
+                nativeDataMapper(spec.nativeDataExtMapper()),
+                spec.nativeAssetExtMapper());
+
+        final ProtobufMapper<OpenRtb.NativeRequest, String> nativeRequestMapper = nativeRequestMapper(
+                spec.objectMapper(),
+                nativeRequestMapper(
+                        assetMapper,
+                        eventTrackerMapper(spec.nativeEventTrackerExtMapper()),
+                        spec.nativeRequestExtMapper()));
+
+        final ProtobufMapper<OpenRtb.BidRequest.Imp, Imp> impMapper = impMapper(
+                metricMapper(spec.metricExtMapper()),
+                bannerMapper,
+                videoMapper(bannerMapper, spec.videoExtMapper()),
+                audioMapper(bannerMapper, spec.audioExtMapper()),
+                nativeMapper(nativeRequestMapper, spec.nativeExtMapper()),
+                pmpMapper(dealMapper(spec.dealExtMapper()), spec.pmpExtMapper()),
+                spec.impExtMapper());
+
+        final ProtobufMapper<OpenRtb.BidRequest.Data, Data> dataMapper =
+                dataMapper(segmentMapper(spec.segmentExtMapper()), spec.dataExtMapper());
+
+        final ProtobufMapper<OpenRtb.BidRequest.Publisher, Publisher> publisherMapper =
+                publisherMapper(spec.publisherExtMapper());
+
+        final ProtobufMapper<OpenRtb.BidRequest.Content, Content> contentMapper =
+                contentMapper(producerMapper(spec.producerExtMapper()), dataMapper, spec.contentExtMapper());
+
+        final ProtobufMapper<OpenRtb.BidRequest.Geo, Geo> geoMapper = geoMapper(spec.geoExtMapper());
+
+        return bidRequestMapper(
+                impMapper,
+                siteMapper(publisherMapper, contentMapper, spec.siteExtMapper()),
+                appMapper(publisherMapper, contentMapper, spec.appExtMapper()),
+                deviceMapper(geoMapper, spec.deviceExtMapper()),
+                userMapper(geoMapper, dataMapper, spec.userExtMapper()),
+                sourceMapper(spec.sourceExtMapper()),
+                regsMapper(spec.regsExtMapper()),
+                spec.bidRequestExtMapper());
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest, BidRequest> bidRequestMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Imp, Imp> impMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Site, Site> siteMapper,
+            ProtobufMapper<OpenRtb.BidRequest.App, App> appMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Device, Device> deviceMapper,
+            ProtobufMapper<OpenRtb.BidRequest.User, User> userMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Source, Source> sourceMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Regs, Regs> regsMapper,
+            ProtobufBackwardExtensionMapper<OpenRtb.BidRequest, ProtobufExtensionType, ExtRequest> extMapper) {
+
+        return (OpenRtb.BidRequest bidRequest) ->
+                BidRequest.builder()
+                        .id(getIfPresent(bidRequest.hasId(), bidRequest::getId))
+                        .imp(mapList(bidRequest.getImpList(), impMapper::map))
+                        .site(getIfPresent(bidRequest.hasSite(), () -> siteMapper.map(bidRequest.getSite())))
+                        .app(getIfPresent(bidRequest.hasApp(), () -> appMapper.map(bidRequest.getApp())))
+                        .device(getIfPresent(bidRequest.hasDevice(), () -> deviceMapper.map(bidRequest.getDevice())))
+                        .user(getIfPresent(bidRequest.hasUser(), () -> userMapper.map(bidRequest.getUser())))
+                        .test(flagIfPresent(bidRequest.hasTest(), bidRequest::getTest))
+                        .at(getIfPresent(bidRequest.hasAt(), bidRequest::getAt))
+                        .tmax(getIfPresent(bidRequest.hasTmax(), () -> (long) bidRequest.getTmax()))
+                        .wseat(listOrNull(bidRequest.getWseatList()))
+                        .bseat(listOrNull(bidRequest.getBseatList()))
+                        .allimps(flagIfPresent(bidRequest.hasAllimps(), bidRequest::getAllimps))
+                        .cur(listOrNull(bidRequest.getCurList()))
+                        .wlang(listOrNull(bidRequest.getWlangList()))
+                        .bcat(listOrNull(bidRequest.getBcatList()))
+                        .badv(listOrNull(bidRequest.getBadvList()))
+                        .bapp(listOrNull(bidRequest.getBappList()))
+                        .source(getIfPresent(bidRequest.hasSource(), () -> sourceMapper.map(bidRequest.getSource())))
+                        .regs(getIfPresent(bidRequest.hasRegs(), () -> regsMapper.map(bidRequest.getRegs())))
+                        .ext(extractExtension(extMapper, bidRequest))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp, Imp> impMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Metric, Metric> metricMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Banner, Banner> bannerMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Video, Video> videoMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Audio, Audio> audioMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Native, Native> nativeMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Pmp, Pmp> pmpMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp imp) ->
+                Imp.builder()
+                        .id(getIfPresent(imp.hasId(), imp::getId))
+                        .metric(mapList(imp.getMetricList(), metricMapper::map))
+                        .banner(getIfPresent(imp.hasBanner(), () -> bannerMapper.map(imp.getBanner())))
+                        .video(getIfPresent(imp.hasVideo(), () -> videoMapper.map(imp.getVideo())))
+                        .audio(getIfPresent(imp.hasAudio(), () -> audioMapper.map(imp.getAudio())))
+                        .xNative(getIfPresent(imp.hasNative(), () -> nativeMapper.map(imp.getNative())))
+                        .pmp(getIfPresent(imp.hasPmp(), () -> pmpMapper.map(imp.getPmp())))
+                        .displaymanager(getIfPresent(imp.hasDisplaymanager(), imp::getDisplaymanager))
+                        .displaymanagerver(getIfPresent(imp.hasDisplaymanagerver(), imp::getDisplaymanagerver))
+                        .instl(flagIfPresent(imp.hasInstl(), imp::getInstl))
+                        .tagid(getIfPresent(imp.hasTagid(), imp::getTagid))
+                        .bidfloor(getIfPresent(imp.hasBidfloor(), () -> BigDecimal.valueOf(imp.getBidfloor())))
+                        .bidfloorcur(getIfPresent(imp.hasBidfloorcur(), imp::getBidfloorcur))
+                        .clickbrowser(flagIfPresent(imp.hasClickbrowser(), imp::getClickbrowser))
+                        .secure(flagIfPresent(imp.hasSecure(), imp::getSecure))
+                        .iframebuster(listOrNull(imp.getIframebusterList()))
+                        .exp(getIfPresent(imp.hasExp(), imp::getExp))
+                        .ext(extractExtension(extMapper, imp))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Metric, Metric> metricMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Metric, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Metric metric) ->
+                Metric.builder()
+                        .type(getIfPresent(metric.hasType(), metric::getType))
+                        .value(getIfPresent(metric.hasValue(), () -> (float) metric.getValue()))
+                        .vendor(getIfPresent(metric.hasVendor(), metric::getVendor))
+                        .ext(extractExtension(extMapper, metric))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Banner, Banner> bannerMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Banner.Format, Format> formatMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Banner, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Banner banner) ->
+                Banner.builder()
+                        .format(mapList(banner.getFormatList(), formatMapper::map))
+                        .w(getIfPresent(banner.hasW(), banner::getW))
+                        .h(getIfPresent(banner.hasH(), banner::getH))
+                        .btype(listOrNull(banner.getBtypeList()))
+                        .battr(listOrNull(banner.getBattrList()))
+                        .pos(getIfPresent(banner.hasPos(), banner::getPos))
+                        .mimes(listOrNull(banner.getMimesList()))
+                        .topframe(flagIfPresent(banner.hasTopframe(), banner::getTopframe))
+                        .expdir(listOrNull(banner.getExpdirList()))
+                        .api(listOrNull(banner.getApiList()))
+                        .id(getIfPresent(banner.hasId(), banner::getId))
+                        .vcm(flagIfPresent(banner.hasVcm(), banner::getVcm))
+                        .ext(extractExtension(extMapper, banner))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Banner.Format, Format> formatMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Banner.Format, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Banner.Format format) ->
+                Format.builder()
+                        .w(getIfPresent(format.hasW(), format::getW))
+                        .h(getIfPresent(format.hasH(), format::getH))
+                        .wratio(getIfPresent(format.hasWratio(), format::getWratio))
+                        .hratio(getIfPresent(format.hasHratio(), format::getHratio))
+                        .wmin(getIfPresent(format.hasWmin(), format::getWmin))
+                        .ext(extractExtension(extMapper, format))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Video, Video> videoMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Banner, Banner> bannerMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Video, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Video video) ->
+                Video.builder()
+                        .mimes(listOrNull(video.getMimesList()))
+                        .minduration(getIfPresent(video.hasMinduration(), video::getMinduration))
+                        .maxduration(getIfPresent(video.hasMaxduration(), video::getMaxduration))
+                        .startdelay(getIfPresent(video.hasStartdelay(), video::getStartdelay))
+                        .protocols(listOrNull(video.getProtocolsList()))
+                        .w(getIfPresent(video.hasW(), video::getW))
+                        .h(getIfPresent(video.hasH(), video::getH))
+                        .placement(getIfPresent(video.hasPlacement(), video::getPlacement))
+                        .linearity(getIfPresent(video.hasLinearity(), video::getLinearity))
+                        .skip(flagIfPresent(video.hasSkip(), video::getSkip))
+                        .skipmin(getIfPresent(video.hasSkipmin(), video::getSkipmin))
+                        .skipafter(getIfPresent(video.hasSkipafter(), video::getSkipafter))
+                        .sequence(getIfPresent(video.hasSequence(), video::getSequence))
+                        .battr(listOrNull(video.getBattrList()))
+                        .maxextended(getIfPresent(video.hasMaxextended(), video::getMaxextended))
+                        .minbitrate(getIfPresent(video.hasMinbitrate(), video::getMinbitrate))
+                        .maxbitrate(getIfPresent(video.hasMaxbitrate(), video::getMaxbitrate))
+                        .boxingallowed(flagIfPresent(video.hasBoxingallowed(), video::getBoxingallowed))
+                        .playbackmethod(listOrNull(video.getPlaybackmethodList()))
+                        .playbackend(getIfPresent(video.hasPlaybackend(), video::getPlaybackend))
+                        .delivery(listOrNull(video.getDeliveryList()))
+                        .pos(getIfPresent(video.hasPos(), video::getPos))
+                        .companionad(mapList(video.getCompanionadList(), bannerMapper::map))
+                        .api(listOrNull(video.getApiList()))
+                        .companiontype(listOrNull(video.getCompaniontypeList()))
+                        .ext(extractExtension(extMapper, video))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Audio, Audio> audioMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Banner, Banner> bannerMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Audio, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Audio audio) ->
+                Audio.builder()
+                        .mimes(listOrNull(audio.getMimesList()))
+                        .minduration(getIfPresent(audio.hasMinduration(), audio::getMinduration))
+                        .maxduration(getIfPresent(audio.hasMaxduration(), audio::getMaxduration))
+                        .protocols(listOrNull(audio.getProtocolsList()))
+                        .startdelay(getIfPresent(audio.hasStartdelay(), audio::getStartdelay))
+                        .sequence(getIfPresent(audio.hasSequence(), audio::getSequence))
+                        .battr(listOrNull(audio.getBattrList()))
+                        .maxextended(getIfPresent(audio.hasMaxextended(), audio::getMaxextended))
+                        .minbitrate(getIfPresent(audio.hasMinbitrate(), audio::getMinbitrate))
+                        .maxbitrate(getIfPresent(audio.hasMaxbitrate(), audio::getMaxbitrate))
+                        .delivery(listOrNull(audio.getDeliveryList()))
+                        .companionad(mapList(audio.getCompanionadList(), bannerMapper::map))
+                        .api(listOrNull(audio.getApiList()))
+                        .companiontype(listOrNull(audio.getCompaniontypeList()))
+                        .maxseq(getIfPresent(audio.hasMaxseq(), audio::getMaxseq))
+                        .feed(getIfPresent(audio.hasFeed(), audio::getFeed))
+                        .stitched(flagIfPresent(audio.hasStitched(), audio::getStitched))
+                        .nvol(getIfPresent(audio.hasNvol(), audio::getNvol))
+                        .ext(extractExtension(extMapper, audio))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Native, Native> nativeMapper(
+            ProtobufMapper<OpenRtb.NativeRequest, String> nativeRequestMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Native, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Native xNative) ->
+                Native.builder()
+                        .request(xNative.hasRequestNative()
+                                ? nativeRequestMapper.map(xNative.getRequestNative())
+                                : getIfPresent(xNative.hasRequest(), xNative::getRequest))
+                        .ver(getIfPresent(xNative.hasVer(), xNative::getVer))
+                        .api(listOrNull(xNative.getApiList()))
+                        .battr(listOrNull(xNative.getBattrList()))
+                        .ext(extractExtension(extMapper, xNative))
+                        .build();
+    }
+
+    public static ProtobufMapper<OpenRtb.NativeRequest, String> nativeRequestMapper(
+            ObjectMapper objectMapper,
+            ProtobufMapper<OpenRtb.NativeRequest, Request> nativeRequestMapper) {
+
+        return (OpenRtb.NativeRequest nativeRequest) -> {
+            try {
+                return objectMapper.writeValueAsString(nativeRequestMapper.map(nativeRequest));
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        };
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.NativeRequest, Request> nativeRequestMapper(
+            ProtobufMapper<OpenRtb.NativeRequest.Asset, Asset> assetMapper,
+            ProtobufMapper<OpenRtb.NativeRequest.EventTrackers, EventTracker> eventTrackerMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.NativeRequest, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.NativeRequest request) ->
+                Request.builder()
+                        .ver(getIfPresent(request.hasVer(), request::getVer))
+                        .context(getIfPresent(request.hasContext(), request::getContext))
+                        .contextsubtype(getIfPresent(request.hasContextsubtype(), request::getContextsubtype))
+                        .plcmttype(getIfPresent(request.hasPlcmttype(), request::getPlcmttype))
+                        .plcmtcnt(getIfPresent(request.hasPlcmtcnt(), request::getPlcmtcnt))
+                        .seq(getIfPresent(request.hasSeq(), request::getSeq))
+                        .assets(mapList(request.getAssetsList(), assetMapper::map))
+                        .aurlsupport(flagIfPresent(request.hasAurlsupport(), request::getAurlsupport))
+                        .durlsupport(flagIfPresent(request.hasDurlsupport(), request::getDurlsupport))
+                        .eventtrackers(mapList(request.getEventtrackersList(), eventTrackerMapper::map))
+                        .privacy(flagIfPresent(request.hasPrivacy(), request::getPrivacy))
+                        .ext(extractExtension(extMapper, request))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.NativeRequest.Asset, Asset> assetMapper(
+            ProtobufMapper<OpenRtb.NativeRequest.Asset.Title, TitleObject> titleMapper,
+            ProtobufMapper<OpenRtb.NativeRequest.Asset.Image, ImageObject> imgMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Video, VideoObject> videoMapper,
+            ProtobufMapper<OpenRtb.NativeRequest.Asset.Data, DataObject> dataMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.Asset, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.NativeRequest.Asset asset) ->
+                Asset.builder()
+                        .id(getIfPresent(asset.hasId(), asset::getId))
+                        .required(flagIfPresent(asset.hasRequired(), asset::getRequired))
+                        .title(getIfPresent(asset.hasTitle(), () -> titleMapper.map(asset.getTitle())))
+                        .img(getIfPresent(asset.hasImg(), () -> imgMapper.map(asset.getImg())))
+                        .video(getIfPresent(asset.hasVideo(), () -> videoMapper.map(asset.getVideo())))
+                        .data(getIfPresent(asset.hasData(), () -> dataMapper.map(asset.getData())))
+                        .ext(extractExtension(extMapper, asset))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.NativeRequest.Asset.Title, TitleObject> titleMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.Asset.Title, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.NativeRequest.Asset.Title title) ->
+                TitleObject.builder()
+                        .len(getIfPresent(title.hasLen(), title::getLen))
+                        .ext(extractExtension(extMapper, title))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType>
+            ProtobufMapper<OpenRtb.NativeRequest.Asset.Image, ImageObject> nativeImageMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.Asset.Image, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.NativeRequest.Asset.Image image) ->
+                ImageObject.builder()
+                        .type(getIfPresent(image.hasType(), image::getType))
+                        .w(getIfPresent(image.hasW(), image::getW))
+                        .wmin(getIfPresent(image.hasWmin(), image::getWmin))
+                        .h(getIfPresent(image.hasH(), image::getH))
+                        .hmin(getIfPresent(image.hasHmin(), image::getHmin))
+                        .mimes(listOrNull(image.getMimesList()))
+                        .ext(extractExtension(extMapper, image))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Video, VideoObject> nativeVideoMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Video, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Video video) ->
+                VideoObject.builder()
+                        .mimes(listOrNull(video.getMimesList()))
+                        .minduration(getIfPresent(video.hasMinduration(), video::getMinduration))
+                        .maxduration(getIfPresent(video.hasMaxduration(), video::getMaxduration))
+                        .protocols(listOrNull(video.getProtocolsList()))
+                        .ext(extractExtension(extMapper, video))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.NativeRequest.Asset.Data, DataObject> nativeDataMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.Asset.Data, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.NativeRequest.Asset.Data data) ->
+                DataObject.builder()
+                        .type(getIfPresent(data.hasType(), data::getType))
+                        .len(getIfPresent(data.hasLen(), data::getLen))
+                        .ext(extractExtension(extMapper, data))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType>
+            ProtobufMapper<OpenRtb.NativeRequest.EventTrackers, EventTracker> eventTrackerMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.NativeRequest.EventTrackers, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.NativeRequest.EventTrackers eventTracker) ->
+                EventTracker.builder()
+                        .event(getIfPresent(eventTracker.hasEvent(), eventTracker::getEvent))
+                        .methods(listOrNull(eventTracker.getMethodsList()))
+                        .ext(extractExtension(extMapper, eventTracker))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Pmp, Pmp> pmpMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Imp.Pmp.Deal, Deal> dealMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Pmp, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Pmp pmp) ->
+                Pmp.builder()
+                        .privateAuction(flagIfPresent(pmp.hasPrivateAuction(), pmp::getPrivateAuction))
+                        .deals(mapList(pmp.getDealsList(), dealMapper::map))
+                        .ext(extractExtension(extMapper, pmp))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Imp.Pmp.Deal, Deal> dealMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Imp.Pmp.Deal, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Imp.Pmp.Deal deal) ->
+                Deal.builder()
+                        .id(getIfPresent(deal.hasId(), deal::getId))
+                        .bidfloor(getIfPresent(deal.hasBidfloor(), () -> BigDecimal.valueOf(deal.getBidfloor())))
+                        .bidfloorcur(getIfPresent(deal.hasBidfloorcur(), deal::getBidfloorcur))
+                        .at(getIfPresent(deal.hasAt(), deal::getAt))
+                        .wseat(listOrNull(deal.getWseatList()))
+                        .wadomain(listOrNull(deal.getWadomainList()))
+                        .ext(extractExtension(extMapper, deal))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Site, Site> siteMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Publisher, Publisher> publisherMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Content, Content> contentMapper,
+            ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Site, ProtobufExtensionType, ExtSite> extMapper) {
+
+        return (OpenRtb.BidRequest.Site site) ->
+                Site.builder()
+                        .id(getIfPresent(site.hasId(), site::getId))
+                        .name(getIfPresent(site.hasName(), site::getName))
+                        .domain(getIfPresent(site.hasDomain(), site::getDomain))
+                        .cat(listOrNull(site.getCatList()))
+                        .sectioncat(listOrNull(site.getSectioncatList()))
+                        .pagecat(listOrNull(site.getPagecatList()))
+                        .page(getIfPresent(site.hasPage(), site::getPage))
+                        .ref(getIfPresent(site.hasRef(), site::getRef))
+                        .search(getIfPresent(site.hasSearch(), site::getSearch))
+                        .mobile(flagIfPresent(site.hasMobile(), site::getMobile))
+                        .privacypolicy(flagIfPresent(site.hasPrivacypolicy(), site::getPrivacypolicy))
+                        .publisher(getIfPresent(site.hasPublisher(), () -> publisherMapper.map(site.getPublisher())))
+                        .content(getIfPresent(site.hasContent(), () -> contentMapper.map(site.getContent())))
+                        .keywords(getIfPresent(site.hasKeywords(), site::getKeywords))
+                        .ext(extractExtension(extMapper, site))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.App, App> appMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Publisher, Publisher> publisherMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Content, Content> contentMapper,
+            ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.App, ProtobufExtensionType, ExtApp> extMapper) {
+
+        return (OpenRtb.BidRequest.App app) ->
+                App.builder()
+                        .id(getIfPresent(app.hasId(), app::getId))
+                        .name(getIfPresent(app.hasName(), app::getName))
+                        .bundle(getIfPresent(app.hasBundle(), app::getBundle))
+                        .domain(getIfPresent(app.hasDomain(), app::getDomain))
+                        .storeurl(getIfPresent(app.hasStoreurl(), app::getStoreurl))
+                        .cat(listOrNull(app.getCatList()))
+                        .sectioncat(listOrNull(app.getSectioncatList()))
+                        .pagecat(listOrNull(app.getPagecatList()))
+                        .ver(getIfPresent(app.hasVer(), app::getVer))
+                        .privacypolicy(flagIfPresent(app.hasPrivacypolicy(), app::getPrivacypolicy))
+                        .paid(flagIfPresent(app.hasPaid(), app::getPaid))
+                        .publisher(getIfPresent(app.hasPublisher(), () -> publisherMapper.map(app.getPublisher())))
+                        .content(getIfPresent(app.hasContent(), () -> contentMapper.map(app.getContent())))
+                        .keywords(getIfPresent(app.hasKeywords(), app::getKeywords))
+                        .ext(extractExtension(extMapper, app))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Publisher, Publisher> publisherMapper(
+            ProtobufBackwardExtensionMapper<
+                    OpenRtb.BidRequest.Publisher,
+                    ProtobufExtensionType,
+                    ExtPublisher
+                    > extMapper) {
+
+        return (OpenRtb.BidRequest.Publisher publisher) ->
+                Publisher.builder()
+                        .id(getIfPresent(publisher.hasId(), publisher::getId))
+                        .name(getIfPresent(publisher.hasName(), publisher::getName))
+                        .cat(listOrNull(publisher.getCatList()))
+                        .domain(getIfPresent(publisher.hasDomain(), publisher::getDomain))
+                        .ext(extractExtension(extMapper, publisher))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Content, Content> contentMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Producer, Producer> producerMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Data, Data> dataMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Content, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Content content) ->
+                Content.builder()
+                        .id(getIfPresent(content.hasId(), content::getId))
+                        .episode(getIfPresent(content.hasEpisode(), content::getEpisode))
+                        .title(getIfPresent(content.hasTitle(), content::getTitle))
+                        .series(getIfPresent(content.hasSeries(), content::getSeries))
+                        .season(getIfPresent(content.hasSeason(), content::getSeason))
+                        .artist(getIfPresent(content.hasArtist(), content::getArtist))
+                        .genre(getIfPresent(content.hasGenre(), content::getGenre))
+                        .album(getIfPresent(content.hasAlbum(), content::getAlbum))
+                        .isrc(getIfPresent(content.hasIsrc(), content::getIsrc))
+                        .producer(getIfPresent(content.hasProducer(), () -> producerMapper.map(content.getProducer())))
+                        .url(getIfPresent(content.hasUrl(), content::getUrl))
+                        .cat(listOrNull(content.getCatList()))
+                        .prodq(getIfPresent(content.hasProdq(), content::getProdq))
+                        .context(getIfPresent(content.hasContext(), content::getContext))
+                        .contentrating(getIfPresent(content.hasContentrating(), content::getContentrating))
+                        .userrating(getIfPresent(content.hasUserrating(), content::getUserrating))
+                        .qagmediarating(getIfPresent(content.hasQagmediarating(), content::getQagmediarating))
+                        .keywords(getIfPresent(content.hasKeywords(), content::getKeywords))
+                        .livestream(flagIfPresent(content.hasLivestream(), content::getLivestream))
+                        .sourcerelationship(
+                                flagIfPresent(content.hasSourcerelationship(), content::getSourcerelationship))
+                        .len(getIfPresent(content.hasLen(), content::getLen))
+                        .language(getIfPresent(content.hasLanguage(), content::getLanguage))
+                        .embeddable(flagIfPresent(content.hasEmbeddable(), content::getEmbeddable))
+                        .data(mapList(content.getDataList(), dataMapper::map))
+                        .ext(extractExtension(extMapper, content))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Producer, Producer> producerMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Producer, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Producer producer) ->
+                Producer.builder()
+                        .id(getIfPresent(producer.hasId(), producer::getId))
+                        .name(getIfPresent(producer.hasName(), producer::getName))
+                        .cat(listOrNull(producer.getCatList()))
+                        .domain(getIfPresent(producer.hasDomain(), producer::getDomain))
+                        .ext(extractExtension(extMapper, producer))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Data, Data> dataMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Data.Segment, Segment> segmentMapper,
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Data, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Data data) ->
+                Data.builder()
+                        .id(getIfPresent(data.hasId(), data::getId))
+                        .name(getIfPresent(data.hasName(), data::getName))
+                        .segment(mapList(data.getSegmentList(), segmentMapper::map))
+                        .ext(extractExtension(extMapper, data))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Data.Segment, Segment> segmentMapper(
+            ProtobufJsonExtensionMapper<OpenRtb.BidRequest.Data.Segment, ProtobufExtensionType> extMapper) {
+
+        return (OpenRtb.BidRequest.Data.Segment segment) ->
+                Segment.builder()
+                        .id(getIfPresent(segment.hasId(), segment::getId))
+                        .name(getIfPresent(segment.hasName(), segment::getName))
+                        .value(getIfPresent(segment.hasValue(), segment::getValue))
+                        .ext(extractExtension(extMapper, segment))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Device, Device> deviceMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Geo, Geo> geoMapper,
+            ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Device, ProtobufExtensionType, ExtDevice> extMapper) {
+
+        return (OpenRtb.BidRequest.Device device) ->
+                Device.builder()
+                        .geo(getIfPresent(device.hasGeo(), () -> geoMapper.map(device.getGeo())))
+                        .dnt(flagIfPresent(device.hasDnt(), device::getDnt))
+                        .lmt(flagIfPresent(device.hasLmt(), device::getLmt))
+                        .ua(getIfPresent(device.hasUa(), device::getUa))
+                        .ip(getIfPresent(device.hasIp(), device::getIp))
+                        .ipv6(getIfPresent(device.hasIpv6(), device::getIpv6))
+                        .devicetype(getIfPresent(device.hasDevicetype(), device::getDevicetype))
+                        .make(getIfPresent(device.hasMake(), device::getMake))
+                        .model(getIfPresent(device.hasModel(), device::getModel))
+                        .os(getIfPresent(device.hasOs(), device::getOs))
+                        .osv(getIfPresent(device.hasOsv(), device::getOsv))
+                        .hwv(getIfPresent(device.hasHwv(), device::getHwv))
+                        .h(getIfPresent(device.hasH(), device::getH))
+                        .w(getIfPresent(device.hasW(), device::getW))
+                        .ppi(getIfPresent(device.hasPpi(), device::getPpi))
+                        .pxratio(getIfPresent(device.hasPxratio(), () -> BigDecimal.valueOf(device.getPxratio())))
+                        .js(flagIfPresent(device.hasJs(), device::getJs))
+                        .geofetch(flagIfPresent(device.hasGeofetch(), device::getGeofetch))
+                        .flashver(getIfPresent(device.hasFlashver(), device::getFlashver))
+                        .language(getIfPresent(device.hasLanguage(), device::getLanguage))
+                        .carrier(getIfPresent(device.hasCarrier(), device::getCarrier))
+                        .mccmnc(getIfPresent(device.hasMccmnc(), device::getMccmnc))
+                        .connectiontype(getIfPresent(device.hasConnectiontype(), device::getConnectiontype))
+                        .ifa(getIfPresent(device.hasIfa(), device::getIfa))
+                        .didsha1(getIfPresent(device.hasDidsha1(), device::getDidsha1))
+                        .didmd5(getIfPresent(device.hasDidmd5(), device::getDidmd5))
+                        .dpidsha1(getIfPresent(device.hasDpidsha1(), device::getDpidsha1))
+                        .dpidmd5(getIfPresent(device.hasDpidmd5(), device::getDpidmd5))
+                        .macsha1(getIfPresent(device.hasMacsha1(), device::getMacsha1))
+                        .macmd5(getIfPresent(device.hasMacmd5(), device::getMacmd5))
+                        .ext(extractExtension(extMapper, device))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Geo, Geo> geoMapper(
+            ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Geo, ProtobufExtensionType, ExtGeo> extMapper) {
+
+        return (OpenRtb.BidRequest.Geo geo) ->
+                Geo.builder()
+                        .lat(getIfPresent(geo.hasLat(), () -> (float) geo.getLat()))
+                        .lon(getIfPresent(geo.hasLon(), () -> (float) geo.getLon()))
+                        .type(getIfPresent(geo.hasType(), geo::getType))
+                        .accuracy(getIfPresent(geo.hasAccuracy(), geo::getAccuracy))
+                        .lastfix(getIfPresent(geo.hasLastfix(), geo::getLastfix))
+                        .ipservice(getIfPresent(geo.hasIpservice(), geo::getIpservice))
+                        .country(getIfPresent(geo.hasCountry(), geo::getCountry))
+                        .region(getIfPresent(geo.hasRegion(), geo::getRegion))
+                        .regionfips104(getIfPresent(geo.hasRegionfips104(), geo::getRegionfips104))
+                        .metro(getIfPresent(geo.hasMetro(), geo::getMetro))
+                        .city(getIfPresent(geo.hasCity(), geo::getCity))
+                        .zip(getIfPresent(geo.hasZip(), geo::getZip))
+                        .utcoffset(getIfPresent(geo.hasUtcoffset(), geo::getUtcoffset))
+                        .ext(extractExtension(extMapper, geo))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.User, User> userMapper(
+            ProtobufMapper<OpenRtb.BidRequest.Geo, Geo> geoMapper,
+            ProtobufMapper<OpenRtb.BidRequest.Data, Data> dataMapper,
+            ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.User, ProtobufExtensionType, ExtUser> extMapper) {
+
+        return (OpenRtb.BidRequest.User user) ->
+                User.builder()
+                        .id(getIfPresent(user.hasId(), user::getId))
+                        .buyeruid(getIfPresent(user.hasBuyeruid(), user::getBuyeruid))
+                        .yob(getIfPresent(user.hasYob(), user::getYob))
+                        .gender(getIfPresent(user.hasGender(), user::getGender))
+                        .keywords(getIfPresent(user.hasKeywords(), user::getKeywords))
+                        .customdata(getIfPresent(user.hasCustomdata(), user::getCustomdata))
+                        .geo(getIfPresent(user.hasGeo(), () -> geoMapper.map(user.getGeo())))
+                        .data(mapList(user.getDataList(), dataMapper::map))
+                        .ext(extractExtension(extMapper, user))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Source, Source> sourceMapper(
+            ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Source, ProtobufExtensionType, ExtSource> extMapper) {
+
+        return (OpenRtb.BidRequest.Source source) ->
+                Source.builder()
+                        .fd(flagIfPresent(source.hasFd(), source::getFd))
+                        .tid(getIfPresent(source.hasTid(), source::getTid))
+                        .pchain(getIfPresent(source.hasPchain(), source::getPchain))
+                        .ext(extractExtension(extMapper, source))
+                        .build();
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<OpenRtb.BidRequest.Regs, Regs> regsMapper(
+            ProtobufBackwardExtensionMapper<OpenRtb.BidRequest.Regs, ProtobufExtensionType, ExtRegs> extMapper) {
+
+        return (OpenRtb.BidRequest.Regs regs) ->
+                Regs.builder()
+                        .coppa(flagIfPresent(regs.hasCoppa(), regs::getCoppa))
+                        .ext(extractExtension(extMapper, regs))
+                        .build();
+    }
+
+    private static <T> T getIfPresent(boolean present, Supplier<T> getter) {
+        return present ? getter.get() : null;
+    }
+
+    private static Integer flagIfPresent(boolean present, BooleanSupplier getter) {
+        return present ? BooleanUtils.toInteger(getter.getAsBoolean()) : null;
+    }
+
+    private static <T> List<T> listOrNull(List<T> values) {
+        return values.isEmpty() ? null : values;
+    }
+
+    private static <T, U> List<U> mapList(List<T> values, Function<T, U> mapper) {
+        return values.isEmpty() ? null : values.stream().map(mapper).toList();
+    }
+
+    private static <ContainingType extends GeneratedMessageV3.ExtendableMessage<ContainingType>, FromType, ToType>
+            ToType extractExtension(
+            ProtobufBackwardExtensionMapper<ContainingType, FromType, ToType> mapper, ContainingType value) {
+
+        if (mapper == null || !value.hasExtension(mapper.extensionDescriptor())) {
+            return null;
+        }
+
+        return mapper.map(value.getExtension(mapper.extensionDescriptor()));
+    }
+}
@@ -0,0 +1,150 @@
+package org.prebid.server.protobuf.auction;
+
+import com.google.protobuf.ExtensionLite;
+import com.google.protobuf.Message;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
+import org.prebid.server.protobuf.ProtobufMapper;
+import org.prebid.server.protobuf.request.JsonProtobufExtensionMapper;
+import org.prebid.server.protobuf.request.ProtobufForwardExtensionMapper;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Mappers of internal auction response models to outgoing protobuf auction response.
+ */
+public class ProtobufAuctionResponseUtils {
+
+    private ProtobufAuctionResponseUtils() {
+    }
+
+    public static ProtobufMapper<BidResponse, OpenRtb.BidResponse> bidResponseMapper(
+            AuctionResponseExtensionMappersSpecification spec) {
+
+        final ProtobufMapper<SeatBid, OpenRtb.BidResponse.SeatBid> seatBidMapper =
+                seatBidMapper(bidMapper(spec.bidExtMapper()), spec.seatBidExtMapper());
+
+        return bidResponseMapper(seatBidMapper, spec.bidResponseExtMapper());
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<BidResponse, OpenRtb.BidResponse> bidResponseMapper(
+            ProtobufMapper<SeatBid, OpenRtb.BidResponse.SeatBid> seatBidMapper,
+            ProtobufForwardExtensionMapper<
+                    OpenRtb.BidResponse,
+                    ExtBidResponse,
+                    ProtobufExtensionType
+                    > extMapper) {
+
+        return (BidResponse bidResponse) -> {
+            final OpenRtb.BidResponse.Builder resultBuilder = OpenRtb.BidResponse.newBuilder();
+
+            setNotNull(bidResponse.getId(), resultBuilder::setId);
+            setNotNull(mapList(bidResponse.getSeatbid(), seatBidMapper::map), resultBuilder::addAllSeatbid);
+            setNotNull(bidResponse.getBidid(), resultBuilder::setBidid);
+            setNotNull(bidResponse.getCur(), resultBuilder::setCur);
+            setNotNull(bidResponse.getCustomdata(), resultBuilder::setCustomdata);
+            setNotNull(bidResponse.getNbr(), resultBuilder::setNbr);
+
+            mapAndSetExtension(extMapper, bidResponse.getExt(), resultBuilder::setExtension);
+
+            return resultBuilder.build();
+        };
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<SeatBid, OpenRtb.BidResponse.SeatBid> seatBidMapper(
+            ProtobufMapper<Bid, OpenRtb.BidResponse.SeatBid.Bid> bidMapper,
+            JsonProtobufExtensionMapper<OpenRtb.BidResponse.SeatBid, ProtobufExtensionType> extMapper) {
+
+        return (SeatBid seatBid) -> {
+            final OpenRtb.BidResponse.SeatBid.Builder resultBuilder = OpenRtb.BidResponse.SeatBid.newBuilder();
+
+            setNotNull(mapList(seatBid.getBid(), bidMapper::map), resultBuilder::addAllBid);
+            setNotNull(seatBid.getSeat(), resultBuilder::setSeat);
+            setNotNull(mapNotNull(seatBid.getGroup(), BooleanUtils::toBoolean), resultBuilder::setGroup);
+
+            mapAndSetExtension(extMapper, seatBid.getExt(), resultBuilder::setExtension);
+
+            return resultBuilder.build();
+        };
+    }
+
+    public static <ProtobufExtensionType> ProtobufMapper<Bid, OpenRtb.BidResponse.SeatBid.Bid> bidMapper(
+            JsonProtobufExtensionMapper<OpenRtb.BidResponse.SeatBid.Bid, ProtobufExtensionType> extMapper) {
+
+        return (Bid bid) -> {
+            final OpenRtb.BidResponse.SeatBid.Bid.Builder resultBuilder = OpenRtb.BidResponse.SeatBid.Bid.newBuilder();
+
+            setNotNull(bid.getId(), resultBuilder::setId);
+            setNotNull(bid.getImpid(), resultBuilder::setImpid);
+            setNotNull(mapNotNull(bid.getPrice(), BigDecimal::doubleValue), resultBuilder::setPrice);
+            setNotNull(bid.getNurl(), resultBuilder::setNurl);
+            setNotNull(bid.getBurl(), resultBuilder::setBurl);
+            setNotNull(bid.getLurl(), resultBuilder::setLurl);
+            setNotNull(bid.getAdm(), resultBuilder::setAdm);
+            setNotNull(bid.getAdid(), resultBuilder::setAdid);
+            setNotNull(bid.getAdomain(), resultBuilder::addAllAdomain);
+            setNotNull(bid.getBundle(), resultBuilder::setBundle);
+            setNotNull(bid.getIurl(), resultBuilder::setIurl);
+            setNotNull(bid.getCid(), resultBuilder::setCid);
+            setNotNull(bid.getCrid(), resultBuilder::setCrid);
+            setNotNull(bid.getTactic(), resultBuilder::setTactic);
+            setNotNull(bid.getCat(), resultBuilder::addAllCat);
+            setNotNull(bid.getAttr(), resultBuilder::addAllAttr);
+            setNotNull(bid.getApi(), resultBuilder::setApi);
+            setNotNull(bid.getProtocol(), resultBuilder::setProtocol);
+            setNotNull(bid.getQagmediarating(), resultBuilder::setQagmediarating);
+            setNotNull(bid.getLanguage(), resultBuilder::setLanguage);
+            setNotNull(bid.getDealid(), resultBuilder::setDealid);
+            setNotNull(bid.getW(), resultBuilder::setW);
+            setNotNull(bid.getH(), resultBuilder::setH);
+            setNotNull(bid.getWratio(), resultBuilder::setWratio);
+            setNotNull(bid.getHratio(), resultBuilder::setHratio);
+            setNotNull(bid.getExp(), resultBuilder::setExp);
+
+            mapAndSetExtension(extMapper, bid.getExt(), resultBuilder::setExtension);
+
+            return resultBuilder.build();
+        };
+    }
+
+    private static <T, U> U mapNotNull(T value, Function<T, U> mapper) {
+        return value != null ? mapper.apply(value) : null;
+    }
+
+    private static <T> void setNotNull(T value, Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    private static <T, U> List<U> mapList(List<T> values, Function<T, U> mapper) {
+        return CollectionUtils.isEmpty(values)
+                ? Collections.emptyList()
+                : values.stream().map(mapper).toList();
+    }
+
+    private static <ContainingType extends Message, FromType, ToType> void mapAndSetExtension(
+            ProtobufForwardExtensionMapper<ContainingType, FromType, ToType> mapper,
+            FromType value,
+            BiConsumer<ExtensionLite<ContainingType, ToType>, ToType> extensionSetter) {
+
+        if (mapper == null || value == null) {
+            return;
+        }
+
+        final ToType mappedExt = mapper.map(value);
+        if (mappedExt != null) {
+            extensionSetter.accept(mapper.extensionDescriptor(), mappedExt);
+        }
+    }
+}
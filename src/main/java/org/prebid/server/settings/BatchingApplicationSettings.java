@@ -0,0 +1,291 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.Value;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredResponseDataResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects stored data lookups of concurrent requests for a short window and fetches them from the delegate
+ * by a single call, so settings source (like database) is queried once per batch rather than once per request.
+ * <p>
+ * Lookups are batched per stored data type and account, as account takes part in resolving stored data.
+ * Batch is sent when the window passes or the number of collected ids reaches the limit, whichever comes first.
+ * Each caller gets back only its own stored data, on the Vert.x context the call was made on, and fails with timeout
+ * on its own deadline regardless of the deadlines of other callers in the batch.
+ * <p>
+ * Other settings are delegated as is.
+ */
+public class BatchingApplicationSettings implements ApplicationSettings {
+
+    private final ApplicationSettings delegate;
+    private final Vertx vertx;
+    private final long windowMs;
+    private final int maxBatchSize;
+
+    private final Map<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+
+    public BatchingApplicationSettings(ApplicationSettings delegate, Vertx vertx, long windowMs, int maxBatchSize) {
+        if (windowMs <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batching window and max batch size must be positive");
+        }
+
+        this.delegate = Objects.requireNonNull(delegate);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Future<Account> getAccountById(String accountId, Timeout timeout) {
+        return delegate.getAccountById(accountId, timeout);
+    }
+
+    @Override
+    public Future<StoredDataResult> getStoredData(String accountId,
+                                                  Set<String> requestIds,
+                                                  Set<String> impIds,
+                                                  Timeout timeout) {
+
+        return addToBatch(BatchKey.of(StoredDataKind.STORED, accountId), requestIds, impIds, timeout);
+    }
+
+    @Override
+    public Future<StoredDataResult> getAmpStoredData(String accountId,
+                                                     Set<String> requestIds,
+                                                     Set<String> impIds,
+                                                     Timeout timeout) {
+
+        return addToBatch(BatchKey.of(StoredDataKind.AMP, accountId), requestIds, impIds, timeout);
+    }
+
+    @Override
+    public Future<StoredDataResult> getVideoStoredData(String accountId,
+                                                       Set<String> requestIds,
+                                                       Set<String> impIds,
+                                                       Timeout timeout) {
+
+        return addToBatch(BatchKey.of(StoredDataKind.VIDEO, accountId), requestIds, impIds, timeout);
+    }
+
+    @Override
+    public Future<StoredResponseDataResult> getStoredResponses(Set<String> responseIds, Timeout timeout) {
+        return delegate.getStoredResponses(responseIds, timeout);
+    }
+
+    @Override
+    public Future<Map<String, String>> getCategories(String primaryAdServer, String publisher, Timeout timeout) {
+        return delegate.getCategories(primaryAdServer, publisher, timeout);
+    }
+
+    private Future<StoredDataResult> addToBatch(BatchKey key,
+                                                Set<String> requestIds,
+                                                Set<String> impIds,
+                                                Timeout timeout) {
+
+        if (requestIds.isEmpty() && impIds.isEmpty()) {
+            return fetch(key, requestIds, impIds, timeout);
+        }
+
+        final long remainingTimeout = timeout.remaining();
+        if (remainingTimeout <= 0) {
+            return Future.failedFuture(timeoutException());
+        }
+
+        final Waiter waiter = new Waiter(requestIds, impIds, timeout, Vertx.currentContext());
+        waiter.timerId = vertx.setTimer(remainingTimeout, ignored -> waiter.promise.tryFail(timeoutException()));
+
+        Batch batch;
+        do {
+            batch = batches.computeIfAbsent(key, this::createBatch);
+        } while (!batch.add(waiter));
+
+        if (batch.isFull()) {
+            vertx.cancelTimer(batch.timerId);
+            send(batch);
+        }
+
+        return waiter.promise.future();
+    }
+
+    private Batch createBatch(BatchKey key) {
+        final Batch batch = new Batch(key);
+        batch.timerId = vertx.setTimer(windowMs, ignored -> send(batch));
+        return batch;
+    }
+
+    private void send(Batch batch) {
+        if (!batch.markSent()) {
+            return;
+        }
+        batches.remove(batch.key, batch);
+
+        Future<StoredDataResult> resultFuture;
+        try {
+            resultFuture = fetch(batch.key, batch.requestIds, batch.impIds, batch.timeout);
+        } catch (Exception e) {
+            resultFuture = Future.failedFuture(e);
+        }
+
+        resultFuture.onComplete(result -> batch.waiters.forEach(waiter -> waiter.complete(result)));
+    }
+
+    private Future<StoredDataResult> fetch(BatchKey key, Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        return switch (key.getKind()) {
+            case STORED -> delegate.getStoredData(key.getAccountId(), requestIds, impIds, timeout);
+            case AMP -> delegate.getAmpStoredData(key.getAccountId(), requestIds, impIds, timeout);
+            case VIDEO -> delegate.getVideoStoredData(key.getAccountId(), requestIds, impIds, timeout);
+        };
+    }
+
+    private enum StoredDataKind {
+
+        STORED, AMP, VIDEO
+    }
+
+    @Value(staticConstructor = "of")
+    private static class BatchKey {
+
+        StoredDataKind kind;
+
+        String accountId;
+    }
+
+    private class Batch {
+
+        private final BatchKey key;
+        private final Set<String> requestIds = new HashSet<>();
+        private final Set<String> impIds = new HashSet<>();
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        private Timeout timeout;
+        private boolean sent;
+        private volatile long timerId;
+
+        Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        /**
+         * Returns false if batch has been already sent, so waiter should be added to the next one.
+         */
+        synchronized boolean add(Waiter waiter) {
+            if (sent) {
+                return false;
+            }
+
+            requestIds.addAll(waiter.requestIds);
+            impIds.addAll(waiter.impIds);
+            waiters.add(waiter);
+
+            // batch is fetched as long as the most patient of its callers is waiting, others time out on their own
+            if (timeout == null || waiter.timeout.remaining() > timeout.remaining()) {
+                timeout = waiter.timeout;
+            }
+
+            return true;
+        }
+
+        synchronized boolean isFull() {
+            return requestIds.size() + impIds.size() >= maxBatchSize;
+        }
+
+        synchronized boolean markSent() {
+            final boolean wasSent = sent;
+            sent = true;
+            return !wasSent;
+        }
+    }
+
+    private static TimeoutException timeoutException() {
+        return new TimeoutException("Timeout has been exceeded");
+    }
+
+    private class Waiter {
+
+        private final Set<String> requestIds;
+        private final Set<String> impIds;
+        private final Timeout timeout;
+        private final Context context;
+        private final Promise<StoredDataResult> promise = Promise.promise();
+
+        private long timerId;
+
+        Waiter(Set<String> requestIds, Set<String> impIds, Timeout timeout, Context context) {
+            this.requestIds = requestIds;
+            this.impIds = impIds;
+            this.timeout = timeout;
+            this.context = context;
+        }
+
+        void complete(AsyncResult<StoredDataResult> batchResult) {
+            final AsyncResult<StoredDataResult> result = batchResult.succeeded()
+                    ? Future.succeededFuture(ownResult(batchResult.result()))
+                    : Future.failedFuture(batchResult.cause());
+
+            if (context != null && context != Vertx.currentContext()) {
+                context.runOnContext(ignored -> handle(result));
+            } else {
+                handle(result);
+            }
+        }
+
+        private void handle(AsyncResult<StoredDataResult> result) {
+            vertx.cancelTimer(timerId);
+
+            if (result.succeeded()) {
+                promise.tryComplete(result.result());
+            } else {
+                promise.tryFail(result.cause());
+            }
+        }
+
+        /**
+         * Errors of the batch are not attributed to callers, as they may mention ids of other callers.
+         * Each caller gets errors about its own missed ids instead, while failure of the whole batch
+         * is passed to every caller as is.
+         */
+        private StoredDataResult ownResult(StoredDataResult batchResult) {
+            final List<String> errors = new ArrayList<>();
+            final Map<String, String> storedIdToRequest =
+                    ownItems(batchResult.getStoredIdToRequest(), requestIds, "request", errors);
+            final Map<String, String> storedIdToImp =
+                    ownItems(batchResult.getStoredIdToImp(), impIds, "imp", errors);
+
+            return StoredDataResult.of(storedIdToRequest, storedIdToImp, errors);
+        }
+
+        private static Map<String, String> ownItems(Map<String, String> idToItem,
+                                                   Set<String> ids,
+                                                   String type,
+                                                   List<String> errors) {
+
+            final Map<String, String> ownIdToItem = new HashMap<>(ids.size());
+            for (String id : ids) {
+                final String item = idToItem.get(id);
+                if (item != null) {
+                    ownIdToItem.put(id, item);
+                } else {
+                    errors.add("No stored %s found for id: %s".formatted(type, id));
+                }
+            }
+            return ownIdToItem;
+        }
+    }
+}
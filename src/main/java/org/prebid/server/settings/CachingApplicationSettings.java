@@ -1,11 +1,21 @@
 package org.prebid.server.settings;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import lombok.Value;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.helper.StoredDataFetcher;
@@ -15,53 +25,132 @@ import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredItem;
 import org.prebid.server.settings.model.StoredResponseDataResult;
 
+import java.time.Clock;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Adds caching functionality for {@link ApplicationSettings} implementation.
+ * <p>
+ * Concurrent cache misses of the same key are collapsed into single call to the delegate, so all waiters are served
+ * by its result.
+ * <p>
+ * If max stale period is set, values older than TTL are still served for that period while being refreshed in
+ * background, so hot accounts and stored requests are not waited for on expiration. Values are dropped only if they
+ * could not be refreshed during the stale period. Background refresh has its own timeout, so it does not depend on
+ * time left to the request that triggered it.
  */
 public class CachingApplicationSettings implements ApplicationSettings {
 
     private static final Logger logger = LoggerFactory.getLogger(CachingApplicationSettings.class);
+    private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
 
     private final ApplicationSettings delegate;
 
-    private final Map<String, Account> accountCache;
+    private final Cache<String, Account> accountCache;
     private final Map<String, String> accountToErrorCache;
     private final Map<String, String> adServerPublisherToErrorCache;
-    private final Map<String, Map<String, String>> categoryConfigCache;
+    private final Cache<String, Map<String, String>> categoryConfigCache;
     private final SettingsCache cache;
     private final SettingsCache ampCache;
     private final SettingsCache videoCache;
     private final Metrics metrics;
+    private final Clock clock;
+    private final TimeoutFactory timeoutFactory;
+    private final int ttl;
+    private final int maxStale;
+    private final long refreshTimeoutMs;
+
+    private final Map<String, Future<Account>> accountLookups = new ConcurrentHashMap<>();
+    private final Map<String, Future<Map<String, String>>> categoryLookups = new ConcurrentHashMap<>();
+    private final Map<StoredDataKey, Future<StoredDataResult>> storedDataLookups = new ConcurrentHashMap<>();
+    private final Map<StoredDataKey, Future<StoredDataResult>> ampStoredDataLookups = new ConcurrentHashMap<>();
+    private final Map<StoredDataKey, Future<StoredDataResult>> videoStoredDataLookups = new ConcurrentHashMap<>();
 
     public CachingApplicationSettings(ApplicationSettings delegate,
                                       SettingsCache cache,
                                       SettingsCache ampCache,
                                       SettingsCache videoCache,
                                       Metrics metrics,
+                                      Clock clock,
+                                      TimeoutFactory timeoutFactory,
+                                      JacksonMapper mapper,
                                       int ttl,
-                                      int size) {
+                                      int maxStale,
+                                      long refreshTimeoutMs,
+                                      int size,
+                                      long maxSizeBytes) {
 
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
         }
+        if (refreshTimeoutMs <= 0) {
+            throw new IllegalArgumentException("refresh timeout must be positive");
+        }
+        if (maxStale < 0 || maxSizeBytes < 0) {
+            throw new IllegalArgumentException("max stale and max size in bytes must not be negative");
+        }
+        Objects.requireNonNull(mapper);
+
         this.delegate = Objects.requireNonNull(delegate);
-        this.accountCache = SettingsCache.createCache(ttl, size);
-        this.accountToErrorCache = SettingsCache.createCache(ttl, size);
-        this.adServerPublisherToErrorCache = SettingsCache.createCache(ttl, size);
-        this.categoryConfigCache = SettingsCache.createCache(ttl, size);
+        this.accountCache = SettingsCache.createCache(ttl, maxStale, size, maxSizeBytes,
+                (accountId, account) -> weigh(accountId, mapper.encodeToString(account)), Ticker.systemTicker());
+        this.accountToErrorCache = createErrorCache(ttl, size, maxSizeBytes);
+        this.adServerPublisherToErrorCache = createErrorCache(ttl, size, maxSizeBytes);
+        this.categoryConfigCache = SettingsCache.createCache(ttl, maxStale, size, maxSizeBytes,
+                CachingApplicationSettings::weighCategories, Ticker.systemTicker());
         this.cache = Objects.requireNonNull(cache);
         this.ampCache = Objects.requireNonNull(ampCache);
         this.videoCache = Objects.requireNonNull(videoCache);
         this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.refreshTimeoutMs = refreshTimeoutMs;
+
+        createGauges();
+    }
+
+    private static Map<String, String> createErrorCache(int ttl, int size, long maxSizeBytes) {
+        return SettingsCache.<String>createCache(ttl, 0, size, maxSizeBytes,
+                CachingApplicationSettings::weigh, Ticker.systemTicker()).asMap();
+    }
+
+    private static int weigh(String key, String value) {
+        return (int) Math.min((long) key.length() + value.length(), Integer.MAX_VALUE);
+    }
+
+    private static int weighCategories(String key, Map<String, String> categories) {
+        long weight = key.length();
+        for (Map.Entry<String, String> category : categories.entrySet()) {
+            weight += StringUtils.length(category.getKey()) + StringUtils.length(category.getValue());
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private void createGauges() {
+        metrics.createSettingsCacheGauges(MetricName.account,
+                () -> SettingsCache.weightedSize(accountCache), () -> accountCache.stats().evictionCount());
+        metrics.createSettingsCacheGauges(MetricName.categories,
+                () -> SettingsCache.weightedSize(categoryConfigCache),
+                () -> categoryConfigCache.stats().evictionCount());
+        metrics.createSettingsCacheGauges(MetricName.stored_request, cache::weightedSize, cache::evictionCount);
+        metrics.createSettingsCacheGauges(
+                MetricName.amp_stored_request, ampCache::weightedSize, ampCache::evictionCount);
+        metrics.createSettingsCacheGauges(
+                MetricName.video_stored_request, videoCache::weightedSize, videoCache::evictionCount);
     }
 
     /**
@@ -72,10 +161,11 @@ public class CachingApplicationSettings implements ApplicationSettings {
         return getFromCacheOrDelegate(
                 accountCache,
                 accountToErrorCache,
+                accountLookups,
+                MetricName.account,
                 accountId,
                 timeout,
-                delegate::getAccountById,
-                event -> metrics.updateSettingsCacheEventMetric(MetricName.account, event));
+                delegate::getAccountById);
     }
 
     /**
@@ -87,7 +177,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                   Set<String> impIds,
                                                   Timeout timeout) {
 
-        return getFromCacheOrDelegate(cache, accountId, requestIds, impIds, timeout, delegate::getStoredData);
+        return getFromCacheOrDelegate(cache, storedDataLookups, MetricName.stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getStoredData);
     }
 
     /**
@@ -99,7 +190,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                      Set<String> impIds,
                                                      Timeout timeout) {
 
-        return getFromCacheOrDelegate(ampCache, accountId, requestIds, impIds, timeout, delegate::getAmpStoredData);
+        return getFromCacheOrDelegate(ampCache, ampStoredDataLookups, MetricName.amp_stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getAmpStoredData);
     }
 
     @Override
@@ -108,7 +200,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                        Set<String> impIds,
                                                        Timeout timeout) {
 
-        return getFromCacheOrDelegate(videoCache, accountId, requestIds, impIds, timeout, delegate::getVideoStoredData);
+        return getFromCacheOrDelegate(videoCache, videoStoredDataLookups, MetricName.video_stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getVideoStoredData);
     }
 
     /**
@@ -125,38 +218,48 @@ public class CachingApplicationSettings implements ApplicationSettings {
                 ? "%s_%s".formatted(primaryAdServer, publisher)
                 : primaryAdServer;
 
-        return getFromCacheOrDelegate(categoryConfigCache, adServerPublisherToErrorCache, compoundKey, timeout,
-                (key, timeoutParam) -> delegate.getCategories(primaryAdServer, publisher, timeout),
-                CachingApplicationSettings::noOp);
+        return getFromCacheOrDelegate(categoryConfigCache, adServerPublisherToErrorCache, categoryLookups,
+                MetricName.categories, compoundKey, timeout,
+                (key, timeoutParam) -> delegate.getCategories(primaryAdServer, publisher, timeout));
     }
 
-    private static <T> Future<T> getFromCacheOrDelegate(Map<String, T> cache,
-                                                        Map<String, String> accountToErrorCache,
-                                                        String key,
-                                                        Timeout timeout,
-                                                        BiFunction<String, Timeout, Future<T>> retriever,
-                                                        Consumer<MetricName> metricUpdater) {
+    private <T> Future<T> getFromCacheOrDelegate(Cache<String, T> cache,
+                                                 Map<String, String> accountToErrorCache,
+                                                 Map<String, Future<T>> lookups,
+                                                 MetricName cacheType,
+                                                 String key,
+                                                 Timeout timeout,
+                                                 BiFunction<String, Timeout, Future<T>> retriever) {
 
-        final T cachedValue = cache.get(key);
+        final Function<Timeout, Future<T>> retrieveAndCache = lookupTimeout -> retriever.apply(key, lookupTimeout)
+                .map(value -> {
+                    cache.put(key, value);
+                    return value;
+                })
+                .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, accountToErrorCache));
+
+        final T cachedValue = cache.getIfPresent(key);
         if (cachedValue != null) {
-            metricUpdater.accept(MetricName.hit);
+            metrics.updateSettingsCacheEventMetric(cacheType, MetricName.hit);
+
+            if (SettingsCache.isStale(cache, key, ttl, maxStale)) {
+                metrics.updateSettingsCacheEventMetric(cacheType, MetricName.stale);
+                lookupOnce(lookups, key, null, () -> refresh(cacheType, retrieveAndCache),
+                        CachingApplicationSettings::noOp);
+            }
 
             return Future.succeededFuture(cachedValue);
         }
 
-        metricUpdater.accept(MetricName.miss);
+        metrics.updateSettingsCacheEventMetric(cacheType, MetricName.miss);
 
         final String preBidExceptionMessage = accountToErrorCache.get(key);
         if (preBidExceptionMessage != null) {
             return Future.failedFuture(new PreBidException(preBidExceptionMessage));
         }
 
-        return retriever.apply(key, timeout)
-                .map(value -> {
-                    cache.put(key, value);
-                    return value;
-                })
-                .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, accountToErrorCache));
+        return lookupOnce(lookups, key, timeout, () -> retrieveAndCache.apply(timeout),
+                () -> metrics.updateSettingsCacheEventMetric(cacheType, MetricName.coalesced));
     }
 
     /**
@@ -165,8 +268,10 @@ public class CachingApplicationSettings implements ApplicationSettings {
      * {@link Future} propagates its result to caller. In successive call return {@link Future&lt;StoredDataResult&gt;}
      * with all found stored items and error from origin source id call was made.
      */
-    private static Future<StoredDataResult> getFromCacheOrDelegate(
+    private Future<StoredDataResult> getFromCacheOrDelegate(
             SettingsCache cache,
+            Map<StoredDataKey, Future<StoredDataResult>> lookups,
+            MetricName cacheType,
             String accountId,
             Set<String> requestIds,
             Set<String> impIds,
@@ -188,27 +293,149 @@ public class CachingApplicationSettings implements ApplicationSettings {
         final Map<String, String> storedIdToImp = getFromCacheOrAddMissedIds(normalizedAccountId, impIds, impCache,
                 missedImpIds);
 
+        final Set<String> staleRequestIds = filterIds(storedIdToRequest.keySet(), cache::isRequestStale);
+        final Set<String> staleImpIds = filterIds(storedIdToImp.keySet(), cache::isImpStale);
+        if (!staleRequestIds.isEmpty() || !staleImpIds.isEmpty()) {
+            metrics.updateSettingsCacheEventMetric(cacheType, MetricName.stale);
+            lookupOnce(lookups, StoredDataKey.of(normalizedAccountId, staleRequestIds, staleImpIds), null,
+                    () -> refresh(cacheType, refreshTimeout -> retriever.apply(
+                                    normalizedAccountId, staleRequestIds, staleImpIds, refreshTimeout)
+                            .map(result -> saveToCache(cache, normalizedAccountId, result))),
+                    CachingApplicationSettings::noOp);
+        }
+
         if (missedRequestIds.isEmpty() && missedImpIds.isEmpty()) {
             return Future.succeededFuture(
                     StoredDataResult.of(storedIdToRequest, storedIdToImp, Collections.emptyList()));
         }
 
         // delegate call to original source for missed ids and update cache with it
-        return retriever.apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout).map(result -> {
-            final Map<String, String> storedIdToRequestFromDelegate = result.getStoredIdToRequest();
-            storedIdToRequest.putAll(storedIdToRequestFromDelegate);
-            for (Map.Entry<String, String> entry : storedIdToRequestFromDelegate.entrySet()) {
-                cache.saveRequestCache(normalizedAccountId, entry.getKey(), entry.getValue());
-            }
+        final StoredDataKey key = StoredDataKey.of(normalizedAccountId, missedRequestIds, missedImpIds);
+        return lookupOnce(lookups, key, timeout,
+                () -> retriever.apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout)
+                        .map(result -> saveToCache(cache, normalizedAccountId, result)),
+                () -> metrics.updateSettingsCacheEventMetric(cacheType, MetricName.coalesced))
+                .map(result -> {
+                    storedIdToRequest.putAll(result.getStoredIdToRequest());
+                    storedIdToImp.putAll(result.getStoredIdToImp());
+
+                    return StoredDataResult.of(storedIdToRequest, storedIdToImp, result.getErrors());
+                });
+    }
+
+    private static Set<String> filterIds(Set<String> ids, Predicate<String> predicate) {
+        return ids.stream().filter(predicate).collect(Collectors.toSet());
+    }
 
-            final Map<String, String> storedIdToImpFromDelegate = result.getStoredIdToImp();
-            storedIdToImp.putAll(storedIdToImpFromDelegate);
-            for (Map.Entry<String, String> entry : storedIdToImpFromDelegate.entrySet()) {
-                cache.saveImpCache(normalizedAccountId, entry.getKey(), entry.getValue());
+    /**
+     * Retrieves stale value in background within refresh timeout tracking how long it takes.
+     */
+    private <T> Future<T> refresh(MetricName cacheType, Function<Timeout, Future<T>> retriever) {
+        final long startTime = clock.millis();
+
+        return retriever.apply(timeoutFactory.create(refreshTimeoutMs)).onComplete(result -> {
+            metrics.updateSettingsCacheRefreshTime(cacheType, MetricName.stale, clock.millis() - startTime);
+            if (result.failed()) {
+                metrics.updateSettingsCacheRefreshErrorMetric(cacheType, MetricName.stale);
+                conditionalLogger.warn("Refresh of stale %s cache value failed: %s"
+                        .formatted(cacheType, result.cause().getMessage()), 0.01);
             }
+        });
+    }
+
+    private static StoredDataResult saveToCache(SettingsCache cache, String accountId, StoredDataResult result) {
+        for (Map.Entry<String, String> entry : result.getStoredIdToRequest().entrySet()) {
+            cache.saveRequestCache(accountId, entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : result.getStoredIdToImp().entrySet()) {
+            cache.saveImpCache(accountId, entry.getKey(), entry.getValue());
+        }
+
+        return result;
+    }
+
+    /**
+     * Calls retriever unless lookup of the same key is already in progress, in which case its result is shared.
+     * <p>
+     * Caller joining lookup in progress waits for it no longer than its own timeout and gets the result on its own
+     * Vert.x context. If the lookup timed out while the caller still has time left, the caller looks up the key again
+     * within its own timeout. Background refresh passes no timeout, as it does not wait for the result.
+     */
+    private static <K, T> Future<T> lookupOnce(Map<K, Future<T>> lookups,
+                                               K key,
+                                               Timeout timeout,
+                                               Supplier<Future<T>> retriever,
+                                               Runnable coalescedMetricUpdater) {
+
+        final Promise<T> promise = Promise.promise();
+        final Future<T> existingLookup = lookups.putIfAbsent(key, promise.future());
+        if (existingLookup != null) {
+            coalescedMetricUpdater.run();
+            final Supplier<Future<T>> ownLookup =
+                    () -> lookupOnce(lookups, key, timeout, retriever, coalescedMetricUpdater);
+            return timeout != null ? waitForLookup(existingLookup, timeout, ownLookup) : existingLookup;
+        }
+
+        Future<T> lookupFuture;
+        try {
+            lookupFuture = retriever.get();
+        } catch (Exception e) {
+            lookupFuture = Future.failedFuture(e);
+        }
 
-            return StoredDataResult.of(storedIdToRequest, storedIdToImp, result.getErrors());
+        lookupFuture.onComplete(result -> {
+            lookups.remove(key, promise.future());
+            promise.handle(result);
         });
+
+        return promise.future();
+    }
+
+    private static <T> Future<T> waitForLookup(Future<T> lookup, Timeout timeout, Supplier<Future<T>> ownLookup) {
+        final long remainingTimeout = timeout.remaining();
+        if (remainingTimeout <= 0) {
+            return Future.failedFuture(timeoutException());
+        }
+
+        final Promise<T> promise = Promise.promise();
+        final Context context = Vertx.currentContext();
+        final Long timerId = context != null
+                ? context.owner().setTimer(remainingTimeout, ignored -> promise.tryFail(timeoutException()))
+                : null;
+
+        lookup.onComplete(result -> runOnContext(context, () -> {
+            if (timerId != null) {
+                context.owner().cancelTimer(timerId);
+            }
+
+            if (result.failed() && result.cause() instanceof TimeoutException && timeout.remaining() > 0) {
+                ownLookup.get().onComplete(ownResult -> tryHandle(promise, ownResult));
+            } else {
+                tryHandle(promise, result);
+            }
+        }));
+
+        return promise.future();
+    }
+
+    private static TimeoutException timeoutException() {
+        return new TimeoutException("Timeout has been exceeded");
+    }
+
+    private static void runOnContext(Context context, Runnable action) {
+        if (context != null && context != Vertx.currentContext()) {
+            context.runOnContext(ignored -> action.run());
+        } else {
+            action.run();
+        }
+    }
+
+    private static <T> void tryHandle(Promise<T> promise, AsyncResult<T> result) {
+        if (result.succeeded()) {
+            promise.tryComplete(result.result());
+        } else {
+            promise.tryFail(result.cause());
+        }
     }
 
     private static <T> Future<T> cacheAndReturnFailedFuture(Throwable throwable,
@@ -242,15 +469,25 @@ public class CachingApplicationSettings implements ApplicationSettings {
     }
 
     public void invalidateAccountCache(String accountId) {
-        accountCache.remove(accountId);
+        accountCache.invalidate(accountId);
         logger.debug("Account with id {0} was invalidated", accountId);
     }
 
     public void invalidateAllAccountCache() {
-        accountCache.clear();
+        accountCache.invalidateAll();
         logger.debug("All accounts cache were invalidated");
     }
 
-    private static <ANY> void noOp(ANY any) {
+    private static void noOp() {
+    }
+
+    @Value(staticConstructor = "of")
+    private static class StoredDataKey {
+
+        String accountId;
+
+        Set<String> requestIds;
+
+        Set<String> impIds;
     }
 }
@@ -1,47 +1,128 @@
 package org.prebid.server.settings;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.Weigher;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.settings.model.StoredItem;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Just a simple wrapper over in-memory caches for requests and imps.
+ * <p>
+ * If max stale period is set, items older than TTL are kept for that period and reported as stale, so they can be
+ * served while being refreshed.
+ * <p>
+ * If max size in bytes is set, caches are bounded by estimated memory retained by cached items rather than by their
+ * count. Size of an item is estimated by length of its id and JSON, as compact strings take one byte per character.
  */
 public class SettingsCache implements CacheNotificationListener {
 
-    private final Map<String, Set<StoredItem>> requestCache;
-    private final Map<String, Set<StoredItem>> impCache;
+    private final int ttl;
+    private final int maxStale;
+    private final Cache<String, Set<StoredItem>> requestCache;
+    private final Cache<String, Set<StoredItem>> impCache;
 
     public SettingsCache(int ttl, int size) {
+        this(ttl, 0, size, 0L);
+    }
+
+    public SettingsCache(int ttl, int maxStale, int size, long maxSizeBytes) {
+        this(ttl, maxStale, size, maxSizeBytes, Ticker.systemTicker());
+    }
+
+    SettingsCache(int ttl, int maxStale, int size, long maxSizeBytes, Ticker ticker) {
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
         }
-        requestCache = createCache(ttl, size);
-        impCache = createCache(ttl, size);
+        if (maxStale < 0 || maxSizeBytes < 0) {
+            throw new IllegalArgumentException("max stale and max size in bytes must not be negative");
+        }
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        requestCache = createCache(ttl, maxStale, size, maxSizeBytes, SettingsCache::weigh, ticker);
+        impCache = createCache(ttl, maxStale, size, maxSizeBytes, SettingsCache::weigh, ticker);
+    }
+
+    /**
+     * Creates cache bounded by total weight of entries if max size in bytes is set or by their count otherwise.
+     */
+    static <T> Cache<String, T> createCache(int ttl,
+                                            int maxStale,
+                                            int size,
+                                            long maxSizeBytes,
+                                            Weigher<String, T> weigher,
+                                            Ticker ticker) {
+
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(ttl + maxStale, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .recordStats();
+
+        return maxSizeBytes > 0
+                ? builder.maximumWeight(maxSizeBytes).weigher(weigher).build()
+                : builder.maximumSize(size).<String, T>build();
+    }
+
+    static int weigh(String key, Set<StoredItem> storedItems) {
+        long weight = key.length();
+        for (StoredItem storedItem : storedItems) {
+            weight += StringUtils.length(storedItem.getAccountId()) + StringUtils.length(storedItem.getData());
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
     }
 
-    static <T> Map<String, T> createCache(int ttl, int size) {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(ttl, TimeUnit.SECONDS)
-                .maximumSize(size)
-                .<String, T>build()
-                .asMap();
+    /**
+     * Returns total weight of entries, which is their estimated size in bytes for caches bounded by weight
+     * or number of entries otherwise.
+     */
+    static long weightedSize(Cache<String, ?> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(cache.estimatedSize()))
+                .orElse(cache.estimatedSize());
+    }
+
+    long weightedSize() {
+        return weightedSize(requestCache) + weightedSize(impCache);
+    }
+
+    long evictionCount() {
+        return requestCache.stats().evictionCount() + impCache.stats().evictionCount();
+    }
+
+    /**
+     * Tells if cached value of the given key has outlived TTL and is kept only to be served until refreshed.
+     */
+    static boolean isStale(Cache<String, ?> cache, String key, int ttl, int maxStale) {
+        return maxStale > 0 && cache.policy().expireAfterWrite()
+                .map(expiration -> expiration.ageOf(key, TimeUnit.SECONDS).orElse(0L) >= ttl)
+                .orElse(false);
     }
 
     Map<String, Set<StoredItem>> getRequestCache() {
-        return requestCache;
+        return requestCache.asMap();
     }
 
     Map<String, Set<StoredItem>> getImpCache() {
-        return impCache;
+        return impCache.asMap();
+    }
+
+    boolean isRequestStale(String requestId) {
+        return isStale(requestCache, requestId, ttl, maxStale);
+    }
+
+    boolean isImpStale(String impId) {
+        return isStale(impCache, impId, ttl, maxStale);
     }
 
     void saveRequestCache(String accountId, String requestId, String requestValue) {
@@ -52,9 +133,11 @@ public class SettingsCache implements CacheNotificationListener {
         saveCachedValue(impCache, accountId, impId, impValue);
     }
 
-    private static void saveCachedValue(Map<String, Set<StoredItem>> cache,
+    private static void saveCachedValue(Cache<String, Set<StoredItem>> cache,
                                         String accountId, String id, String value) {
-        final Set<StoredItem> values = ObjectUtils.defaultIfNull(cache.get(id), new HashSet<>());
+        // cached sets are shared with readers, so the new one is built instead of modifying them
+        final Set<StoredItem> values = new HashSet<>(ObjectUtils.defaultIfNull(cache.getIfPresent(id), Set.of()));
+        values.removeIf(storedItem -> Objects.equals(storedItem.getAccountId(), accountId));
         values.add(StoredItem.of(accountId, value));
         cache.put(id, values);
     }
@@ -76,7 +159,7 @@ public class SettingsCache implements CacheNotificationListener {
 
     @Override
     public void invalidate(List<String> requests, List<String> imps) {
-        requests.forEach(requestCache.keySet()::remove);
-        imps.forEach(impCache.keySet()::remove);
+        requestCache.invalidateAll(requests);
+        impCache.invalidateAll(imps);
     }
 }
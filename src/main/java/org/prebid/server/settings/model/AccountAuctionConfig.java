@@ -33,4 +33,7 @@ public class AccountAuctionConfig {
 
     @JsonProperty("price-floors")
     AccountPriceFloorsConfig priceFloors;
+
+    @JsonProperty("early-completion")
+    AccountEarlyCompletionConfig earlyCompletion;
 }
@@ -0,0 +1,23 @@
+package org.prebid.server.settings.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Builder(toBuilder = true)
+@Value
+public class AccountEarlyCompletionConfig {
+
+    Boolean enabled;
+
+    @JsonProperty("required-bidders")
+    List<String> requiredBidders;
+
+    @JsonProperty("revenue-fraction")
+    Double revenueFraction;
+
+    @JsonProperty("soft-deadline-ms")
+    Long softDeadlineMs;
+}
@@ -5,6 +5,7 @@ import io.vertx.core.eventbus.EventBus;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.bidder.BidderErrorNotifier;
 import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
 import org.prebid.server.bidder.DealsBidderRequestCompletionTrackerFactory;
@@ -360,15 +361,17 @@ public class DealsConfiguration {
                 matchIfMissing = true)
         SimulationAwareHttpBidderRequester simulationAwareHttpBidderRequester(
                 HttpClient httpClient,
+                BidderCatalog bidderCatalog,
                 BidderRequestCompletionTrackerFactory completionTrackerFactory,
                 BidderErrorNotifier bidderErrorNotifier,
                 HttpBidderRequestEnricher requestEnricher,
                 LineItemService lineItemService,
-                JacksonMapper mapper) {
+                JacksonMapper mapper,
+                Metrics metrics) {
 
             return new SimulationAwareHttpBidderRequester(
-                    httpClient, completionTrackerFactory, bidderErrorNotifier, requestEnricher, lineItemService,
-                    mapper);
+                    httpClient, bidderCatalog, completionTrackerFactory, bidderErrorNotifier, requestEnricher,
+                    lineItemService, mapper, metrics);
         }
 
         @Bean
@@ -2,9 +2,11 @@ package org.prebid.server.spring.config;
 
 import io.vertx.core.Vertx;
 import io.vertx.ext.jdbc.JDBCClient;
+import org.prebid.server.bidder.BidderConnectionWarmupService;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.geolocation.GeoLocationService;
 import org.prebid.server.health.ApplicationChecker;
+import org.prebid.server.health.BidderConnectionWarmupHealthChecker;
 import org.prebid.server.health.DatabaseHealthChecker;
 import org.prebid.server.health.GeoLocationHealthChecker;
 import org.prebid.server.health.HealthChecker;
@@ -41,6 +43,14 @@ public class HealthCheckerConfiguration {
         return new GeoLocationHealthChecker(vertx, refreshPeriod, geoLocationService, timeoutFactory, clock);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "bidder-connection-warmup", name = "enabled", havingValue = "true")
+    HealthChecker bidderConnectionWarmupChecker(BidderConnectionWarmupService bidderConnectionWarmupService,
+                                                Clock clock) {
+
+        return new BidderConnectionWarmupHealthChecker(bidderConnectionWarmupService, clock);
+    }
+
     @Bean
     HealthChecker applicationChecker(@Value("${status-response}") String statusResponse) {
         return new ApplicationChecker(statusResponse);
@@ -2,7 +2,9 @@ package org.prebid.server.spring.config;
 
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.json.JsonMerger;
+import org.prebid.server.json.JsonTreeCache;
 import org.prebid.server.json.ObjectMapperProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,7 +17,14 @@ public class JsonConfiguration {
     }
 
     @Bean
-    JsonMerger jsonMerger(JacksonMapper mapper) {
-        return new JsonMerger(mapper);
+    JsonMerger jsonMerger(
+            @Value("${settings.parsed-stored-data-cache-size-bytes:0}") long parsedStoredDataCacheSize,
+            JacksonMapper mapper) {
+
+        final JsonTreeCache storedDataCache = parsedStoredDataCacheSize > 0
+                ? new JsonTreeCache(mapper, parsedStoredDataCacheSize)
+                : null;
+
+        return new JsonMerger(mapper, storedDataCache);
     }
 }
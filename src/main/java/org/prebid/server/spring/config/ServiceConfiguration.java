@@ -5,9 +5,11 @@ import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixListFactory;
 import io.vertx.core.Vertx;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.core.net.JksOptions;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.activity.infrastructure.creator.ActivityInfrastructureCreator;
@@ -15,6 +17,7 @@ import org.prebid.server.auction.AmpResponsePostProcessor;
 import org.prebid.server.auction.BidResponseCreator;
 import org.prebid.server.auction.BidResponsePostProcessor;
 import org.prebid.server.auction.DebugResolver;
+import org.prebid.server.auction.EarlyAuctionCompletionService;
 import org.prebid.server.auction.ExchangeService;
 import org.prebid.server.auction.FpdResolver;
 import org.prebid.server.auction.ImplicitParametersExtractor;
@@ -54,9 +57,16 @@ import org.prebid.server.auction.requestfactory.VideoRequestFactory;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConverterFactory;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderConcurrencyLimiter;
+import org.prebid.server.bidder.BidderCostProfiler;
+import org.prebid.server.bidder.BidderConnectionWarmupService;
 import org.prebid.server.bidder.BidderDeps;
 import org.prebid.server.bidder.BidderErrorNotifier;
+import org.prebid.server.bidder.BidderHttpClientProvider;
+import org.prebid.server.bidder.BidderInfo;
+import org.prebid.server.bidder.BidderOffloadExecutor;
 import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
+import org.prebid.server.bidder.DedicatedBidderHttpClientProvider;
 import org.prebid.server.bidder.HttpBidderRequestEnricher;
 import org.prebid.server.bidder.HttpBidderRequester;
 import org.prebid.server.cache.CacheService;
@@ -91,8 +101,13 @@ import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.HostVendorTcfDefinerService;
 import org.prebid.server.privacy.PrivacyExtractor;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
+import org.prebid.server.protobuf.auction.AuctionRequestExtensionMappersSpecification;
+import org.prebid.server.protobuf.auction.AuctionResponseExtensionMappersSpecification;
+import org.prebid.server.protobuf.auction.JsonStringExtensionMappers;
+import org.prebid.server.protobuf.auction.ProtobufAuctionMapper;
 import org.prebid.server.settings.ApplicationSettings;
 import org.prebid.server.settings.model.BidValidationEnforcement;
+import org.prebid.server.spring.config.bidder.model.HttpProtocol;
 import org.prebid.server.spring.config.model.ExternalConversionProperties;
 import org.prebid.server.spring.config.model.HttpClientCircuitBreakerProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
@@ -103,6 +118,8 @@ import org.prebid.server.validation.ResponseBidValidator;
 import org.prebid.server.validation.VideoRequestValidator;
 import org.prebid.server.vast.VastModifier;
 import org.prebid.server.version.PrebidVersionProvider;
+import org.prebid.server.vertx.dns.CachingDnsResolver;
+import org.prebid.server.vertx.dns.NettyDnsResolver;
 import org.prebid.server.vertx.http.BasicHttpClient;
 import org.prebid.server.vertx.http.CircuitBreakerSecuredHttpClient;
 import org.prebid.server.vertx.http.HttpClient;
@@ -124,6 +141,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -386,7 +404,7 @@ public class ServiceConfiguration {
             OrtbTypesResolver ortbTypesResolver,
             PrivacyEnforcementService privacyEnforcementService,
             DebugResolver debugResolver,
-            JacksonMapper mapper) {
+            @Autowired(required = false) ProtobufAuctionMapper protobufAuctionMapper) {
 
         return new AuctionRequestFactory(
                 maxRequestSize,
@@ -400,7 +418,25 @@ public class ServiceConfiguration {
                 ortbTypesResolver,
                 privacyEnforcementService,
                 debugResolver,
-                mapper);
+                protobufAuctionMapper);
+    }
+
+    /**
+     * Extension mappers specifications can be overridden by host with own beans,
+     * otherwise "ext" objects are carried as JSON encoded strings.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auction.protobuf", name = "enabled", havingValue = "true")
+    ProtobufAuctionMapper protobufAuctionMapper(
+            @Autowired(required = false) AuctionRequestExtensionMappersSpecification requestSpecification,
+            @Autowired(required = false) AuctionResponseExtensionMappersSpecification responseSpecification,
+            JacksonMapper mapper) {
+
+        return new ProtobufAuctionMapper(
+                ObjectUtils.defaultIfNull(
+                        requestSpecification, JsonStringExtensionMappers.requestSpecification(mapper.mapper())),
+                ObjectUtils.defaultIfNull(
+                        responseSpecification, JsonStringExtensionMappers.responseSpecification(mapper.mapper())));
     }
 
     @Bean
@@ -538,8 +574,11 @@ public class ServiceConfiguration {
     @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
     @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "false",
             matchIfMissing = true)
-    BasicHttpClient basicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
-        return createBasicHttpClient(vertx, httpClientProperties);
+    BasicHttpClient basicHttpClient(Vertx vertx,
+                                    HttpClientProperties httpClientProperties,
+                                    @Autowired(required = false) CachingDnsResolver dnsResolver) {
+
+        return createBasicHttpClient(vertx, httpClientProperties, dnsResolver);
     }
 
     @Bean
@@ -558,28 +597,174 @@ public class ServiceConfiguration {
             HttpClientProperties httpClientProperties,
             @Qualifier("httpClientCircuitBreakerProperties")
             HttpClientCircuitBreakerProperties circuitBreakerProperties,
+            @Autowired(required = false) CachingDnsResolver dnsResolver,
             Clock clock) {
 
-        final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties);
+        final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties, dnsResolver);
 
         return new CircuitBreakerSecuredHttpClient(
+                httpClient,
+                metrics,
+                circuitBreakerProperties.getOpeningThreshold(),
+                ObjectUtils.defaultIfNull(circuitBreakerProperties.getFailureRatio(), 0.0),
+                circuitBreakerProperties.getOpeningIntervalMs(),
+                circuitBreakerProperties.getClosingIntervalMs(),
+                circuitBreakerProperties.getIdleExpireHours(),
+                clock);
+    }
+
+    @Bean
+    @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
+    BidderHttpClientProvider bidderHttpClientProvider(
+            Vertx vertx,
+            HttpClient httpClient,
+            BidderCatalog bidderCatalog,
+            HttpClientProperties httpClientProperties,
+            @Autowired(required = false)
+            @Qualifier("httpClientCircuitBreakerProperties")
+            HttpClientCircuitBreakerProperties circuitBreakerProperties,
+            @Autowired(required = false) CachingDnsResolver dnsResolver,
+            Metrics metrics,
+            Clock clock) {
+
+        return new DedicatedBidderHttpClientProvider(
+                httpClient,
+                bidderCatalog,
+                httpClientInfo -> createBidderHttpClient(
+                        vertx,
+                        httpClientProperties,
+                        httpClientInfo,
+                        circuitBreakerProperties,
+                        dnsResolver,
+                        metrics,
+                        clock));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dns-cache", name = "enabled", havingValue = "true")
+    CachingDnsResolver cachingDnsResolver(
+            Vertx vertx,
+            Metrics metrics,
+            Clock clock,
+            @Value("${dns-cache.servers:#{null}}") String servers,
+            @Value("${dns-cache.query-timeout-ms}") long queryTimeoutMs,
+            @Value("${dns-cache.min-ttl-ms}") long minTtlMs,
+            @Value("${dns-cache.max-ttl-ms}") long maxTtlMs,
+            @Value("${dns-cache.refresh-ahead-factor}") double refreshAheadFactor,
+            @Value("${dns-cache.max-stale-ms}") long maxStaleMs,
+            @Value("${dns-cache.max-size}") int maxSize) {
+
+        return new CachingDnsResolver(
+                new NettyDnsResolver(vertx, splitToList(servers), queryTimeoutMs),
+                metrics,
+                clock,
+                minTtlMs,
+                maxTtlMs,
+                refreshAheadFactor,
+                maxStaleMs,
+                maxSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bidder-connection-warmup", name = "enabled", havingValue = "true")
+    BidderConnectionWarmupService bidderConnectionWarmupService(
+            Vertx vertx,
+            BidderCatalog bidderCatalog,
+            BidderHttpClientProvider bidderHttpClientProvider,
+            Metrics metrics,
+            Clock clock,
+            @Value("${bidder-connection-warmup.connections-per-host}") int connectionsPerHost,
+            @Value("${bidder-connection-warmup.timeout-ms}") long timeoutMs,
+            @Value("${bidder-connection-warmup.max-wait-ms}") long maxWaitMs,
+            @Value("${bidder-connection-warmup.rewarm-period-ms}") long rewarmPeriodMs) {
+
+        return new BidderConnectionWarmupService(
                 vertx,
+                bidderCatalog,
+                bidderHttpClientProvider,
+                metrics,
+                clock,
+                connectionsPerHost,
+                timeoutMs,
+                maxWaitMs,
+                rewarmPeriodMs);
+    }
+
+    private static HttpClient createBidderHttpClient(Vertx vertx,
+                                                     HttpClientProperties httpClientProperties,
+                                                     BidderInfo.HttpClientInfo httpClientInfo,
+                                                     HttpClientCircuitBreakerProperties circuitBreakerProperties,
+                                                     CachingDnsResolver dnsResolver,
+                                                     Metrics metrics,
+                                                     Clock clock) {
+
+        final HttpClientOptions options = createHttpClientOptions(httpClientProperties);
+        applyBidderHttpClientInfo(options, httpClientInfo);
+
+        final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties, options, dnsResolver);
+        if (circuitBreakerProperties == null) {
+            return httpClient;
+        }
+
+        return new CircuitBreakerSecuredHttpClient(
                 httpClient,
                 metrics,
                 circuitBreakerProperties.getOpeningThreshold(),
+                ObjectUtils.defaultIfNull(circuitBreakerProperties.getFailureRatio(), 0.0),
                 circuitBreakerProperties.getOpeningIntervalMs(),
                 circuitBreakerProperties.getClosingIntervalMs(),
                 circuitBreakerProperties.getIdleExpireHours(),
                 clock);
     }
 
-    private static BasicHttpClient createBasicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
+    private static void applyBidderHttpClientInfo(HttpClientOptions options,
+                                                  BidderInfo.HttpClientInfo httpClientInfo) {
+
+        Optional.ofNullable(httpClientInfo.getMaxPoolSize()).ifPresent(options::setMaxPoolSize);
+        Optional.ofNullable(httpClientInfo.getMaxWaitQueueSize()).ifPresent(options::setMaxWaitQueueSize);
+        Optional.ofNullable(httpClientInfo.getIdleTimeoutMs()).ifPresent(options::setIdleTimeout);
+        Optional.ofNullable(httpClientInfo.getConnectTimeoutMs()).ifPresent(options::setConnectTimeout);
+        Optional.ofNullable(httpClientInfo.getKeepAlive()).ifPresent(options::setKeepAlive);
+        Optional.ofNullable(httpClientInfo.getHttp2MaxPoolSize()).ifPresent(options::setHttp2MaxPoolSize);
+        Optional.ofNullable(httpClientInfo.getHttp2MultiplexingLimit()).ifPresent(options::setHttp2MultiplexingLimit);
+
+        final HttpProtocol protocol = httpClientInfo.getProtocol();
+        if (protocol == HttpProtocol.H2) {
+            options.setProtocolVersion(HttpVersion.HTTP_2).setUseAlpn(true);
+        } else if (protocol == HttpProtocol.H2C) {
+            // prior knowledge mode, bidder endpoint is expected to accept HTTP/2 cleartext connections
+            options.setProtocolVersion(HttpVersion.HTTP_2).setHttp2ClearTextUpgrade(false);
+        }
+    }
+
+    private static BasicHttpClient createBasicHttpClient(Vertx vertx,
+                                                         HttpClientProperties httpClientProperties,
+                                                         CachingDnsResolver dnsResolver) {
+
+        return createBasicHttpClient(
+                vertx, httpClientProperties, createHttpClientOptions(httpClientProperties), dnsResolver);
+    }
+
+    private static BasicHttpClient createBasicHttpClient(Vertx vertx,
+                                                         HttpClientProperties httpClientProperties,
+                                                         HttpClientOptions options,
+                                                         CachingDnsResolver dnsResolver) {
+
+        return new BasicHttpClient(
+                vertx,
+                vertx.createHttpClient(options),
+                BooleanUtils.isTrue(httpClientProperties.getUseCompression()),
+                dnsResolver);
+    }
+
+    private static HttpClientOptions createHttpClientOptions(HttpClientProperties httpClientProperties) {
         final HttpClientOptions options = new HttpClientOptions()
                 .setMaxPoolSize(httpClientProperties.getMaxPoolSize())
                 .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
                 .setIdleTimeout(httpClientProperties.getIdleTimeoutMs())
                 .setPoolCleanerPeriod(httpClientProperties.getPoolCleanerPeriodMs())
-                .setTryUseCompression(httpClientProperties.getUseCompression())
+                // compressed responses are inflated by BasicHttpClient to be able to limit decompressed size
+                .setTryUseCompression(false)
                 .setConnectTimeout(httpClientProperties.getConnectTimeoutMs())
                 // Vert.x's HttpClientRequest needs this value to be 2 for redirections to be followed once,
                 // 3 for twice, and so on
@@ -595,7 +780,7 @@ public class ServiceConfiguration {
                     .setKeyStoreOptions(jksOptions);
         }
 
-        return new BasicHttpClient(vertx, vertx.createHttpClient(options));
+        return options;
     }
 
     @Bean
@@ -702,17 +887,67 @@ public class ServiceConfiguration {
 
     @Bean
     HttpBidderRequester httpBidderRequester(
-            HttpClient httpClient,
+            BidderHttpClientProvider bidderHttpClientProvider,
+            BidderCatalog bidderCatalog,
             @Autowired(required = false) BidderRequestCompletionTrackerFactory bidderRequestCompletionTrackerFactory,
             BidderErrorNotifier bidderErrorNotifier,
             HttpBidderRequestEnricher requestEnricher,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            Metrics metrics,
+            @Value("${auction.max-bidder-response-size:#{null}}") Long maxBidderResponseSize,
+            @Autowired(required = false) BidderConcurrencyLimiter bidderConcurrencyLimiter,
+            @Autowired(required = false) BidderCostProfiler bidderCostProfiler,
+            @Autowired(required = false) BidderOffloadExecutor bidderOffloadExecutor) {
 
-        return new HttpBidderRequester(httpClient,
+        return new HttpBidderRequester(bidderHttpClientProvider,
+                bidderCatalog,
                 bidderRequestCompletionTrackerFactory,
                 bidderErrorNotifier,
                 requestEnricher,
-                mapper);
+                mapper,
+                metrics,
+                maxBidderResponseSize != null ? maxBidderResponseSize : Long.MAX_VALUE,
+                bidderConcurrencyLimiter,
+                bidderCostProfiler,
+                bidderOffloadExecutor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bidder-concurrency-limit", name = "enabled", havingValue = "true")
+    BidderConcurrencyLimiter bidderConcurrencyLimiter(
+            Clock clock,
+            @Value("${bidder-concurrency-limit.initial-limit}") int initialLimit,
+            @Value("${bidder-concurrency-limit.min-limit}") int minLimit,
+            @Value("${bidder-concurrency-limit.max-limit}") int maxLimit,
+            @Value("${bidder-concurrency-limit.target-latency-ms}") long targetLatencyMs,
+            @Value("${bidder-concurrency-limit.backoff-ratio}") double backoffRatio) {
+
+        return new BidderConcurrencyLimiter(initialLimit, minLimit, maxLimit, targetLatencyMs, backoffRatio, clock);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bidder-cost-profiling", name = "enabled", havingValue = "true")
+    BidderCostProfiler bidderCostProfiler(Metrics metrics,
+                                          @Value("${bidder-cost-profiling.sampling-rate}") double samplingRate) {
+
+        return new BidderCostProfiler(metrics, samplingRate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bidder-offload", name = "enabled", havingValue = "true")
+    BidderOffloadExecutor bidderOffloadExecutor(Vertx vertx,
+                                                Metrics metrics,
+                                                @Value("${bidder-offload.pool-size}") int poolSize,
+                                                @Value("${bidder-offload.max-pending}") int maxPending,
+                                                @Value("${bidder-offload.min-imps}") int minImps,
+                                                @Value("${bidder-offload.cost-threshold-ms}") long costThresholdMs) {
+
+        return new BidderOffloadExecutor(
+                vertx.createSharedWorkerExecutor("bidder-offload", poolSize),
+                maxPending,
+                minImps,
+                costThresholdMs,
+                metrics);
     }
 
     @Bean
@@ -775,6 +1010,11 @@ public class ServiceConfiguration {
                 mapper);
     }
 
+    @Bean
+    EarlyAuctionCompletionService earlyAuctionCompletionService(Vertx vertx, Metrics metrics, Clock clock) {
+        return new EarlyAuctionCompletionService(vertx, metrics, clock);
+    }
+
     @Bean
     ExchangeService exchangeService(
             @Value("${logging.sampling-rate:0.01}") double logSamplingRate,
@@ -792,6 +1032,7 @@ public class ServiceConfiguration {
             TimeoutFactory timeoutFactory,
             BidRequestOrtbVersionConversionManager bidRequestOrtbVersionConversionManager,
             HttpBidderRequester httpBidderRequester,
+            EarlyAuctionCompletionService earlyAuctionCompletionService,
             ResponseBidValidator responseBidValidator,
             CurrencyConversionService currencyConversionService,
             BidResponseCreator bidResponseCreator,
@@ -823,6 +1064,7 @@ public class ServiceConfiguration {
                 timeoutFactory,
                 bidRequestOrtbVersionConversionManager,
                 httpBidderRequester,
+                earlyAuctionCompletionService,
                 responseBidValidator,
                 currencyConversionService,
                 bidResponseCreator,
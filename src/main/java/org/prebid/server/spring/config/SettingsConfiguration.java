@@ -13,6 +13,7 @@ import org.prebid.server.json.JsonMerger;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.BatchingApplicationSettings;
 import org.prebid.server.settings.CachingApplicationSettings;
 import org.prebid.server.settings.CompositeApplicationSettings;
 import org.prebid.server.settings.EnrichingApplicationSettings;
@@ -41,6 +42,7 @@ import javax.validation.constraints.NotNull;
 import java.time.Clock;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 @UtilityClass
@@ -223,12 +225,22 @@ public class SettingsConfiguration {
         CompositeApplicationSettings compositeApplicationSettings(
                 @Autowired(required = false) FileApplicationSettings fileApplicationSettings,
                 @Autowired(required = false) JdbcApplicationSettings jdbcApplicationSettings,
-                @Autowired(required = false) HttpApplicationSettings httpApplicationSettings) {
+                @Autowired(required = false) HttpApplicationSettings httpApplicationSettings,
+                @Value("${settings.batching.window-ms:0}") long batchingWindowMs,
+                @Value("${settings.batching.max-ids:100}") int batchingMaxIds,
+                Vertx vertx) {
+
+            // only remote sources are worth batching
+            final UnaryOperator<ApplicationSettings> batching = applicationSettings ->
+                    applicationSettings != null && batchingWindowMs > 0
+                            ? new BatchingApplicationSettings(
+                                    applicationSettings, vertx, batchingWindowMs, batchingMaxIds)
+                            : applicationSettings;
 
             final List<ApplicationSettings> applicationSettingsList =
                     Stream.of(fileApplicationSettings,
-                                    jdbcApplicationSettings,
-                                    httpApplicationSettings)
+                                    batching.apply(jdbcApplicationSettings),
+                                    batching.apply(httpApplicationSettings))
                             .filter(Objects::nonNull)
                             .toList();
 
@@ -271,7 +283,10 @@ public class SettingsConfiguration {
                 @Qualifier("settingsCache") SettingsCache cache,
                 @Qualifier("ampSettingsCache") SettingsCache ampCache,
                 @Qualifier("videoSettingCache") SettingsCache videoCache,
-                Metrics metrics) {
+                Metrics metrics,
+                Clock clock,
+                TimeoutFactory timeoutFactory,
+                JacksonMapper mapper) {
 
             return new CachingApplicationSettings(
                     enrichingApplicationSettings,
@@ -279,8 +294,14 @@ public class SettingsConfiguration {
                     ampCache,
                     videoCache,
                     metrics,
+                    clock,
+                    timeoutFactory,
+                    mapper,
                     cacheProperties.getTtlSeconds(),
-                    cacheProperties.getCacheSize());
+                    cacheProperties.getMaxStaleSeconds(),
+                    cacheProperties.getRefreshTimeoutMs(),
+                    cacheProperties.getCacheSize(),
+                    cacheProperties.getMaxSizeBytes());
         }
     }
 
@@ -302,19 +323,31 @@ public class SettingsConfiguration {
         @Bean
         @Qualifier("settingsCache")
         SettingsCache settingsCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+            return new SettingsCache(
+                    cacheProperties.getTtlSeconds(),
+                    cacheProperties.getMaxStaleSeconds(),
+                    cacheProperties.getCacheSize(),
+                    cacheProperties.getMaxSizeBytes());
         }
 
         @Bean
         @Qualifier("ampSettingsCache")
         SettingsCache ampSettingsCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+            return new SettingsCache(
+                    cacheProperties.getTtlSeconds(),
+                    cacheProperties.getMaxStaleSeconds(),
+                    cacheProperties.getCacheSize(),
+                    cacheProperties.getMaxSizeBytes());
         }
 
         @Bean
         @Qualifier("videoSettingCache")
         SettingsCache videoSettingCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+            return new SettingsCache(
+                    cacheProperties.getTtlSeconds(),
+                    cacheProperties.getMaxStaleSeconds(),
+                    cacheProperties.getCacheSize(),
+                    cacheProperties.getMaxSizeBytes());
         }
     }
 
@@ -332,5 +365,11 @@ public class SettingsConfiguration {
         @NotNull
         @Min(1)
         private Integer cacheSize;
+        @Min(0)
+        private int maxStaleSeconds;
+        @Min(1)
+        private long refreshTimeoutMs = 1000L;
+        @Min(0)
+        private long maxSizeBytes;
     }
 }
@@ -1,10 +1,13 @@
 package org.prebid.server.spring.config;
 
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.net.JksOptions;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
 import io.vertx.ext.web.handler.StaticHandler;
@@ -50,6 +53,7 @@ import org.prebid.server.log.HttpInteractionLogger;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.HostVendorTcfDefinerService;
+import org.prebid.server.protobuf.auction.ProtobufAuctionMapper;
 import org.prebid.server.settings.ApplicationSettings;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.validation.BidderParamValidator;
@@ -129,12 +133,23 @@ public class WebConfiguration {
                   BidderDetailsHandler bidderDetailsHandler,
                   NotificationEventHandler notificationEventHandler,
                   List<CustomizedAdminEndpoint> customizedAdminEndpoints,
-                  StaticHandler staticHandler) {
+                  StaticHandler staticHandler,
+                  @Value("${vertx.uploads-dir}") String uploadsDir,
+                  @Value("${auction.max-request-size}") int maxRequestSize) {
 
         final Router router = Router.router(vertx);
-        router.route().handler(bodyHandler);
         router.route().handler(noCacheHandler);
         router.route().handler(corsHandler);
+        // oversized auction requests are rejected while being received, before the whole body is buffered,
+        // and are answered by endpoint handler to keep metrics and analytics of rejected requests
+        final BodyHandler auctionBodyHandler = BodyHandler.create(uploadsDir).setBodyLimit(maxRequestSize);
+        router.post("/openrtb2/auction")
+                .handler(auctionBodyHandler)
+                .failureHandler(requestTooLargeHandler(openrtbAuctionHandler));
+        router.post("/openrtb2/video")
+                .handler(auctionBodyHandler)
+                .failureHandler(requestTooLargeHandler(openrtbVideoHandler));
+        router.route().handler(bodyHandler);
         router.post("/openrtb2/auction").handler(openrtbAuctionHandler);
         router.get("/openrtb2/amp").handler(openrtbAmpHandler);
         router.post("/openrtb2/video").handler(openrtbVideoHandler);
@@ -160,6 +175,16 @@ public class WebConfiguration {
         return router;
     }
 
+    private static Handler<RoutingContext> requestTooLargeHandler(Handler<RoutingContext> endpointHandler) {
+        return routingContext -> {
+            if (routingContext.statusCode() == HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()) {
+                endpointHandler.handle(routingContext);
+            } else {
+                routingContext.next();
+            }
+        };
+    }
+
     @Bean
     NoCacheHandler noCacheHandler() {
         return NoCacheHandler.create();
@@ -187,7 +212,8 @@ public class WebConfiguration {
             Clock clock,
             HttpInteractionLogger httpInteractionLogger,
             PrebidVersionProvider prebidVersionProvider,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            @Autowired(required = false) ProtobufAuctionMapper protobufAuctionMapper) {
 
         return new org.prebid.server.handler.openrtb2.AuctionHandler(
                 logSamplingRate,
@@ -198,7 +224,8 @@ public class WebConfiguration {
                 clock,
                 httpInteractionLogger,
                 prebidVersionProvider,
-                mapper);
+                mapper,
+                protobufAuctionMapper);
     }
 
     @Bean
@@ -11,6 +11,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.PostConstruct;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.util.List;
@@ -49,6 +52,18 @@ public class BidderConfigurationProperties {
 
     private CompressionType endpointCompression;
 
+    @Min(-1)
+    @Max(9)
+    private Integer endpointCompressionLevel;
+
+    @Min(0)
+    private Integer endpointCompressionMinSize;
+
+    private Boolean endpointResponseCompression;
+
+    @Valid
+    private BidderHttpClientProperties httpClient;
+
     private final Class<? extends BidderConfigurationProperties> selfClass;
 
     public BidderConfigurationProperties() {
@@ -67,6 +82,12 @@ public class BidderConfigurationProperties {
         deprecatedNames = ObjectUtils.defaultIfNull(deprecatedNames, defaultProperties.getDeprecatedNames());
         endpointCompression = ObjectUtils.defaultIfNull(
                 endpointCompression, defaultProperties.getEndpointCompression());
+        endpointCompressionLevel = ObjectUtils.defaultIfNull(
+                endpointCompressionLevel, defaultProperties.getEndpointCompressionLevel());
+        endpointCompressionMinSize = ObjectUtils.defaultIfNull(
+                endpointCompressionMinSize, defaultProperties.getEndpointCompressionMinSize());
+        endpointResponseCompression = ObjectUtils.defaultIfNull(
+                endpointResponseCompression, defaultProperties.getEndpointResponseCompression());
 
         if (usersync != null && usersync.getEnabled() == null) {
             usersync.setEnabled(true);
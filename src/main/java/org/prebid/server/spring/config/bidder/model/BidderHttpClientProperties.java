@@ -0,0 +1,33 @@
+package org.prebid.server.spring.config.bidder.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+@Validated
+@Data
+@NoArgsConstructor
+public class BidderHttpClientProperties {
+
+    @Min(1)
+    private Integer maxPoolSize;
+
+    private Integer maxWaitQueueSize;
+
+    @Min(0)
+    private Integer idleTimeoutMs;
+
+    @Min(1)
+    private Integer connectTimeoutMs;
+
+    private Boolean keepAlive;
+
+    private HttpProtocol protocol;
+
+    @Min(1)
+    private Integer http2MaxPoolSize;
+
+    private Integer http2MultiplexingLimit;
+}
@@ -8,6 +8,7 @@ import javax.validation.constraints.NotNull;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Deflater;
 
 @Validated
 @Data
@@ -35,4 +36,10 @@ public class DefaultBidderConfigurationProperties {
     private final Map<String, String> extraInfo = Collections.emptyMap();
 
     private CompressionType endpointCompression = CompressionType.NONE;
+
+    private Integer endpointCompressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    private Integer endpointCompressionMinSize = 0;
+
+    private Boolean endpointResponseCompression;
 }
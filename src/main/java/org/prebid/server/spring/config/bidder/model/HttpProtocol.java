@@ -0,0 +1,19 @@
+package org.prebid.server.spring.config.bidder.model;
+
+public enum HttpProtocol {
+
+    /**
+     * HTTP/1.1
+     */
+    HTTP_1_1,
+
+    /**
+     * HTTP/2 over TLS negotiated with ALPN.
+     */
+    H2,
+
+    /**
+     * HTTP/2 over cleartext TCP.
+     */
+    H2C
+}
@@ -2,6 +2,7 @@ package org.prebid.server.spring.config.bidder.util;
 
 import org.prebid.server.bidder.BidderInfo;
 import org.prebid.server.spring.config.bidder.model.BidderConfigurationProperties;
+import org.prebid.server.spring.config.bidder.model.BidderHttpClientProperties;
 import org.prebid.server.spring.config.bidder.model.MetaInfo;
 
 public class BidderInfoCreator {
@@ -29,6 +30,26 @@ public class BidderInfoCreator {
                 metaInfo.getVendorId(),
                 configurationProperties.getPbsEnforcesCcpa(),
                 configurationProperties.getModifyingVastXmlAllowed(),
-                configurationProperties.getEndpointCompression());
+                configurationProperties.getEndpointCompression(),
+                configurationProperties.getEndpointCompressionLevel(),
+                configurationProperties.getEndpointCompressionMinSize(),
+                configurationProperties.getEndpointResponseCompression(),
+                httpClientInfo(configurationProperties.getHttpClient()));
+    }
+
+    private static BidderInfo.HttpClientInfo httpClientInfo(BidderHttpClientProperties httpClientProperties) {
+        if (httpClientProperties == null) {
+            return null;
+        }
+
+        return BidderInfo.HttpClientInfo.of(
+                httpClientProperties.getMaxPoolSize(),
+                httpClientProperties.getMaxWaitQueueSize(),
+                httpClientProperties.getIdleTimeoutMs(),
+                httpClientProperties.getConnectTimeoutMs(),
+                httpClientProperties.getKeepAlive(),
+                httpClientProperties.getProtocol(),
+                httpClientProperties.getHttp2MaxPoolSize(),
+                httpClientProperties.getHttp2MultiplexingLimit());
     }
 }
@@ -6,6 +6,7 @@ import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.Router;
+import org.prebid.server.bidder.BidderConnectionWarmupService;
 import org.prebid.server.handler.ExceptionHandler;
 import org.prebid.server.vertx.ContextRunner;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +35,9 @@ public class HttpServerConfiguration {
     @Autowired
     private ExceptionHandler exceptionHandler;
 
+    @Autowired(required = false)
+    private BidderConnectionWarmupService bidderConnectionWarmupService;
+
     @Autowired
     @Qualifier("router")
     private Router router;
@@ -52,12 +56,39 @@ public class HttpServerConfiguration {
                 httpServerNum,
                 httpPort);
 
-        contextRunner.<HttpServer>runOnNewContext(httpServerNum, promise ->
-                vertx.createHttpServer(httpServerOptions)
-                        .exceptionHandler(exceptionHandler)
-                        .requestHandler(router)
-                        .listen(httpPort, promise));
+        contextRunner.<HttpServer>runOnNewContext(httpServerNum, promise -> {
+            if (bidderConnectionWarmupService != null) {
+                listenAfterConnectionWarmup();
+                promise.complete();
+            } else {
+                createServer().listen(httpPort, promise);
+            }
+        });
+
+        if (bidderConnectionWarmupService != null) {
+            logger.info("{0} instances of Http Server will start listening once bidder connections are warmed up",
+                    httpServerNum);
+        } else {
+            logger.info("Successfully started {0} instances of Http Server", httpServerNum);
+        }
+    }
+
+    private HttpServer createServer() {
+        return vertx.createHttpServer(httpServerOptions)
+                .exceptionHandler(exceptionHandler)
+                .requestHandler(router);
+    }
 
-        logger.info("Successfully started {0} instances of Http Server", httpServerNum);
+    /**
+     * Defers listening until connections to bidders are warmed up on the current context, so the first auctions do
+     * not pay for establishing them.
+     */
+    private void listenAfterConnectionWarmup() {
+        bidderConnectionWarmupService.addContext(Vertx.currentContext())
+                .onComplete(ignored -> createServer().listen(httpPort, result -> {
+                    if (result.failed()) {
+                        logger.fatal("Failed to start Http Server on port %d".formatted(httpPort), result.cause());
+                    }
+                }));
     }
 }
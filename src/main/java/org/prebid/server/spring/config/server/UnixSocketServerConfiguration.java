@@ -7,6 +7,7 @@ import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.web.Router;
+import org.prebid.server.bidder.BidderConnectionWarmupService;
 import org.prebid.server.handler.ExceptionHandler;
 import org.prebid.server.vertx.ContextRunner;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +36,9 @@ public class UnixSocketServerConfiguration {
     @Autowired
     private ExceptionHandler exceptionHandler;
 
+    @Autowired(required = false)
+    private BidderConnectionWarmupService bidderConnectionWarmupService;
+
     @Autowired
     @Qualifier("router")
     private Router router;
@@ -52,12 +56,43 @@ public class UnixSocketServerConfiguration {
                 serverNum,
                 socketPath);
 
-        contextRunner.<HttpServer>runOnNewContext(serverNum, promise ->
-                vertx.createHttpServer(httpServerOptions)
-                        .exceptionHandler(exceptionHandler)
-                        .requestHandler(router)
-                        .listen(SocketAddress.domainSocketAddress(socketPath), promise));
+        contextRunner.<HttpServer>runOnNewContext(serverNum, promise -> {
+            if (bidderConnectionWarmupService != null) {
+                listenAfterConnectionWarmup();
+                promise.complete();
+            } else {
+                createServer().listen(SocketAddress.domainSocketAddress(socketPath), promise);
+            }
+        });
+
+        if (bidderConnectionWarmupService != null) {
+            logger.info(
+                    "{0} instances of Unix Socket Server will start listening once bidder connections are warmed up",
+                    serverNum);
+        } else {
+            logger.info("Successfully started {0} instances of Unix Socket Server", serverNum);
+        }
+    }
+
+    private HttpServer createServer() {
+        return vertx.createHttpServer(httpServerOptions)
+                .exceptionHandler(exceptionHandler)
+                .requestHandler(router);
+    }
 
-        logger.info("Successfully started {0} instances of Unix Socket Server", serverNum);
+    /**
+     * Defers listening until connections to bidders are warmed up on the current context, so the first auctions do
+     * not pay for establishing them.
+     */
+    private void listenAfterConnectionWarmup() {
+        final SocketAddress socketAddress = SocketAddress.domainSocketAddress(socketPath);
+        bidderConnectionWarmupService.addContext(Vertx.currentContext())
+                .onComplete(ignored -> createServer().listen(socketAddress, result -> {
+                    if (result.failed()) {
+                        logger.fatal(
+                                "Failed to start Unix Socket Server on socket %s".formatted(socketPath),
+                                result.cause());
+                    }
+                }));
     }
 }
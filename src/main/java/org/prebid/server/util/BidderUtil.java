@@ -10,6 +10,7 @@ import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.Price;
 import org.prebid.server.bidder.model.PriceFloorInfo;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -23,6 +24,9 @@ public class BidderUtil {
     private BidderUtil() {
     }
 
+    /**
+     * Creates POST request with JSON body serialized right into pooled buffer (see {@link #pooledBody}).
+     */
     public static HttpRequest<BidRequest> defaultRequest(BidRequest bidRequest,
                                                          String endpointUrl,
                                                          JacksonMapper mapper) {
@@ -31,11 +35,20 @@ public class BidderUtil {
                 .uri(endpointUrl)
                 .headers(HttpUtil.headers())
                 .impIds(impIds(bidRequest))
-                .body(mapper.encodeToBytes(bidRequest))
+                .bodyBuffer(pooledBody(bidRequest, mapper))
                 .payload(bidRequest)
                 .build();
     }
 
+    /**
+     * Serializes request body into buffer taken from Netty's pool, so it is written to the connection
+     * (or compressed) without intermediate copies. Buffer is released by bidder requester once request
+     * has been made.
+     */
+    public static PooledBuffer pooledBody(Object body, JacksonMapper mapper) {
+        return mapper.encodeToPooledBuffer(body);
+    }
+
     public static Set<String> impIds(BidRequest bidRequest) {
         return bidRequest.getImp().stream()
                 .map(Imp::getId)
@@ -0,0 +1,130 @@
+package org.prebid.server.util;
+
+import org.prebid.server.exception.PreBidException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * This class consists of {@code static} utility methods for GZIP compression.
+ * <p>
+ * {@link Deflater}s (which hold native memory) and output buffers are reused per thread, so compressing on the
+ * event loop does not allocate them per each call.
+ */
+public final class GzipUtil {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int HEADER_SIZE = 10;
+    private static final int TRAILER_SIZE = 8;
+
+    private static final int MIN_LEVEL = Deflater.DEFAULT_COMPRESSION;
+    private static final int MAX_LEVEL = Deflater.BEST_COMPRESSION;
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    // bigger buffers are not kept to avoid retaining memory after occasional large payloads
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<GzipContext> CONTEXT = ThreadLocal.withInitial(GzipContext::new);
+
+    private GzipUtil() {
+    }
+
+    /**
+     * Returns GZIP compressed value using default compression level.
+     */
+    public static byte[] gzip(byte[] value) {
+        return gzip(value, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Returns GZIP compressed value using given compression level.
+     */
+    public static byte[] gzip(byte[] value, int level) {
+        return gzip(ByteBuffer.wrap(value), level);
+    }
+
+    /**
+     * Returns GZIP compressed remaining content of the given {@link ByteBuffer} using given compression level.
+     * <p>
+     * Content is read directly from the buffer (e.g. off-heap one), position of the given buffer is not changed.
+     */
+    public static byte[] gzip(ByteBuffer value, int level) {
+        if (level < MIN_LEVEL || level > MAX_LEVEL) {
+            throw new PreBidException("Invalid compression level: " + level);
+        }
+
+        return CONTEXT.get().gzip(value, level);
+    }
+
+    private static class GzipContext {
+
+        private final Deflater[] deflaters = new Deflater[MAX_LEVEL - MIN_LEVEL + 1];
+        private final CRC32 crc = new CRC32();
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+        byte[] gzip(ByteBuffer value, int level) {
+            final Deflater deflater = deflater(level);
+            final int valueLength = value.remaining();
+            try {
+                deflater.setInput(value.duplicate());
+                deflater.finish();
+
+                int length = writeHeader();
+                while (!deflater.finished()) {
+                    ensureCapacity(length + 1);
+                    length += deflater.deflate(buffer, length, buffer.length - length);
+                }
+
+                crc.reset();
+                crc.update(value.duplicate());
+
+                ensureCapacity(length + TRAILER_SIZE);
+                writeInt((int) crc.getValue(), length);
+                writeInt(valueLength, length + 4);
+                length += TRAILER_SIZE;
+
+                return Arrays.copyOf(buffer, length);
+            } finally {
+                deflater.reset();
+                if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+                    buffer = new byte[INITIAL_BUFFER_SIZE];
+                }
+            }
+        }
+
+        private Deflater deflater(int level) {
+            final int index = level - MIN_LEVEL;
+            Deflater deflater = deflaters[index];
+            if (deflater == null) {
+                deflater = new Deflater(level, true);
+                deflaters[index] = deflater;
+            }
+            return deflater;
+        }
+
+        private int writeHeader() {
+            // magic number, deflate method, no flags, no modification time, no extra flags and unknown OS,
+            // the same as java.util.zip.GZIPOutputStream produces
+            buffer[0] = (byte) GZIP_MAGIC;
+            buffer[1] = (byte) (GZIP_MAGIC >> 8);
+            buffer[2] = Deflater.DEFLATED;
+            Arrays.fill(buffer, 3, HEADER_SIZE, (byte) 0);
+            return HEADER_SIZE;
+        }
+
+        private void writeInt(int value, int offset) {
+            buffer[offset] = (byte) value;
+            buffer[offset + 1] = (byte) (value >> 8);
+            buffer[offset + 2] = (byte) (value >> 16);
+            buffer[offset + 3] = (byte) (value >> 24);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (buffer.length < capacity) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, capacity));
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.Handler;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free circuit breaker counting failures in a sliding time window.
+ * <p>
+ * Unlike {@link CircuitBreaker} it does not wrap the operation into additional futures and does not use Vert.x timers:
+ * caller asks for a {@link Permit} before the operation and reports its outcome after. The window is split into
+ * buckets of striped counters, so concurrent updates from different event loops do not contend with each other.
+ * <p>
+ * The circuit opens once number of failures within opening interval reaches the threshold (and failure ratio,
+ * if configured). After closing interval single probe operation is permitted, its outcome decides whether circuit
+ * gets closed or opened again.
+ */
+public class SlidingWindowCircuitBreaker {
+
+    private static final int BUCKETS_NUMBER = 10;
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private final int openingThreshold;
+    private final double failureRatio;
+    private final long closingIntervalMs;
+    private final long bucketIntervalMs;
+    private final Clock clock;
+
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicLongArray bucketEpochs = new AtomicLongArray(BUCKETS_NUMBER);
+    private final LongAdder[] bucketCalls = new LongAdder[BUCKETS_NUMBER];
+    private final LongAdder[] bucketFailures = new LongAdder[BUCKETS_NUMBER];
+
+    private volatile long openedAt;
+
+    private Handler<Void> openHandler;
+    private Handler<Void> halfOpenHandler;
+    private Handler<Void> closeHandler;
+
+    public SlidingWindowCircuitBreaker(int openingThreshold,
+                                       double failureRatio,
+                                       long openingIntervalMs,
+                                       long closingIntervalMs,
+                                       Clock clock) {
+
+        if (openingThreshold < 1) {
+            throw new IllegalArgumentException("Opening threshold should be positive");
+        }
+        if (failureRatio < 0 || failureRatio > 1) {
+            throw new IllegalArgumentException("Failure ratio should be in range [0, 1]");
+        }
+
+        this.openingThreshold = openingThreshold;
+        this.failureRatio = failureRatio;
+        this.closingIntervalMs = closingIntervalMs;
+        this.bucketIntervalMs = Math.max(1, openingIntervalMs / BUCKETS_NUMBER);
+        this.clock = Objects.requireNonNull(clock);
+
+        for (int i = 0; i < BUCKETS_NUMBER; i++) {
+            bucketEpochs.set(i, -1);
+            bucketCalls[i] = new LongAdder();
+            bucketFailures[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Decides whether operation is allowed to be executed.
+     * <p>
+     * Operations with {@link Permit#ALLOWED} and {@link Permit#PROBE} permits should report their outcome
+     * to {@link #complete(Permit, boolean)}.
+     */
+    public Permit acquire() {
+        return switch (state.get()) {
+            case CLOSED -> Permit.ALLOWED;
+            case OPEN -> tryHalfOpen() ? Permit.PROBE : Permit.DENIED;
+            default -> Permit.DENIED; // probe is in progress
+        };
+    }
+
+    private boolean tryHalfOpen() {
+        if (clock.millis() - openedAt < closingIntervalMs || !state.compareAndSet(OPEN, HALF_OPEN)) {
+            return false;
+        }
+
+        notifyHandler(halfOpenHandler);
+        return true;
+    }
+
+    /**
+     * Records outcome of the operation executed with the given permit.
+     */
+    public void complete(Permit permit, boolean succeeded) {
+        if (permit == Permit.ALLOWED) {
+            record(succeeded);
+        } else if (permit == Permit.PROBE) {
+            completeProbe(succeeded);
+        }
+    }
+
+    private void record(boolean succeeded) {
+        final long epoch = clock.millis() / bucketIntervalMs;
+        final int bucket = bucket(epoch);
+
+        bucketCalls[bucket].increment();
+        if (succeeded) {
+            return;
+        }
+
+        bucketFailures[bucket].increment();
+        if (state.get() == CLOSED && shouldOpen(epoch)) {
+            open();
+        }
+    }
+
+    private void completeProbe(boolean succeeded) {
+        if (!succeeded) {
+            open();
+            return;
+        }
+
+        resetWindow();
+        if (state.compareAndSet(HALF_OPEN, CLOSED)) {
+            notifyHandler(closeHandler);
+        }
+    }
+
+    private void open() {
+        openedAt = clock.millis();
+
+        final int currentState = state.get();
+        if (currentState != OPEN && state.compareAndSet(currentState, OPEN)) {
+            notifyHandler(openHandler);
+        }
+    }
+
+    /**
+     * Returns index of the bucket for the given epoch, bucket of the previous window is cleared when reused.
+     * <p>
+     * Updates racing with clearing might get lost, which is acceptable for the purpose of failure rate estimation.
+     */
+    private int bucket(long epoch) {
+        final int bucket = (int) (epoch % BUCKETS_NUMBER);
+
+        final long bucketEpoch = bucketEpochs.get(bucket);
+        if (bucketEpoch < epoch && bucketEpochs.compareAndSet(bucket, bucketEpoch, epoch)) {
+            bucketCalls[bucket].reset();
+            bucketFailures[bucket].reset();
+        }
+
+        return bucket;
+    }
+
+    private boolean shouldOpen(long currentEpoch) {
+        long calls = 0;
+        long failures = 0;
+        for (int i = 0; i < BUCKETS_NUMBER; i++) {
+            if (currentEpoch - bucketEpochs.get(i) < BUCKETS_NUMBER) {
+                calls += bucketCalls[i].sum();
+                failures += bucketFailures[i].sum();
+            }
+        }
+
+        return failures >= openingThreshold && failures >= failureRatio * calls;
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < BUCKETS_NUMBER; i++) {
+            bucketEpochs.set(i, -1);
+            bucketCalls[i].reset();
+            bucketFailures[i].reset();
+        }
+    }
+
+    private static void notifyHandler(Handler<Void> handler) {
+        if (handler != null) {
+            handler.handle(null);
+        }
+    }
+
+    /**
+     * Sets a {@link Handler} invoked when the circuit breaker state switches to open.
+     */
+    public SlidingWindowCircuitBreaker openHandler(Handler<Void> handler) {
+        openHandler = handler;
+        return this;
+    }
+
+    /**
+     * Sets a {@link Handler} invoked when the circuit breaker state switches to half-open.
+     */
+    public SlidingWindowCircuitBreaker halfOpenHandler(Handler<Void> handler) {
+        halfOpenHandler = handler;
+        return this;
+    }
+
+    /**
+     * Sets a {@link Handler} invoked when the circuit breaker state switches to close.
+     */
+    public SlidingWindowCircuitBreaker closeHandler(Handler<Void> handler) {
+        closeHandler = handler;
+        return this;
+    }
+
+    public boolean isOpen() {
+        return state.get() != CLOSED;
+    }
+
+    public enum Permit {
+
+        ALLOWED,
+        PROBE,
+        DENIED
+    }
+}
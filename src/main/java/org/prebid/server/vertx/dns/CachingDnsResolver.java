@@ -0,0 +1,222 @@
+package org.prebid.server.vertx.dns;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.dns.model.DnsResolution;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process cache of host addresses in front of the {@link DnsResolver}.
+ * <p>
+ * Addresses are kept as long as TTL of DNS records allows (bounded by configured min and max TTL) and are refreshed
+ * in background when the refresh-ahead part of TTL passes, so hot hosts never wait for DNS lookup. If lookup fails,
+ * expired addresses are still served within the stale period. Subsequent calls for the same host are spread across
+ * all its addresses in round-robin fashion.
+ * <p>
+ * Concurrent lookups of the same host are collapsed into single one, each caller still gets the result
+ * on the Vert.x context the call was made on. Instance is thread-safe and can be shared by HTTP clients
+ * of all event loops.
+ */
+public class CachingDnsResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingDnsResolver.class);
+    private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
+
+    private static final long FAILED_REFRESH_RETRY_INTERVAL_MS = 1000L;
+
+    private final DnsResolver resolver;
+    private final Metrics metrics;
+    private final Clock clock;
+    private final long minTtlMs;
+    private final long maxTtlMs;
+    private final double refreshAheadFactor;
+    private final long maxStaleMs;
+
+    private final Cache<String, Entry> entries;
+    private final Map<String, Future<Entry>> lookups = new ConcurrentHashMap<>();
+
+    public CachingDnsResolver(DnsResolver resolver,
+                              Metrics metrics,
+                              Clock clock,
+                              long minTtlMs,
+                              long maxTtlMs,
+                              double refreshAheadFactor,
+                              long maxStaleMs,
+                              int maxSize) {
+
+        if (minTtlMs < 0 || maxTtlMs < minTtlMs) {
+            throw new IllegalArgumentException("Max TTL should not be less than non-negative min TTL");
+        }
+        if (refreshAheadFactor <= 0 || refreshAheadFactor > 1) {
+            throw new IllegalArgumentException("Refresh-ahead factor should be in range (0, 1]");
+        }
+
+        this.resolver = Objects.requireNonNull(resolver);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.minTtlMs = minTtlMs;
+        this.maxTtlMs = maxTtlMs;
+        this.refreshAheadFactor = refreshAheadFactor;
+        this.maxStaleMs = maxStaleMs;
+
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(maxTtlMs + Math.max(maxStaleMs, 0), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Returns one of the addresses of the given host.
+     */
+    public Future<String> resolve(String host) {
+        final long now = clock.millis();
+        final Entry entry = entries.getIfPresent(host);
+
+        if (entry == null) {
+            return waitForLookup(host).map(Entry::nextAddress);
+        }
+
+        if (now < entry.expiresAt) {
+            if (now >= entry.refreshAt) {
+                lookup(host);
+            }
+            metrics.updateDnsCacheHitMetric(false);
+            return Future.succeededFuture(entry.nextAddress());
+        }
+
+        // last refresh has failed recently, so there is no point to wait for another lookup
+        if (isStaleAllowed(entry, now) && now < entry.refreshAt) {
+            metrics.updateDnsCacheHitMetric(true);
+            return Future.succeededFuture(entry.nextAddress());
+        }
+
+        return waitForLookup(host)
+                .recover(exception -> isStaleAllowed(entry, clock.millis())
+                        ? staleEntry(entry)
+                        : Future.failedFuture(exception))
+                .map(Entry::nextAddress);
+    }
+
+    private boolean isStaleAllowed(Entry entry, long now) {
+        return now < entry.expiresAt + maxStaleMs;
+    }
+
+    private Future<Entry> staleEntry(Entry entry) {
+        metrics.updateDnsCacheHitMetric(true);
+        return Future.succeededFuture(entry);
+    }
+
+    /**
+     * Returns result of the lookup on the caller's context, as collapsed lookup is completed on the context
+     * of the caller which has started it.
+     */
+    private Future<Entry> waitForLookup(String host) {
+        final Context context = Vertx.currentContext();
+        final Promise<Entry> promise = Promise.promise();
+
+        lookup(host).onComplete(result -> {
+            if (context != null && context != Vertx.currentContext()) {
+                context.runOnContext(ignored -> promise.handle(result));
+            } else {
+                promise.handle(result);
+            }
+        });
+
+        return promise.future();
+    }
+
+    private Future<Entry> lookup(String host) {
+        final Promise<Entry> promise = Promise.promise();
+        final Future<Entry> existingLookup = lookups.putIfAbsent(host, promise.future());
+        if (existingLookup != null) {
+            return existingLookup;
+        }
+
+        metrics.updateDnsLookupMetric();
+        final long startTime = clock.millis();
+
+        Future<DnsResolution> resolutionFuture;
+        try {
+            resolutionFuture = resolver.resolve(host);
+        } catch (Exception e) {
+            resolutionFuture = Future.failedFuture(e);
+        }
+
+        resolutionFuture
+                .map(resolution -> cache(host, resolution))
+                .onComplete(result -> {
+                    metrics.updateDnsLookupTimeMetric(clock.millis() - startTime);
+                    if (result.failed()) {
+                        handleLookupFailure(host, result.cause());
+                    }
+
+                    lookups.remove(host, promise.future());
+                    promise.handle(result);
+                });
+
+        return promise.future();
+    }
+
+    private Entry cache(String host, DnsResolution resolution) {
+        final List<String> addresses = resolution.getAddresses();
+        if (addresses == null || addresses.isEmpty()) {
+            throw new IllegalStateException("No addresses resolved for host: " + host);
+        }
+
+        final long recordsTtlMs = TimeUnit.SECONDS.toMillis(resolution.getTtlSeconds());
+        final long ttlMs = Math.min(Math.max(recordsTtlMs, minTtlMs), maxTtlMs);
+        final long now = clock.millis();
+
+        final Entry entry = new Entry(addresses, now + (long) (ttlMs * refreshAheadFactor), now + ttlMs);
+        entries.put(host, entry);
+
+        return entry;
+    }
+
+    private void handleLookupFailure(String host, Throwable exception) {
+        metrics.updateDnsRefreshFailureMetric();
+        conditionalLogger.warn("DNS lookup of %s failed: %s".formatted(host, exception.getMessage()), 0.01);
+
+        // postpone next refresh to not query failing name server on each call
+        final Entry entry = entries.getIfPresent(host);
+        if (entry != null) {
+            entry.refreshAt = clock.millis() + FAILED_REFRESH_RETRY_INTERVAL_MS;
+        }
+    }
+
+    private static class Entry {
+
+        private final List<String> addresses;
+        private final long expiresAt;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+
+        private volatile long refreshAt;
+
+        Entry(List<String> addresses, long refreshAt, long expiresAt) {
+            this.addresses = addresses;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+        }
+
+        String nextAddress() {
+            return addresses.size() == 1
+                    ? addresses.get(0)
+                    : addresses.get(Math.floorMod(nextIndex.getAndIncrement(), addresses.size()));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.prebid.server.vertx.dns;
+
+import io.vertx.core.Future;
+import org.prebid.server.vertx.dns.model.DnsResolution;
+
+/**
+ * Performs DNS lookup of addresses of the host.
+ */
+@FunctionalInterface
+public interface DnsResolver {
+
+    /**
+     * Returns addresses of the host along with the time they can be cached for. Future should be failed if host
+     * has no addresses.
+     */
+    Future<DnsResolution> resolve(String host);
+}
@@ -0,0 +1,162 @@
+package org.prebid.server.vertx.dns;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.handler.codec.dns.DefaultDnsQuestion;
+import io.netty.handler.codec.dns.DnsRecord;
+import io.netty.handler.codec.dns.DnsRecordType;
+import io.netty.resolver.dns.DnsNameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.resolver.dns.DnsServerAddressStreamProvider;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
+import io.netty.resolver.dns.NoopDnsCache;
+import io.netty.resolver.dns.NoopDnsCnameCache;
+import io.netty.resolver.dns.SequentialDnsServerAddressStreamProvider;
+import io.netty.util.NetUtil;
+import io.netty.util.ReferenceCountUtil;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.vertx.dns.model.DnsResolution;
+
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * {@link DnsResolver} querying name servers with Netty's asynchronous resolver running on Vert.x event loop.
+ * <p>
+ * Unlike Vert.x {@link io.vertx.core.dns.DnsClient} it exposes TTL of the received records, so the caller is able
+ * to cache addresses as long as name servers allow. Resolver does not cache anything by itself.
+ */
+public class NettyDnsResolver implements DnsResolver {
+
+    private static final int DEFAULT_DNS_PORT = 53;
+    private static final int IPV4_ADDRESS_LENGTH = 4;
+    private static final int IPV6_ADDRESS_LENGTH = 16;
+
+    private final DnsNameResolver resolver;
+
+    /**
+     * Creates resolver querying given name servers (in "ip[:port]" format) or, if they are not specified,
+     * the ones configured for the platform.
+     */
+    public NettyDnsResolver(Vertx vertx, List<String> servers, long queryTimeoutMs) {
+        final VertxInternal vertxInternal = (VertxInternal) Objects.requireNonNull(vertx);
+
+        resolver = new DnsNameResolverBuilder(vertxInternal.getEventLoopGroup().next())
+                .channelFactory(() -> vertxInternal.transport().datagramChannel())
+                .nameServerProvider(nameServerProvider(servers))
+                .queryTimeoutMillis(queryTimeoutMs)
+                // addresses are cached by the caller respecting TTL of the records
+                .resolveCache(NoopDnsCache.INSTANCE)
+                .cnameCache(NoopDnsCnameCache.INSTANCE)
+                .build();
+    }
+
+    private static DnsServerAddressStreamProvider nameServerProvider(List<String> servers) {
+        if (CollectionUtils.isEmpty(servers)) {
+            return DnsServerAddressStreamProviders.platformDefault();
+        }
+
+        final List<InetSocketAddress> addresses = servers.stream()
+                .map(NettyDnsResolver::parseServerAddress)
+                .collect(Collectors.toList());
+        return new SequentialDnsServerAddressStreamProvider(addresses);
+    }
+
+    private static InetSocketAddress parseServerAddress(String server) {
+        final String host = StringUtils.substringBefore(server, ":");
+        final String port = StringUtils.substringAfter(server, ":");
+        if (!NetUtil.isValidIpV4Address(host)) {
+            throw new IllegalArgumentException("Invalid DNS server address: " + server);
+        }
+
+        return new InetSocketAddress(host, StringUtils.isEmpty(port) ? DEFAULT_DNS_PORT : Integer.parseInt(port));
+    }
+
+    /**
+     * Resolves IPv4 addresses of the host, falling back to IPv6 ones if host has no IPv4 addresses.
+     */
+    @Override
+    public Future<DnsResolution> resolve(String host) {
+        final Context context = Vertx.currentContext();
+        final Promise<DnsResolution> promise = Promise.promise();
+
+        final Handler<AsyncResult<DnsResolution>> resultHandler = result -> {
+            // netty listener is invoked on resolver's event loop, so result is passed back to caller's context
+            if (context != null) {
+                context.runOnContext(ignored -> promise.handle(result));
+            } else {
+                promise.handle(result);
+            }
+        };
+
+        resolve(host, DnsRecordType.A, ipv4Result -> {
+            if (ipv4Result.succeeded()) {
+                resultHandler.handle(ipv4Result);
+            } else {
+                resolve(host, DnsRecordType.AAAA, ipv6Result ->
+                        resultHandler.handle(ipv6Result.succeeded() ? ipv6Result : ipv4Result));
+            }
+        });
+
+        return promise.future();
+    }
+
+    private void resolve(String host, DnsRecordType type, Handler<AsyncResult<DnsResolution>> resultHandler) {
+        final io.netty.util.concurrent.Future<List<DnsRecord>> queryFuture =
+                resolver.resolveAll(new DefaultDnsQuestion(host, type));
+
+        queryFuture.addListener(ignored -> resultHandler.handle(queryFuture.isSuccess()
+                ? toResolution(host, type, queryFuture.getNow())
+                : Future.failedFuture(queryFuture.cause())));
+    }
+
+    private static Future<DnsResolution> toResolution(String host, DnsRecordType type, List<DnsRecord> records) {
+        final int addressLength = type == DnsRecordType.A ? IPV4_ADDRESS_LENGTH : IPV6_ADDRESS_LENGTH;
+        final List<String> addresses = new ArrayList<>(records.size());
+        long ttlSeconds = Long.MAX_VALUE;
+
+        try {
+            for (DnsRecord record : records) {
+                final String address = record.type() == type ? toAddress(record, addressLength) : null;
+                if (address != null) {
+                    addresses.add(address);
+                    ttlSeconds = Math.min(ttlSeconds, record.timeToLive());
+                }
+            }
+        } finally {
+            records.forEach(ReferenceCountUtil::release);
+        }
+
+        return addresses.isEmpty()
+                ? Future.failedFuture(new UnknownHostException(
+                        "No %s records found for host: %s".formatted(type.name(), host)))
+                : Future.succeededFuture(DnsResolution.of(addresses, ttlSeconds));
+    }
+
+    private static String toAddress(DnsRecord record, int addressLength) {
+        if (!(record instanceof ByteBufHolder)) {
+            return null;
+        }
+
+        final ByteBuf content = ((ByteBufHolder) record).content();
+        if (content.readableBytes() != addressLength) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[addressLength];
+        content.getBytes(content.readerIndex(), bytes);
+        return NetUtil.bytesToIpAddress(bytes);
+    }
+}
@@ -0,0 +1,13 @@
+package org.prebid.server.vertx.dns.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value(staticConstructor = "of")
+public class DnsResolution {
+
+    List<String> addresses;
+
+    long ttlSeconds;
+}
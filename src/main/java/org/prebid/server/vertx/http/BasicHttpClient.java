@@ -1,31 +1,69 @@
 package org.prebid.server.vertx.http;
 
+import io.netty.util.NetUtil;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpConnection;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
-import org.prebid.server.exception.PreBidException;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.net.SocketAddress;
+import org.prebid.server.exception.ResponseSizeExceededException;
+import org.prebid.server.vertx.dns.CachingDnsResolver;
+import org.prebid.server.vertx.http.model.DecompressionStats;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Simple wrapper around {@link HttpClient} with general functionality.
  */
 public class BasicHttpClient implements HttpClient {
 
+    private static final String ACCEPT_ENCODING_VALUE = "gzip, deflate";
+    private static final String HTTP_PROTOCOL = "http";
+    private static final String HTTPS_PROTOCOL = "https";
+
     private final Vertx vertx;
     private final io.vertx.core.http.HttpClient httpClient;
+    private final boolean useCompression;
+    private final CachingDnsResolver dnsResolver;
+
+    private final Map<String, Integer> hostToOpenConnections = new ConcurrentHashMap<>();
+
+    public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient, boolean useCompression) {
+        this(vertx, httpClient, useCompression, null);
+    }
+
+    /**
+     * Note: compressed responses are inflated by this client (not by underlying Vert.x client),
+     * so underlying client should be created with disabled compression support.
+     * <p>
+     * If DNS resolver is given, hosts are resolved by it and connections are opened to the resolved addresses
+     * (while host name is still used for Host header and TLS), otherwise hosts are resolved by Vert.x.
+     */
+    public BasicHttpClient(Vertx vertx,
+                           io.vertx.core.http.HttpClient httpClient,
+                           boolean useCompression,
+                           CachingDnsResolver dnsResolver) {
 
-    public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient) {
         this.vertx = Objects.requireNonNull(vertx);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.useCompression = useCompression;
+        this.dnsResolver = dnsResolver;
     }
 
     @Override
@@ -42,9 +80,46 @@ public class BasicHttpClient implements HttpClient {
                 (HttpClientRequest httpClientRequest) -> httpClientRequest.end(Buffer.buffer(body)));
     }
 
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              PooledBuffer body, long timeoutMs, long maxResponseSize) {
+
+        final Promise<Void> writePromise = Promise.promise();
+        return request(method, url, headers, timeoutMs, maxResponseSize, body,
+                (HttpClientRequest httpClientRequest) -> httpClientRequest.end(body.getBuffer(), writePromise))
+                .onComplete(result -> releaseBody(body, result.succeeded(), writePromise.future()));
+    }
+
     private <T> Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
                                                    long timeoutMs, long maxResponseSize, T body,
                                                    Consumer<HttpClientRequest> requestBodySetter) {
+
+        final URL urlToResolve = dnsResolver != null && timeoutMs > 0 ? urlToResolve(url) : null;
+        if (urlToResolve == null) {
+            return request(url, () -> httpClient.requestAbs(method, url),
+                    headers, timeoutMs, maxResponseSize, body, requestBodySetter);
+        }
+
+        // URL is already parsed, so request is created from its parts to not let Vert.x client parse it again
+        final RequestOptions requestOptions = requestOptions(urlToResolve);
+
+        // time spent on DNS lookup (in case of cache miss) is a part of overall request timeout
+        final long startTime = System.nanoTime();
+        return dnsResolver.resolve(requestOptions.getHost()).compose(address -> request(
+                url,
+                () -> httpClient.request(
+                        method, SocketAddress.inetSocketAddress(requestOptions.getPort(), address), requestOptions),
+                headers,
+                timeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                maxResponseSize,
+                body,
+                requestBodySetter));
+    }
+
+    private <T> Future<HttpClientResponse> request(String url,
+                                                   Supplier<HttpClientRequest> httpClientRequestCreator,
+                                                   MultiMap headers, long timeoutMs, long maxResponseSize, T body,
+                                                   Consumer<HttpClientRequest> requestBodySetter) {
         final Promise<HttpClientResponse> promise = Promise.promise();
 
         if (timeoutMs <= 0) {
@@ -52,7 +127,7 @@ public class BasicHttpClient implements HttpClient {
         } else {
             final HttpClientRequest httpClientRequest;
             try {
-                httpClientRequest = httpClient.requestAbs(method, url);
+                httpClientRequest = httpClientRequestCreator.get();
             } catch (Exception e) {
                 failResponse(e, promise);
                 return promise.future();
@@ -64,13 +139,20 @@ public class BasicHttpClient implements HttpClient {
 
             httpClientRequest
                     .setFollowRedirects(true)
-                    .handler(response -> handleResponse(response, promise, timerId, maxResponseSize))
+                    // invoked only for the first request sent over newly opened connection
+                    .connectionHandler(connection -> connectionOpened(url, connection))
+                    .handler(response -> handleResponse(response, promise, timerId, maxResponseSize, httpClientRequest))
                     .exceptionHandler(exception -> failResponse(exception, promise, timerId));
 
             if (headers != null) {
                 httpClientRequest.headers().addAll(headers);
             }
 
+            // explicitly specified Accept-Encoding header (e.g. for particular bidder) takes precedence
+            if (useCompression && !httpClientRequest.headers().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                httpClientRequest.headers().add(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING_VALUE);
+            }
+
             if (body != null) {
                 requestBodySetter.accept(httpClientRequest);
             } else {
@@ -80,6 +162,87 @@ public class BasicHttpClient implements HttpClient {
         return promise.future();
     }
 
+    @Override
+    public int openConnections(String host, int port) {
+        return hostToOpenConnections.getOrDefault(hostAndPort(host, port), 0);
+    }
+
+    private void connectionOpened(String url, HttpConnection connection) {
+        final String hostAndPort = hostAndPort(url);
+        if (hostAndPort == null) {
+            return;
+        }
+
+        hostToOpenConnections.merge(hostAndPort, 1, Integer::sum);
+        connection.closeHandler(ignored ->
+                hostToOpenConnections.computeIfPresent(hostAndPort, (key, count) -> count > 1 ? count - 1 : null));
+    }
+
+    private static String hostAndPort(String url) {
+        final URL parsedUrl;
+        try {
+            parsedUrl = new URL(url);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+
+        return hostAndPort(
+                parsedUrl.getHost(), parsedUrl.getPort() != -1 ? parsedUrl.getPort() : parsedUrl.getDefaultPort());
+    }
+
+    private static String hostAndPort(String host, int port) {
+        return host + ":" + port;
+    }
+
+    /**
+     * Releases pooled body once it has been written.
+     * <p>
+     * Failed request is either not sent at all or reset, so nothing is going to be written anymore.
+     */
+    private static void releaseBody(PooledBuffer body, boolean succeeded, Future<Void> writeFuture) {
+        if (body == null) {
+            return;
+        }
+
+        if (succeeded) {
+            writeFuture.onComplete(ignored -> body.release());
+        } else {
+            body.release();
+        }
+    }
+
+    /**
+     * Returns parsed URL if its host should be resolved by DNS resolver or null if it should be left to Vert.x.
+     */
+    private static URL urlToResolve(String url) {
+        final URL parsedUrl;
+        try {
+            parsedUrl = new URL(url);
+        } catch (MalformedURLException e) {
+            // let Vert.x client report invalid URL
+            return null;
+        }
+
+        final String protocol = parsedUrl.getProtocol();
+        final String host = parsedUrl.getHost();
+        return (HTTP_PROTOCOL.equals(protocol) || HTTPS_PROTOCOL.equals(protocol))
+                && !host.isEmpty() && !NetUtil.isValidIpV4Address(host) && !host.startsWith("[")
+                ? parsedUrl
+                : null;
+    }
+
+    /**
+     * Creates request options in the same way Vert.x client does for absolute URL.
+     */
+    private static RequestOptions requestOptions(URL url) {
+        final String file = url.getFile();
+        return new RequestOptions()
+                .setHost(url.getHost())
+                .setPort(url.getPort() != -1 ? url.getPort() : url.getDefaultPort())
+                .setSsl(HTTPS_PROTOCOL.equals(url.getProtocol()))
+                .setURI(url.getPath().isEmpty() ? "/" + file : file);
+    }
+
     private void handleTimeout(Promise<HttpClientResponse> promise,
                                long timeoutMs,
                                HttpClientRequest httpClientRequest) {
@@ -94,28 +257,156 @@ public class BasicHttpClient implements HttpClient {
     }
 
     private void handleResponse(io.vertx.core.http.HttpClientResponse response,
-                                Promise<HttpClientResponse> promise, long timerId, long maxResponseSize) {
+                                Promise<HttpClientResponse> promise,
+                                long timerId,
+                                long maxResponseSize,
+                                HttpClientRequest httpClientRequest) {
+
         final String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
         final long responseBodySize = contentLength != null ? Long.parseLong(contentLength) : 0;
         if (responseBodySize > maxResponseSize) {
             failResponse(
-                    new PreBidException(
-                            "Response size %d exceeded %d bytes limit".formatted(responseBodySize, maxResponseSize)),
+                    new ResponseSizeExceededException(
+                            "Response size %d exceeded %d bytes limit".formatted(responseBodySize, maxResponseSize),
+                            responseBodySize),
                     promise,
                     timerId);
+
+            // do not receive the body
+            httpClientRequest.reset();
             return;
         }
 
+        // Content-Length can be absent (e.g. chunked response), not trusted or describe compressed body,
+        // so response body size is also checked while it is being received to not keep oversized body in memory
+        final ResponseBodyInflater inflater = ResponseBodyInflater.forContentEncoding(
+                response.getHeader(HttpHeaders.CONTENT_ENCODING), maxResponseSize);
+        if (inflater != null) {
+            // whatever way response fails (including timeout and request exception) inflater should be released
+            promise.future().onFailure(ignored -> inflater.close());
+        }
+
+        final Buffer body = Buffer.buffer();
         response
-                .bodyHandler(buffer -> successResponse(buffer.toString(), response, promise, timerId))
+                .handler(chunk -> handleResponseChunk(chunk, body, inflater, promise, timerId, maxResponseSize,
+                        httpClientRequest))
+                .endHandler(ignored -> handleResponseEnd(body, inflater, response, promise, timerId,
+                        maxResponseSize, httpClientRequest))
                 .exceptionHandler(exception -> failResponse(exception, promise, timerId));
     }
 
-    private void successResponse(String body, io.vertx.core.http.HttpClientResponse response,
-                                 Promise<HttpClientResponse> promise, long timerId) {
+    private void handleResponseChunk(Buffer chunk,
+                                     Buffer body,
+                                     ResponseBodyInflater inflater,
+                                     Promise<HttpClientResponse> promise,
+                                     long timerId,
+                                     long maxResponseSize,
+                                     HttpClientRequest httpClientRequest) {
+
+        if (promise.future().isComplete()) {
+            return;
+        }
+
+        final Buffer bodyPart;
+        try {
+            bodyPart = inflater != null ? inflater.inflate(chunk) : chunk;
+        } catch (Exception e) {
+            failResponse(e, promise, timerId);
+            httpClientRequest.reset();
+            return;
+        }
+
+        appendBodyPart(bodyPart, body, promise, timerId, maxResponseSize, httpClientRequest);
+    }
+
+    private void handleResponseEnd(Buffer body,
+                                   ResponseBodyInflater inflater,
+                                   io.vertx.core.http.HttpClientResponse response,
+                                   Promise<HttpClientResponse> promise,
+                                   long timerId,
+                                   long maxResponseSize,
+                                   HttpClientRequest httpClientRequest) {
+
+        if (promise.future().isComplete()) {
+            return;
+        }
+
+        if (inflater == null) {
+            successResponse(body, null, response, promise, timerId);
+            return;
+        }
+
+        final Buffer lastBodyPart;
+        try {
+            lastBodyPart = inflater.finish();
+        } catch (Exception e) {
+            failResponse(e, promise, timerId);
+            return;
+        }
+
+        if (appendBodyPart(lastBodyPart, body, promise, timerId, maxResponseSize, httpClientRequest)) {
+            final DecompressionStats decompressionStats = DecompressionStats.of(
+                    inflater.getCompressedBytes(), body.length(), inflater.getInflateTimeNanos());
+            successResponse(body, decompressionStats, response, promise, timerId);
+        }
+    }
+
+    /**
+     * Appends received (or inflated) part of body if it does not exceed response size limit.
+     * <p>
+     * Returns false if response has been failed.
+     */
+    private boolean appendBodyPart(Buffer bodyPart,
+                                   Buffer body,
+                                   Promise<HttpClientResponse> promise,
+                                   long timerId,
+                                   long maxResponseSize,
+                                   HttpClientRequest httpClientRequest) {
+
+        final long receivedBytes = (long) body.length() + bodyPart.length();
+        if (receivedBytes > maxResponseSize) {
+            failResponse(
+                    new ResponseSizeExceededException(
+                            "Response size exceeded %d bytes limit".formatted(maxResponseSize), receivedBytes),
+                    promise,
+                    timerId);
+
+            // stop receiving remaining part of the response
+            httpClientRequest.reset();
+            return false;
+        }
+
+        body.appendBuffer(bodyPart);
+        return true;
+    }
+
+    private void successResponse(Buffer body,
+                                 DecompressionStats decompressionStats,
+                                 io.vertx.core.http.HttpClientResponse response,
+                                 Promise<HttpClientResponse> promise,
+                                 long timerId) {
+
         vertx.cancelTimer(timerId);
 
-        promise.tryComplete(HttpClientResponse.of(response.statusCode(), response.headers(), body));
+        // keep received bytes as is, string representation will be created only if consumer asks for it
+        promise.tryComplete(HttpClientResponse.ofBuffer(
+                response.statusCode(), responseHeaders(response, decompressionStats), body, decompressionStats));
+    }
+
+    /**
+     * Returns headers of the response, describing inflated body if it has been received compressed.
+     */
+    private static MultiMap responseHeaders(io.vertx.core.http.HttpClientResponse response,
+                                            DecompressionStats decompressionStats) {
+
+        if (decompressionStats == null) {
+            return response.headers();
+        }
+
+        return MultiMap.caseInsensitiveMultiMap()
+                .addAll(response.headers())
+                .remove(HttpHeaders.CONTENT_ENCODING)
+                .remove(HttpHeaders.CONTENT_LENGTH);
     }
 
     private void failResponse(Throwable exception, Promise<HttpClientResponse> promise, long timerId) {
@@ -1,17 +1,18 @@
 package org.prebid.server.vertx.http;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.circuitbreaker.OpenCircuitException;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.metric.Metrics;
-import org.prebid.server.vertx.CircuitBreaker;
+import org.prebid.server.vertx.SlidingWindowCircuitBreaker;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -20,6 +21,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Wrapper over {@link HttpClient} with circuit breaker functionality.
@@ -30,15 +32,19 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
     private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
     private static final int LOG_PERIOD_SECONDS = 5;
 
-    private final Function<String, CircuitBreaker> circuitBreakerCreator;
-    private final Map<String, CircuitBreaker> circuitBreakerByName;
+    // URL prefixes (scheme, host and port) are bounded by the number of hosts the application talks to
+    private static final int MAX_URL_PREFIXES = 10_000;
+
+    private final Function<String, SlidingWindowCircuitBreaker> circuitBreakerCreator;
+    private final Map<String, SlidingWindowCircuitBreaker> circuitBreakerByName;
+    private final Map<String, String> nameByUrlPrefix;
 
     private final HttpClient httpClient;
 
-    public CircuitBreakerSecuredHttpClient(Vertx vertx,
-                                           HttpClient httpClient,
+    public CircuitBreakerSecuredHttpClient(HttpClient httpClient,
                                            Metrics metrics,
                                            int openingThreshold,
+                                           double failureRatio,
                                            long openingIntervalMs,
                                            long closingIntervalMs,
                                            int idleExpireHours,
@@ -47,14 +53,20 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
         this.httpClient = Objects.requireNonNull(httpClient);
 
         circuitBreakerCreator = name -> createCircuitBreaker(
-                name, vertx, openingThreshold, openingIntervalMs, closingIntervalMs, clock, metrics);
+                name, openingThreshold, failureRatio, openingIntervalMs, closingIntervalMs, clock, metrics);
 
         circuitBreakerByName = Caffeine.newBuilder()
                 .expireAfterAccess(idleExpireHours, TimeUnit.HOURS)
-                .<String, CircuitBreaker>removalListener((name, cb, cause) -> removeCircuitBreakerGauge(name, metrics))
+                .<String, SlidingWindowCircuitBreaker>removalListener(
+                        (name, cb, cause) -> removeCircuitBreakerGauge(name, metrics))
                 .build()
                 .asMap();
 
+        nameByUrlPrefix = Caffeine.newBuilder()
+                .maximumSize(MAX_URL_PREFIXES)
+                .<String, String>build()
+                .asMap();
+
         metrics.createHttpClientCircuitBreakerNumberGauge(circuitBreakerByName::size);
 
         logger.info("Initialized HTTP client with Circuit Breaker");
@@ -68,10 +80,7 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
                                               long timeoutMs,
                                               long maxResponseSize) {
 
-        return circuitBreakerByName.computeIfAbsent(nameFrom(url), circuitBreakerCreator)
-                .execute(promise ->
-                        httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize)
-                                .onComplete(promise));
+        return request(url, () -> httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize));
     }
 
     @Override
@@ -81,24 +90,74 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
                                               byte[] body,
                                               long timeoutMs,
                                               long maxResponseSize) {
-        return circuitBreakerByName.computeIfAbsent(nameFrom(url), circuitBreakerCreator)
-                .execute(promise ->
-                        httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize)
-                                .onComplete(promise));
-    }
-
-    private CircuitBreaker createCircuitBreaker(String name,
-                                                Vertx vertx,
-                                                int openingThreshold,
-                                                long openingIntervalMs,
-                                                long closingIntervalMs,
-                                                Clock clock,
-                                                Metrics metrics) {
-
-        final CircuitBreaker circuitBreaker = new CircuitBreaker(
-                "http_cb_" + name,
-                Objects.requireNonNull(vertx),
+
+        return request(url, () -> httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize));
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method,
+                                              String url,
+                                              MultiMap headers,
+                                              PooledBuffer body,
+                                              long timeoutMs,
+                                              long maxResponseSize) {
+
+        return request(url, () -> httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize))
+                // body ownership is not passed to the wrapped client if circuit is opened
+                .onFailure(ignored -> body.release());
+    }
+
+    private Future<HttpClientResponse> request(String url, Supplier<Future<HttpClientResponse>> requestSupplier) {
+        final SlidingWindowCircuitBreaker circuitBreaker = circuitBreakerFor(url);
+        final SlidingWindowCircuitBreaker.Permit permit = circuitBreaker.acquire();
+        if (permit == SlidingWindowCircuitBreaker.Permit.DENIED) {
+            return Future.failedFuture(OpenCircuitException.INSTANCE);
+        }
+
+        final Future<HttpClientResponse> responseFuture;
+        try {
+            responseFuture = requestSupplier.get();
+        } catch (RuntimeException e) {
+            // report failure the same way as failed request
+            circuitBreaker.complete(permit, false);
+            return Future.failedFuture(e);
+        }
+
+        return responseFuture.onComplete(result -> circuitBreaker.complete(permit, result.succeeded()));
+    }
+
+    @Override
+    public Future<Void> warmUpConnection(String url, long timeoutMs) {
+        // warm-up failures should not open circuit for hosts serving regular traffic fine
+        return httpClient.warmUpConnection(url, timeoutMs);
+    }
+
+    @Override
+    public int openConnections(String host, int port) {
+        return httpClient.openConnections(host, port);
+    }
+
+    /**
+     * Returns circuit breaker for the host of the given URL.
+     * <p>
+     * Host name is resolved once per URL prefix to avoid parsing each URL.
+     */
+    private SlidingWindowCircuitBreaker circuitBreakerFor(String url) {
+        final String name = nameByUrlPrefix.computeIfAbsent(urlPrefix(url), ignored -> nameFrom(url));
+        return circuitBreakerByName.computeIfAbsent(name, circuitBreakerCreator);
+    }
+
+    private SlidingWindowCircuitBreaker createCircuitBreaker(String name,
+                                                             int openingThreshold,
+                                                             double failureRatio,
+                                                             long openingIntervalMs,
+                                                             long closingIntervalMs,
+                                                             Clock clock,
+                                                             Metrics metrics) {
+
+        final SlidingWindowCircuitBreaker circuitBreaker = new SlidingWindowCircuitBreaker(
                 openingThreshold,
+                failureRatio,
                 openingIntervalMs,
                 closingIntervalMs,
                 Objects.requireNonNull(clock))
@@ -111,7 +170,10 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
         return circuitBreaker;
     }
 
-    private void createCircuitBreakerGauge(String name, CircuitBreaker circuitBreaker, Metrics metrics) {
+    private void createCircuitBreakerGauge(String name,
+                                           SlidingWindowCircuitBreaker circuitBreaker,
+                                           Metrics metrics) {
+
         metrics.createHttpClientCircuitBreakerGauge(idFrom(name), circuitBreaker::isOpen);
     }
 
@@ -134,6 +196,25 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
         logger.warn("Http client request to {0} becomes succeeded, circuit closed.", name);
     }
 
+    /**
+     * Returns part of the URL up to the path, query or fragment, the whole URL is returned if it has no scheme.
+     */
+    private static String urlPrefix(String url) {
+        final int schemeEnd = url.indexOf("://");
+        if (schemeEnd < 0) {
+            return url;
+        }
+
+        for (int i = schemeEnd + 3; i < url.length(); i++) {
+            final char character = url.charAt(i);
+            if (character == '/' || character == '?' || character == '#') {
+                return url.substring(0, i);
+            }
+        }
+
+        return url;
+    }
+
     private static String nameFrom(String urlAsString) {
         final URL url = parseUrl(urlAsString);
         return url.getProtocol() + "://" + url.getHost() + (url.getPort() != -1 ? ":" + url.getPort() : "");
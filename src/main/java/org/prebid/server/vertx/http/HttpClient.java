@@ -4,6 +4,7 @@ import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpMethod;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
 /**
  * Interface describes HTTP interactions.
@@ -16,6 +17,13 @@ public interface HttpClient {
     Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
                                        byte[] body, long timeoutMs, long maxResponseSize);
 
+    /**
+     * Makes request with body held in pooled buffer. Ownership of the buffer is passed to the client,
+     * which releases it once the body has been written or request has failed.
+     */
+    Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                       PooledBuffer body, long timeoutMs, long maxResponseSize);
+
     default Future<HttpClientResponse> request(HttpMethod method, String url,
                                                MultiMap headers, String body, long timeoutMs) {
         return request(method, url, headers, body, timeoutMs, Long.MAX_VALUE);
@@ -45,4 +53,20 @@ public interface HttpClient {
     default Future<HttpClientResponse> post(String url, String body, long timeoutMs) {
         return request(HttpMethod.POST, url, null, body, timeoutMs);
     }
+
+    /**
+     * Makes HEAD request to the given URL to have connection to its host opened and kept in the pool.
+     * <p>
+     * Such requests are not a part of regular traffic, so they bypass protections like circuit breaker.
+     */
+    default Future<Void> warmUpConnection(String url, long timeoutMs) {
+        return request(HttpMethod.HEAD, url, null, (byte[]) null, timeoutMs).mapEmpty();
+    }
+
+    /**
+     * Returns number of currently open connections to the given host and port, or -1 if client does not track them.
+     */
+    default int openConnections(String host, int port) {
+        return -1;
+    }
 }
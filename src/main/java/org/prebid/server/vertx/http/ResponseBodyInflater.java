@@ -0,0 +1,145 @@
+package org.prebid.server.vertx.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.compression.DecompressionException;
+import io.netty.handler.codec.compression.JdkZlibDecoder;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.vertx.core.buffer.Buffer;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.exception.ResponseSizeExceededException;
+
+/**
+ * Inflates compressed HTTP response body chunk by chunk as it is received.
+ * <p>
+ * Keeps track of compressed bytes received and time spent on inflating, so the caller is able to report
+ * compression efficiency. Inflated part of single chunk is never allowed to grow beyond the response size limit,
+ * so highly compressed chunk is rejected while it is being inflated rather than after that.
+ * <p>
+ * Not thread-safe, should be used within single response handling.
+ */
+class ResponseBodyInflater {
+
+    private final long maxInflatedBytes;
+    private final EmbeddedChannel channel;
+
+    private long compressedBytes;
+    private long inflatedBytes;
+    private long inflateTimeNanos;
+    private long exceededInflatedBytes;
+    private boolean closed;
+
+    private ResponseBodyInflater(ZlibWrapper wrapper, long maxInflatedBytes) {
+        this.maxInflatedBytes = maxInflatedBytes;
+        channel = new EmbeddedChannel(new JdkZlibDecoder(wrapper, (int) Math.min(maxInflatedBytes, Integer.MAX_VALUE)) {
+            @Override
+            protected void decompressionBufferExhausted(ByteBuf buffer) {
+                exceededInflatedBytes = inflatedBytes + buffer.readableBytes();
+            }
+        });
+    }
+
+    /**
+     * Returns {@link ResponseBodyInflater} for the given Content-Encoding header value
+     * or null if response body is not compressed or encoding is not supported.
+     */
+    static ResponseBodyInflater forContentEncoding(String contentEncoding, long maxInflatedBytes) {
+        final String encoding = StringUtils.lowerCase(StringUtils.trim(contentEncoding));
+        if (encoding == null) {
+            return null;
+        }
+
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new ResponseBodyInflater(ZlibWrapper.GZIP, maxInflatedBytes);
+            case "deflate", "x-deflate" -> new ResponseBodyInflater(ZlibWrapper.ZLIB_OR_NONE, maxInflatedBytes);
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns inflated part of body available after consuming given compressed chunk.
+     *
+     * @throws ResponseSizeExceededException if inflated part exceeds the limit
+     */
+    Buffer inflate(Buffer chunk) {
+        final long startTime = System.nanoTime();
+        compressedBytes += chunk.length();
+
+        try {
+            channel.writeInbound(chunk.getByteBuf());
+        } catch (DecompressionException e) {
+            throw exceededInflatedBytes > 0 ? sizeExceeded() : e;
+        }
+        final Buffer result = readInflated();
+
+        inflateTimeNanos += System.nanoTime() - startTime;
+        return result;
+    }
+
+    /**
+     * Returns remaining inflated part of body and releases underlying resources.
+     *
+     * @throws ResponseSizeExceededException if inflated part exceeds the limit
+     */
+    Buffer finish() {
+        final long startTime = System.nanoTime();
+
+        try {
+            channel.finish();
+        } catch (DecompressionException e) {
+            throw exceededInflatedBytes > 0 ? sizeExceeded() : e;
+        }
+        final Buffer result = readInflated();
+        close();
+
+        inflateTimeNanos += System.nanoTime() - startTime;
+        return result;
+    }
+
+    /**
+     * Releases underlying resources, should be called if response handling was interrupted.
+     * Does nothing if inflater has been already closed.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            channel.finishAndReleaseAll();
+        } catch (DecoderException e) {
+            // decoder fails on remaining input of interrupted body, messages are released anyway
+        }
+    }
+
+    long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    long getInflateTimeNanos() {
+        return inflateTimeNanos;
+    }
+
+    private Buffer readInflated() {
+        final Buffer result = Buffer.buffer();
+
+        ByteBuf inflated;
+        while ((inflated = channel.readInbound()) != null) {
+            try {
+                inflatedBytes += inflated.readableBytes();
+                result.appendBuffer(Buffer.buffer(inflated));
+            } finally {
+                inflated.release();
+            }
+        }
+
+        return result;
+    }
+
+    private ResponseSizeExceededException sizeExceeded() {
+        return new ResponseSizeExceededException(
+                "Response size exceeded %d bytes limit".formatted(maxInflatedBytes), exceededInflatedBytes);
+    }
+}
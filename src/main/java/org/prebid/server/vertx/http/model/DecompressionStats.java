@@ -0,0 +1,16 @@
+package org.prebid.server.vertx.http.model;
+
+import lombok.Value;
+
+/**
+ * Holds information about inflating of compressed HTTP response body.
+ */
+@Value(staticConstructor = "of")
+public class DecompressionStats {
+
+    long compressedBytes;
+
+    long decompressedBytes;
+
+    long inflateTimeNanos;
+}
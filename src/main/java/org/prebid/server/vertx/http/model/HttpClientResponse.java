@@ -1,15 +1,25 @@
 package org.prebid.server.vertx.http.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 /**
  * Holds Http client response data.
  * <p>
  * Should be created in "bodyHandler(...) after response has been read."
+ * <p>
+ * Body can be held either as {@link String} or as raw {@link Buffer} received from the wire. In the latter case
+ * {@link String} representation is built only on demand and kept for subsequent calls, so consumers able to parse
+ * bytes directly should prefer {@link #getBodyBuffer()}.
  */
-@AllArgsConstructor(staticName = "of")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Value
 public class HttpClientResponse {
 
@@ -17,5 +27,51 @@ public class HttpClientResponse {
 
     MultiMap headers;
 
+    @Getter(AccessLevel.NONE)
     String body;
+
+    @Getter(AccessLevel.NONE)
+    Buffer bodyBuffer;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String decodedBody;
+
+    /**
+     * Present if response body was received compressed and inflated by client.
+     */
+    DecompressionStats decompressionStats;
+
+    public static HttpClientResponse of(int statusCode, MultiMap headers, String body) {
+        return new HttpClientResponse(statusCode, headers, body, null, null, null);
+    }
+
+    public static HttpClientResponse ofBuffer(int statusCode, MultiMap headers, Buffer body) {
+        return ofBuffer(statusCode, headers, body, null);
+    }
+
+    public static HttpClientResponse ofBuffer(int statusCode,
+                                              MultiMap headers,
+                                              Buffer body,
+                                              DecompressionStats decompressionStats) {
+
+        return new HttpClientResponse(statusCode, headers, null, body, null, decompressionStats);
+    }
+
+    public String getBody() {
+        if (body != null || bodyBuffer == null) {
+            return body;
+        }
+
+        if (decodedBody == null) {
+            decodedBody = bodyBuffer.toString();
+        }
+        return decodedBody;
+    }
+
+    public Buffer getBodyBuffer() {
+        return bodyBuffer != null || body == null ? bodyBuffer : Buffer.buffer(body);
+    }
 }
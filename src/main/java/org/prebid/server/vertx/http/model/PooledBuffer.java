@@ -0,0 +1,82 @@
+package org.prebid.server.vertx.http.model;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Request body held in {@link ByteBuf} taken from Netty's pooled allocator.
+ * <p>
+ * The memory is returned to the pool only by {@link #release()}, so whoever owns the buffer (eventually the HTTP
+ * client which writes it) should release it once the body has been written or it turned out it will not be.
+ * Releasing is idempotent, so each code path giving up the ownership can safely do it.
+ */
+public class PooledBuffer {
+
+    private final ByteBuf byteBuf;
+    private final Buffer buffer;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private volatile byte[] bytes;
+
+    private PooledBuffer(ByteBuf byteBuf) {
+        this.byteBuf = Objects.requireNonNull(byteBuf);
+        this.buffer = Buffer.buffer(byteBuf);
+    }
+
+    public static PooledBuffer of(ByteBuf byteBuf) {
+        return new PooledBuffer(byteBuf);
+    }
+
+    /**
+     * Returns Vert.x {@link Buffer} sharing the pooled memory, it should not be used after release.
+     */
+    public Buffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns {@link ByteBuffer} view of the pooled memory, it should not be used after release.
+     */
+    public ByteBuffer nioBuffer() {
+        return byteBuf.nioBuffer();
+    }
+
+    public int length() {
+        return byteBuf.readableBytes();
+    }
+
+    /**
+     * Returns copy of the body.
+     * <p>
+     * Copy is made once and shared by subsequent calls, so it should not be modified.
+     *
+     * @throws IllegalStateException if the buffer had been released before the copy was requested
+     */
+    public synchronized byte[] getBytes() {
+        if (bytes == null) {
+            if (released.get()) {
+                throw new IllegalStateException("Pooled buffer was released before its content was copied");
+            }
+
+            final byte[] copy = new byte[byteBuf.readableBytes()];
+            byteBuf.getBytes(byteBuf.readerIndex(), copy);
+            bytes = copy;
+        }
+
+        return bytes;
+    }
+
+    public boolean isReleased() {
+        return released.get();
+    }
+
+    public synchronized void release() {
+        if (released.compareAndSet(false, true)) {
+            byteBuf.release();
+        }
+    }
+}
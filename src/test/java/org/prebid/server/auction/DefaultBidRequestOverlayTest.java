@@ -0,0 +1,160 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Publisher;
+import com.iab.openrtb.request.Site;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.json.JsonMerger;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultBidRequestOverlayTest extends VertxTest {
+
+    private JsonMerger jsonMerger;
+
+    @Before
+    public void setUp() {
+        jsonMerger = new JsonMerger(jacksonMapper);
+    }
+
+    @Test
+    public void fieldNamesShouldCoverAllBidRequestFields() {
+        // given
+        final List<String> bidRequestFields = Arrays.stream(BidRequest.class.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .toList();
+
+        // when
+        final List<?> overlayFields = (List<?>) ReflectionTestUtils.getField(DefaultBidRequestOverlay.class, "FIELDS");
+
+        // then
+        assertThat(overlayFields)
+                .extracting(field -> ReflectionTestUtils.getField(field, "name"))
+                .containsExactlyInAnyOrderElementsOf(bidRequestFields);
+    }
+
+    @Test
+    public void applyShouldReturnSameRequestWhenDefaultRequestIsAbsent() {
+        // given
+        final DefaultBidRequestOverlay target = new DefaultBidRequestOverlay(null, jacksonMapper);
+        final BidRequest bidRequest = BidRequest.builder().id("id").build();
+
+        // when and then
+        assertThat(target.apply(bidRequest)).isSameAs(bidRequest);
+    }
+
+    @Test
+    public void applyShouldReturnSameRequestWhenAllDefaultLeafFieldsArePresent() {
+        // given
+        final DefaultBidRequestOverlay target = new DefaultBidRequestOverlay(
+                BidRequest.builder().tmax(1000L).cur(singletonList("USD")).build(), jacksonMapper);
+        final BidRequest bidRequest = BidRequest.builder().tmax(500L).cur(singletonList("EUR")).build();
+
+        // when and then
+        assertThat(target.apply(bidRequest)).isSameAs(bidRequest);
+    }
+
+    @Test
+    public void applyShouldFillAbsentFieldsFromDefaultRequest() {
+        // given
+        final BidRequest defaultBidRequest = BidRequest.builder()
+                .tmax(1000L)
+                .at(1)
+                .cur(singletonList("USD"))
+                .device(Device.builder().ua("ua").build())
+                .build();
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("id")
+                .imp(singletonList(Imp.builder().id("impId").build()))
+                .at(2)
+                .build();
+
+        // when and then
+        assertEquivalentToJsonMerge(defaultBidRequest, bidRequest);
+    }
+
+    @Test
+    public void applyShouldMergeObjectsPresentInBothRequests() {
+        // given
+        final BidRequest defaultBidRequest = BidRequest.builder()
+                .site(Site.builder()
+                        .domain("default.com")
+                        .publisher(Publisher.builder().id("defaultPublisherId").name("name").build())
+                        .build())
+                .ext(ExtRequest.of(ExtRequestPrebid.builder().debug(1).integration("default").build()))
+                .build();
+        final BidRequest bidRequest = BidRequest.builder()
+                .site(Site.builder()
+                        .page("http://page.com")
+                        .publisher(Publisher.builder().id("publisherId").build())
+                        .build())
+                .ext(ExtRequest.of(ExtRequestPrebid.builder().integration("integration").build()))
+                .build();
+
+        // when and then
+        assertEquivalentToJsonMerge(defaultBidRequest, bidRequest);
+    }
+
+    @Test
+    public void applyShouldKeepObjectOfRequestWhenItHasAllFieldsOfDefaultObject() {
+        // given
+        final DefaultBidRequestOverlay target = new DefaultBidRequestOverlay(
+                BidRequest.builder()
+                        .site(Site.builder()
+                                .domain("default.com")
+                                .publisher(Publisher.builder().id("defaultPublisherId").build())
+                                .build())
+                        .build(),
+                jacksonMapper);
+        final Site site = Site.builder()
+                .domain("domain.com")
+                .page("http://page.com")
+                .publisher(Publisher.builder().id("publisherId").name("name").build())
+                .build();
+
+        // when
+        final BidRequest result = target.apply(BidRequest.builder().site(site).build());
+
+        // then
+        assertThat(result.getSite()).isSameAs(site);
+    }
+
+    @Test
+    public void applyShouldNotMergeListsOfRequests() {
+        // given
+        final BidRequest defaultBidRequest = BidRequest.builder()
+                .cur(asList("USD", "EUR"))
+                .bcat(singletonList("IAB1"))
+                .imp(singletonList(Imp.builder().id("defaultImpId").tagid("tagId").build()))
+                .build();
+        final BidRequest bidRequest = BidRequest.builder()
+                .cur(singletonList("UAH"))
+                .imp(singletonList(Imp.builder().id("impId").build()))
+                .build();
+
+        // when and then
+        assertEquivalentToJsonMerge(defaultBidRequest, bidRequest);
+    }
+
+    private void assertEquivalentToJsonMerge(BidRequest defaultBidRequest, BidRequest bidRequest) {
+        final DefaultBidRequestOverlay target = new DefaultBidRequestOverlay(defaultBidRequest, jacksonMapper);
+
+        assertThat(target.apply(bidRequest))
+                .isEqualTo(jsonMerger.merge(bidRequest, defaultBidRequest, BidRequest.class));
+    }
+}
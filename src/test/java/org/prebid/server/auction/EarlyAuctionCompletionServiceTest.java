@@ -0,0 +1,391 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.response.Bid;
+import io.vertx.core.Future;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.BidRejectionReason;
+import org.prebid.server.auction.model.BidRejectionTracker;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderError;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.proto.openrtb.ext.response.BidType;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.AccountAuctionConfig;
+import org.prebid.server.settings.model.AccountEarlyCompletionConfig;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class EarlyAuctionCompletionServiceTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private BidderCatalog bidderCatalog;
+
+    private Clock clock;
+
+    private BidderAliases aliases;
+
+    private Map<String, Promise<BidderResponse>> bidderToPromise;
+    private Map<String, BooleanSupplier> bidderToCancelled;
+
+    private EarlyAuctionCompletionService target;
+
+    @Before
+    public void setUp() {
+        clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        aliases = BidderAliases.of(emptyMap(), emptyMap(), bidderCatalog);
+        bidderToPromise = new HashMap<>();
+        bidderToCancelled = new HashMap<>();
+
+        target = new EarlyAuctionCompletionService(vertx, metrics, clock);
+    }
+
+    @Test
+    public void requestBidsShouldWaitForAllBiddersWhenEarlyCompletionIsNotEnabled() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(null, "bidder1", "bidder2");
+
+        // when
+        final Future<List<AuctionParticipation>> result = requestBids(auctionContext);
+        respond("bidder1", BigDecimal.ONE);
+
+        // then
+        assertThat(result.isComplete()).isFalse();
+
+        respond("bidder2", BigDecimal.ONE);
+
+        assertThat(result.result())
+                .extracting(AuctionParticipation::getBidderResponse)
+                .extracting(BidderResponse::getBidder)
+                .containsExactly("bidder1", "bidder2");
+        verifyNoInteractions(vertx, metrics);
+    }
+
+    @Test
+    public void requestBidsShouldCompleteWhenRequiredBiddersAnsweredAndCancelOthers() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(
+                AccountEarlyCompletionConfig.builder().enabled(true).requiredBidders(singletonList("bidder1")).build(),
+                "bidder1", "bidder2");
+
+        final BidRejectionTracker bidder2Tracker = auctionContext.getBidRejectionTrackers().get("bidder2");
+
+        // when
+        final Future<List<AuctionParticipation>> result = requestBids(auctionContext);
+        respond("bidder1", BigDecimal.ONE);
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        assertThat(bidderToCancelled.get("bidder1").getAsBoolean()).isFalse();
+        assertThat(bidderToCancelled.get("bidder2").getAsBoolean()).isTrue();
+        final AuctionParticipation cancelled = result.result().get(1);
+        assertThat(cancelled.getBidderResponse().getSeatBid().getBids()).isEmpty();
+        assertThat(cancelled.getBidderResponse().getSeatBid().getErrors())
+                .extracting(BidderError::getType)
+                .containsExactly(BidderError.Type.timeout);
+        assertThat(auctionContext.getBidRejectionTrackers().get("bidder2").getRejectionReasons())
+                .containsExactly(Map.entry("impId", BidRejectionReason.TIMED_OUT));
+        verify(metrics).updateAdapterRequestErrorMetric("bidder2", MetricName.cancelled);
+
+        // late response is ignored and can not restore bids of cancelled bidder from rejection
+        bidder2Tracker.succeed("impId");
+        respond("bidder2", BigDecimal.TEN);
+        assertThat(result.result().get(1)).isSameAs(cancelled);
+        assertThat(auctionContext.getBidRejectionTrackers().get("bidder2").getRejectionReasons())
+                .containsExactly(Map.entry("impId", BidRejectionReason.TIMED_OUT));
+    }
+
+    @Test
+    public void requestBidsShouldCompleteWhenExpectedRevenueFractionAnswered() {
+        // given
+        final AccountEarlyCompletionConfig config = AccountEarlyCompletionConfig.builder()
+                .enabled(true)
+                .revenueFraction(0.8)
+                .build();
+
+        // bidders revenue is not known yet, so the first auction waits for all of them
+        final Future<List<AuctionParticipation>> firstResult =
+                requestBids(givenAuctionContext(config, "bidder1", "bidder2"));
+        respond("bidder1", BigDecimal.valueOf(9));
+        assertThat(firstResult.isComplete()).isFalse();
+        respond("bidder2", BigDecimal.ONE);
+        assertThat(firstResult.succeeded()).isTrue();
+
+        // when
+        final Future<List<AuctionParticipation>> result =
+                requestBids(givenAuctionContext(config, "bidder1", "bidder2"));
+        respond("bidder1", BigDecimal.valueOf(9));
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        verify(metrics).updateAdapterRequestErrorMetric("bidder2", MetricName.cancelled);
+    }
+
+    @Test
+    public void requestBidsShouldNotCountAnsweredBidderWithoutBidsTowardsRevenueFraction() {
+        // given
+        final AccountEarlyCompletionConfig config = AccountEarlyCompletionConfig.builder()
+                .enabled(true)
+                .revenueFraction(0.8)
+                .build();
+
+        requestBids(givenAuctionContext(config, "bidder1", "bidder2"));
+        respond("bidder1", BigDecimal.valueOf(9));
+        respond("bidder2", BigDecimal.ONE);
+
+        // when
+        final Future<List<AuctionParticipation>> result =
+                requestBids(givenAuctionContext(config, "bidder1", "bidder2"));
+        respondWithNoBids("bidder1");
+
+        // then
+        assertThat(result.isComplete()).isFalse();
+        verify(metrics, never()).updateAdapterRequestErrorMetric(any(), any());
+    }
+
+    @Test
+    public void requestBidsShouldExpectAverageRevenueFromBidderHavingNoHistory() {
+        // given
+        final AccountEarlyCompletionConfig config = AccountEarlyCompletionConfig.builder()
+                .enabled(true)
+                .revenueFraction(0.8)
+                .build();
+
+        requestBids(givenAuctionContext(config, "bidder1", "bidder2"));
+        respond("bidder1", BigDecimal.valueOf(9));
+        respond("bidder2", BigDecimal.ONE);
+
+        // when
+        final Future<List<AuctionParticipation>> result =
+                requestBids(givenAuctionContext(config, "bidder1", "bidder2", "newBidder"));
+        respond("bidder1", BigDecimal.valueOf(9));
+
+        // then
+        assertThat(result.isComplete()).isFalse();
+
+        respond("newBidder", BigDecimal.valueOf(5));
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(bidderToCancelled.get("newBidder").getAsBoolean()).isFalse();
+        verify(metrics).updateAdapterRequestErrorMetric("bidder2", MetricName.cancelled);
+    }
+
+    @Test
+    public void requestBidsShouldRecordRevenueOfLateResponses() {
+        // given
+        final Future<List<AuctionParticipation>> firstResult = requestBids(givenAuctionContext(
+                AccountEarlyCompletionConfig.builder().enabled(true).requiredBidders(singletonList("bidder1")).build(),
+                "bidder1", "bidder2"));
+        respond("bidder1", BigDecimal.ONE);
+        assertThat(firstResult.succeeded()).isTrue();
+        respond("bidder2", BigDecimal.TEN);
+
+        // when
+        final Future<List<AuctionParticipation>> result = requestBids(givenAuctionContext(
+                AccountEarlyCompletionConfig.builder().enabled(true).revenueFraction(0.8).build(),
+                "bidder1", "bidder2"));
+        respond("bidder1", BigDecimal.valueOf(2));
+
+        // then
+        assertThat(result.isComplete()).isFalse();
+
+        respond("bidder2", BigDecimal.TEN);
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result())
+                .extracting(AuctionParticipation::getBidderResponse)
+                .extracting(BidderResponse::getSeatBid)
+                .flatExtracting(BidderSeatBid::getBids)
+                .hasSize(2);
+    }
+
+    @Test
+    public void requestBidsShouldNotUseExpectedRevenueLearnedForOtherAccount() {
+        // given
+        final AccountEarlyCompletionConfig config = AccountEarlyCompletionConfig.builder()
+                .enabled(true)
+                .revenueFraction(0.8)
+                .build();
+
+        requestBids(givenAuctionContext("otherAccountId", config, "bidder1", "bidder2"));
+        respond("bidder1", BigDecimal.valueOf(9));
+        respond("bidder2", BigDecimal.ONE);
+
+        // when
+        final Future<List<AuctionParticipation>> result =
+                requestBids(givenAuctionContext(config, "bidder1", "bidder2"));
+        respond("bidder1", BigDecimal.valueOf(9));
+
+        // then
+        assertThat(result.isComplete()).isFalse();
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    public void requestBidsShouldHandleResponsesOnContextAuctionWasStartedOn() throws InterruptedException {
+        // given
+        final Vertx vertx = Vertx.vertx();
+        target = new EarlyAuctionCompletionService(vertx, metrics, clock);
+        final AuctionContext auctionContext = givenAuctionContext(
+                AccountEarlyCompletionConfig.builder().enabled(true).requiredBidders(singletonList("bidder1")).build(),
+                "bidder1", "bidder2");
+
+        final Context context = vertx.getOrCreateContext();
+        final AtomicReference<Context> completionContext = new AtomicReference<>();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch completionLatch = new CountDownLatch(1);
+        context.runOnContext(ignored -> {
+            requestBids(auctionContext).onComplete(result -> {
+                completionContext.set(Vertx.currentContext());
+                completionLatch.countDown();
+            });
+            startLatch.countDown();
+        });
+        assertThat(startLatch.await(5L, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        respond("bidder1", BigDecimal.ONE);
+
+        // then
+        assertThat(completionLatch.await(5L, TimeUnit.SECONDS)).isTrue();
+        assertThat(completionContext.get()).isSameAs(context);
+
+        vertx.close();
+    }
+
+    @Test
+    public void requestBidsShouldCompleteOnSoftDeadlineOnlyWhenAnyBidderAnswered() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(
+                AccountEarlyCompletionConfig.builder().enabled(true).softDeadlineMs(100L).build(),
+                "bidder1", "bidder2");
+
+        // when
+        final Future<List<AuctionParticipation>> result = requestBids(auctionContext);
+        fireSoftDeadline();
+
+        // then
+        assertThat(result.isComplete()).isFalse();
+
+        respond("bidder1", BigDecimal.ONE);
+
+        assertThat(result.succeeded()).isTrue();
+        verify(metrics).updateAdapterRequestErrorMetric("bidder2", MetricName.cancelled);
+    }
+
+    @Test
+    public void requestBidsShouldNotCancelBiddersWhenAllAnsweredBeforeSoftDeadline() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(
+                AccountEarlyCompletionConfig.builder().enabled(true).softDeadlineMs(100L).build(),
+                "bidder1", "bidder2");
+
+        // when
+        final Future<List<AuctionParticipation>> result = requestBids(auctionContext);
+        respond("bidder1", BigDecimal.ONE);
+        respond("bidder2", BigDecimal.ONE);
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        verify(vertx).cancelTimer(anyLong());
+        verify(metrics, never()).updateAdapterRequestErrorMetric(any(), any());
+    }
+
+    private Future<List<AuctionParticipation>> requestBids(AuctionContext auctionContext) {
+        return target.requestBids(auctionContext, aliases, (auctionParticipation, cancelled) -> {
+            final Promise<BidderResponse> promise = Promise.promise();
+            bidderToPromise.put(auctionParticipation.getBidder(), promise);
+            bidderToCancelled.put(auctionParticipation.getBidder(), cancelled);
+            return promise.future().map(auctionParticipation::with);
+        });
+    }
+
+    private void respond(String bidder, BigDecimal price) {
+        final BidderBid bidderBid = BidderBid.of(
+                Bid.builder().impid("impId").price(price).build(), BidType.banner, null);
+        final BidderSeatBid seatBid = BidderSeatBid.builder().bids(singletonList(bidderBid)).build();
+
+        bidderToPromise.get(bidder).complete(BidderResponse.of(bidder, seatBid, 10));
+    }
+
+    private void respondWithNoBids(String bidder) {
+        bidderToPromise.get(bidder).complete(BidderResponse.of(bidder, BidderSeatBid.empty(), 10));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fireSoftDeadline() {
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(eq(100L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+    }
+
+    private AuctionContext givenAuctionContext(AccountEarlyCompletionConfig config, String... bidders) {
+        return givenAuctionContext("accountId", config, bidders);
+    }
+
+    private AuctionContext givenAuctionContext(String accountId,
+                                               AccountEarlyCompletionConfig config,
+                                               String... bidders) {
+
+        final Map<String, BidRejectionTracker> bidRejectionTrackers = new HashMap<>();
+        for (String bidder : bidders) {
+            bidRejectionTrackers.put(bidder, new BidRejectionTracker(bidder, Set.of("impId"), 0));
+        }
+
+        return AuctionContext.builder()
+                .account(Account.builder()
+                        .id(accountId)
+                        .auction(AccountAuctionConfig.builder().earlyCompletion(config).build())
+                        .build())
+                .auctionParticipations(Arrays.stream(bidders)
+                        .map(bidder -> AuctionParticipation.builder().bidder(bidder).build())
+                        .toList())
+                .bidRejectionTrackers(bidRejectionTrackers)
+                .startTime(clock.millis())
+                .build();
+    }
+}
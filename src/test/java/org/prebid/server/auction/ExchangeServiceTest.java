@@ -2,6 +2,7 @@ package org.prebid.server.auction;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.App;
@@ -30,6 +31,8 @@ import com.iab.openrtb.response.Bid;
 import com.iab.openrtb.response.BidResponse;
 import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.apache.commons.collections4.MapUtils;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.Before;
@@ -95,6 +98,7 @@ import org.prebid.server.hooks.v1.analytics.ActivityImpl;
 import org.prebid.server.hooks.v1.analytics.AppliedToImpl;
 import org.prebid.server.hooks.v1.analytics.ResultImpl;
 import org.prebid.server.hooks.v1.analytics.TagsImpl;
+import org.prebid.server.hooks.v1.bidder.BidderRequestPayload;
 import org.prebid.server.log.CriteriaLogManager;
 import org.prebid.server.log.HttpInteractionLogger;
 import org.prebid.server.metric.MetricName;
@@ -149,6 +153,7 @@ import org.prebid.server.proto.openrtb.ext.response.ExtResponseDebug;
 import org.prebid.server.proto.openrtb.ext.response.FledgeAuctionConfig;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountAuctionConfig;
+import org.prebid.server.settings.model.AccountEarlyCompletionConfig;
 import org.prebid.server.settings.model.AccountEventsConfig;
 import org.prebid.server.spring.config.bidder.model.CompressionType;
 import org.prebid.server.validation.ResponseBidValidator;
@@ -217,6 +222,9 @@ public class ExchangeServiceTest extends VertxTest {
     @Mock
     private BidderCatalog bidderCatalog;
 
+    @Mock
+    private Vertx vertx;
+
     @Mock
     private StoredResponseProcessor storedResponseProcessor;
 
@@ -325,7 +333,11 @@ public class ExchangeServiceTest extends VertxTest {
                 0,
                 false,
                 false,
-                CompressionType.NONE));
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null));
 
         given(privacyEnforcementService.mask(any(), argThat(MapUtils::isNotEmpty), any(), any()))
                 .willAnswer(inv ->
@@ -430,6 +442,7 @@ public class ExchangeServiceTest extends VertxTest {
                 timeoutFactory,
                 ortbVersionConversionManager,
                 httpBidderRequester,
+                new EarlyAuctionCompletionService(vertx, metrics, clock),
                 responseBidValidator,
                 currencyService,
                 bidResponseCreator,
@@ -465,6 +478,7 @@ public class ExchangeServiceTest extends VertxTest {
                         timeoutFactory,
                         ortbVersionConversionManager,
                         httpBidderRequester,
+                        new EarlyAuctionCompletionService(vertx, metrics, clock),
                         responseBidValidator,
                         currencyService,
                         bidResponseCreator,
@@ -671,6 +685,77 @@ public class ExchangeServiceTest extends VertxTest {
         verifyNoInteractions(httpBidderRequester);
     }
 
+    @Test
+    public void shouldNotRequestBidsFromBidderCancelledByEarlyAuctionCompletion() {
+        // given
+        final Bidder<?> bidder1 = mock(Bidder.class);
+        final Bidder<?> bidder2 = mock(Bidder.class);
+        givenBidder("bidder1", bidder1, givenEmptySeatBid());
+        givenBidder("bidder2", bidder2, givenEmptySeatBid());
+
+        final Promise<HookStageExecutionResult<BidderRequestPayload>> bidder2HooksPromise = Promise.promise();
+        doReturn(bidder2HooksPromise.future()).when(hookStageExecutor)
+                .executeBidderRequestStage(argThat(request -> "bidder2".equals(request.getBidder())), any());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(doubleMap("bidder1", 1, "bidder2", 2)),
+                identity());
+        final Account account = Account.builder()
+                .id("accountId")
+                .auction(AccountAuctionConfig.builder()
+                        .earlyCompletion(AccountEarlyCompletionConfig.builder()
+                                .enabled(true)
+                                .requiredBidders(singletonList("bidder1"))
+                                .build())
+                        .build())
+                .build();
+
+        // when
+        final Future<AuctionContext> result = exchangeService.holdAuction(givenRequestContext(bidRequest, account));
+        bidder2HooksPromise.complete(HookStageExecutionResult.of(false, BidderRequestPayloadImpl.of(bidRequest)));
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        verify(httpBidderRequester).requestBids(same(bidder1), any(), any(), any(), any(), any(), anyBoolean());
+        verify(httpBidderRequester, never())
+                .requestBids(same(bidder2), any(), any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void shouldNotInvokeRawBidderResponseHooksForLateResponseOfCancelledBidder() {
+        // given
+        final Bidder<?> bidder1 = mock(Bidder.class);
+        final Bidder<?> bidder2 = mock(Bidder.class);
+        givenBidder("bidder1", bidder1, givenEmptySeatBid());
+        givenBidder("bidder2", bidder2, givenEmptySeatBid());
+
+        final Promise<BidderSeatBid> bidder2ResponsePromise = Promise.promise();
+        given(httpBidderRequester.requestBids(same(bidder2), any(), any(), any(), any(), any(), anyBoolean()))
+                .willReturn(bidder2ResponsePromise.future());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(doubleMap("bidder1", 1, "bidder2", 2)),
+                identity());
+        final Account account = Account.builder()
+                .id("accountId")
+                .auction(AccountAuctionConfig.builder()
+                        .earlyCompletion(AccountEarlyCompletionConfig.builder()
+                                .enabled(true)
+                                .requiredBidders(singletonList("bidder1"))
+                                .build())
+                        .build())
+                .build();
+
+        // when
+        final Future<AuctionContext> result = exchangeService.holdAuction(givenRequestContext(bidRequest, account));
+        bidder2ResponsePromise.complete(givenEmptySeatBid());
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        verify(hookStageExecutor).executeRawBidderResponseStage(
+                argThat(bidderResponse -> "bidder1".equals(bidderResponse.getBidder())), any());
+        verify(hookStageExecutor, never()).executeRawBidderResponseStage(
+                argThat(bidderResponse -> "bidder2".equals(bidderResponse.getBidder())), any());
+    }
+
     @Test
     public void shouldPassRequestModifiedByBidderRequestHooks() {
         // given
@@ -953,6 +1038,54 @@ public class ExchangeServiceTest extends VertxTest {
         assertThat(capturedBidRequest3.getExt().getPrebid().getSchains()).isNull();
     }
 
+    @Test
+    public void shouldShareEqualPartsBetweenBidderRequests() {
+        // given
+        final Bidder<?> bidder1 = mock(Bidder.class);
+        final Bidder<?> bidder2 = mock(Bidder.class);
+        givenBidder("bidder1", bidder1, givenEmptySeatBid());
+        givenBidder("bidder2", bidder2, givenEmptySeatBid());
+
+        final ObjectNode impExt = mapper.valueToTree(doubleMap(
+                "prebid", doubleMap(
+                        "is_rewarded_inventory", 1,
+                        "bidder", doubleMap("bidder1", 1, "bidder2", 2)),
+                "data", singletonMap("pbadslot", "slot")));
+        final BidRequest bidRequest = givenBidRequest(
+                singletonList(Imp.builder().id("impId").ext(impExt).build()),
+                builder -> builder
+                        .site(Site.builder().id("siteId").build())
+                        .source(Source.builder().tid("tid").build()));
+
+        final SupplyChain schain = SupplyChain.of(1, emptyList(), "ver", null);
+        given(supplyChainResolver.resolveForBidder(any(), any())).willReturn(schain);
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        final ArgumentCaptor<BidderRequest> bidRequest1Captor = ArgumentCaptor.forClass(BidderRequest.class);
+        verify(httpBidderRequester)
+                .requestBids(same(bidder1), bidRequest1Captor.capture(), any(), any(), any(), any(), anyBoolean());
+        final BidRequest capturedBidRequest1 = bidRequest1Captor.getValue().getBidRequest();
+
+        final ArgumentCaptor<BidderRequest> bidRequest2Captor = ArgumentCaptor.forClass(BidderRequest.class);
+        verify(httpBidderRequester)
+                .requestBids(same(bidder2), bidRequest2Captor.capture(), any(), any(), any(), any(), anyBoolean());
+        final BidRequest capturedBidRequest2 = bidRequest2Captor.getValue().getBidRequest();
+
+        assertThat(capturedBidRequest1.getSite()).isSameAs(capturedBidRequest2.getSite());
+        assertThat(capturedBidRequest1.getSource()).isSameAs(capturedBidRequest2.getSource());
+        assertThat(capturedBidRequest1.getSource().getSchain()).isEqualTo(schain);
+
+        final ObjectNode impExt1 = capturedBidRequest1.getImp().get(0).getExt();
+        final ObjectNode impExt2 = capturedBidRequest2.getImp().get(0).getExt();
+        assertThat(impExt1.get("prebid")).isSameAs(impExt2.get("prebid"));
+        assertThat(impExt1.get("data")).isSameAs(impExt2.get("data")).isSameAs(impExt.get("data"));
+        assertThat(impExt1.get("bidder")).isEqualTo(IntNode.valueOf(1));
+        assertThat(impExt2.get("bidder")).isEqualTo(IntNode.valueOf(2));
+    }
+
     @Test
     public void shouldReturnFailedFutureWithUnchangedMessageWhenPrivacyEnforcementServiceFails() {
         // given
@@ -3196,6 +3329,23 @@ public class ExchangeServiceTest extends VertxTest {
                 eq("someBidder"), any(), eq(10000L), eq(false), eq("banner"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldUpdateAuctionStageMetrics() {
+        // given
+        givenBidder(givenEmptySeatBid());
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        final ArgumentCaptor<Map<MetricName, Long>> stageToNanosCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(metrics).updateAuctionStageMetrics(any(), stageToNanosCaptor.capture());
+        assertThat(stageToNanosCaptor.getValue())
+                .containsOnlyKeys(MetricName.privacy, MetricName.bidder_requests, MetricName.bidder_calls);
+    }
+
     @Test
     public void shouldCallUpdateCookieMetricsWithExpectedValue() {
         // given
@@ -4405,6 +4555,7 @@ public class ExchangeServiceTest extends VertxTest {
                 timeoutFactory,
                 ortbVersionConversionManager,
                 httpBidderRequester,
+                new EarlyAuctionCompletionService(vertx, metrics, clock),
                 responseBidValidator,
                 currencyService,
                 bidResponseCreator,
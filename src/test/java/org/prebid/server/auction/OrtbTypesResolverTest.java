@@ -4,13 +4,19 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.IntNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import com.sun.management.ThreadMXBean;
+import io.vertx.core.buffer.Buffer;
 import org.junit.Test;
 import org.prebid.server.VertxTest;
 import org.prebid.server.json.JsonMerger;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -561,6 +567,125 @@ public class OrtbTypesResolverTest extends VertxTest {
         assertThat(fpd.path("app")).isEqualTo(requestFpdApp);
     }
 
+    @Test
+    public void parseBidRequestShouldResolveTypesSameWayAsNormalizeBidRequest() throws IOException {
+        // given
+        final ObjectNode requestNode = mapper.createObjectNode();
+        requestNode.set("imp", array(obj("id", "imp1"), obj("id", "imp2"), obj("id", "imp3")));
+        requestNode.set("user", obj("gender", array("male", "female"))
+                .<ObjectNode>set("keywords", array("keyword1", "keyword2"))
+                .set("data", obj("dataField", "dataValue")));
+        requestNode.set("site", obj("id", array("id1", "id2")).set("ext", obj("data", obj("extField", "extValue"))));
+        requestNode.set("ext", obj("prebid", obj("bidderconfig", array(obj("config",
+                obj("fpd", obj("context", obj("name", array("name1", "name2"))))
+                        .set("ortb2", obj("user", obj("keywords", array("keyword3", "keyword4")))))))));
+
+        final Buffer body = Buffer.buffer(mapper.writeValueAsBytes(requestNode));
+
+        final List<String> expectedWarnings = new ArrayList<>();
+        ortbTypesResolver.normalizeBidRequest(requestNode, expectedWarnings, "referer");
+
+        final List<String> warnings = new ArrayList<>();
+
+        // when
+        final BidRequest result = ortbTypesResolver.parseBidRequest(body, warnings, "referer");
+
+        // then
+        assertThat(result).isEqualTo(mapper.treeToValue(requestNode, BidRequest.class));
+        assertThat(warnings).hasSize(5).containsExactlyInAnyOrderElementsOf(expectedWarnings);
+    }
+
+    @Test
+    public void parseBidRequestShouldIgnoreSiteIfItsTypeIsNotObject() throws IOException {
+        // given
+        final List<String> warnings = new ArrayList<>();
+
+        // when
+        final BidRequest result = ortbTypesResolver.parseBidRequest(Buffer.buffer("{\"id\":\"id\",\"site\":\"site\"}"),
+                warnings, "referer");
+
+        // then
+        assertThat(result).isEqualTo(BidRequest.builder().id("id").build());
+        assertThat(warnings).containsExactly(
+                "WARNING: bidrequest.site field ignored. Expected type is object, but was `STRING`.");
+    }
+
+    @Test
+    public void parseBidRequestShouldIgnoreUserIfItIsNull() throws IOException {
+        // given
+        final List<String> warnings = new ArrayList<>();
+
+        // when
+        final BidRequest result = ortbTypesResolver.parseBidRequest(Buffer.buffer("{\"id\":\"id\",\"user\":null}"),
+                warnings, "referer");
+
+        // then
+        assertThat(result).isEqualTo(BidRequest.builder().id("id").build());
+        assertThat(warnings).containsExactly(
+                "WARNING: bidrequest.user field ignored. Expected type is object, but was `NULL`.");
+    }
+
+    @Test
+    public void parseBidRequestShouldNotWarnIfUserIsAbsent() throws IOException {
+        // given
+        final List<String> warnings = new ArrayList<>();
+
+        // when
+        final BidRequest result = ortbTypesResolver.parseBidRequest(Buffer.buffer("{\"id\":\"id\"}"),
+                warnings, "referer");
+
+        // then
+        assertThat(result).isEqualTo(BidRequest.builder().id("id").build());
+        assertThat(warnings).isEmpty();
+    }
+
+    @Test
+    public void parseBidRequestShouldAllocateLessThanNormalizingWholeRequestTree() throws IOException {
+        // given
+        final ObjectNode requestNode = mapper.createObjectNode();
+        final ArrayNode imps = requestNode.putArray("imp");
+        IntStream.range(0, 50).forEach(i -> imps.add(obj("id", "imp" + i)
+                .<ObjectNode>set("banner", obj("format", array(obj("w", "300").put("h", 250))))
+                .set("ext", obj("prebid", obj("bidder", obj("bidder" + i, obj("placementId", "id" + i)))))));
+        requestNode.set("user", obj("gender", array("male", "female")).set("keywords", array("k1", "k2")));
+        requestNode.set("site", obj("id", "siteId").set("ext", obj("data", obj("extField", "extValue"))));
+
+        final Buffer body = Buffer.buffer(mapper.writeValueAsBytes(requestNode));
+
+        final ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        final int rounds = 200;
+        for (int i = 0; i < rounds; i++) {
+            ortbTypesResolver.parseBidRequest(body, new ArrayList<>(), "referer");
+            normalizeAndConvertTree(body);
+        }
+
+        // when
+        final long parsingStart = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < rounds; i++) {
+            ortbTypesResolver.parseBidRequest(body, new ArrayList<>(), "referer");
+        }
+        final long parsingAllocated = threadMXBean.getThreadAllocatedBytes(threadId) - parsingStart;
+
+        final long treeStart = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < rounds; i++) {
+            normalizeAndConvertTree(body);
+        }
+        final long treeAllocated = threadMXBean.getThreadAllocatedBytes(threadId) - treeStart;
+
+        // then
+        assertThat(ortbTypesResolver.parseBidRequest(body, new ArrayList<>(), "referer"))
+                .isEqualTo(normalizeAndConvertTree(body));
+        assertThat(parsingAllocated).isLessThan(treeAllocated);
+    }
+
+    private BidRequest normalizeAndConvertTree(Buffer body) throws IOException {
+        final JsonNode requestNode = mapper.readTree(body.getBytes());
+        ortbTypesResolver.normalizeBidRequest(requestNode, new ArrayList<>(), "referer");
+        return mapper.treeToValue(requestNode, BidRequest.class);
+    }
+
     private static ArrayNode array(String... fields) {
         final ArrayNode arrayNode = mapper.createArrayNode();
         Arrays.stream(fields).forEach(arrayNode::add);
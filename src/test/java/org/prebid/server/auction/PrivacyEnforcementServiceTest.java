@@ -1941,6 +1941,10 @@ public class PrivacyEnforcementServiceTest extends VertxTest {
                 gdprVendorId,
                 enforceCcpa,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
     }
 }
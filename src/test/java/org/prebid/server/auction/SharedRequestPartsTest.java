@@ -0,0 +1,128 @@
+package org.prebid.server.auction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.Imp;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.json.JsonMerger;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedRequestPartsTest extends VertxTest {
+
+    private SharedRequestParts target;
+
+    @Before
+    public void setUp() {
+        target = new SharedRequestParts(new FpdResolver(jacksonMapper, new JsonMerger(jacksonMapper)), jacksonMapper);
+    }
+
+    @Test
+    public void impShouldReturnSameImpForEqualFloorAndBidderParams() {
+        // given
+        final Imp imp = givenImp(0, 2);
+        final JsonNode bidderParams = mapper.createObjectNode().put("placementId", 1);
+
+        // when
+        final Imp first = target.imp(imp, BigDecimal.ONE, bidderParams, true);
+        final Imp second = target.imp(imp, BigDecimal.ONE, bidderParams.deepCopy(), true);
+        final Imp otherFloor = target.imp(imp, BigDecimal.TEN, bidderParams, true);
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(otherFloor).isNotSameAs(first);
+        assertThat(otherFloor.getBidfloor()).isEqualTo(BigDecimal.TEN);
+        assertThat(otherFloor.getExt().get("prebid")).isNotSameAs(first.getExt().get("prebid"));
+    }
+
+    @Test
+    public void impShouldPrepareExtWithoutOtherBiddersAndShareNestedNodes() {
+        // given
+        final Imp imp = givenImp(0, 2);
+        final ObjectNode impExt = imp.getExt();
+        final JsonNode bidder0Params = impExt.at("/prebid/bidder/bidder0");
+        final JsonNode bidder1Params = impExt.at("/prebid/bidder/bidder1");
+
+        // when
+        final ObjectNode ext0 = target.imp(imp, BigDecimal.ONE, bidder0Params, true).getExt();
+        final ObjectNode ext1 = target.imp(imp, BigDecimal.ONE, bidder1Params, true).getExt();
+
+        // then
+        assertThat(ext0).isNotSameAs(ext1).isNotSameAs(impExt);
+        assertThat(ext0.get("bidder")).isSameAs(bidder0Params);
+        assertThat(ext1.get("bidder")).isSameAs(bidder1Params);
+        assertThat(ext0.get("data")).isSameAs(ext1.get("data")).isSameAs(impExt.get("data"));
+        assertThat(ext0.get("prebid")).isSameAs(ext1.get("prebid"));
+        assertThat(ext0.get("prebid").has("bidder")).isFalse();
+        assertThat(impExt.at("/prebid/bidder").size()).isEqualTo(2);
+    }
+
+    @Test
+    public void impShouldAllocateOnlyTopLevelExtPerBidderOnFanOut() {
+        // given
+        final int bidders = 20;
+        final int imps = 10;
+        final List<Imp> originalImps = IntStream.range(0, imps).mapToObj(i -> givenImp(i, bidders)).toList();
+
+        // when
+        final List<ObjectNode> preparedExts = new ArrayList<>();
+        for (int bidder = 0; bidder < bidders; bidder++) {
+            for (Imp imp : originalImps) {
+                final JsonNode bidderParams = imp.getExt().at("/prebid/bidder/bidder" + bidder);
+                preparedExts.add(target.imp(imp, BigDecimal.ONE, bidderParams, true).getExt());
+            }
+        }
+
+        // then
+        final Set<JsonNode> originalNodes = containerNodes(originalImps.stream().map(Imp::getExt).toList());
+        final Set<JsonNode> allocatedNodes = containerNodes(preparedExts);
+        allocatedNodes.removeAll(originalNodes);
+
+        // one ext per bidder imp and one imp.ext.prebid per imp, while deep copy would copy each nested node as well
+        assertThat(allocatedNodes).hasSize(bidders * imps + imps);
+        assertThat(preparedExts.stream().mapToInt(ext -> containerNodes(List.of(ext)).size()).sum())
+                .isEqualTo(bidders * imps * 5);
+    }
+
+    private static Imp givenImp(int index, int bidders) {
+        final ObjectNode impExt = mapper.createObjectNode();
+
+        final ObjectNode prebid = impExt.putObject("prebid");
+        prebid.put("is_rewarded_inventory", 1);
+        final ObjectNode bidderToParams = prebid.putObject("bidder");
+        for (int i = 0; i < bidders; i++) {
+            bidderToParams.putObject("bidder" + i).put("placementId", index * bidders + i);
+        }
+
+        final ObjectNode data = impExt.putObject("data");
+        data.put("pbadslot", "slot" + index);
+        data.putObject("adserver").put("name", "gam");
+
+        return Imp.builder().id("impId" + index).ext(impExt).build();
+    }
+
+    /**
+     * Returns object and array nodes reachable from given nodes, compared by identity.
+     */
+    private static Set<JsonNode> containerNodes(List<? extends JsonNode> nodes) {
+        final Set<JsonNode> containers = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<JsonNode> pending = new ArrayList<>(nodes);
+        while (!pending.isEmpty()) {
+            final JsonNode node = pending.remove(pending.size() - 1);
+            if (node.isContainerNode() && containers.add(node)) {
+                node.forEach(pending::add);
+            }
+        }
+        return containers;
+    }
+}
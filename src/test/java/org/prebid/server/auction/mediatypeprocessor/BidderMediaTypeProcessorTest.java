@@ -181,7 +181,11 @@ public class BidderMediaTypeProcessorTest extends VertxTest {
                 0,
                 false,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
     }
 
     private static BidRequest givenBidRequest(UnaryOperator<BidRequest.BidRequestBuilder> bidRequestCustomizer,
@@ -0,0 +1,71 @@
+package org.prebid.server.auction.model;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.model.Account;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.verify;
+
+public class AuctionStageTimingsTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    @Test
+    public void measureShouldRecordStageWhenFutureIsCompleted() {
+        // given
+        final AuctionStageTimings target = AuctionStageTimings.create();
+        final Promise<String> promise = Promise.promise();
+
+        // when
+        final Future<String> result = target.measure(MetricName.privacy, promise::future);
+
+        // then
+        assertThat(target.stageToNanos()).isEmpty();
+
+        promise.complete("result");
+
+        assertThat(result.result()).isEqualTo("result");
+        assertThat(target.stageToNanos()).containsOnlyKeys(MetricName.privacy);
+    }
+
+    @Test
+    public void measureSyncShouldRecordStageEvenIfItFails() {
+        // given
+        final AuctionStageTimings target = AuctionStageTimings.create();
+
+        // when
+        assertThatIllegalStateException().isThrownBy(() -> target.measureSync(MetricName.bidder_requests, () -> {
+            throw new IllegalStateException("error");
+        }));
+
+        // then
+        assertThat(target.stageToNanos()).containsOnlyKeys(MetricName.bidder_requests);
+    }
+
+    @Test
+    public void reportShouldUpdateAuctionStageMetrics() {
+        // given
+        final AuctionStageTimings target = AuctionStageTimings.create();
+        target.measureSync(MetricName.bidder_requests, () -> "result");
+        final Account account = Account.empty("accountId");
+
+        // when
+        target.report(account, metrics);
+
+        // then
+        verify(metrics).updateAuctionStageMetrics(account, target.stageToNanos());
+    }
+}
@@ -93,6 +93,22 @@ public class BidRejectionTrackerTest {
                         "3", BidRejectionReason.TIMED_OUT));
     }
 
+    @Test
+    public void withAllRejectedShouldCreateDetachedTrackerKeepingExistingRejections() {
+        // given
+        target = new BidRejectionTracker("bidder", Set.of("1", "2"), 0);
+        target.reject("1", BidRejectionReason.OTHER_ERROR);
+
+        // when
+        final BidRejectionTracker result = target.withAllRejected(BidRejectionReason.TIMED_OUT);
+        target.succeed("2");
+
+        // then
+        assertThat(result.getRejectionReasons()).isEqualTo(Map.of(
+                "1", BidRejectionReason.OTHER_ERROR,
+                "2", BidRejectionReason.TIMED_OUT));
+    }
+
     @Test
     public void getRejectionReasonsShouldTreatUnsuccessfulBidsAsNoBidRejection() {
         // given
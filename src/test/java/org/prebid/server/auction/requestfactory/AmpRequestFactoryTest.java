@@ -13,6 +13,7 @@ import com.iab.openrtb.request.Source;
 import com.iab.openrtb.request.User;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.net.impl.SocketAddressImpl;
 import io.vertx.ext.web.RoutingContext;
@@ -1732,12 +1733,12 @@ public class AmpRequestFactoryTest extends VertxTest {
         return invocationOnMock -> invocationOnMock.getArguments()[0];
     }
 
-    private static Future<HttpRequestContext> toHttpRequest(RoutingContext routingContext, String body) {
+    private static Future<HttpRequestContext> toHttpRequest(RoutingContext routingContext, Buffer body) {
         return Future.succeededFuture(HttpRequestContext.builder()
                 .absoluteUri(routingContext.request().absoluteURI())
                 .queryParams(toCaseInsensitiveMultiMap(routingContext.queryParams()))
                 .headers(toCaseInsensitiveMultiMap(routingContext.request().headers()))
-                .body(body)
+                .rawBody(body)
                 .scheme(routingContext.request().scheme())
                 .remoteHost(routingContext.request().remoteAddress().host())
                 .build());
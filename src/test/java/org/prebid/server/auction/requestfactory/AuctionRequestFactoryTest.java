@@ -11,8 +11,10 @@ import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Regs;
 import com.iab.openrtb.request.Site;
 import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.User;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.net.impl.SocketAddressImpl;
 import io.vertx.ext.web.RoutingContext;
@@ -21,6 +23,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
@@ -36,6 +39,7 @@ import org.prebid.server.auction.model.AuctionStoredResult;
 import org.prebid.server.auction.model.debug.DebugContext;
 import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
 import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.json.JsonMerger;
 import org.prebid.server.geolocation.model.GeoInfo;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
@@ -49,8 +53,10 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidData;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidDataEidPermissions;
+import org.prebid.server.protobuf.auction.ProtobufAuctionMapper;
 import org.prebid.server.settings.model.Account;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static java.util.Collections.emptyList;
@@ -63,9 +69,11 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.prebid.server.assertion.FutureAssertion.assertThat;
 
@@ -90,12 +98,15 @@ public class AuctionRequestFactoryTest extends VertxTest {
     private Ortb2ImplicitParametersResolver paramsResolver;
     @Mock
     private InterstitialProcessor interstitialProcessor;
-    @Mock
-    private OrtbTypesResolver ortbTypesResolver;
+    @Spy
+    private OrtbTypesResolver ortbTypesResolver =
+            new OrtbTypesResolver(0.01, jacksonMapper, new JsonMerger(jacksonMapper));
     @Mock
     private PrivacyEnforcementService privacyEnforcementService;
     @Mock
     private DebugResolver debugResolver;
+    @Mock
+    private ProtobufAuctionMapper protobufAuctionMapper;
 
     @Mock
     private AuctionRequestFactory target;
@@ -189,7 +200,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 ortbTypesResolver,
                 privacyEnforcementService,
                 debugResolver,
-                jacksonMapper);
+                protobufAuctionMapper);
     }
 
     @Test
@@ -222,9 +233,9 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 ortbTypesResolver,
                 privacyEnforcementService,
                 debugResolver,
-                jacksonMapper);
+                protobufAuctionMapper);
 
-        given(routingContext.getBodyAsString()).willReturn("body");
+        given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
         final Future<?> future = target.fromRequest(routingContext, 0L);
@@ -236,10 +247,26 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .hasMessage("Request size exceeded max size of 1 bytes.");
     }
 
+    @Test
+    public void shouldReturnFailedFutureIfRequestBodyWasRejectedByBodyHandlerAsTooLarge() {
+        // given
+        given(routingContext.getBody()).willReturn(null);
+        given(routingContext.statusCode()).willReturn(413);
+
+        // when
+        final Future<?> future = target.fromRequest(routingContext, 0L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause())
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Request size exceeded max size of %d bytes.".formatted(Integer.MAX_VALUE));
+    }
+
     @Test
     public void shouldReturnFailedFutureIfRequestBodyCouldNotBeParsed() {
         // given
-        given(routingContext.getBodyAsString()).willReturn("body");
+        given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
         final Future<?> future = target.fromRequest(routingContext, 0L);
@@ -251,6 +278,48 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .element(0).asString().startsWith("Error decoding bidRequest: Unrecognized token 'body'");
     }
 
+    @Test
+    public void shouldDecodeProtobufBidRequestIfContentTypeIsProtobuf() throws IOException {
+        // given
+        given(httpRequest.headers()).willReturn(MultiMap.caseInsensitiveMultiMap()
+                .add("Content-Type", "application/x-protobuf"));
+
+        final Buffer body = Buffer.buffer(new byte[]{1, 2, 3});
+        given(routingContext.getBody()).willReturn(body);
+
+        final BidRequest decodedBidRequest = BidRequest.builder().id("id").build();
+        given(protobufAuctionMapper.decodeBidRequest(any())).willReturn(decodedBidRequest);
+
+        // when
+        target.fromRequest(routingContext, 0L);
+
+        // then
+        verify(protobufAuctionMapper).decodeBidRequest(same(body));
+        verify(ortbTypesResolver, never()).parseBidRequest(any(), any(), any());
+
+        final ArgumentCaptor<BidRequest> captor = ArgumentCaptor.forClass(BidRequest.class);
+        verify(ortb2RequestFactory).enrichAuctionContext(any(), any(), captor.capture(), anyLong());
+        assertThat(captor.getValue()).isEqualTo(decodedBidRequest);
+    }
+
+    @Test
+    public void shouldReturnFailedFutureIfProtobufBidRequestCouldNotBeDecoded() throws IOException {
+        // given
+        given(httpRequest.headers()).willReturn(MultiMap.caseInsensitiveMultiMap()
+                .add("Content-Type", "application/x-protobuf"));
+        given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
+        given(protobufAuctionMapper.decodeBidRequest(any())).willThrow(new IOException("Truncated message"));
+
+        // when
+        final Future<?> future = target.fromRequest(routingContext, 0L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause())
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Error decoding bidRequest: Truncated message");
+    }
+
     @Test
     public void shouldFillBidRequestWithValuesFromHttpRequest() {
         // given
@@ -454,7 +523,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .putObject("data")
                 .set("eidpermissions", eidPermissionNode);
 
-        given(routingContext.getBodyAsString()).willReturn(requestNode.toString());
+        given(routingContext.getBody()).willReturn(Buffer.buffer(requestNode.toString()));
 
         // when
         final Future<?> result = target.fromRequest(routingContext, 0L);
@@ -490,7 +559,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .putArray("eidpermissions");
         arrayNode.add(eidPermissionNode);
 
-        given(routingContext.getBodyAsString()).willReturn(requestNode.toString());
+        given(routingContext.getBody()).willReturn(Buffer.buffer(requestNode.toString()));
 
         // when
         final Future<?> result = target.fromRequest(routingContext, 0L);
@@ -524,7 +593,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
     }
 
     @Test
-    public void shouldCallOrtbFieldsResolver() {
+    public void shouldCallOrtbFieldsResolver() throws IOException {
         // given
         givenValidBidRequest();
 
@@ -532,7 +601,27 @@ public class AuctionRequestFactoryTest extends VertxTest {
         target.fromRequest(routingContext, 0L).result();
 
         // then
-        verify(ortbTypesResolver).normalizeBidRequest(any(), any(), any());
+        verify(ortbTypesResolver).parseBidRequest(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNormalizeOrtbTypesWhileParsingBidRequest() {
+        // given
+        given(routingContext.getBody()).willReturn(Buffer.buffer("{\"user\":{\"gender\":[\"male\",\"female\"]}}"));
+        givenAuctionContext(defaultBidRequest, defaultAccount);
+        givenProcessStoredRequest(defaultBidRequest);
+
+        // when
+        target.fromRequest(routingContext, 0L);
+
+        // then
+        final ArgumentCaptor<BidRequest> captor = ArgumentCaptor.forClass(BidRequest.class);
+        verify(ortb2RequestFactory).enrichAuctionContext(any(), any(), captor.capture(), anyLong());
+        assertThat(captor.getValue().getUser()).isEqualTo(User.builder().gender("male").build());
+        assertThat(defaultActionContext.getPrebidErrors()).containsExactly("""
+                WARNING: Incorrect type for first party data field bidrequest.user.gender, \
+                expected is string, but was an array of strings. Converted to string by \
+                taking first element of array.""");
     }
 
     @Test
@@ -719,7 +808,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
 
     private void givenBidRequest(BidRequest bidRequest) {
         try {
-            given(routingContext.getBodyAsString()).willReturn(mapper.writeValueAsString(bidRequest));
+            given(routingContext.getBody()).willReturn(Buffer.buffer(mapper.writeValueAsString(bidRequest)));
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -756,12 +845,12 @@ public class AuctionRequestFactoryTest extends VertxTest {
         }
     }
 
-    private static Future<HttpRequestContext> toHttpRequest(RoutingContext routingContext, String body) {
+    private static Future<HttpRequestContext> toHttpRequest(RoutingContext routingContext, Buffer body) {
         return Future.succeededFuture(HttpRequestContext.builder()
                 .absoluteUri(routingContext.request().absoluteURI())
                 .queryParams(toCaseInsensitiveMultiMap(routingContext.queryParams()))
                 .headers(toCaseInsensitiveMultiMap(routingContext.request().headers()))
-                .body(body)
+                .rawBody(body)
                 .scheme(routingContext.request().scheme())
                 .remoteHost(routingContext.request().remoteAddress().host())
                 .build());
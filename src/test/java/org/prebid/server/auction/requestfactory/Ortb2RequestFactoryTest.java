@@ -9,6 +9,7 @@ import com.iab.openrtb.request.Publisher;
 import com.iab.openrtb.request.Site;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.net.impl.SocketAddressImpl;
 import io.vertx.ext.web.RoutingContext;
@@ -46,6 +47,7 @@ import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
 import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
+import org.prebid.server.hooks.execution.v1.entrypoint.BufferEntrypointPayload;
 import org.prebid.server.hooks.execution.v1.entrypoint.EntrypointPayloadImpl;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
@@ -147,10 +149,10 @@ public class Ortb2RequestFactoryTest extends VertxTest {
 
         given(timeoutResolver.limitToMax(any())).willReturn(2000L);
 
-        given(hookStageExecutor.executeEntrypointStage(any(), any(), any(), any()))
+        given(hookStageExecutor.executeEntrypointStage(any(), any(), any(Buffer.class), any()))
                 .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.of(
                         false,
-                        EntrypointPayloadImpl.of(
+                        BufferEntrypointPayload.of(
                                 invocation.getArgument(0),
                                 invocation.getArgument(1),
                                 invocation.getArgument(2)))));
@@ -1089,7 +1091,7 @@ public class Ortb2RequestFactoryTest extends VertxTest {
         final CaseInsensitiveMultiMap headerParams = CaseInsensitiveMultiMap.builder()
                 .add("DHT", "1")
                 .build();
-        given(hookStageExecutor.executeEntrypointStage(any(), any(), any(), any()))
+        given(hookStageExecutor.executeEntrypointStage(any(), any(), any(Buffer.class), any()))
                 .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.of(
                         false,
                         EntrypointPayloadImpl.of(
@@ -1103,7 +1105,8 @@ public class Ortb2RequestFactoryTest extends VertxTest {
                 AuctionContext.builder().hookExecutionContext(hookExecutionContext).build();
 
         // when
-        final Future<HttpRequestContext> result = target.executeEntrypointHooks(routingContext, "", auctionContext);
+        final Future<HttpRequestContext> result = target.executeEntrypointHooks(
+                routingContext, Buffer.buffer(), auctionContext);
 
         // then
         final HttpRequestContext httpRequest = result.result();
@@ -1115,6 +1118,31 @@ public class Ortb2RequestFactoryTest extends VertxTest {
         assertThat(httpRequest.getRemoteHost()).isEqualTo("host");
     }
 
+    @Test
+    public void executeEntrypointHooksShouldPassBodyAsReceivedIfHooksDidNotReplaceIt() {
+        // given
+        final RoutingContext routingContext = mock(RoutingContext.class);
+        final HttpServerRequest httpServerRequest = mock(HttpServerRequest.class);
+
+        given(routingContext.request()).willReturn(httpServerRequest);
+        given(routingContext.queryParams()).willReturn(MultiMap.caseInsensitiveMultiMap());
+
+        given(httpServerRequest.headers()).willReturn(MultiMap.caseInsensitiveMultiMap());
+        given(httpServerRequest.remoteAddress()).willReturn(new SocketAddressImpl(1234, "host"));
+
+        final Buffer body = Buffer.buffer("{\"id\":\"123\"}");
+        final AuctionContext auctionContext =
+                AuctionContext.builder().hookExecutionContext(hookExecutionContext).build();
+
+        // when
+        final Future<HttpRequestContext> result = target.executeEntrypointHooks(routingContext, body, auctionContext);
+
+        // then
+        final HttpRequestContext httpRequest = result.result();
+        assertThat(httpRequest.getRawBody()).isSameAs(body);
+        assertThat(httpRequest.getBody()).isEqualTo("{\"id\":\"123\"}");
+    }
+
     @Test
     public void shouldReturnFailedFutureIfEntrypointHooksRejectedRequest() {
         // given
@@ -1125,14 +1153,14 @@ public class Ortb2RequestFactoryTest extends VertxTest {
         given(routingContext.queryParams()).willReturn(MultiMap.caseInsensitiveMultiMap());
         given(httpServerRequest.headers()).willReturn(MultiMap.caseInsensitiveMultiMap());
 
-        given(hookStageExecutor.executeEntrypointStage(any(), any(), any(), any()))
+        given(hookStageExecutor.executeEntrypointStage(any(), any(), any(Buffer.class), any()))
                 .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.of(true, null)));
 
         final AuctionContext auctionContext =
                 AuctionContext.builder().hookExecutionContext(hookExecutionContext).build();
 
         // when
-        final Future<?> result = target.executeEntrypointHooks(routingContext, "", auctionContext);
+        final Future<?> result = target.executeEntrypointHooks(routingContext, Buffer.buffer(), auctionContext);
 
         // then
         assertThat(result).isFailed();
@@ -12,6 +12,7 @@ import com.iab.openrtb.request.video.BidRequestVideo;
 import com.iab.openrtb.request.video.PodError;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.net.impl.SocketAddressImpl;
 import io.vertx.ext.web.RoutingContext;
@@ -146,7 +147,7 @@ public class VideoRequestFactoryTest extends VertxTest {
     @Test
     public void shouldReturnFailedFutureIfRequestBodyIsMissing() {
         // given
-        given(routingContext.getBodyAsString()).willReturn(null);
+        given(routingContext.getBody()).willReturn(null);
 
         // when
         final Future<?> future = target.fromRequest(routingContext, 0L);
@@ -161,8 +162,8 @@ public class VideoRequestFactoryTest extends VertxTest {
     @Test
     public void shouldReturnFailedFutureIfStoredRequestIsEnforcedAndIdIsNotProvided() throws JsonProcessingException {
         // given
-        given(routingContext.getBodyAsString())
-                .willReturn(mapper.writeValueAsString(BidRequestVideo.builder().build()));
+        given(routingContext.getBody())
+                .willReturn(Buffer.buffer(mapper.writeValueAsString(BidRequestVideo.builder().build())));
         given(routingContext.request().headers()).willReturn(MultiMap.caseInsensitiveMultiMap()
                 .add(HttpUtil.USER_AGENT_HEADER, "123"));
         target = new VideoRequestFactory(
@@ -202,7 +203,7 @@ public class VideoRequestFactoryTest extends VertxTest {
                 debugResolver,
                 jacksonMapper);
 
-        given(routingContext.getBodyAsString()).willReturn("body");
+        given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
         final Future<?> future = target.fromRequest(routingContext, 0L);
@@ -217,7 +218,7 @@ public class VideoRequestFactoryTest extends VertxTest {
     @Test
     public void shouldReturnFailedFutureIfRequestBodyCouldNotBeParsed() {
         // given
-        given(routingContext.getBodyAsString()).willReturn("body");
+        given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
         final Future<?> future = target.fromRequest(routingContext, 0L);
@@ -234,7 +235,7 @@ public class VideoRequestFactoryTest extends VertxTest {
         // given
         final BidRequestVideo requestVideo = BidRequestVideo.builder().build();
         final String body = mapper.writeValueAsString(requestVideo);
-        given(routingContext.getBodyAsString()).willReturn(body);
+        given(routingContext.getBody()).willReturn(Buffer.buffer(body));
 
         given(routingContext.request().headers()).willReturn(MultiMap.caseInsensitiveMultiMap()
                 .add(HttpUtil.USER_AGENT_HEADER, "user-agent-123"));
@@ -269,7 +270,7 @@ public class VideoRequestFactoryTest extends VertxTest {
         // given
         final BidRequestVideo requestVideo = BidRequestVideo.builder().device(
                 Device.builder().ua("123").build()).build();
-        given(routingContext.getBodyAsString()).willReturn(mapper.writeValueAsString(requestVideo));
+        given(routingContext.getBody()).willReturn(Buffer.buffer(mapper.writeValueAsString(requestVideo)));
         givenBidRequest(BidRequest.builder().build(), emptyList());
 
         // when
@@ -326,7 +327,7 @@ public class VideoRequestFactoryTest extends VertxTest {
 
         final BidRequestVideo requestVideo = BidRequestVideo.builder().device(
                 Device.builder().ua("123").build()).build();
-        given(routingContext.getBodyAsString()).willReturn(mapper.writeValueAsString(requestVideo));
+        given(routingContext.getBody()).willReturn(Buffer.buffer(mapper.writeValueAsString(requestVideo)));
 
         final List<PodError> podErrors = singletonList(PodError.of(1, 1, singletonList("TEST")));
         givenBidRequest(bidRequest, podErrors);
@@ -335,7 +336,7 @@ public class VideoRequestFactoryTest extends VertxTest {
         final Future<WithPodErrors<AuctionContext>> result = target.fromRequest(routingContext, 0L);
 
         // then
-        verify(routingContext).getBodyAsString();
+        verify(routingContext).getBody();
         verify(videoStoredRequestProcessor).processVideoRequest("", null, emptySet(), requestVideo);
         verify(ortb2RequestFactory).createAuctionContext(any(), eq(MetricName.video));
         verify(ortb2RequestFactory).enrichAuctionContext(any(), any(), eq(bidRequest), eq(0L));
@@ -353,7 +354,7 @@ public class VideoRequestFactoryTest extends VertxTest {
     public void shouldReplaceDeviceUaWithUserAgentHeaderIfPresented() throws JsonProcessingException {
         // given
         final BidRequestVideo requestVideo = BidRequestVideo.builder().build();
-        given(routingContext.getBodyAsString()).willReturn(mapper.writeValueAsString(requestVideo));
+        given(routingContext.getBody()).willReturn(Buffer.buffer(mapper.writeValueAsString(requestVideo)));
         given(routingContext.request().headers()).willReturn(MultiMap.caseInsensitiveMultiMap()
                 .add(HttpUtil.USER_AGENT_HEADER, "user-agent-123"));
 
@@ -376,7 +377,7 @@ public class VideoRequestFactoryTest extends VertxTest {
     public void shouldReturnErrorIfDeviceUaAndUserAgentHeaderIsEmpty() throws JsonProcessingException {
         // given
         final BidRequestVideo requestVideo = BidRequestVideo.builder().build();
-        given(routingContext.getBodyAsString()).willReturn(mapper.writeValueAsString(requestVideo));
+        given(routingContext.getBody()).willReturn(Buffer.buffer(mapper.writeValueAsString(requestVideo)));
         given(httpServerRequest.headers()).willReturn(MultiMap.caseInsensitiveMultiMap());
 
         // when
@@ -416,12 +417,12 @@ public class VideoRequestFactoryTest extends VertxTest {
         return invocationOnMock -> invocationOnMock.getArguments()[0];
     }
 
-    private static Future<HttpRequestContext> toHttpRequest(RoutingContext routingContext, String body) {
+    private static Future<HttpRequestContext> toHttpRequest(RoutingContext routingContext, Buffer body) {
         return Future.succeededFuture(HttpRequestContext.builder()
                 .absoluteUri(routingContext.request().absoluteURI())
                 .queryParams(toCaseInsensitiveMultiMap(routingContext.queryParams()))
                 .headers(toCaseInsensitiveMultiMap(routingContext.request().headers()))
-                .body(body)
+                .rawBody(body)
                 .scheme(routingContext.request().scheme())
                 .remoteHost(routingContext.request().remoteAddress().host())
                 .build());
@@ -510,7 +511,7 @@ public class VideoRequestFactoryTest extends VertxTest {
     private void prepareMinimumSuccessfulConditions() throws JsonProcessingException {
         final BidRequestVideo requestVideo = BidRequestVideo.builder().device(Device.builder()
                 .ua("123").build()).build();
-        given(routingContext.getBodyAsString()).willReturn(mapper.writeValueAsString(requestVideo));
+        given(routingContext.getBody()).willReturn(Buffer.buffer(mapper.writeValueAsString(requestVideo)));
         final ExtRequestPrebid ext = ExtRequestPrebid.builder()
                 .targeting(ExtRequestTargeting.builder().build())
                 .build();
@@ -100,7 +100,11 @@ public class BidderCatalogTest {
                 99,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
 
         final BidderDeps bidderDeps = BidderDeps.of(singletonList(BidderInstanceDeps.builder()
                 .name(BIDDER)
@@ -130,7 +134,11 @@ public class BidderCatalogTest {
                 99,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
 
         final BidderInstanceDeps bidderInstanceDeps = BidderInstanceDeps.builder()
                 .name(BIDDER)
@@ -151,7 +159,11 @@ public class BidderCatalogTest {
                 99,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
 
         final BidderInstanceDeps aliasInstanceDeps = BidderInstanceDeps.builder()
                 .name("alias")
@@ -222,7 +234,11 @@ public class BidderCatalogTest {
                 99,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
 
         final BidderInfo infoOfBidderWithoutUsersyncConfig = BidderInfo.create(
                 true,
@@ -237,7 +253,11 @@ public class BidderCatalogTest {
                 99,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
 
         final BidderInfo infoOfDisabledBidderWithUsersyncConfig = BidderInfo.create(
                 false,
@@ -252,7 +272,11 @@ public class BidderCatalogTest {
                 99,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
 
         final List<BidderDeps> bidderDeps = List.of(
                 BidderDeps.of(singletonList(BidderInstanceDeps.builder()
@@ -318,7 +342,11 @@ public class BidderCatalogTest {
                 99,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
 
         final BidderDeps bidderDeps = BidderDeps.of(singletonList(BidderInstanceDeps.builder()
                 .name(BIDDER)
@@ -0,0 +1,186 @@
+package org.prebid.server.bidder;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+
+public class BidderConcurrencyLimiterTest {
+
+    private static final String URI = "https://bidder.com/endpoint?param=value";
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+
+    private BidderConcurrencyLimiter target;
+
+    @Before
+    public void setUp() {
+        givenTime(0L);
+        target = new BidderConcurrencyLimiter(4, 2, 5, 100L, 0.5, clock);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidLimits() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderConcurrencyLimiter(10, 20, 30, 100L, 0.5, clock))
+                .withMessage("Concurrency limits should satisfy 0 < min <= initial <= max");
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidBackoffRatio() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderConcurrencyLimiter(10, 1, 30, 100L, 1.0, clock))
+                .withMessage("Backoff ratio should be in range (0, 1)");
+    }
+
+    @Test
+    public void tryAcquireShouldRejectRequestsExceedingLimit() {
+        // when
+        final List<BidderConcurrencyLimiter.Permit> permits = acquire(5);
+
+        // then
+        assertThat(permits).hasSize(5);
+        assertThat(permits.subList(0, 4)).doesNotContainNull();
+        assertThat(permits.get(4)).isNull();
+    }
+
+    @Test
+    public void tryAcquireShouldTrackLimitsPerBidderAndEndpointOrigin() {
+        // given
+        acquire(4);
+
+        // when and then
+        assertThat(target.tryAcquire("bidder", "https://bidder.com/other")).isNull();
+        assertThat(target.tryAcquire("bidder", "https://other.bidder.com/endpoint")).isNotNull();
+        assertThat(target.tryAcquire("other", URI)).isNotNull();
+    }
+
+    @Test
+    public void releaseShouldFreePermit() {
+        // given
+        final List<BidderConcurrencyLimiter.Permit> permits = acquire(4);
+
+        // when
+        permits.get(0).release(false, false);
+
+        // then
+        assertThat(target.tryAcquire("bidder", URI)).isNotNull();
+        assertThat(target.limit("bidder", URI)).isEqualTo(4);
+    }
+
+    @Test
+    public void releaseShouldIncreaseLimitAdditivelyWhenLatencyIsWithinTarget() {
+        // given
+        givenTime(50L);
+
+        // when
+        acquire(4).forEach(permit -> permit.release(true, false));
+
+        // then
+        assertThat(target.limit("bidder", URI)).isEqualTo(4);
+
+        // when
+        acquire(4).forEach(permit -> permit.release(true, false));
+
+        // then
+        assertThat(target.limit("bidder", URI)).isEqualTo(5);
+    }
+
+    @Test
+    public void releaseShouldNotIncreaseLimitAboveMax() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            acquire(4).forEach(permit -> permit.release(true, false));
+        }
+
+        // then
+        assertThat(target.limit("bidder", URI)).isEqualTo(5);
+    }
+
+    @Test
+    public void releaseShouldNotIncreaseLimitWhenLatencyExceedsTarget() {
+        // when
+        for (int i = 0; i < 2; i++) {
+            givenTime(i * 1000L);
+            final List<BidderConcurrencyLimiter.Permit> permits = acquire(4);
+            givenTime(i * 1000L + 200L);
+            permits.forEach(permit -> permit.release(true, false));
+        }
+
+        // then
+        assertThat(target.limit("bidder", URI)).isEqualTo(4);
+    }
+
+    @Test
+    public void releaseShouldDecreaseLimitMultiplicativelyOnTimeout() {
+        // given
+        final BidderConcurrencyLimiter.Permit permit = target.tryAcquire("bidder", URI);
+        givenTime(500L);
+
+        // when
+        permit.release(false, true);
+
+        // then
+        assertThat(target.limit("bidder", URI)).isEqualTo(2);
+    }
+
+    @Test
+    public void releaseShouldDecreaseLimitOnceForTimeoutsOfRequestsSentBeforeDecrease() {
+        // given
+        target = new BidderConcurrencyLimiter(8, 1, 8, 100L, 0.5, clock);
+        final List<BidderConcurrencyLimiter.Permit> permits = acquire(3);
+        givenTime(500L);
+
+        // when
+        permits.forEach(permit -> permit.release(false, true));
+
+        // then
+        assertThat(target.limit("bidder", URI)).isEqualTo(4);
+
+        // when
+        target.tryAcquire("bidder", URI).release(false, true);
+
+        // then
+        assertThat(target.limit("bidder", URI)).isEqualTo(2);
+    }
+
+    @Test
+    public void releaseShouldNotDecreaseLimitBelowMin() {
+        // when
+        for (int i = 0; i < 5; i++) {
+            givenTime(i * 1000L);
+            target.tryAcquire("bidder", URI).release(false, true);
+        }
+
+        // then
+        assertThat(target.limit("bidder", URI)).isEqualTo(2);
+    }
+
+    private List<BidderConcurrencyLimiter.Permit> acquire(int count) {
+        final List<BidderConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(target.tryAcquire("bidder", URI));
+        }
+        return permits;
+    }
+
+    private void givenTime(long millis) {
+        given(clock.millis()).willReturn(millis);
+    }
+}
@@ -0,0 +1,346 @@
+package org.prebid.server.bidder;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.vertx.http.HttpClient;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@RunWith(VertxUnitRunner.class)
+public class BidderConnectionWarmupServiceTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private BidderCatalog bidderCatalog;
+    @Mock
+    private HttpClient httpClient;
+    @Mock
+    private Metrics metrics;
+
+    private Vertx vertx;
+    private Clock clock;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+
+        given(httpClient.warmUpConnection(anyString(), anyLong())).willReturn(Future.succeededFuture());
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveConnectionsPerHost() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderConnectionWarmupService(
+                        vertx, bidderCatalog, bidder -> httpClient, metrics, clock, 0, 1000L, 1000L, 0L))
+                .withMessage("Number of connections per host should be positive");
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxWait() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderConnectionWarmupService(
+                        vertx, bidderCatalog, bidder -> httpClient, metrics, clock, 1, 1000L, 0L, 0L))
+                .withMessage("Max wait time should be positive");
+    }
+
+    @Test
+    public void initializeShouldOpenConfiguredNumberOfConnectionsPerHostOnRegisteredContexts()
+            throws InterruptedException {
+
+        // given
+        givenBidders(
+                "bidder1", "https://host.com/openrtb",
+                "bidder2", "https://host.com:8443/bid?id=1",
+                "alias", "https://host.com/other");
+
+        final BidderConnectionWarmupService target = createTarget(2, 0L);
+        final Context firstContext = vertx.getOrCreateContext();
+        final Context secondContext = vertx.getOrCreateContext();
+        target.addContext(firstContext);
+        target.addContext(secondContext);
+
+        // when
+        target.initialize();
+
+        // then
+        awaitPendingTasks(firstContext);
+        awaitPendingTasks(secondContext);
+
+        verify(httpClient, times(4)).warmUpConnection("https://host.com/", 1000L);
+        verify(httpClient, times(4)).warmUpConnection("https://host.com:8443/", 1000L);
+        verify(metrics, times(8)).updateBidderConnectionWarmupMetric(true);
+        assertThat(target.isWarmedUp()).isTrue();
+    }
+
+    @Test
+    public void initializeShouldStartWarmUpOnlyOnce() throws InterruptedException {
+        // given
+        givenBidders("bidder", "https://host.com/openrtb");
+
+        final BidderConnectionWarmupService target = createTarget(1, 0L);
+        final Context context = vertx.getOrCreateContext();
+        target.addContext(context);
+
+        // when
+        target.initialize();
+        target.initialize();
+
+        // then
+        awaitPendingTasks(context);
+
+        verify(httpClient).warmUpConnection("https://host.com/", 1000L);
+        verify(metrics).createBidderConnectionWarmupGauge(any());
+    }
+
+    @Test
+    public void initializeShouldSkipHostsDefinedByMacrosAndInvalidEndpoints() throws InterruptedException {
+        // given
+        givenBidders(
+                "bidder1", "https://{{Host}}.host.com/openrtb",
+                "bidder2", "invalid_url");
+
+        final BidderConnectionWarmupService target = createTarget(2, 0L);
+        final Context context = vertx.getOrCreateContext();
+        target.addContext(context);
+
+        // when
+        target.initialize();
+
+        // then
+        awaitPendingTasks(context);
+
+        verifyNoInteractions(httpClient);
+        assertThat(target.isWarmedUp()).isTrue();
+    }
+
+    @Test
+    public void initializeShouldCompleteWarmUpAndReportFailedConnections() throws InterruptedException {
+        // given
+        givenBidders("bidder", "http://host.com/openrtb");
+        given(httpClient.warmUpConnection(anyString(), anyLong()))
+                .willReturn(Future.failedFuture(new TimeoutException("timeout")));
+
+        final BidderConnectionWarmupService target = createTarget(1, 0L);
+        final Context context = vertx.getOrCreateContext();
+        target.addContext(context);
+
+        // when
+        target.initialize();
+
+        // then
+        awaitPendingTasks(context);
+
+        verify(metrics).updateBidderConnectionWarmupMetric(false);
+        assertThat(target.isWarmedUp()).isTrue();
+    }
+
+    @Test
+    public void initializeShouldWarmUpAgainOnlyHostsHavingNoOpenConnections() {
+        // given
+        givenBidders(
+                "bidder1", "https://host.com/openrtb",
+                "bidder2", "http://other.com/openrtb");
+        given(httpClient.openConnections("host.com", 443)).willReturn(2, 0, 2);
+        given(httpClient.openConnections("other.com", 80)).willReturn(1);
+
+        final BidderConnectionWarmupService target = createTarget(1, 10L);
+        target.addContext(vertx.getOrCreateContext());
+
+        // when
+        target.initialize();
+
+        // then
+        verify(httpClient, timeout(1000L).atLeast(3)).openConnections("host.com", 443);
+        verify(httpClient, times(2)).warmUpConnection("https://host.com/", 1000L);
+        verify(httpClient).warmUpConnection("http://other.com/", 1000L);
+    }
+
+    @Test
+    public void addContextShouldReturnFutureCompletedOnceWarmUpOnContextIsDone() throws InterruptedException {
+        // given
+        givenBidders("bidder", "https://host.com/openrtb");
+        final Promise<Void> connectionPromise = Promise.promise();
+        given(httpClient.warmUpConnection(anyString(), anyLong())).willReturn(connectionPromise.future());
+
+        final BidderConnectionWarmupService target = createTarget(1, 0L);
+        final Context context = vertx.getOrCreateContext();
+
+        // when
+        final Future<Void> result = target.addContext(context);
+        target.initialize();
+
+        // then
+        awaitPendingTasks(context);
+        assertThat(result.isComplete()).isFalse();
+
+        context.runOnContext(ignored -> connectionPromise.complete());
+        awaitPendingTasks(context);
+        assertThat(result.succeeded()).isTrue();
+    }
+
+    @Test
+    public void addContextShouldReturnFutureCompletedWhenWarmUpTakesLongerThanMaxWait() throws InterruptedException {
+        // given
+        givenBidders("bidder", "https://host.com/openrtb");
+        given(httpClient.warmUpConnection(anyString(), anyLong())).willReturn(Promise.<Void>promise().future());
+
+        final BidderConnectionWarmupService target = new BidderConnectionWarmupService(
+                vertx, bidderCatalog, bidder -> httpClient, metrics, clock, 1, 1000L, 10L, 0L);
+
+        // when
+        final Future<Void> result = target.addContext(vertx.getOrCreateContext());
+        target.initialize();
+
+        // then
+        final CountDownLatch completed = new CountDownLatch(1);
+        result.onComplete(ignored -> completed.countDown());
+        assertThat(completed.await(5L, TimeUnit.SECONDS)).isTrue();
+        assertThat(result.succeeded()).isTrue();
+        assertThat(target.isWarmedUp()).isFalse();
+    }
+
+    @Test
+    public void serverListeningAfterWarmUpShouldNotAcceptConnectionsWhileWarmUpIsPending() throws Exception {
+        // given
+        givenBidders("bidder", "https://host.com/openrtb");
+        final Promise<Void> connectionPromise = Promise.promise();
+        given(httpClient.warmUpConnection(anyString(), anyLong())).willReturn(connectionPromise.future());
+
+        final BidderConnectionWarmupService target = createTarget(1, 0L);
+        final Context context = vertx.getOrCreateContext();
+        final int port = freePort();
+        final CountDownLatch listening = new CountDownLatch(1);
+
+        context.runOnContext(ignored -> target.addContext(Vertx.currentContext())
+                .onComplete(warmUpResult -> vertx.createHttpServer()
+                        .requestHandler(request -> request.response().end())
+                        .listen(port, listenResult -> listening.countDown())));
+        awaitPendingTasks(context);
+
+        // when
+        target.initialize();
+
+        // then
+        awaitPendingTasks(context);
+        assertThatExceptionOfType(ConnectException.class).isThrownBy(() -> new Socket("localhost", port).close());
+
+        context.runOnContext(ignored -> connectionPromise.complete());
+        assertThat(listening.await(5L, TimeUnit.SECONDS)).isTrue();
+        new Socket("localhost", port).close();
+    }
+
+    @Test
+    public void isWarmedUpShouldReturnFalseIfWarmUpWasNotStarted() {
+        // given
+        givenBidders("bidder", "http://host.com/openrtb");
+
+        // when and then
+        assertThat(createTarget(1, 0L).isWarmedUp()).isFalse();
+    }
+
+    private BidderConnectionWarmupService createTarget(int connectionsPerHost, long rewarmPeriodMs) {
+        return new BidderConnectionWarmupService(
+                vertx,
+                bidderCatalog,
+                bidder -> httpClient,
+                metrics,
+                clock,
+                connectionsPerHost,
+                1000L,
+                60000L,
+                rewarmPeriodMs);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Waits for tasks submitted to the given context so far to be executed.
+     */
+    private static void awaitPendingTasks(Context context) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        context.runOnContext(ignored -> latch.countDown());
+        assertThat(latch.await(5L, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void givenBidders(String... bidderEndpoints) {
+        final HashSet<String> names = new HashSet<>();
+        for (int i = 0; i < bidderEndpoints.length; i += 2) {
+            final String bidder = bidderEndpoints[i];
+            names.add(bidder);
+            given(bidderCatalog.isActive(bidder)).willReturn(true);
+            given(bidderCatalog.bidderInfoByName(bidder)).willReturn(givenBidderInfo(bidderEndpoints[i + 1]));
+        }
+        given(bidderCatalog.names()).willReturn(names);
+    }
+
+    private static BidderInfo givenBidderInfo(String endpoint) {
+        return BidderInfo.create(
+                true,
+                null,
+                true,
+                endpoint,
+                null,
+                "test@email.com",
+                null,
+                null,
+                null,
+                0,
+                true,
+                false,
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
+    }
+}
@@ -0,0 +1,86 @@
+package org.prebid.server.bidder;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class BidderCostProfilerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private ThreadMXBean threadMXBean;
+
+    @Test
+    public void creationShouldFailOnInvalidSamplingRate() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderCostProfiler(metrics, 1.5, threadMXBean))
+                .withMessage("Sampling rate should be in range [0, 1]");
+    }
+
+    @Test
+    public void profileShouldReportCpuTimeAndAllocatedBytesOfSampledCall() {
+        // given
+        given(threadMXBean.isCurrentThreadCpuTimeSupported()).willReturn(true);
+        given(threadMXBean.isThreadCpuTimeEnabled()).willReturn(true);
+        given(threadMXBean.isThreadAllocatedMemorySupported()).willReturn(true);
+        given(threadMXBean.isThreadAllocatedMemoryEnabled()).willReturn(true);
+        given(threadMXBean.getCurrentThreadCpuTime()).willReturn(1_000L, 3_000L);
+        given(threadMXBean.getCurrentThreadAllocatedBytes()).willReturn(100L, 612L);
+
+        final BidderCostProfiler target = new BidderCostProfiler(metrics, 1, threadMXBean);
+
+        // when
+        final String result = target.profile("bidder", MetricName.make_bids, () -> "result");
+
+        // then
+        assertThat(result).isEqualTo("result");
+        verify(metrics).updateAdapterMethodTimeMetric(eq("bidder"), eq(MetricName.make_bids), anyLong());
+        verify(metrics).updateAdapterMethodCpuTimeMetric("bidder", MetricName.make_bids, 2_000L);
+        verify(metrics).updateAdapterMethodAllocatedBytesMetric("bidder", MetricName.make_bids, 512L);
+    }
+
+    @Test
+    public void profileShouldReportOnlyWallTimeWhenThreadMetricsAreNotSupported() {
+        // given
+        final BidderCostProfiler target = new BidderCostProfiler(metrics, 1, null);
+
+        // when
+        target.profile("bidder", MetricName.make_http_requests, () -> "result");
+
+        // then
+        verify(metrics).updateAdapterMethodTimeMetric(eq("bidder"), eq(MetricName.make_http_requests), anyLong());
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void profileShouldReportWallTimeOfFailedCall() {
+        // given
+        final BidderCostProfiler target = new BidderCostProfiler(metrics, 0, threadMXBean);
+
+        // when and then
+        assertThatIllegalStateException().isThrownBy(() -> target.profile("bidder", MetricName.make_bids, () -> {
+            throw new IllegalStateException("error");
+        }));
+        verify(metrics).updateAdapterMethodTimeMetric(eq("bidder"), eq(MetricName.make_bids), anyLong());
+        verifyNoMoreInteractions(metrics);
+    }
+}
@@ -0,0 +1,178 @@
+package org.prebid.server.bidder;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class BidderOffloadExecutorTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private WorkerExecutor workerExecutor;
+    @Mock
+    private Metrics metrics;
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxPending() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderOffloadExecutor(workerExecutor, 0, 50, 2L, metrics))
+                .withMessage("Max pending calls should be positive");
+    }
+
+    @Test
+    public void executeShouldMakeCallRightAwayWhenItIsNotHeavy() {
+        // given
+        final BidderOffloadExecutor target = new BidderOffloadExecutor(workerExecutor, 10, 50, 0L, metrics);
+
+        // when
+        final Future<String> result = target.execute(
+                "bidder", MetricName.make_http_requests, givenBidRequest(1), () -> "result");
+
+        // then
+        assertThat(result.result()).isEqualTo("result");
+        verifyNoInteractions(workerExecutor, metrics);
+    }
+
+    @Test
+    public void executeShouldOffloadCallWhenBidRequestHasManyImps() {
+        // given
+        final BidderOffloadExecutor target = new BidderOffloadExecutor(workerExecutor, 10, 2, 0L, metrics);
+
+        // when
+        final Future<String> result = target.execute(
+                "bidder", MetricName.make_http_requests, givenBidRequest(2), () -> "result");
+
+        // then
+        assertThat(result.isComplete()).isFalse();
+
+        runOffloadedCall();
+
+        assertThat(result.result()).isEqualTo("result");
+        verify(metrics).updateBidderOffloadQueueTimeMetric(anyLong());
+    }
+
+    @Test
+    public void executeShouldOffloadCallWhenAverageCostOfPreviousCallsExceedsThreshold() {
+        // given
+        final BidderOffloadExecutor target = new BidderOffloadExecutor(workerExecutor, 10, 0, 1L, metrics);
+
+        target.execute("bidder", MetricName.make_bids, givenBidRequest(1), () -> {
+            sleep(5L);
+            return "first";
+        });
+        verifyNoInteractions(workerExecutor);
+
+        // when
+        final Future<String> result = target.execute(
+                "bidder", MetricName.make_bids, givenBidRequest(1), () -> "second");
+        final Future<String> otherMethodResult = target.execute(
+                "bidder", MetricName.make_http_requests, givenBidRequest(1), () -> "other");
+
+        // then
+        assertThat(otherMethodResult.result()).isEqualTo("other");
+
+        runOffloadedCall();
+
+        assertThat(result.result()).isEqualTo("second");
+    }
+
+    @Test
+    public void executeShouldMakeCallRightAwayWhenMaxPendingIsReached() {
+        // given
+        final BidderOffloadExecutor target = new BidderOffloadExecutor(workerExecutor, 1, 1, 0L, metrics);
+
+        target.execute("bidder", MetricName.make_http_requests, givenBidRequest(1), () -> "first");
+
+        // when
+        final Future<String> result = target.execute(
+                "bidder", MetricName.make_http_requests, givenBidRequest(1), () -> "second");
+
+        // then
+        assertThat(result.result()).isEqualTo("second");
+        verify(metrics).updateBidderOffloadRejectedMetric();
+        verify(workerExecutor).executeBlocking(any(), eq(false), any());
+    }
+
+    @Test
+    public void executeShouldFailResultWhenOffloadedCallFails() {
+        // given
+        final BidderOffloadExecutor target = new BidderOffloadExecutor(workerExecutor, 10, 1, 0L, metrics);
+
+        // when
+        final Future<String> result = target.execute("bidder", MetricName.make_bids, givenBidRequest(1), () -> {
+            throw new IllegalStateException("error");
+        });
+
+        // then
+        final Promise<Object> blockingPromise = Promise.promise();
+        try {
+            captureBlockingHandler().handle(blockingPromise);
+        } catch (IllegalStateException e) {
+            blockingPromise.fail(e);
+        }
+        captureResultHandler().handle(blockingPromise.future());
+
+        assertThat(result.cause()).isInstanceOf(IllegalStateException.class).hasMessage("error");
+    }
+
+    private void runOffloadedCall() {
+        final Promise<Object> blockingPromise = Promise.promise();
+        captureBlockingHandler().handle(blockingPromise);
+        captureResultHandler().handle(blockingPromise.future());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Promise<Object>> captureBlockingHandler() {
+        final ArgumentCaptor<Handler<Promise<Object>>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(workerExecutor).executeBlocking(captor.capture(), eq(false), any());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<AsyncResult<Object>> captureResultHandler() {
+        final ArgumentCaptor<Handler<AsyncResult<Object>>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(workerExecutor).executeBlocking(any(), eq(false), captor.capture());
+        return captor.getValue();
+    }
+
+    private static BidRequest givenBidRequest(int impsCount) {
+        return BidRequest.builder()
+                .imp(IntStream.range(0, impsCount)
+                        .mapToObj(i -> Imp.builder().id(String.valueOf(i)).build())
+                        .toList())
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.prebid.server.bidder;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.spring.config.bidder.model.HttpProtocol;
+import org.prebid.server.vertx.http.HttpClient;
+
+import java.util.function.Function;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class DedicatedBidderHttpClientProviderTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private HttpClient defaultHttpClient;
+    @Mock
+    private BidderCatalog bidderCatalog;
+    @Mock
+    private Function<BidderInfo.HttpClientInfo, HttpClient> httpClientFactory;
+
+    @Test
+    public void httpClientShouldReturnDedicatedClientForBidderWithHttpClientInfo() {
+        // given
+        final BidderInfo.HttpClientInfo httpClientInfo = givenHttpClientInfo();
+        givenBidder("bidder", true, httpClientInfo);
+
+        final HttpClient dedicatedHttpClient = mock(HttpClient.class);
+        given(httpClientFactory.apply(any())).willReturn(dedicatedHttpClient);
+
+        final DedicatedBidderHttpClientProvider target = createTarget();
+
+        // when
+        final HttpClient result = target.httpClient("bidder");
+
+        // then
+        assertThat(result).isSameAs(dedicatedHttpClient);
+        verify(httpClientFactory).apply(httpClientInfo);
+    }
+
+    @Test
+    public void httpClientShouldReturnDefaultClientForBidderWithoutHttpClientInfo() {
+        // given
+        givenBidder("bidder", true, null);
+
+        final DedicatedBidderHttpClientProvider target = createTarget();
+
+        // when
+        final HttpClient result = target.httpClient("bidder");
+
+        // then
+        assertThat(result).isSameAs(defaultHttpClient);
+        verifyNoInteractions(httpClientFactory);
+    }
+
+    @Test
+    public void httpClientShouldReturnDefaultClientForInactiveBidder() {
+        // given
+        givenBidder("bidder", false, givenHttpClientInfo());
+
+        final DedicatedBidderHttpClientProvider target = createTarget();
+
+        // when
+        final HttpClient result = target.httpClient("bidder");
+
+        // then
+        assertThat(result).isSameAs(defaultHttpClient);
+        verifyNoInteractions(httpClientFactory);
+    }
+
+    @Test
+    public void httpClientShouldReturnDefaultClientForUnknownBidder() {
+        // given
+        given(bidderCatalog.names()).willReturn(emptySet());
+
+        final DedicatedBidderHttpClientProvider target = createTarget();
+
+        // when
+        final HttpClient result = target.httpClient("unknown");
+
+        // then
+        assertThat(result).isSameAs(defaultHttpClient);
+    }
+
+    private DedicatedBidderHttpClientProvider createTarget() {
+        return new DedicatedBidderHttpClientProvider(defaultHttpClient, bidderCatalog, httpClientFactory);
+    }
+
+    private void givenBidder(String bidder, boolean active, BidderInfo.HttpClientInfo httpClientInfo) {
+        final BidderInfo bidderInfo = BidderInfo.create(
+                true,
+                null,
+                true,
+                null,
+                null,
+                "test@email.com",
+                null,
+                null,
+                null,
+                0,
+                true,
+                false,
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                httpClientInfo);
+
+        given(bidderCatalog.names()).willReturn(singleton(bidder));
+        given(bidderCatalog.bidderInfoByName(bidder)).willReturn(bidderInfo);
+        given(bidderCatalog.isActive(bidder)).willReturn(active);
+    }
+
+    private static BidderInfo.HttpClientInfo givenHttpClientInfo() {
+        return BidderInfo.HttpClientInfo.of(10, 100, 60000, 1000, true, HttpProtocol.H2, 1, 100);
+    }
+}
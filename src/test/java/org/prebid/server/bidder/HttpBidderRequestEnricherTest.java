@@ -153,7 +153,11 @@ public class HttpBidderRequestEnricherTest {
                 0,
                 false,
                 false,
-                CompressionType.GZIP));
+                CompressionType.GZIP,
+                -1,
+                0,
+                null,
+                null));
 
         final CaseInsensitiveMultiMap originalHeaders = CaseInsensitiveMultiMap.builder().build();
 
@@ -171,6 +175,82 @@ public class HttpBidderRequestEnricherTest {
         assertThat(resultHeaders.get("Content-Encoding")).isEqualTo("gzip");
     }
 
+    @Test
+    public void shouldAddIdentityAcceptEncodingHeaderIfResponseCompressionIsDisabledByBidderConfig() {
+        // given
+        when(bidderAliases.resolveBidder(BIDDER_NAME)).thenReturn(BIDDER_NAME);
+        when(bidderCatalog.bidderInfoByName(eq(BIDDER_NAME))).thenReturn(BidderInfo.create(
+                true,
+                null,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                0,
+                false,
+                false,
+                CompressionType.NONE,
+                -1,
+                0,
+                false,
+                null));
+
+        final CaseInsensitiveMultiMap originalHeaders = CaseInsensitiveMultiMap.builder().build();
+
+        // when
+        final MultiMap resultHeaders = target
+                .enrichHeaders(
+                        BIDDER_NAME,
+                        MultiMap.caseInsensitiveMultiMap(),
+                        originalHeaders,
+                        bidderAliases,
+                        BidRequest.builder().build());
+
+        // then
+        assertThat(resultHeaders.get("Accept-Encoding")).isEqualTo("identity");
+    }
+
+    @Test
+    public void shouldNotAddAcceptEncodingHeaderIfResponseCompressionIsNotConfiguredForBidder() {
+        // given
+        when(bidderAliases.resolveBidder(BIDDER_NAME)).thenReturn(BIDDER_NAME);
+        when(bidderCatalog.bidderInfoByName(eq(BIDDER_NAME))).thenReturn(BidderInfo.create(
+                true,
+                null,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                0,
+                false,
+                false,
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null));
+
+        final CaseInsensitiveMultiMap originalHeaders = CaseInsensitiveMultiMap.builder().build();
+
+        // when
+        final MultiMap resultHeaders = target
+                .enrichHeaders(
+                        BIDDER_NAME,
+                        MultiMap.caseInsensitiveMultiMap(),
+                        originalHeaders,
+                        bidderAliases,
+                        BidRequest.builder().build());
+
+        // then
+        assertThat(resultHeaders.contains("Accept-Encoding")).isFalse();
+    }
+
     @Test
     public void shouldAddContentEncodingHeaderIfRequiredByBidderAliasConfig() {
         // given
@@ -188,7 +268,11 @@ public class HttpBidderRequestEnricherTest {
                 0,
                 false,
                 false,
-                CompressionType.GZIP));
+                CompressionType.GZIP,
+                -1,
+                0,
+                null,
+                null));
 
         final CaseInsensitiveMultiMap originalHeaders = CaseInsensitiveMultiMap.builder().build();
 
@@ -34,14 +34,19 @@ import org.prebid.server.bidder.model.CompositeBidderResponse;
 import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.HttpResponse;
 import org.prebid.server.bidder.model.Result;
+import org.prebid.server.exception.ResponseSizeExceededException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.proto.openrtb.ext.response.FledgeAuctionConfig;
+import org.prebid.server.spring.config.bidder.model.CompressionType;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
 import java.time.Clock;
 import java.time.Instant;
@@ -50,6 +55,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import static java.util.Arrays.asList;
@@ -68,6 +74,7 @@ import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -96,6 +103,10 @@ public class HttpBidderRequesterTest extends VertxTest {
     private RoutingContext routingContext;
     @Mock
     private HttpServerRequest httpServerRequest;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private BidderCatalog bidderCatalog;
 
     private HttpBidderRequester target;
 
@@ -116,7 +127,17 @@ public class HttpBidderRequesterTest extends VertxTest {
         expiredTimeout = timeoutFactory.create(clock.instant().minusMillis(1500L).toEpochMilli(), 1000L);
 
         target = new HttpBidderRequester(
-                httpClient, null, bidderErrorNotifier, requestEnricher, jacksonMapper);
+                bidder -> httpClient,
+                bidderCatalog,
+                null,
+                bidderErrorNotifier,
+                requestEnricher,
+                jacksonMapper,
+                metrics,
+                Long.MAX_VALUE,
+                null,
+                null,
+                null);
         given(bidder.makeBidderResponse(any(BidderCall.class), any(BidRequest.class))).willCallRealMethod();
     }
 
@@ -255,7 +276,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                 false);
 
         // then
-        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong());
+        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong());
     }
 
     @Test
@@ -287,7 +308,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                         false);
 
         // then
-        verify(httpClient).request(any(), anyString(), any(), (byte[]) isNull(), anyLong());
+        verify(httpClient).request(any(), anyString(), any(), (byte[]) isNull(), anyLong(), anyLong());
     }
 
     @Test
@@ -320,7 +341,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                 false);
 
         // then
-        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong());
+        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong());
     }
 
     @Test
@@ -452,15 +473,138 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // then
         final ArgumentCaptor<byte[]> actualRequestBody = ArgumentCaptor.forClass(byte[].class);
-        verify(httpClient).request(any(), anyString(), any(), actualRequestBody.capture(), anyLong());
+        verify(httpClient).request(any(), anyString(), any(), actualRequestBody.capture(), anyLong(), anyLong());
         assertThat(actualRequestBody.getValue()).isNotSameAs(EMPTY_BYTE_BODY);
     }
 
+    @Test
+    public void shouldPassPooledRequestBodyToHttpClient() {
+        // given
+        final PooledBuffer bodyBuffer = jacksonMapper.encodeToPooledBuffer(BidRequest.builder().id("id").build());
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(builder -> builder.body(null).bodyBuffer(bodyBuffer))),
+                emptyList()));
+        given(httpClient.request(any(), anyString(), any(), any(PooledBuffer.class), anyLong(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, "responseBody")));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        verify(httpClient).request(any(), anyString(), any(), same(bodyBuffer), anyLong(), anyLong());
+        bodyBuffer.release();
+    }
+
+    @Test
+    public void shouldCompressPooledRequestBodyAndReleaseIt() {
+        // given
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_ENCODING_HEADER, HttpHeaderValues.GZIP);
+        final PooledBuffer bodyBuffer = jacksonMapper.encodeToPooledBuffer(BidRequest.builder().id("id").build());
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(builder -> builder.body(null).bodyBuffer(bodyBuffer))),
+                emptyList()));
+
+        given(requestEnricher.enrichHeaders(anyString(), any(), any(), any(), any())).willReturn(headers);
+        givenHttpClientResponse(200, "responseBody");
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        final ArgumentCaptor<byte[]> actualRequestBody = ArgumentCaptor.forClass(byte[].class);
+        verify(httpClient).request(any(), anyString(), any(), actualRequestBody.capture(), anyLong(), anyLong());
+        assertThat(actualRequestBody.getValue()).startsWith((byte) 0x1f, (byte) 0x8b);
+        assertThat(bodyBuffer.isReleased()).isTrue();
+    }
+
+    @Test
+    public void shouldNotCompressRequestBodyIfItIsSmallerThanBidderCompressionMinSize() {
+        // given
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_ENCODING_HEADER, HttpHeaderValues.GZIP);
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(identity())),
+                emptyList()));
+
+        given(requestEnricher.enrichHeaders(anyString(), any(), any(), any(), any())).willReturn(headers);
+        given(bidderAliases.resolveBidder("bidder")).willReturn("bidder");
+        given(bidderCatalog.bidderInfoByName("bidder")).willReturn(BidderInfo.create(
+                true,
+                null,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                0,
+                false,
+                false,
+                CompressionType.GZIP,
+                -1,
+                1000,
+                null,
+                null));
+        givenHttpClientResponse(200, "responseBody");
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        final ArgumentCaptor<MultiMap> actualHeaders = ArgumentCaptor.forClass(MultiMap.class);
+        final ArgumentCaptor<byte[]> actualRequestBody = ArgumentCaptor.forClass(byte[].class);
+        verify(httpClient).request(
+                any(), anyString(), actualHeaders.capture(), actualRequestBody.capture(), anyLong(), anyLong());
+        assertThat(actualRequestBody.getValue()).isSameAs(EMPTY_BYTE_BODY);
+        assertThat(actualHeaders.getValue().contains(HttpUtil.CONTENT_ENCODING_HEADER)).isFalse();
+        verifyNoInteractions(metrics);
+    }
+
     @Test
     public void shouldNotWaitForResponsesWhenAllDealsIsGathered() throws JsonProcessingException {
         // given
-        target = new HttpBidderRequester(httpClient, new DealsBidderRequestCompletionTrackerFactory(),
-                bidderErrorNotifier, requestEnricher, jacksonMapper);
+        target = new HttpBidderRequester(bidder -> httpClient, bidderCatalog,
+                new DealsBidderRequestCompletionTrackerFactory(), bidderErrorNotifier, requestEnricher, jacksonMapper,
+                metrics, Long.MAX_VALUE, null, null, null);
 
         final BidRequest bidRequest = bidRequestWithDeals("deal1", "deal2");
         final BidderRequest bidderRequest = BidderRequest.builder()
@@ -496,13 +640,13 @@ public class HttpBidderRequesterTest extends VertxTest {
         final HttpClientResponse respWithDeal2 = HttpClientResponse.of(200, null,
                 "{\"seatbid\":[{\"bid\":[{\"dealid\":\"deal2\"}]}]}");
 
-        given(httpClient.request(any(), anyString(), any(), eq(firstRequestBody), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), eq(firstRequestBody), anyLong(), anyLong()))
                 .willReturn(Future.succeededFuture(respWithDeal1));
-        given(httpClient.request(any(), anyString(), any(), eq(secondRequestBody), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), eq(secondRequestBody), anyLong(), anyLong()))
                 .willReturn(Promise.<HttpClientResponse>promise().future());
-        given(httpClient.request(any(), anyString(), any(), eq(thirdRequestBody), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), eq(thirdRequestBody), anyLong(), anyLong()))
                 .willReturn(Future.succeededFuture(respWithDeal2));
-        given(httpClient.request(any(), anyString(), any(), eq(forthRequestBody), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), eq(forthRequestBody), anyLong(), anyLong()))
                 .willReturn(Promise.<HttpClientResponse>promise().future());
 
         final BidderBid bidderBidDeal1 = BidderBid.of(Bid.builder().impid("deal1").dealid("deal1").build(), null, null);
@@ -525,7 +669,7 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // then
         verify(bidder).makeHttpRequests(any());
-        verify(httpClient, times(4)).request(any(), any(), any(), any(byte[].class), anyLong());
+        verify(httpClient, times(4)).request(any(), any(), any(), any(byte[].class), anyLong(), anyLong());
         verify(bidder, times(2)).makeBidderResponse(any(), any());
 
         assertThat(bidderSeatBid.getBids()).containsOnly(bidderBidDeal1, bidderBidDeal2);
@@ -571,7 +715,7 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // then
         verify(bidder).makeHttpRequests(any());
-        verify(httpClient, times(4)).request(any(), any(), any(), any(byte[].class), anyLong());
+        verify(httpClient, times(4)).request(any(), any(), any(), any(byte[].class), anyLong(), anyLong());
         verify(bidder, times(4)).makeBidderResponse(any(), any());
 
         assertThat(bidderSeatBid.getBids()).contains(bidderBid, bidderBid, bidderBid, bidderBid);
@@ -922,7 +1066,7 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(httpRequest), emptyList()));
 
-        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong()))
                 // bidder request
                 .willReturn(Future.failedFuture(new TimeoutException("Timeout exception")));
 
@@ -947,6 +1091,184 @@ public class HttpBidderRequesterTest extends VertxTest {
         verify(bidRejectionTracker).reject(singleton("1"), BidRejectionReason.TIMED_OUT);
     }
 
+    @Test
+    public void shouldRejectRequestsExceedingConcurrencyLimit() {
+        // given
+        target = new HttpBidderRequester(bidder -> httpClient, bidderCatalog, null, bidderErrorNotifier,
+                requestEnricher, jacksonMapper, metrics, Long.MAX_VALUE,
+                new BidderConcurrencyLimiter(1, 1, 1, 100L, 0.5, Clock.systemUTC()), null, null);
+
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                asList(
+                        givenSimpleHttpRequest(builder -> builder.impIds(singleton("1"))),
+                        givenSimpleHttpRequest(builder -> builder.impIds(singleton("2")))),
+                emptyList()));
+
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong()))
+                .willReturn(Promise.<HttpClientResponse>promise().future());
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                bidder,
+                bidderRequest,
+                bidRejectionTracker,
+                timeout,
+                CaseInsensitiveMultiMap.empty(),
+                bidderAliases,
+                false);
+
+        // then
+        verify(httpClient).request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong());
+        verify(bidRejectionTracker).reject(singleton("2"), BidRejectionReason.BIDDER_THROTTLED);
+    }
+
+    @Test
+    public void shouldReleaseConcurrencyLimitPermitWhenRequestIsCompleted() {
+        // given
+        target = new HttpBidderRequester(bidder -> httpClient, bidderCatalog, null, bidderErrorNotifier,
+                requestEnricher, jacksonMapper, metrics, Long.MAX_VALUE,
+                new BidderConcurrencyLimiter(1, 1, 1, 100L, 0.5, Clock.systemUTC()), null, null);
+
+        givenSuccessfulBidderMakeHttpRequests();
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(bidder, bidderRequest, bidRejectionTracker, timeout, CaseInsensitiveMultiMap.empty(),
+                bidderAliases, false);
+        target.requestBids(bidder, bidderRequest, bidRejectionTracker, timeout, CaseInsensitiveMultiMap.empty(),
+                bidderAliases, false);
+
+        // then
+        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong());
+    }
+
+    @Test
+    public void shouldReleaseConcurrencyLimitPermitWhenRequestFailsSynchronously() {
+        // given
+        target = new HttpBidderRequester(bidder -> httpClient, bidderCatalog, null, bidderErrorNotifier,
+                requestEnricher, jacksonMapper, metrics, Long.MAX_VALUE,
+                new BidderConcurrencyLimiter(1, 1, 1, 100L, 0.5, Clock.systemUTC()), null, null);
+
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(identity())), emptyList()));
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong()))
+                .willThrow(new IllegalArgumentException("Invalid url"));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        final Future<BidderSeatBid> firstResult = target.requestBids(bidder, bidderRequest, bidRejectionTracker,
+                timeout, CaseInsensitiveMultiMap.empty(), bidderAliases, false);
+        target.requestBids(bidder, bidderRequest, bidRejectionTracker, timeout, CaseInsensitiveMultiMap.empty(),
+                bidderAliases, false);
+
+        // then
+        assertThat(firstResult.result().getErrors())
+                .extracting(BidderError::getMessage)
+                .containsExactly("Invalid url");
+        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong());
+    }
+
+    @Test
+    public void shouldProfileAdapterMethodsWhenCostProfilerIsPresent() {
+        // given
+        target = new HttpBidderRequester(bidder -> httpClient, bidderCatalog, null, bidderErrorNotifier,
+                requestEnricher, jacksonMapper, metrics, Long.MAX_VALUE, null, new BidderCostProfiler(metrics, 0),
+                null);
+
+        givenSuccessfulBidderMakeHttpRequests();
+        given(bidderAliases.resolveBidder("alias")).willReturn("bidder");
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("alias")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(bidder, bidderRequest, bidRejectionTracker, timeout, CaseInsensitiveMultiMap.empty(),
+                bidderAliases, false);
+
+        // then
+        verify(metrics).updateAdapterMethodTimeMetric(eq("bidder"), eq(MetricName.make_http_requests), anyLong());
+        verify(metrics).updateAdapterMethodTimeMetric(eq("bidder"), eq(MetricName.make_bids), anyLong());
+        verify(metrics, never()).updateAdapterMethodCpuTimeMetric(any(), any(), anyLong());
+    }
+
+    @Test
+    public void shouldMakeAdapterCallsThroughOffloadExecutorWhenPresent() {
+        // given
+        final BidderOffloadExecutor offloadExecutor = mock(BidderOffloadExecutor.class);
+        given(offloadExecutor.execute(any(), any(), any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(((Supplier<?>) invocation.getArgument(3)).get()));
+
+        target = new HttpBidderRequester(bidder -> httpClient, bidderCatalog, null, bidderErrorNotifier,
+                requestEnricher, jacksonMapper, metrics, Long.MAX_VALUE, null, null, offloadExecutor);
+
+        givenSuccessfulBidderMakeHttpRequests();
+        given(bidderAliases.resolveBidder("alias")).willReturn("bidder");
+
+        final BidRequest bidRequest = BidRequest.builder().build();
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("alias")
+                .bidRequest(bidRequest)
+                .build();
+
+        // when
+        final Future<BidderSeatBid> result = target.requestBids(bidder, bidderRequest, bidRejectionTracker, timeout,
+                CaseInsensitiveMultiMap.empty(), bidderAliases, false);
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        verify(offloadExecutor).execute(eq("bidder"), eq(MetricName.make_http_requests), same(bidRequest), any());
+        verify(offloadExecutor).execute(eq("bidder"), eq(MetricName.make_bids), same(bidRequest), any());
+        verify(bidder).makeHttpRequests(bidRequest);
+    }
+
+    @Test
+    public void shouldUpdateMetricsWhenBidderResponseSizeExceeded() {
+        // given
+        final HttpRequest<BidRequest> httpRequest = givenSimpleHttpRequest(identity());
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(httpRequest), emptyList()));
+
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong()))
+                .willReturn(Future.failedFuture(new ResponseSizeExceededException("Size exceeded", 100L)));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid = target
+                .requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        verify(metrics).updateAdapterResponseSizeExceededMetrics("bidder", 100L);
+        assertThat(bidderSeatBid.getErrors())
+                .extracting(BidderError::getMessage)
+                .containsExactly("Size exceeded");
+    }
+
     @Test
     public void shouldTolerateMultipleErrors() {
         // given
@@ -966,7 +1288,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                 singletonList(BidderError.badInput("makeHttpRequestsError"))));
         when(requestEnricher.enrichHeaders(anyString(), any(), any(), any(), any()))
                 .thenAnswer(invocation -> MultiMap.caseInsensitiveMultiMap());
-        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong()))
                 // simulate response error for the first request
                 .willReturn(Future.failedFuture(new RuntimeException("Response exception")))
                 // simulate timeout for the second request
@@ -1097,18 +1419,18 @@ public class HttpBidderRequesterTest extends VertxTest {
     }
 
     private void givenHttpClientResponse(int statusCode, String response) {
-        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong(), anyLong()))
                 .willReturn(Future.succeededFuture(HttpClientResponse.of(statusCode, null, response)));
     }
 
     private void givenHttpClientProducesException(Throwable throwable) {
-        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong()))
                 .willReturn(Future.failedFuture(throwable));
     }
 
     private void givenHttpClientReturnsResponses(HttpClientResponse... httpClientResponses) {
         BDDMockito.BDDMyOngoingStubbing<Future<HttpClientResponse>> stubbing =
-                given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()));
+                given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong(), anyLong()));
 
         // setup multiple answers
         for (HttpClientResponse httpClientResponse : httpClientResponses) {
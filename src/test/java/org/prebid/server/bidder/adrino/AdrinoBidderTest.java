@@ -61,7 +61,11 @@ public class AdrinoBidderTest extends VertxTest {
                 .body(jacksonMapper.encodeToBytes(bidRequest))
                 .payload(bidRequest)
                 .build());
-        assertThat(result.getValue()).usingRecursiveComparison().isEqualTo(expectedResult.getValue());
+        // body is compared by its value regardless of whether it is kept in pooled buffer
+        assertThat(result.getValue())
+                .usingRecursiveComparison()
+                .ignoringFields("bodyBuffer")
+                .isEqualTo(expectedResult.getValue());
         assertThat(result.getErrors()).isEmpty();
     }
 
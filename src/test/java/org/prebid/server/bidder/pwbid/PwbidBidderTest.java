@@ -72,7 +72,11 @@ public class PwbidBidderTest extends VertxTest {
                 .payload(bidRequest)
                 .build());
 
-        assertThat(result.getValue()).usingRecursiveComparison().isEqualTo(expectedResults.getValue());
+        // body is compared by its value regardless of whether it is kept in pooled buffer
+        assertThat(result.getValue())
+                .usingRecursiveComparison()
+                .ignoringFields("bodyBuffer")
+                .isEqualTo(expectedResults.getValue());
         assertThat(result.getErrors()).isEmpty();
     }
 
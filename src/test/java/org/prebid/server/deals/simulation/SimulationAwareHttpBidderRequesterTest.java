@@ -18,6 +18,7 @@ import org.prebid.server.VertxTest;
 import org.prebid.server.auction.BidderAliases;
 import org.prebid.server.auction.model.BidRejectionTracker;
 import org.prebid.server.auction.model.BidderRequest;
+import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.bidder.BidderErrorNotifier;
 import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
 import org.prebid.server.bidder.HttpBidderRequestEnricher;
@@ -29,6 +30,7 @@ import org.prebid.server.deals.lineitem.LineItem;
 import org.prebid.server.deals.proto.LineItemMetaData;
 import org.prebid.server.deals.proto.Price;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.request.ExtDeal;
 import org.prebid.server.proto.openrtb.ext.request.ExtDealLine;
@@ -59,6 +61,8 @@ public class SimulationAwareHttpBidderRequesterTest extends VertxTest {
     @Mock
     private HttpClient httpClient;
     @Mock
+    private BidderCatalog bidderCatalog;
+    @Mock
     private BidderAliases bidderAliases;
     @Mock
     private BidRejectionTracker bidRejectionTracker;
@@ -72,12 +76,14 @@ public class SimulationAwareHttpBidderRequesterTest extends VertxTest {
     private CaseInsensitiveMultiMap requestHeaders;
     @Mock
     private LineItemService lineItemService;
+    @Mock
+    private Metrics metrics;
 
     @Before
     public void setUp() {
         bidderRequester = new SimulationAwareHttpBidderRequester(
-                httpClient, bidderRequestCompletionTrackerFactory, bidderErrorNotifier, requestEnricher,
-                lineItemService, jacksonMapper);
+                httpClient, bidderCatalog, bidderRequestCompletionTrackerFactory, bidderErrorNotifier, requestEnricher,
+                lineItemService, jacksonMapper, metrics);
     }
 
     @Test
@@ -194,7 +194,11 @@ public class BidderDetailsHandlerTest extends VertxTest {
                 0,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
     }
 
     private static BidderInfo givenBidderInfo() {
@@ -7,6 +7,7 @@ import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
@@ -44,6 +45,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestTargeting;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
 import org.prebid.server.proto.openrtb.ext.response.ExtResponseDebug;
+import org.prebid.server.protobuf.auction.ProtobufAuctionMapper;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.version.PrebidVersionProvider;
 
@@ -65,6 +67,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
@@ -90,6 +93,8 @@ public class AuctionHandlerTest extends VertxTest {
     private HttpInteractionLogger httpInteractionLogger;
     @Mock
     private PrebidVersionProvider prebidVersionProvider;
+    @Mock
+    private ProtobufAuctionMapper protobufAuctionMapper;
 
     private AuctionHandler auctionHandler;
     @Mock
@@ -130,7 +135,8 @@ public class AuctionHandlerTest extends VertxTest {
                 clock,
                 httpInteractionLogger,
                 prebidVersionProvider,
-                jacksonMapper);
+                jacksonMapper,
+                protobufAuctionMapper);
     }
 
     @Test
@@ -343,6 +349,59 @@ public class AuctionHandlerTest extends VertxTest {
         verify(httpResponse).end(eq("{}"));
     }
 
+    @Test
+    public void shouldRespondWithProtobufBidResponseIfClientAcceptsProtobuf() {
+        // given
+        given(httpRequest.headers()).willReturn(MultiMap.caseInsensitiveMultiMap()
+                .add("Accept", "application/x-protobuf"));
+
+        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+                .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
+
+        final BidResponse bidResponse = BidResponse.builder().build();
+        given(exchangeService.holdAuction(any()))
+                .willReturn(Future.succeededFuture(AuctionContext.builder().bidResponse(bidResponse).build()));
+
+        final Buffer protobufBody = Buffer.buffer(new byte[]{1, 2, 3});
+        given(protobufAuctionMapper.encodeBidResponse(any())).willReturn(protobufBody);
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        verify(protobufAuctionMapper).encodeBidResponse(same(bidResponse));
+        assertThat(httpResponse.headers()).hasSize(2)
+                .extracting(Map.Entry::getKey, Map.Entry::getValue)
+                .containsExactlyInAnyOrder(
+                        tuple("Content-Type", "application/x-protobuf"),
+                        tuple("x-prebid", "pbs-java/1.00"));
+
+        verify(httpResponse).end(same(protobufBody));
+        verify(httpInteractionLogger)
+                .maybeLogOpenrtb2Auction(any(), any(), eq(200), isNull());
+    }
+
+    @Test
+    public void shouldRespondWithJsonBidResponseForProtobufRequestIfClientAcceptsJson() {
+        // given
+        given(httpRequest.headers()).willReturn(MultiMap.caseInsensitiveMultiMap()
+                .add("Content-Type", "application/x-protobuf")
+                .add("Accept", "application/json"));
+
+        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+                .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
+
+        given(exchangeService.holdAuction(any())).willReturn(Future.succeededFuture(
+                AuctionContext.builder().bidResponse(BidResponse.builder().build()).build()));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        verifyNoInteractions(protobufAuctionMapper);
+        verify(httpResponse).end(eq("{}"));
+    }
+
     @Test
     public void shouldRespondWithCorrectResolvedRequestMediaTypePriceGranularity() {
         // given
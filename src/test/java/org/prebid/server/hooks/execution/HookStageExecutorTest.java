@@ -8,6 +8,7 @@ import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -50,6 +51,7 @@ import org.prebid.server.hooks.execution.v1.auction.AuctionResponsePayloadImpl;
 import org.prebid.server.hooks.execution.v1.bidder.AllProcessedBidResponsesPayloadImpl;
 import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
 import org.prebid.server.hooks.execution.v1.bidder.BidderResponsePayloadImpl;
+import org.prebid.server.hooks.execution.v1.entrypoint.BufferEntrypointPayload;
 import org.prebid.server.hooks.execution.v1.entrypoint.EntrypointPayloadImpl;
 import org.prebid.server.hooks.v1.InvocationAction;
 import org.prebid.server.hooks.v1.InvocationContext;
@@ -208,6 +210,29 @@ public class HookStageExecutorTest extends VertxTest {
         assertThat(payload.body()).isSameAs(body);
     }
 
+    @Test
+    public void executeEntrypointStageShouldKeepBodyAsReceivedUntilRequested() {
+        // given
+        final HookStageExecutor executor = createExecutor(null, null);
+
+        final Buffer body = Buffer.buffer("body");
+
+        // when
+        final Future<HookStageExecutionResult<EntrypointPayload>> future = executor.executeEntrypointStage(
+                CaseInsensitiveMultiMap.empty(),
+                CaseInsensitiveMultiMap.empty(),
+                body,
+                HookExecutionContext.of(Endpoint.openrtb2_auction));
+
+        // then
+        assertThat(future).isSucceeded();
+
+        final EntrypointPayload payload = future.result().getPayload();
+        assertThat(payload).isInstanceOf(BufferEntrypointPayload.class);
+        assertThat(((BufferEntrypointPayload) payload).rawBody()).isSameAs(body);
+        assertThat(payload.body()).isEqualTo("body");
+    }
+
     @Test
     public void shouldTolerateMissingAllExecutionPlans() {
         // given
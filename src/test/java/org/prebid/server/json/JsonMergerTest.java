@@ -1,15 +1,28 @@
 package org.prebid.server.json;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Publisher;
 import com.iab.openrtb.request.Site;
 import org.junit.Before;
 import org.junit.Test;
 import org.prebid.server.VertxTest;
+import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidderConfigOrtb;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class JsonMergerTest extends VertxTest {
 
@@ -72,4 +85,217 @@ public class JsonMergerTest extends VertxTest {
         assertThat(result).isEqualTo(site);
     }
 
+    @Test
+    public void mergeShouldOverrideStoredDataFieldsWithOriginalObjectFields() {
+        // given
+        final Site site = Site.builder()
+                .page("originalPage")
+                .publisher(Publisher.builder().id("originalId").build())
+                .build();
+        final String storedData = "{\"page\":\"storedPage\",\"domain\":\"storedDomain\","
+                + "\"publisher\":{\"id\":\"storedId\",\"name\":\"storedName\"}}";
+
+        // when
+        final Site result = target.merge(site, storedData, "id", Site.class);
+
+        // then
+        assertThat(result).isEqualTo(Site.builder()
+                .page("originalPage")
+                .domain("storedDomain")
+                .publisher(Publisher.builder().id("originalId").name("storedName").build())
+                .build());
+    }
+
+    @Test
+    public void mergeShouldFailIfStoredDataIsNotValidJson() {
+        // when and then
+        assertThatExceptionOfType(InvalidRequestException.class)
+                .isThrownBy(() -> target.merge(Site.builder().build(), "{invalid", "id", Site.class))
+                .withMessage("Can't parse Json for stored request with id id");
+    }
+
+    @Test
+    public void mergeShouldRemoveFieldsWhichAreNullInFromNode() {
+        // given
+        final ObjectNode fromNode = mapper.createObjectNode().put("a", 1).putNull("b");
+        fromNode.putObject("c").put("d", 2).putNull("e");
+        final ObjectNode toNode = mapper.createObjectNode().put("b", 3).put("f", 4);
+        toNode.putObject("c").put("e", 5).put("g", 6);
+
+        // when
+        final JsonNode result = target.merge(fromNode, toNode);
+
+        // then
+        final ObjectNode expectedResult = mapper.createObjectNode().put("f", 4).put("a", 1);
+        expectedResult.putObject("c").put("g", 6).put("d", 2);
+        assertThat(result).isEqualTo(expectedResult);
+    }
+
+    @Test
+    public void mergeShouldNotModifyPassedNodes() {
+        // given
+        final ObjectNode fromNode = mapper.createObjectNode();
+        fromNode.putObject("a").put("b", 1);
+        final ObjectNode toNode = mapper.createObjectNode();
+        toNode.putObject("a").put("c", 2);
+
+        // when
+        target.merge(fromNode, toNode);
+
+        // then
+        assertThat(fromNode).isEqualTo(mapper.createObjectNode().set("a", mapper.createObjectNode().put("b", 1)));
+        assertThat(toNode).isEqualTo(mapper.createObjectNode().set("a", mapper.createObjectNode().put("c", 2)));
+    }
+
+    @Test
+    public void mergeShouldReturnFromNodeIfItIsNotObject() {
+        // given
+        final JsonNode fromNode = mapper.createArrayNode().add(1);
+
+        // when
+        final JsonNode result = target.merge(fromNode, mapper.createObjectNode().put("a", 1));
+
+        // then
+        assertThat(result).isEqualTo(fromNode);
+    }
+
+    @Test
+    public void mergeShouldNotModifyCachedStoredData() {
+        // given
+        target = new JsonMerger(jacksonMapper, new JsonTreeCache(jacksonMapper, 1024));
+        final String storedData = "{\"page\":\"storedPage\",\"publisher\":{\"id\":\"storedId\"}}";
+
+        // when
+        final Site first = target.merge(
+                Site.builder().publisher(Publisher.builder().id("firstId").build()).build(),
+                storedData, "id", Site.class);
+        final Site second = target.merge(Site.builder().domain("domain").build(), storedData, "id", Site.class);
+
+        // then
+        assertThat(first).isEqualTo(Site.builder()
+                .page("storedPage")
+                .publisher(Publisher.builder().id("firstId").build())
+                .build());
+        assertThat(second).isEqualTo(Site.builder()
+                .page("storedPage")
+                .domain("domain")
+                .publisher(Publisher.builder().id("storedId").build())
+                .build());
+    }
+
+    @Test
+    public void mergeShouldReplaceListsAndRemoveFieldsWhichAreNullInOriginalObjectNodes() {
+        // given
+        final ObjectNode ext = mapper.createObjectNode();
+        ext.putArray("list").add(2);
+        ext.putObject("object").put("a", 1).putNull("b");
+        final Imp imp = Imp.builder()
+                .banner(Banner.builder().format(singletonList(Format.builder().w(2).build())).build())
+                .ext(ext)
+                .build();
+        final String storedData = "{\"id\":\"storedId\",\"banner\":{\"format\":[{\"w\":1}],\"pos\":1},"
+                + "\"ext\":{\"list\":[1],\"object\":{\"b\":2,\"c\":3}}}";
+
+        // when
+        final Imp result = target.merge(imp, storedData, "id", Imp.class);
+
+        // then
+        final ObjectNode expectedExt = mapper.createObjectNode();
+        expectedExt.putArray("list").add(2);
+        expectedExt.putObject("object").put("c", 3).put("a", 1);
+        assertThat(result).isEqualTo(Imp.builder()
+                .id("storedId")
+                .banner(Banner.builder().format(singletonList(Format.builder().w(2).build())).pos(1).build())
+                .ext(expectedExt)
+                .build());
+    }
+
+    @Test
+    public void mergeShouldNotModifyMergingObject() {
+        // given
+        final Site mergingSite = Site.builder()
+                .domain("domain")
+                .publisher(Publisher.builder().id("id").build())
+                .build();
+
+        // when
+        final Site result = target.merge(
+                Site.builder().publisher(Publisher.builder().name("name").build()).build(), mergingSite, Site.class);
+
+        // then
+        assertThat(result).isEqualTo(Site.builder()
+                .domain("domain")
+                .publisher(Publisher.builder().id("id").name("name").build())
+                .build());
+        assertThat(mergingSite).isEqualTo(Site.builder()
+                .domain("domain")
+                .publisher(Publisher.builder().id("id").build())
+                .build());
+    }
+
+    @Test
+    public void mergeShouldNotBeSlowerThanTreeRoundTripForRequestsOf1And10And50Imps() throws IOException {
+        // given
+        target = new JsonMerger(jacksonMapper, new JsonTreeCache(jacksonMapper, 1024 * 1024));
+        final String storedData = "{\"tmax\":1000,\"site\":{\"domain\":\"domain\",\"publisher\":{\"id\":\"id\"}},"
+                + "\"ext\":{\"prebid\":{\"targeting\":{\"pricegranularity\":\"med\"},\"cache\":{\"bids\":{}}}}}";
+        final JsonNode storedNode = mapper.readTree(storedData);
+
+        for (int imps : new int[]{1, 10, 50}) {
+            final BidRequest bidRequest = givenBidRequest(imps);
+
+            // when
+            final BidRequest result = target.merge(bidRequest, storedData, "id", BidRequest.class);
+            final BidRequest roundTripResult = mergeByTreeRoundTrip(bidRequest, storedNode);
+
+            final long mergeNanos = bestOfNanos(() -> target.merge(bidRequest, storedData, "id", BidRequest.class));
+            final long roundTripNanos = bestOfNanos(() -> mergeByTreeRoundTrip(bidRequest, storedNode));
+
+            // then
+            assertThat(result).isEqualTo(roundTripResult);
+            // generous bound, as this is a guard against regressions rather than a benchmark
+            assertThat(mergeNanos).as("merge of %d imps", imps).isLessThan(roundTripNanos * 2);
+        }
+    }
+
+    private BidRequest mergeByTreeRoundTrip(BidRequest bidRequest, JsonNode storedNode) {
+        try {
+            return mapper.treeToValue(target.merge(mapper.valueToTree(bidRequest), storedNode), BidRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the best time of a few rounds of repeated calls, to reduce influence of JIT and GC.
+     */
+    private static long bestOfNanos(Runnable call) {
+        long bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            final long start = System.nanoTime();
+            for (int i = 0; i < 1000; i++) {
+                call.run();
+            }
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        return bestNanos;
+    }
+
+    private static BidRequest givenBidRequest(int imps) {
+        final List<Imp> impList = IntStream.range(0, imps)
+                .mapToObj(i -> Imp.builder()
+                        .id("impId" + i)
+                        .banner(Banner.builder().format(singletonList(Format.builder().w(300).h(250).build())).build())
+                        .ext(mapper.createObjectNode().set("prebid", mapper.createObjectNode()
+                                .set("bidder", mapper.createObjectNode()
+                                        .set("bidder", mapper.createObjectNode().put("placementId", i)))))
+                        .build())
+                .toList();
+
+        return BidRequest.builder()
+                .id("requestId")
+                .imp(impList)
+                .site(Site.builder().page("page").build())
+                .build();
+    }
 }
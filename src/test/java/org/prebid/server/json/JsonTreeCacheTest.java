@@ -0,0 +1,42 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class JsonTreeCacheTest extends VertxTest {
+
+    private JsonTreeCache target;
+
+    @Before
+    public void setUp() {
+        target = new JsonTreeCache(jacksonMapper, 1024);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new JsonTreeCache(jacksonMapper, 0));
+    }
+
+    @Test
+    public void readTreeShouldReturnSameTreeForSameJson() throws JsonProcessingException {
+        // when
+        final JsonNode first = target.readTree("{\"a\":1}");
+        final JsonNode second = target.readTree(new String("{\"a\":1}"));
+
+        // then
+        assertThat(first).isEqualTo(mapper.createObjectNode().put("a", 1));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void readTreeShouldFailOnInvalidJson() {
+        assertThatExceptionOfType(JsonProcessingException.class).isThrownBy(() -> target.readTree("{invalid"));
+    }
+}
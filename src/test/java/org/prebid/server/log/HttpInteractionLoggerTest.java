@@ -3,6 +3,7 @@ package org.prebid.server.log;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.logging.Logger;
 import io.vertx.ext.web.RoutingContext;
@@ -75,6 +76,28 @@ public class HttpInteractionLoggerTest extends VertxTest {
                         "responseBody");
     }
 
+    @Test
+    public void maybeLogOpenrtb2AuctionShouldLogBidResponseAsJsonIfResponseBodyIsAbsent() {
+        // given
+        final AuctionContext givenAuctionContext = givenAuctionContext(accountBuilder -> accountBuilder.id("123"))
+                .toBuilder()
+                .bidResponse(BidResponse.builder().id("responseId").build())
+                .build();
+        final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, "123", null, 1);
+
+        // when
+        testingInstance.setSpec(givenSpec);
+        testingInstance.maybeLogOpenrtb2Auction(givenAuctionContext, routingContext, 200, null);
+
+        // then
+        verify(logger)
+                .info("Requested URL: \"{0}\", request body: \"{1}\", response status: \"{2}\", response body: \"{3}\"",
+                        "example.com",
+                        "{}",
+                        200,
+                        "{\"id\":\"responseId\"}");
+    }
+
     @Test
     public void maybeLogOpenrtb2AuctionShouldLimitLogBySpecLimit() {
         // given
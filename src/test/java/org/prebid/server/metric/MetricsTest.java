@@ -579,6 +579,40 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("adapter.conversant.requests.badinput").getCount()).isEqualTo(2);
     }
 
+    @Test
+    public void updateAdapterRequestCompressionMetricsShouldUpdateHistograms() {
+        // when
+        metrics.updateAdapterRequestCompressionMetrics(RUBICON, 1000, 250, 40L);
+
+        // then
+        assertThat(metricRegistry.histogram("adapter.rubicon.request_compression_ratio").getSnapshot().getValues())
+                .containsOnly(25L);
+        assertThat(metricRegistry.histogram("adapter.rubicon.request_compression_time").getSnapshot().getValues())
+                .containsOnly(40L);
+    }
+
+    @Test
+    public void updateAdapterResponseDecompressionMetricsShouldUpdateMetrics() {
+        // when
+        metrics.updateAdapterResponseDecompressionMetrics(RUBICON, 100L, 400L, 20L);
+
+        // then
+        assertThat(metricRegistry.counter("adapter.rubicon.response.compressed_bytes").getCount()).isEqualTo(100);
+        assertThat(metricRegistry.counter("adapter.rubicon.response.decompressed_bytes").getCount()).isEqualTo(400);
+        assertThat(metricRegistry.histogram("adapter.rubicon.response.inflate_time").getCount()).isOne();
+    }
+
+    @Test
+    public void updateAdapterResponseSizeExceededMetricsShouldIncrementMetrics() {
+        // when
+        metrics.updateAdapterResponseSizeExceededMetrics(RUBICON, 100L);
+        metrics.updateAdapterResponseSizeExceededMetrics(RUBICON, 50L);
+
+        // then
+        assertThat(metricRegistry.counter("adapter.rubicon.response.size_exceeded").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.counter("adapter.rubicon.response.aborted_bytes").getCount()).isEqualTo(150);
+    }
+
     @Test
     public void updateSizeValidationMetricsShouldIncrementMetrics() {
         // when
@@ -1196,6 +1230,18 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("settings.cache.account.hit").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void createSettingsCacheGaugesShouldCreateWeightAndEvictionsGauges() {
+        // when
+        metrics.createSettingsCacheGauges(MetricName.stored_request, () -> 1024L, () -> 3L);
+
+        // then
+        assertThat(metricRegistry.gauge("settings.cache.stored-request.weight", () -> null).getValue())
+                .isEqualTo(1024L);
+        assertThat(metricRegistry.gauge("settings.cache.stored-request.evictions", () -> null).getValue())
+                .isEqualTo(3L);
+    }
+
     @Test
     public void updateHooksMetricsShouldIncrementMetrics() {
         // when
@@ -1353,6 +1399,53 @@ public class MetricsTest {
                 .isZero();
     }
 
+    @Test
+    public void updateAdapterMethodMetricsShouldUpdateHistograms() {
+        // when
+        metrics.updateAdapterMethodTimeMetric("rubicon", MetricName.make_bids, 250_000L);
+        metrics.updateAdapterMethodCpuTimeMetric("rubicon", MetricName.make_bids, 200_000L);
+        metrics.updateAdapterMethodAllocatedBytesMetric("rubicon", MetricName.make_http_requests, 4096L);
+
+        // then
+        assertThat(metricRegistry.histogram("adapter.rubicon.make_bids.wall_time").getSnapshot().getMax())
+                .isEqualTo(250L);
+        assertThat(metricRegistry.histogram("adapter.rubicon.make_bids.cpu_time").getSnapshot().getMax())
+                .isEqualTo(200L);
+        assertThat(metricRegistry.histogram("adapter.rubicon.make_http_requests.allocated_bytes").getSnapshot()
+                .getMax()).isEqualTo(4096L);
+    }
+
+    @Test
+    public void updateAuctionStageMetricsShouldUpdateStageTimers() {
+        // given
+        given(accountMetricsVerbosityResolver.forAccount(any())).willReturn(AccountMetricsVerbosityLevel.detailed);
+
+        // when
+        metrics.updateAuctionStageMetrics(Account.empty("accountId"), Map.of(
+                MetricName.stored_request, 2_000_000L,
+                MetricName.bidder_calls, 150_000_000L));
+
+        // then
+        assertThat(metricRegistry.timer("auction.stage.stored-request.duration").getSnapshot().getMax())
+                .isEqualTo(2_000_000L);
+        assertThat(metricRegistry.timer("auction.stage.bidder-calls.duration").getCount()).isOne();
+        assertThat(metricRegistry.timer("account.accountId.auction.stage.bidder-calls.duration").getCount())
+                .isOne();
+    }
+
+    @Test
+    public void updateAuctionStageMetricsShouldNotUpdateAccountTimersIfVerbosityIsNotAtLeastDetailed() {
+        // given
+        given(accountMetricsVerbosityResolver.forAccount(any())).willReturn(AccountMetricsVerbosityLevel.basic);
+
+        // when
+        metrics.updateAuctionStageMetrics(Account.empty("accountId"), Map.of(MetricName.privacy, 1_000L));
+
+        // then
+        assertThat(metricRegistry.timer("auction.stage.privacy.duration").getCount()).isOne();
+        assertThat(metricRegistry.timer("account.accountId.auction.stage.privacy.duration").getCount()).isZero();
+    }
+
     @Test
     public void shouldIncrementWinNotificationMetric() {
         // when
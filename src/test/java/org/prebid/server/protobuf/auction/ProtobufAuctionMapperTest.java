@@ -0,0 +1,186 @@
+package org.prebid.server.protobuf.auction;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.ExtensionRegistry;
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class ProtobufAuctionMapperTest extends VertxTest {
+
+    private ProtobufAuctionMapper target;
+
+    @Before
+    public void setUp() {
+        target = new ProtobufAuctionMapper(
+                JsonStringExtensionMappers.requestSpecification(mapper),
+                JsonStringExtensionMappers.responseSpecification(mapper));
+    }
+
+    @Test
+    public void isProtobufShouldRecognizeProtobufMediaTypes() {
+        // when and then
+        assertThat(ProtobufAuctionMapper.isProtobuf("application/x-protobuf")).isTrue();
+        assertThat(ProtobufAuctionMapper.isProtobuf("application/protobuf; charset=utf-8")).isTrue();
+        assertThat(ProtobufAuctionMapper.isProtobuf("application/json")).isFalse();
+        assertThat(ProtobufAuctionMapper.isProtobuf(null)).isFalse();
+    }
+
+    @Test
+    public void decodeBidRequestShouldMapOnlyPresentFieldsAndJsonExtensions() throws IOException {
+        // given
+        final OpenRtb.BidRequest protobufBidRequest = OpenRtb.BidRequest.newBuilder()
+                .setId("id")
+                .addImp(OpenRtb.BidRequest.Imp.newBuilder()
+                        .setId("impId")
+                        .setBanner(OpenRtb.BidRequest.Imp.Banner.newBuilder().setW(300).setH(250))
+                        .setBidfloor(1.5)
+                        .setSecure(true)
+                        .setExtension(OpenRtbJsonExt.impExt, "{\"bidder\":{\"param\":1}}"))
+                .setSite(OpenRtb.BidRequest.Site.newBuilder().setPage("http://page.com"))
+                .setTmax(1000)
+                .addCur("USD")
+                .setExtension(OpenRtbJsonExt.bidRequestExt, "{\"prebid\":{\"debug\":1}}")
+                .build();
+
+        // when
+        final BidRequest result = target.decodeBidRequest(Buffer.buffer(protobufBidRequest.toByteArray()));
+
+        // then
+        final ObjectNode impExt = mapper.createObjectNode();
+        impExt.set("bidder", mapper.createObjectNode().put("param", 1));
+
+        assertThat(result).isEqualTo(BidRequest.builder()
+                .id("id")
+                .imp(singletonList(Imp.builder()
+                        .id("impId")
+                        .banner(Banner.builder().w(300).h(250).build())
+                        .bidfloor(BigDecimal.valueOf(1.5))
+                        .secure(1)
+                        .ext(impExt)
+                        .build()))
+                .site(Site.builder().page("http://page.com").build())
+                .tmax(1000L)
+                .cur(singletonList("USD"))
+                .ext(ExtRequest.of(ExtRequestPrebid.builder().debug(1).build()))
+                .build());
+    }
+
+    @Test
+    public void decodeBidRequestShouldFailOnInvalidJsonExtension() {
+        // given
+        final OpenRtb.BidRequest protobufBidRequest = OpenRtb.BidRequest.newBuilder()
+                .setId("id")
+                .setExtension(OpenRtbJsonExt.bidRequestExt, "{invalid")
+                .build();
+
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> target.decodeBidRequest(Buffer.buffer(protobufBidRequest.toByteArray())))
+                .withMessageStartingWith("Failed to decode ExtRequest extension");
+    }
+
+    @Test
+    public void encodeBidResponseShouldMapBidResponseWithJsonExtensions() throws IOException {
+        // given
+        final BidResponse bidResponse = BidResponse.builder()
+                .id("id")
+                .cur("USD")
+                .seatbid(singletonList(SeatBid.builder()
+                        .seat("seat")
+                        .bid(singletonList(Bid.builder()
+                                .id("bidId")
+                                .impid("impId")
+                                .price(BigDecimal.ONE)
+                                .adm("adm")
+                                .ext(mapper.createObjectNode().put("field", "value"))
+                                .build()))
+                        .build()))
+                .build();
+
+        // when
+        final Buffer result = target.encodeBidResponse(bidResponse);
+
+        // then
+        final ExtensionRegistry extensionRegistry = ExtensionRegistry.newInstance();
+        OpenRtbJsonExt.registerAllExtensions(extensionRegistry);
+
+        assertThat(OpenRtb.BidResponse.parseFrom(result.getBytes(), extensionRegistry))
+                .isEqualTo(OpenRtb.BidResponse.newBuilder()
+                        .setId("id")
+                        .setCur("USD")
+                        .addSeatbid(OpenRtb.BidResponse.SeatBid.newBuilder()
+                                .setSeat("seat")
+                                .addBid(OpenRtb.BidResponse.SeatBid.Bid.newBuilder()
+                                        .setId("bidId")
+                                        .setImpid("impId")
+                                        .setPrice(1.0)
+                                        .setAdm("adm")
+                                        .setExtension(OpenRtbJsonExt.bidExt, "{\"field\":\"value\"}")))
+                        .build());
+    }
+
+    @Test
+    public void protobufPayloadsShouldBeSmallerThanJsonPayloadsOfSameFixtures() throws IOException {
+        // given
+        final OpenRtb.BidRequest.Builder protobufBidRequestBuilder = OpenRtb.BidRequest.newBuilder()
+                .setId("requestId")
+                .setSite(OpenRtb.BidRequest.Site.newBuilder().setPage("http://page.com"))
+                .setTmax(1000)
+                .addCur("USD")
+                .setExtension(OpenRtbJsonExt.bidRequestExt, "{\"prebid\":{\"debug\":1}}");
+        IntStream.range(0, 10).forEach(i -> protobufBidRequestBuilder.addImp(OpenRtb.BidRequest.Imp.newBuilder()
+                .setId("impId" + i)
+                .setBanner(OpenRtb.BidRequest.Imp.Banner.newBuilder().setW(300).setH(250))
+                .setBidfloor(1.5)
+                .setSecure(true)
+                .setExtension(OpenRtbJsonExt.impExt, "{\"bidder\":{\"placementId\":%d}}".formatted(i))));
+        final byte[] protobufBidRequest = protobufBidRequestBuilder.build().toByteArray();
+
+        final BidResponse bidResponse = BidResponse.builder()
+                .id("requestId")
+                .cur("USD")
+                .seatbid(singletonList(SeatBid.builder()
+                        .seat("seat")
+                        .bid(IntStream.range(0, 10)
+                                .mapToObj(i -> Bid.builder()
+                                        .id("bidId" + i)
+                                        .impid("impId" + i)
+                                        .price(BigDecimal.valueOf(1.25))
+                                        .adm("<div>ad</div>")
+                                        .ext(mapper.createObjectNode().put("field", "value"))
+                                        .build())
+                                .toList())
+                        .build()))
+                .build();
+
+        // when
+        final int jsonBidRequestSize =
+                mapper.writeValueAsBytes(target.decodeBidRequest(Buffer.buffer(protobufBidRequest))).length;
+        final int protobufBidResponseSize = target.encodeBidResponse(bidResponse).length();
+        final int jsonBidResponseSize = mapper.writeValueAsBytes(bidResponse).length;
+
+        // then
+        assertThat(protobufBidRequest.length).isLessThan(jsonBidRequestSize);
+        assertThat(protobufBidResponseSize).isLessThan(jsonBidResponseSize);
+    }
+}
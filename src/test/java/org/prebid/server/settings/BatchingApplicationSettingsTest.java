@@ -0,0 +1,256 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.settings.model.StoredDataResult;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class BatchingApplicationSettingsTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ApplicationSettings delegate;
+    @Mock
+    private Vertx vertx;
+
+    private BatchingApplicationSettings target;
+
+    private Timeout timeout;
+
+    @Before
+    public void setUp() {
+        timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(500L);
+
+        target = new BatchingApplicationSettings(delegate, vertx, 2L, 4);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveWindow() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BatchingApplicationSettings(delegate, vertx, 0L, 3))
+                .withMessage("Batching window and max batch size must be positive");
+    }
+
+    @Test
+    public void getStoredDataShouldFetchIdsOfConcurrentCallsInSingleBatchWhenWindowPasses() {
+        // given
+        final Promise<StoredDataResult> batchPromise = Promise.promise();
+        given(delegate.getStoredData(any(), any(), any(), any())).willReturn(batchPromise.future());
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                target.getStoredData("accountId", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> secondFuture =
+                target.getStoredData("accountId", singleton("req2"), singleton("imp1"), timeout);
+
+        verifyNoInteractions(delegate);
+        fireTimer();
+
+        batchPromise.complete(StoredDataResult.of(
+                Map.of("req1", "json1", "req2", "json2"), singletonMap("imp1", "json3"), emptyList()));
+
+        // then
+        verify(delegate).getStoredData(eq("accountId"), eq(Set.of("req1", "req2")), eq(singleton("imp1")), any());
+        assertThat(firstFuture.result())
+                .isEqualTo(StoredDataResult.of(singletonMap("req1", "json1"), emptyMap(), emptyList()));
+        assertThat(secondFuture.result())
+                .isEqualTo(StoredDataResult.of(singletonMap("req2", "json2"), singletonMap("imp1", "json3"),
+                        emptyList()));
+    }
+
+    @Test
+    public void getStoredDataShouldFetchBatchRightAwayWhenMaxSizeIsReached() {
+        // given
+        given(vertx.setTimer(eq(2L), any())).willReturn(1L);
+        given(delegate.getStoredData(any(), any(), any(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(Map.of("req1", "json1", "req2", "json2", "req3", "json3"),
+                        singletonMap("imp1", "json4"), emptyList())));
+
+        // when
+        target.getStoredData("accountId", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> future =
+                target.getStoredData("accountId", Set.of("req2", "req3"), singleton("imp1"), timeout);
+
+        // then
+        verify(delegate).getStoredData(
+                eq("accountId"), eq(Set.of("req1", "req2", "req3")), eq(singleton("imp1")), any());
+        verify(vertx).cancelTimer(1L);
+        assertThat(future.result()).isEqualTo(StoredDataResult.of(
+                Map.of("req2", "json2", "req3", "json3"), singletonMap("imp1", "json4"), emptyList()));
+    }
+
+    @Test
+    public void getStoredDataShouldNotBatchLookupsOfDifferentAccounts() {
+        // given
+        given(delegate.getStoredData(any(), any(), any(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(emptyMap(), emptyMap(), emptyList())));
+
+        // when
+        target.getStoredData("accountId1", singleton("req1"), emptySet(), timeout);
+        target.getStoredData("accountId2", singleton("req1"), emptySet(), timeout);
+        fireTimers(2);
+
+        // then
+        verify(delegate).getStoredData(eq("accountId1"), eq(singleton("req1")), eq(emptySet()), any());
+        verify(delegate).getStoredData(eq("accountId2"), eq(singleton("req1")), eq(emptySet()), any());
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void getStoredDataShouldReturnErrorsOnlyToCallersWithMissedIds() {
+        // given
+        given(delegate.getAmpStoredData(any(), any(), any(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(singletonMap("req1", "json1"), emptyMap(),
+                        singletonList("No stored request found for id: req2"))));
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                target.getAmpStoredData("accountId", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> secondFuture =
+                target.getAmpStoredData("accountId", singleton("req2"), emptySet(), timeout);
+        fireTimer();
+
+        // then
+        assertThat(firstFuture.result().getErrors()).isEmpty();
+        assertThat(secondFuture.result())
+                .isEqualTo(StoredDataResult.of(emptyMap(), emptyMap(),
+                        singletonList("No stored request found for id: req2")));
+    }
+
+    @Test
+    public void getStoredDataShouldBuildCallerErrorsFromItsOwnMissedIdsOnly() {
+        // given
+        given(delegate.getStoredData(any(), any(), any(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(emptyMap(), emptyMap(), List.of(
+                        "No stored request found for id: 12",
+                        "No stored request found for id: 1",
+                        "No stored imp found for id: 1"))));
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                target.getStoredData("accountId", singleton("1"), singleton("1"), timeout);
+        final Future<StoredDataResult> secondFuture =
+                target.getStoredData("accountId", singleton("12"), emptySet(), timeout);
+        fireTimer();
+
+        // then
+        assertThat(firstFuture.result().getErrors())
+                .containsExactly("No stored request found for id: 1", "No stored imp found for id: 1");
+        assertThat(secondFuture.result().getErrors()).containsExactly("No stored request found for id: 12");
+    }
+
+    @Test
+    public void getStoredDataShouldFailOnlyCallerWhoseTimeoutExpiredWhileBatchIsFetched() {
+        // given
+        final Promise<StoredDataResult> batchPromise = Promise.promise();
+        given(delegate.getStoredData(any(), any(), any(), any())).willReturn(batchPromise.future());
+
+        final Timeout shortTimeout =
+                new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(100L);
+
+        // when
+        final Future<StoredDataResult> impatientFuture =
+                target.getStoredData("accountId", singleton("req1"), emptySet(), shortTimeout);
+        final Future<StoredDataResult> patientFuture =
+                target.getStoredData("accountId", singleton("req2"), emptySet(), timeout);
+        fireTimer();
+
+        waiterTimerHandler(100L).handle(1L);
+        batchPromise.complete(StoredDataResult.of(Map.of("req1", "json1", "req2", "json2"), emptyMap(), emptyList()));
+
+        // then
+        verify(delegate).getStoredData(eq("accountId"), eq(Set.of("req1", "req2")), eq(emptySet()), same(timeout));
+        assertThat(impatientFuture.cause()).isInstanceOf(TimeoutException.class)
+                .hasMessage("Timeout has been exceeded");
+        assertThat(patientFuture.result())
+                .isEqualTo(StoredDataResult.of(singletonMap("req2", "json2"), emptyMap(), emptyList()));
+    }
+
+    @Test
+    public void getStoredDataShouldFailRightAwayIfTimeoutAlreadyExpired() {
+        // given
+        final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        final Timeout expiredTimeout = new TimeoutFactory(clock).create(clock.millis() - 200L, 100L);
+
+        // when
+        final Future<StoredDataResult> future =
+                target.getStoredData("accountId", singleton("req1"), emptySet(), expiredTimeout);
+
+        // then
+        verifyNoInteractions(delegate, vertx);
+        assertThat(future.cause()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void getStoredDataShouldPropagateBatchFailureToAllCallers() {
+        // given
+        given(delegate.getVideoStoredData(any(), any(), any(), any()))
+                .willReturn(Future.failedFuture(new RuntimeException("error")));
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                target.getVideoStoredData("accountId", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> secondFuture =
+                target.getVideoStoredData("accountId", singleton("req2"), emptySet(), timeout);
+        fireTimer();
+
+        // then
+        assertThat(firstFuture.cause()).hasMessage("error");
+        assertThat(secondFuture.cause()).hasMessage("error");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> waiterTimerHandler(long timeoutMs) {
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(eq(timeoutMs), timerHandlerCaptor.capture());
+        return timerHandlerCaptor.getValue();
+    }
+
+    private void fireTimer() {
+        fireTimers(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fireTimers(int times) {
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, times(times)).setTimer(eq(2L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getAllValues().forEach(handler -> handler.handle(1L));
+    }
+}
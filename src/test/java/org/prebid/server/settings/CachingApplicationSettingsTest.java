@@ -1,12 +1,17 @@
 package org.prebid.server.settings;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
@@ -22,7 +27,11 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
@@ -32,6 +41,7 @@ import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -41,7 +51,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
-public class CachingApplicationSettingsTest {
+public class CachingApplicationSettingsTest extends VertxTest {
 
     @Rule
     public final MockitoRule mockitoRule = MockitoJUnit.rule();
@@ -53,11 +63,14 @@ public class CachingApplicationSettingsTest {
 
     private CachingApplicationSettings cachingApplicationSettings;
 
+    private TimeoutFactory timeoutFactory;
+
     private Timeout timeout;
 
     @Before
     public void setUp() {
-        timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(500L);
+        timeoutFactory = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()));
+        timeout = timeoutFactory.create(500L);
 
         cachingApplicationSettings = new CachingApplicationSettings(
                 applicationSettings,
@@ -65,8 +78,14 @@ public class CachingApplicationSettingsTest {
                 new SettingsCache(360, 100),
                 new SettingsCache(360, 100),
                 metrics,
+                Clock.systemUTC(),
+                timeoutFactory,
+                jacksonMapper,
                 360,
-                100);
+                0,
+                1000L,
+                100,
+                0L);
     }
 
     @Test
@@ -171,6 +190,124 @@ public class CachingApplicationSettingsTest {
         verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.hit));
     }
 
+    @Test
+    public void getAccountByIdShouldCollapseConcurrentMissesIntoSingleDelegateCall() {
+        // given
+        final Promise<Account> accountPromise = Promise.promise();
+        given(applicationSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(accountPromise.future());
+
+        // when
+        final Future<Account> firstFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> secondFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+        accountPromise.complete(Account.empty("accountId"));
+
+        // then
+        assertThat(firstFuture.result()).isEqualTo(Account.empty("accountId"));
+        assertThat(secondFuture.result()).isEqualTo(Account.empty("accountId"));
+        verify(applicationSettings).getAccountById(eq("accountId"), same(timeout));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.coalesced));
+    }
+
+    @Test
+    public void getAccountByIdShouldFailCollapsedCallWhenItsOwnTimeoutIsExpired() {
+        // given
+        given(applicationSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Promise.<Account>promise().future());
+        final Timeout expiredTimeout = timeout.minus(500L);
+
+        // when
+        cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> future = cachingApplicationSettings.getAccountById("accountId", expiredTimeout);
+
+        // then
+        assertThat(future.cause()).isInstanceOf(TimeoutException.class);
+        verify(applicationSettings).getAccountById(eq("accountId"), same(timeout));
+    }
+
+    @Test
+    public void getAccountByIdShouldLookUpAgainWithinOwnTimeoutWhenCollapsedLookupTimedOut() {
+        // given
+        final Promise<Account> accountPromise = Promise.promise();
+        final Timeout shortTimeout = timeout.minus(400L);
+        given(applicationSettings.getAccountById(eq("accountId"), same(shortTimeout)))
+                .willReturn(accountPromise.future());
+        given(applicationSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")));
+
+        // when
+        final Future<Account> firstFuture = cachingApplicationSettings.getAccountById("accountId", shortTimeout);
+        final Future<Account> secondFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+        accountPromise.fail(new TimeoutException("timeout"));
+
+        // then
+        assertThat(firstFuture.cause()).isInstanceOf(TimeoutException.class);
+        assertThat(secondFuture.result()).isEqualTo(Account.empty("accountId"));
+        verify(applicationSettings).getAccountById(eq("accountId"), same(timeout));
+    }
+
+    @Test
+    public void getAccountByIdShouldCompleteCollapsedCallsOnContextsOfCallers() throws InterruptedException {
+        // given
+        final Vertx vertx = Vertx.vertx();
+        final Context firstContext = vertx.getOrCreateContext();
+        final Context secondContext = vertx.getOrCreateContext();
+
+        final Promise<Account> accountPromise = Promise.promise();
+        given(applicationSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(accountPromise.future());
+
+        final CountDownLatch requested = new CountDownLatch(2);
+        final CountDownLatch completed = new CountDownLatch(2);
+        final AtomicReference<Context> firstCompletionContext = new AtomicReference<>();
+        final AtomicReference<Context> secondCompletionContext = new AtomicReference<>();
+
+        // when
+        firstContext.runOnContext(ignored -> {
+            cachingApplicationSettings.getAccountById("accountId", timeout).onComplete(result -> {
+                firstCompletionContext.set(Vertx.currentContext());
+                completed.countDown();
+            });
+            requested.countDown();
+        });
+        requested.await(5, TimeUnit.SECONDS);
+        secondContext.runOnContext(ignored -> {
+            cachingApplicationSettings.getAccountById("accountId", timeout).onComplete(result -> {
+                secondCompletionContext.set(Vertx.currentContext());
+                completed.countDown();
+            });
+            requested.countDown();
+        });
+        requested.await(5, TimeUnit.SECONDS);
+        firstContext.runOnContext(ignored -> accountPromise.complete(Account.empty("accountId")));
+
+        // then
+        try {
+            assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(firstCompletionContext.get()).isSameAs(firstContext);
+            assertThat(secondCompletionContext.get()).isSameAs(secondContext);
+            verify(applicationSettings).getAccountById(eq("accountId"), same(timeout));
+        } finally {
+            vertx.close();
+        }
+    }
+
+    @Test
+    public void getAccountByIdShouldCallDelegateAgainWhenPreviousLookupFailed() {
+        // given
+        given(applicationSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.failedFuture(new TimeoutException("timeout")))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")));
+
+        // when
+        cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> future = cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(Account.empty("accountId"));
+        verify(applicationSettings, times(2)).getAccountById(eq("accountId"), same(timeout));
+    }
+
     @Test
     public void getCategoriesShouldReturnResultFromCacheOnSuccessiveCalls() {
         // given
@@ -328,6 +465,78 @@ public class CachingApplicationSettingsTest {
         verifyNoMoreInteractions(applicationSettings);
     }
 
+    @Test
+    public void getStoredDataShouldCollapseConcurrentMissesOfSameIdsIntoSingleDelegateCall() {
+        // given
+        final Promise<StoredDataResult> storedDataPromise = Promise.promise();
+        given(applicationSettings.getStoredData(any(), any(), any(), any()))
+                .willReturn(storedDataPromise.future());
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        final Future<StoredDataResult> secondFuture =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        storedDataPromise.complete(StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList()));
+
+        // then
+        final StoredDataResult expectedResult =
+                StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList());
+        assertThat(firstFuture.result()).isEqualTo(expectedResult);
+        assertThat(secondFuture.result()).isEqualTo(expectedResult);
+        verify(applicationSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+        verifyNoMoreInteractions(applicationSettings);
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.stored_request), eq(MetricName.coalesced));
+    }
+
+    @Test
+    public void getStoredDataShouldServeStaleDataAndRefreshItInBackground() {
+        // given
+        final AtomicLong nanos = new AtomicLong();
+        final SettingsCache settingsCache = new SettingsCache(10, 60, 100, 0L, nanos::get);
+        settingsCache.saveRequestCache("1001", "reqid", "json");
+
+        cachingApplicationSettings = new CachingApplicationSettings(
+                applicationSettings,
+                settingsCache,
+                new SettingsCache(360, 100),
+                new SettingsCache(360, 100),
+                metrics,
+                Clock.systemUTC(),
+                timeoutFactory,
+                jacksonMapper,
+                10,
+                60,
+                2000L,
+                100,
+                0L);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        given(applicationSettings.getStoredData(any(), any(), any(), any()))
+                .willReturn(Future.succeededFuture(
+                        StoredDataResult.of(singletonMap("reqid", "json2"), emptyMap(), emptyList())));
+
+        // when
+        final Future<StoredDataResult> staleFuture =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        final Future<StoredDataResult> refreshedFuture =
+                cachingApplicationSettings.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+
+        // then
+        assertThat(staleFuture.result())
+                .isEqualTo(StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList()));
+        assertThat(refreshedFuture.result())
+                .isEqualTo(StoredDataResult.of(singletonMap("reqid", "json2"), emptyMap(), emptyList()));
+        final ArgumentCaptor<Timeout> refreshTimeoutCaptor = ArgumentCaptor.forClass(Timeout.class);
+        verify(applicationSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), refreshTimeoutCaptor.capture());
+        verifyNoMoreInteractions(applicationSettings);
+        assertThat(refreshTimeoutCaptor.getValue().remaining()).isEqualTo(2000L);
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.stored_request), eq(MetricName.stale));
+        verify(metrics).updateSettingsCacheRefreshTime(eq(MetricName.stored_request), eq(MetricName.stale), anyLong());
+    }
+
     @Test
     public void getStoredResponseShouldPropagateFailure() {
         // given
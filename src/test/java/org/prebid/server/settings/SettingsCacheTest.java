@@ -4,6 +4,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.prebid.server.settings.model.StoredItem;
 
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -48,6 +52,65 @@ public class SettingsCacheTest {
                 .containsEntry("impId1", singleton(StoredItem.of("1001", "impValue1")));
     }
 
+    @Test
+    public void saveRequestCacheShouldReplaceItemOfSameAccount() {
+        // given
+        settingsCache.saveRequestCache("1001", "reqId1", "reqValue1");
+        settingsCache.saveRequestCache("1002", "reqId1", "reqValue2");
+
+        // when
+        settingsCache.saveRequestCache("1001", "reqId1", "reqValue3");
+
+        // then
+        assertThat(settingsCache.getRequestCache())
+                .containsEntry("reqId1", Set.of(
+                        StoredItem.of("1001", "reqValue3"),
+                        StoredItem.of("1002", "reqValue2")));
+    }
+
+    @Test
+    public void isRequestStaleShouldReturnTrueOnlyForItemsOlderThanTtlWithinStalePeriod() {
+        // given
+        final AtomicLong nanos = new AtomicLong();
+        settingsCache = new SettingsCache(10, 60, 10, 0L, nanos::get);
+        settingsCache.saveRequestCache("1001", "reqId1", "reqValue1");
+
+        // when and then
+        assertThat(settingsCache.isRequestStale("reqId1")).isFalse();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertThat(settingsCache.isRequestStale("reqId1")).isTrue();
+        assertThat(settingsCache.getRequestCache()).containsKey("reqId1");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(settingsCache.getRequestCache()).doesNotContainKey("reqId1");
+    }
+
+    @Test
+    public void isRequestStaleShouldReturnFalseWhenStalePeriodIsNotSet() {
+        // given
+        final AtomicLong nanos = new AtomicLong();
+        settingsCache = new SettingsCache(10, 0, 10, 0L, nanos::get);
+        settingsCache.saveRequestCache("1001", "reqId1", "reqValue1");
+
+        // when
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        // then
+        assertThat(settingsCache.isRequestStale("reqId1")).isFalse();
+    }
+
+    @Test
+    public void weighShouldSumLengthsOfIdAccountsAndData() {
+        // when
+        final int weight = SettingsCache.weigh("reqId1", Set.of(
+                StoredItem.of("1001", "reqValue1"),
+                StoredItem.of(null, "reqValue2")));
+
+        // then
+        assertThat(weight).isEqualTo(6 + 4 + 9 + 9);
+    }
+
     @Test
     public void saveShouldAddNewItemsToCache() {
         // when
@@ -0,0 +1,182 @@
+package org.prebid.server.spring.config;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.ext.web.handler.StaticHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.handler.BidderParamHandler;
+import org.prebid.server.handler.CookieSyncHandler;
+import org.prebid.server.handler.GetuidsHandler;
+import org.prebid.server.handler.NotificationEventHandler;
+import org.prebid.server.handler.OptoutHandler;
+import org.prebid.server.handler.SetuidHandler;
+import org.prebid.server.handler.StatusHandler;
+import org.prebid.server.handler.VtrackHandler;
+import org.prebid.server.handler.info.BidderDetailsHandler;
+import org.prebid.server.handler.info.BiddersHandler;
+import org.prebid.server.handler.openrtb2.AmpHandler;
+import org.prebid.server.handler.openrtb2.AuctionHandler;
+import org.prebid.server.handler.openrtb2.VideoHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verify;
+
+@RunWith(VertxUnitRunner.class)
+public class WebConfigurationTest {
+
+    private static final int MAX_REQUEST_SIZE = 10;
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private AuctionHandler auctionHandler;
+    @Mock
+    private AmpHandler ampHandler;
+    @Mock
+    private VideoHandler videoHandler;
+    @Mock
+    private StatusHandler statusHandler;
+    @Mock
+    private CookieSyncHandler cookieSyncHandler;
+    @Mock
+    private SetuidHandler setuidHandler;
+    @Mock
+    private GetuidsHandler getuidsHandler;
+    @Mock
+    private VtrackHandler vtrackHandler;
+    @Mock
+    private OptoutHandler optoutHandler;
+    @Mock
+    private BidderParamHandler bidderParamHandler;
+    @Mock
+    private BiddersHandler biddersHandler;
+    @Mock
+    private BidderDetailsHandler bidderDetailsHandler;
+    @Mock
+    private NotificationEventHandler notificationEventHandler;
+    @Mock
+    private StaticHandler staticHandler;
+
+    private Vertx vertx;
+
+    private HttpServer server;
+
+    @Before
+    public void setUp(TestContext context) throws IOException {
+        vertx = Vertx.vertx();
+
+        final WebConfiguration webConfiguration = new WebConfiguration();
+        ReflectionTestUtils.setField(webConfiguration, "vertx", vertx);
+
+        final String uploadsDir = temporaryFolder.newFolder().getPath();
+        final Router router = webConfiguration.router(
+                BodyHandler.create(uploadsDir),
+                webConfiguration.noCacheHandler(),
+                webConfiguration.corsHandler(),
+                auctionHandler,
+                ampHandler,
+                videoHandler,
+                statusHandler,
+                cookieSyncHandler,
+                setuidHandler,
+                getuidsHandler,
+                vtrackHandler,
+                optoutHandler,
+                bidderParamHandler,
+                biddersHandler,
+                bidderDetailsHandler,
+                notificationEventHandler,
+                Collections.emptyList(),
+                staticHandler,
+                uploadsDir,
+                MAX_REQUEST_SIZE);
+
+        willAnswer(invocation -> respondWithBadRequest(invocation.getArgument(0)))
+                .given(auctionHandler).handle(any());
+
+        server = vertx.createHttpServer().requestHandler(router);
+        server.listen(0, context.asyncAssertSuccess());
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void routerShouldPassOversizedAuctionRequestToAuctionHandlerWithCorsHeaders(TestContext context) {
+        // given
+        final Async async = context.async();
+
+        // when
+        final HttpClientRequest request = vertx.createHttpClient()
+                .request(HttpMethod.POST, server.actualPort(), "localhost", "/openrtb2/auction")
+                .putHeader("Origin", "http://example.com")
+                .handler(response -> context.verify(ignored -> {
+                    // then
+                    assertThat(response.statusCode()).isEqualTo(400);
+                    assertThat(response.getHeader("Access-Control-Allow-Origin")).isEqualTo("http://example.com");
+
+                    final ArgumentCaptor<RoutingContext> routingContextCaptor =
+                            ArgumentCaptor.forClass(RoutingContext.class);
+                    verify(auctionHandler).handle(routingContextCaptor.capture());
+                    assertThat(routingContextCaptor.getValue().statusCode()).isEqualTo(413);
+                    assertThat(routingContextCaptor.getValue().getBody()).isNull();
+
+                    async.complete();
+                }));
+        request.end(Buffer.buffer(new byte[MAX_REQUEST_SIZE + 1]));
+    }
+
+    @Test
+    public void routerShouldPassAuctionRequestWithinLimitToAuctionHandlerWithBody(TestContext context) {
+        // given
+        final Async async = context.async();
+
+        // when
+        final HttpClientRequest request = vertx.createHttpClient()
+                .request(HttpMethod.POST, server.actualPort(), "localhost", "/openrtb2/auction")
+                .handler(response -> context.verify(ignored -> {
+                    // then
+                    final ArgumentCaptor<RoutingContext> routingContextCaptor =
+                            ArgumentCaptor.forClass(RoutingContext.class);
+                    verify(auctionHandler).handle(routingContextCaptor.capture());
+                    assertThat(routingContextCaptor.getValue().getBodyAsString()).isEqualTo("{}");
+
+                    async.complete();
+                }));
+        request.end("{}");
+    }
+
+    private static Void respondWithBadRequest(RoutingContext routingContext) {
+        routingContext.response().setStatusCode(400).end();
+        return null;
+    }
+}
@@ -4,6 +4,8 @@ import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.response.Bid;
 import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.PriceFloorInfo;
 
 import java.math.BigDecimal;
@@ -14,8 +16,64 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.function.UnaryOperator.identity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
-public class BidderUtilTest {
+public class BidderUtilTest extends VertxTest {
+
+    @Test
+    public void defaultRequestShouldSerializeBodyIntoPooledBuffer() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("id")
+                .imp(singletonList(Imp.builder().id("impId").build()))
+                .build();
+
+        // when
+        final HttpRequest<BidRequest> result = BidderUtil.defaultRequest(bidRequest, "url", jacksonMapper);
+
+        // then
+        assertThat(result.hasPooledBody()).isTrue();
+        final byte[] body = result.getBody();
+        assertThat(body).isEqualTo(jacksonMapper.encodeToBytes(bidRequest));
+        assertThat(result.getImpIds()).containsExactly("impId");
+
+        // copy is made once and outlives the buffer
+        result.getBodyBuffer().release();
+        assertThat(result.getBody()).isSameAs(body);
+    }
+
+    @Test
+    public void defaultRequestShouldFailToReturnBodyIfPooledBufferIsReleasedBeforeCopyIsMade() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("id")
+                .imp(singletonList(Imp.builder().id("impId").build()))
+                .build();
+        final HttpRequest<BidRequest> result = BidderUtil.defaultRequest(bidRequest, "url", jacksonMapper);
+
+        // when
+        result.getBodyBuffer().release();
+
+        // then
+        assertThatIllegalStateException()
+                .isThrownBy(result::getBody)
+                .withMessage("Pooled buffer was released before its content was copied");
+    }
+
+    @Test
+    public void defaultRequestShouldBeEqualToRequestWithSameBodySetExplicitly() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("id")
+                .imp(singletonList(Imp.builder().id("impId").build()))
+                .build();
+        final HttpRequest<BidRequest> result = BidderUtil.defaultRequest(bidRequest, "url", jacksonMapper);
+
+        // when and then
+        assertThat(result)
+                .isEqualTo(result.toBuilder().body(jacksonMapper.encodeToBytes(bidRequest)).bodyBuffer(null).build())
+                .isNotEqualTo(result.toBuilder().body(new byte[0]).bodyBuffer(null).build());
+    }
 
     @SuppressWarnings("ConstantConditions")
     @Test
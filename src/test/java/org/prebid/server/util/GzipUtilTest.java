@@ -0,0 +1,73 @@
+package org.prebid.server.util;
+
+import org.junit.Test;
+import org.prebid.server.exception.PreBidException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class GzipUtilTest {
+
+    @Test
+    public void gzipShouldProduceValidGzipContent() throws IOException {
+        // given
+        final byte[] value = "{\"id\":\"request-id\"}".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        // when
+        final byte[] result = GzipUtil.gzip(value);
+
+        // then
+        assertThat(result.length).isLessThan(value.length);
+        assertThat(gunzip(result)).isEqualTo(value);
+    }
+
+    @Test
+    public void gzipShouldProduceValidGzipContentWhenCalledRepeatedlyWithDifferentLevels() throws IOException {
+        // given
+        final byte[] first = "first".repeat(100_000).getBytes(StandardCharsets.UTF_8);
+        final byte[] second = "second".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        final byte[] firstResult = GzipUtil.gzip(first, Deflater.BEST_SPEED);
+        final byte[] secondResult = GzipUtil.gzip(second, Deflater.BEST_COMPRESSION);
+
+        // then
+        assertThat(gunzip(firstResult)).isEqualTo(first);
+        assertThat(gunzip(secondResult)).isEqualTo(second);
+    }
+
+    @Test
+    public void gzipShouldCompressRemainingContentOfDirectByteBufferWithoutChangingItsPosition() throws IOException {
+        // given
+        final byte[] value = "{\"id\":\"request-id\"}".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(value.length + 1);
+        buffer.put((byte) 0).put(value).flip().position(1);
+
+        // when
+        final byte[] result = GzipUtil.gzip(buffer, Deflater.DEFAULT_COMPRESSION);
+
+        // then
+        assertThat(gunzip(result)).isEqualTo(value);
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    public void gzipShouldFailOnInvalidCompressionLevel() {
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> GzipUtil.gzip(new byte[0], 10))
+                .withMessage("Invalid compression level: 10");
+    }
+
+    private static byte[] gunzip(byte[] value) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(value))) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
@@ -396,7 +396,11 @@ public class BidderParamValidatorTest extends VertxTest {
                 0,
                 true,
                 false,
-                CompressionType.NONE);
+                CompressionType.NONE,
+                -1,
+                0,
+                null,
+                null);
     }
 
     private static BidderInfo givenBidderInfo() {
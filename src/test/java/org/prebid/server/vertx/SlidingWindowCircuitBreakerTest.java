@@ -0,0 +1,162 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.Handler;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.vertx.SlidingWindowCircuitBreaker.Permit;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+public class SlidingWindowCircuitBreakerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private Handler<Void> openHandler;
+    @Mock
+    private Handler<Void> halfOpenHandler;
+    @Mock
+    private Handler<Void> closeHandler;
+
+    private SlidingWindowCircuitBreaker target;
+
+    @Before
+    public void setUp() {
+        givenTime(1000L);
+        target = createTarget(2, 0.0);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidFailureRatio() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new SlidingWindowCircuitBreaker(1, 1.5, 100L, 200L, clock))
+                .withMessage("Failure ratio should be in range [0, 1]");
+    }
+
+    @Test
+    public void acquireShouldAllowOperationIfCircuitIsClosed() {
+        // when and then
+        assertThat(target.acquire()).isEqualTo(Permit.ALLOWED);
+        assertThat(target.isOpen()).isFalse();
+    }
+
+    @Test
+    public void completeShouldOpenCircuitIfFailuresReachThresholdWithinOpeningInterval() {
+        // when
+        target.complete(target.acquire(), false);
+        givenTime(1050L);
+        target.complete(target.acquire(), false);
+
+        // then
+        assertThat(target.isOpen()).isTrue();
+        assertThat(target.acquire()).isEqualTo(Permit.DENIED);
+        verify(openHandler).handle(any());
+    }
+
+    @Test
+    public void completeShouldNotOpenCircuitIfFailuresAreOutOfOpeningInterval() {
+        // when
+        target.complete(target.acquire(), false);
+        givenTime(1150L);
+        target.complete(target.acquire(), false);
+
+        // then
+        assertThat(target.isOpen()).isFalse();
+        assertThat(target.acquire()).isEqualTo(Permit.ALLOWED);
+    }
+
+    @Test
+    public void completeShouldNotOpenCircuitIfFailureRatioIsNotReached() {
+        // given
+        target = createTarget(2, 0.5);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            target.complete(target.acquire(), true);
+        }
+        target.complete(target.acquire(), false);
+        target.complete(target.acquire(), false);
+
+        // then
+        assertThat(target.isOpen()).isFalse();
+    }
+
+    @Test
+    public void acquireShouldPermitSingleProbeAfterClosingInterval() {
+        // given
+        givenOpenedCircuit();
+
+        // when
+        givenTime(1250L);
+        final Permit firstPermit = target.acquire();
+        final Permit secondPermit = target.acquire();
+
+        // then
+        assertThat(firstPermit).isEqualTo(Permit.PROBE);
+        assertThat(secondPermit).isEqualTo(Permit.DENIED);
+        assertThat(target.isOpen()).isTrue();
+        verify(halfOpenHandler).handle(any());
+    }
+
+    @Test
+    public void completeShouldCloseCircuitIfProbeSucceeded() {
+        // given
+        givenOpenedCircuit();
+        givenTime(1250L);
+
+        // when
+        target.complete(target.acquire(), true);
+
+        // then
+        assertThat(target.isOpen()).isFalse();
+        assertThat(target.acquire()).isEqualTo(Permit.ALLOWED);
+        verify(closeHandler).handle(any());
+    }
+
+    @Test
+    public void completeShouldReopenCircuitIfProbeFailed() {
+        // given
+        givenOpenedCircuit();
+        givenTime(1250L);
+
+        // when
+        target.complete(target.acquire(), false);
+
+        // then
+        assertThat(target.isOpen()).isTrue();
+        assertThat(target.acquire()).isEqualTo(Permit.DENIED);
+
+        givenTime(1450L);
+        assertThat(target.acquire()).isEqualTo(Permit.PROBE);
+    }
+
+    private SlidingWindowCircuitBreaker createTarget(int openingThreshold, double failureRatio) {
+        return new SlidingWindowCircuitBreaker(openingThreshold, failureRatio, 100L, 200L, clock)
+                .openHandler(openHandler)
+                .halfOpenHandler(halfOpenHandler)
+                .closeHandler(closeHandler);
+    }
+
+    private void givenOpenedCircuit() {
+        target.complete(target.acquire(), false);
+        target.complete(target.acquire(), false);
+    }
+
+    private void givenTime(long millis) {
+        given(clock.millis()).willReturn(millis);
+    }
+}
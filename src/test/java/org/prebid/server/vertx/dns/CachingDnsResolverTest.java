@@ -0,0 +1,268 @@
+package org.prebid.server.vertx.dns;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.dns.model.DnsResolution;
+
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CachingDnsResolverTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private DnsResolver dnsResolver;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private Clock clock;
+
+    private CachingDnsResolver target;
+
+    @Before
+    public void setUp() {
+        givenTime(0L);
+        target = new CachingDnsResolver(dnsResolver, metrics, clock, 1000L, 60000L, 0.5, 5000L, 100);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidRefreshAheadFactor() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CachingDnsResolver(dnsResolver, metrics, clock, 0L, 1000L, 0, 0L, 100))
+                .withMessage("Refresh-ahead factor should be in range (0, 1]");
+    }
+
+    @Test
+    public void resolveShouldLookUpHostAndCacheAddresses() {
+        // given
+        givenResolution("host.com", singletonList("10.0.0.1"), 10L);
+
+        // when
+        final Future<String> first = target.resolve("host.com");
+        final Future<String> second = target.resolve("host.com");
+
+        // then
+        assertThat(first.result()).isEqualTo("10.0.0.1");
+        assertThat(second.result()).isEqualTo("10.0.0.1");
+        verify(dnsResolver).resolve("host.com");
+        verify(metrics).updateDnsLookupMetric();
+        verify(metrics).updateDnsLookupTimeMetric(anyLong());
+        verify(metrics).updateDnsCacheHitMetric(false);
+    }
+
+    @Test
+    public void resolveShouldRotateAddressesInRoundRobinFashion() {
+        // given
+        givenResolution("host.com", asList("10.0.0.1", "10.0.0.2", "10.0.0.3"), 10L);
+
+        // when
+        final List<String> result = asList(
+                target.resolve("host.com").result(),
+                target.resolve("host.com").result(),
+                target.resolve("host.com").result(),
+                target.resolve("host.com").result());
+
+        // then
+        assertThat(result).containsExactly("10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.1");
+    }
+
+    @Test
+    public void resolveShouldCollapseConcurrentLookupsOfSameHost() {
+        // given
+        final Promise<DnsResolution> promise = Promise.promise();
+        given(dnsResolver.resolve("host.com")).willReturn(promise.future());
+
+        // when
+        final Future<String> first = target.resolve("host.com");
+        final Future<String> second = target.resolve("host.com");
+        promise.complete(DnsResolution.of(singletonList("10.0.0.1"), 10L));
+
+        // then
+        assertThat(first.result()).isEqualTo("10.0.0.1");
+        assertThat(second.result()).isEqualTo("10.0.0.1");
+        verify(dnsResolver).resolve("host.com");
+    }
+
+    @Test
+    public void resolveShouldCompleteCollapsedLookupsOnContextsOfCallers() throws InterruptedException {
+        // given
+        final Vertx vertx = Vertx.vertx();
+        final Context firstContext = vertx.getOrCreateContext();
+        final Context secondContext = vertx.getOrCreateContext();
+
+        final Promise<DnsResolution> promise = Promise.promise();
+        given(dnsResolver.resolve("host.com")).willReturn(promise.future());
+
+        final CountDownLatch requested = new CountDownLatch(2);
+        final CountDownLatch completed = new CountDownLatch(2);
+        final AtomicReference<Context> firstCompletionContext = new AtomicReference<>();
+        final AtomicReference<Context> secondCompletionContext = new AtomicReference<>();
+
+        // when
+        firstContext.runOnContext(ignored -> {
+            target.resolve("host.com").onComplete(result -> {
+                firstCompletionContext.set(Vertx.currentContext());
+                completed.countDown();
+            });
+            requested.countDown();
+        });
+        secondContext.runOnContext(ignored -> {
+            target.resolve("host.com").onComplete(result -> {
+                secondCompletionContext.set(Vertx.currentContext());
+                completed.countDown();
+            });
+            requested.countDown();
+        });
+        requested.await(5, TimeUnit.SECONDS);
+        firstContext.runOnContext(ignored -> promise.complete(DnsResolution.of(singletonList("10.0.0.1"), 10L)));
+
+        // then
+        try {
+            assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(firstCompletionContext.get()).isSameAs(firstContext);
+            assertThat(secondCompletionContext.get()).isSameAs(secondContext);
+            verify(dnsResolver).resolve("host.com");
+        } finally {
+            vertx.close();
+        }
+    }
+
+    @Test
+    public void resolveShouldRefreshAddressesInBackgroundAfterRefreshAheadPartOfTtl() {
+        // given
+        givenResolution("host.com", singletonList("10.0.0.1"), 10L);
+        target.resolve("host.com");
+
+        final Promise<DnsResolution> refreshPromise = Promise.promise();
+        given(dnsResolver.resolve("host.com")).willReturn(refreshPromise.future());
+        givenTime(6000L);
+
+        // when
+        final Future<String> result = target.resolve("host.com");
+
+        // then
+        assertThat(result.result()).isEqualTo("10.0.0.1");
+        verify(dnsResolver, times(2)).resolve("host.com");
+
+        // when
+        refreshPromise.complete(DnsResolution.of(singletonList("10.0.0.2"), 10L));
+
+        // then
+        assertThat(target.resolve("host.com").result()).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    public void resolveShouldBoundTtlOfRecordsByMinAndMaxTtl() {
+        // given
+        givenResolution("host.com", singletonList("10.0.0.1"), 0L);
+        target.resolve("host.com");
+
+        // when
+        givenTime(499L);
+        final Future<String> result = target.resolve("host.com");
+
+        // then
+        assertThat(result.result()).isEqualTo("10.0.0.1");
+        verify(dnsResolver).resolve("host.com");
+    }
+
+    @Test
+    public void resolveShouldServeStaleAddressesIfLookupFailed() {
+        // given
+        givenResolution("host.com", singletonList("10.0.0.1"), 10L);
+        target.resolve("host.com");
+
+        given(dnsResolver.resolve("host.com")).willReturn(Future.failedFuture(new UnknownHostException("error")));
+        givenTime(12000L);
+
+        // when
+        final Future<String> result = target.resolve("host.com");
+
+        // then
+        assertThat(result.result()).isEqualTo("10.0.0.1");
+        verify(metrics).updateDnsRefreshFailureMetric();
+        verify(metrics).updateDnsCacheHitMetric(true);
+    }
+
+    @Test
+    public void resolveShouldNotRetryFailedLookupImmediately() {
+        // given
+        givenResolution("host.com", singletonList("10.0.0.1"), 10L);
+        target.resolve("host.com");
+
+        given(dnsResolver.resolve("host.com")).willReturn(Future.failedFuture(new UnknownHostException("error")));
+        givenTime(12000L);
+        target.resolve("host.com");
+
+        // when
+        givenTime(12500L);
+        final Future<String> result = target.resolve("host.com");
+
+        // then
+        assertThat(result.result()).isEqualTo("10.0.0.1");
+        verify(dnsResolver, times(2)).resolve("host.com");
+    }
+
+    @Test
+    public void resolveShouldFailIfLookupFailedAndStalePeriodIsOver() {
+        // given
+        givenResolution("host.com", singletonList("10.0.0.1"), 10L);
+        target.resolve("host.com");
+
+        given(dnsResolver.resolve("host.com")).willReturn(Future.failedFuture(new UnknownHostException("error")));
+        givenTime(15000L);
+
+        // when
+        final Future<String> result = target.resolve("host.com");
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(UnknownHostException.class);
+    }
+
+    @Test
+    public void resolveShouldFailIfFirstLookupFailed() {
+        // given
+        given(dnsResolver.resolve("host.com")).willReturn(Future.failedFuture(new UnknownHostException("error")));
+
+        // when
+        final Future<String> result = target.resolve("host.com");
+
+        // then
+        assertThat(result.failed()).isTrue();
+        verify(metrics).updateDnsRefreshFailureMetric();
+    }
+
+    private void givenResolution(String host, List<String> addresses, long ttlSeconds) {
+        given(dnsResolver.resolve(host)).willReturn(Future.succeededFuture(DnsResolution.of(addresses, ttlSeconds)));
+    }
+
+    private void givenTime(long millis) {
+        given(clock.millis()).willReturn(millis);
+    }
+}
@@ -1,5 +1,6 @@
 package org.prebid.server.vertx.http;
 
+import io.netty.buffer.Unpooled;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
@@ -7,7 +8,11 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpConnection;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -15,16 +20,23 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.mockito.stubbing.Answer;
+import org.prebid.server.exception.ResponseSizeExceededException;
+import org.prebid.server.util.GzipUtil;
+import org.prebid.server.vertx.dns.CachingDnsResolver;
+import org.prebid.server.vertx.http.model.DecompressionStats;
+import org.prebid.server.vertx.http.model.PooledBuffer;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.UnknownHostException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -33,8 +45,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @RunWith(VertxUnitRunner.class)
@@ -59,14 +73,17 @@ public class BasicHttpClientTest {
         given(wrappedHttpClient.requestAbs(any(), any())).willReturn(httpClientRequest);
 
         given(httpClientRequest.setFollowRedirects(anyBoolean())).willReturn(httpClientRequest);
+        given(httpClientRequest.connectionHandler(any())).willReturn(httpClientRequest);
         given(httpClientRequest.handler(any())).willReturn(httpClientRequest);
         given(httpClientRequest.exceptionHandler(any())).willReturn(httpClientRequest);
         given(httpClientRequest.headers()).willReturn(MultiMap.caseInsensitiveMultiMap());
 
-        given(httpClientResponse.bodyHandler(any())).willReturn(httpClientResponse);
+        given(httpClientResponse.handler(any())).willReturn(httpClientResponse);
+        given(httpClientResponse.endHandler(any())).willReturn(httpClientResponse);
         given(httpClientResponse.exceptionHandler(any())).willReturn(httpClientResponse);
+        given(httpClientResponse.headers()).willReturn(MultiMap.caseInsensitiveMultiMap());
 
-        httpClient = new BasicHttpClient(vertx, wrappedHttpClient);
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, false);
     }
 
     @Test
@@ -90,8 +107,10 @@ public class BasicHttpClientTest {
         given(httpClientRequest.handler(any()))
                 .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
 
-        given(httpClientResponse.bodyHandler(any()))
+        given(httpClientResponse.handler(any()))
                 .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
 
         // when
         final Future<?> future = httpClient.request(HttpMethod.GET, null, null, (String) null, 1L);
@@ -100,6 +119,120 @@ public class BasicHttpClientTest {
         assertThat(future.succeeded()).isTrue();
     }
 
+    @Test
+    public void requestShouldKeepReceivedResponseBodyBuffer() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, (String) null, 1L);
+
+        // then
+        assertThat(future.result().getBodyBuffer()).isEqualTo(Buffer.buffer("response"));
+        assertThat(future.result().getBody()).isEqualTo("response");
+    }
+
+    @Test
+    public void requestShouldAddAcceptEncodingHeaderIfCompressionIsEnabled() {
+        // given
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, true);
+
+        // when
+        httpClient.request(HttpMethod.GET, null, null, (String) null, 1L);
+
+        // then
+        assertThat(httpClientRequest.headers().get(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip, deflate");
+    }
+
+    @Test
+    public void requestShouldNotOverrideAcceptEncodingHeaderIfPresent() {
+        // given
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, true);
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap().add(HttpHeaders.ACCEPT_ENCODING, "identity");
+
+        // when
+        httpClient.request(HttpMethod.GET, null, headers, (String) null, 1L);
+
+        // then
+        assertThat(httpClientRequest.headers().getAll(HttpHeaders.ACCEPT_ENCODING)).containsExactly("identity");
+    }
+
+    @Test
+    public void requestShouldInflateGzippedResponseBody() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+        given(httpClientResponse.getHeader(HttpHeaders.CONTENT_ENCODING)).willReturn("gzip");
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer(GzipUtil.gzip("response".getBytes()))));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, (String) null, 1L);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().getBody()).isEqualTo("response");
+        assertThat(future.result().getDecompressionStats())
+                .returns(8L, DecompressionStats::getDecompressedBytes)
+                .satisfies(stats -> assertThat(stats.getCompressedBytes()).isPositive());
+    }
+
+    @Test
+    public void requestShouldRemoveContentEncodingAndLengthHeadersOfInflatedResponse() {
+        // given
+        final byte[] gzippedBody = GzipUtil.gzip("response".getBytes());
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+        given(httpClientResponse.getHeader(HttpHeaders.CONTENT_ENCODING)).willReturn("gzip");
+        given(httpClientResponse.headers()).willReturn(MultiMap.caseInsensitiveMultiMap()
+                .add(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .add(HttpHeaders.CONTENT_LENGTH, String.valueOf(gzippedBody.length))
+                .add(HttpHeaders.CONTENT_TYPE, "application/json"));
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer(gzippedBody)));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, (String) null, 1L);
+
+        // then
+        assertThat(future.result().getHeaders().names()).containsExactly("Content-Type");
+    }
+
+    @Test
+    public void requestShouldFailIfInflatedResponseBodyExceedsMaxResponseSize() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+        given(httpClientResponse.getHeader(HttpHeaders.CONTENT_ENCODING)).willReturn("gzip");
+        given(httpClientResponse.handler(any())).willAnswer(withSelfAndPassObjectToHandler(
+                Buffer.buffer(GzipUtil.gzip("a".repeat(1000).getBytes()))));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, null, null, (String) null, 1L, 100L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause())
+                .isInstanceOf(ResponseSizeExceededException.class)
+                .hasMessage("Response size exceeded 100 bytes limit");
+        verify(httpClientRequest).reset();
+    }
+
     @Test
     public void requestShouldAllowFollowingRedirections() {
         // when
@@ -122,6 +255,77 @@ public class BasicHttpClientTest {
         assertThat(future.cause()).hasMessage("error");
     }
 
+    @Test
+    public void requestShouldConnectToAddressResolvedByDnsResolver() {
+        // given
+        final CachingDnsResolver dnsResolver = mock(CachingDnsResolver.class);
+        given(dnsResolver.resolve(any())).willReturn(Future.succeededFuture("10.0.0.1"));
+        given(wrappedHttpClient.request(any(), any(SocketAddress.class), any(RequestOptions.class)))
+                .willReturn(httpClientRequest);
+
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, false, dnsResolver);
+
+        // when
+        httpClient.request(HttpMethod.GET, "https://host.com/path?query=1", null, (String) null, 500L);
+
+        // then
+        verify(dnsResolver).resolve("host.com");
+        final ArgumentCaptor<RequestOptions> requestOptionsCaptor = ArgumentCaptor.forClass(RequestOptions.class);
+        verify(wrappedHttpClient).request(
+                eq(HttpMethod.GET),
+                eq(SocketAddress.inetSocketAddress(443, "10.0.0.1")),
+                requestOptionsCaptor.capture());
+        assertThat(requestOptionsCaptor.getValue())
+                .extracting(RequestOptions::getHost, RequestOptions::getPort, RequestOptions::isSsl,
+                        RequestOptions::getURI)
+                .containsExactly("host.com", 443, true, "/path?query=1");
+    }
+
+    @Test
+    public void requestShouldNotResolveIpAddressByDnsResolver() {
+        // given
+        final CachingDnsResolver dnsResolver = mock(CachingDnsResolver.class);
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, false, dnsResolver);
+
+        // when
+        httpClient.request(HttpMethod.GET, "http://127.0.0.1:8080/path", null, (String) null, 500L);
+
+        // then
+        verify(dnsResolver, never()).resolve(any());
+        verify(wrappedHttpClient).requestAbs(eq(HttpMethod.GET), eq("http://127.0.0.1:8080/path"));
+    }
+
+    @Test
+    public void requestShouldFailIfDnsResolverFails() {
+        // given
+        final CachingDnsResolver dnsResolver = mock(CachingDnsResolver.class);
+        given(dnsResolver.resolve(any())).willReturn(Future.failedFuture(new UnknownHostException("unknown")));
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, false, dnsResolver);
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, "http://host.com", null, (String) null, 500L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).isInstanceOf(UnknownHostException.class);
+    }
+
+    @Test
+    public void requestShouldWritePooledBodyAndReleaseItIfRequestFailed() {
+        // given
+        final PooledBuffer body = PooledBuffer.of(Unpooled.buffer().writeBytes(new byte[]{1, 2}));
+        given(httpClientRequest.exceptionHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(new RuntimeException("Request exception")));
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.POST, "url", null, body, 1L, Long.MAX_VALUE);
+
+        // then
+        verify(httpClientRequest).end(same(body.getBuffer()), any());
+        assertThat(future.failed()).isTrue();
+        assertThat(body.isReleased()).isTrue();
+    }
+
     @Test
     public void requestShouldFailIfHttpRequestFails() {
         // given
@@ -153,11 +357,54 @@ public class BasicHttpClientTest {
         assertThat(future.cause()).hasMessage("Response exception");
     }
 
+    @Test
+    public void requestShouldFailAndResetRequestIfContentLengthExceedsMaxResponseSize() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+        given(httpClientResponse.getHeader(any(CharSequence.class))).willReturn("10");
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, null, null, (String) null, 1L, 5L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause())
+                .isInstanceOf(ResponseSizeExceededException.class)
+                .hasMessage("Response size 10 exceeded 5 bytes limit")
+                .extracting(exception -> ((ResponseSizeExceededException) exception).getReceivedBytes())
+                .isEqualTo(10L);
+        verify(httpClientResponse, never()).handler(any());
+        verify(httpClientRequest).reset();
+    }
+
+    @Test
+    public void requestShouldFailAndResetRequestIfReceivedBodyExceedsMaxResponseSize() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+        given(httpClientResponse.endHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, null, null, (String) null, 1L, 5L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause())
+                .isInstanceOf(ResponseSizeExceededException.class)
+                .hasMessage("Response size exceeded 5 bytes limit");
+        assertThat(((ResponseSizeExceededException) future.cause()).getReceivedBytes()).isEqualTo(8L);
+        verify(httpClientRequest).reset();
+    }
+
     @Test
     public void requestShouldFailIfHttpRequestTimedOut(TestContext context) {
         // given
         final Vertx vertx = Vertx.vertx();
-        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient());
+        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient(), false);
         final int serverPort = 7777;
 
         startServer(serverPort, 2000L, 0L);
@@ -175,11 +422,36 @@ public class BasicHttpClientTest {
                 .hasMessageStartingWith("Timeout period of 1000ms has been exceeded");
     }
 
+    @Test
+    public void openConnectionsShouldReturnNumberOfConnectionsOpenedAndNotClosedYet() {
+        // given
+        final HttpConnection firstConnection = mock(HttpConnection.class);
+        final HttpConnection secondConnection = mock(HttpConnection.class);
+        given(httpClientRequest.connectionHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(firstConnection))
+                .willAnswer(withSelfAndPassObjectToHandler(secondConnection))
+                .willAnswer(withSelfAndPassObjectToHandler(mock(HttpConnection.class)));
+
+        // when
+        httpClient.get("https://host.com/path", 500L);
+        httpClient.get("https://host.com:443/other", 500L);
+        httpClient.get("http://host.com/path", 500L);
+
+        final ArgumentCaptor<Handler<Void>> closeHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(firstConnection).closeHandler(closeHandlerCaptor.capture());
+        closeHandlerCaptor.getValue().handle(null);
+
+        // then
+        assertThat(httpClient.openConnections("host.com", 443)).isEqualTo(1);
+        assertThat(httpClient.openConnections("host.com", 80)).isEqualTo(1);
+        assertThat(httpClient.openConnections("other.com", 443)).isZero();
+    }
+
     @Test
     public void requestShouldFailIfHttpResponseTimedOut(TestContext context) {
         // given
         final Vertx vertx = Vertx.vertx();
-        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient());
+        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient(), false);
         final int serverPort = 8888;
 
         startServer(serverPort, 0L, 2000L);
@@ -22,7 +22,6 @@ import org.prebid.server.vertx.http.model.HttpClientResponse;
 
 import java.time.Clock;
 import java.time.Instant;
-import java.time.ZoneId;
 import java.util.function.BooleanSupplier;
 import java.util.function.LongSupplier;
 
@@ -44,6 +43,7 @@ public class CircuitBreakerSecuredHttpClientTest {
 
     private Vertx vertx;
 
+    @Mock
     private Clock clock;
     @Mock
     private HttpClient wrappedHttpClient;
@@ -52,11 +52,13 @@ public class CircuitBreakerSecuredHttpClientTest {
 
     private CircuitBreakerSecuredHttpClient httpClient;
 
+    private long currentTimeMillis;
+
     @Before
     public void setUp() {
         vertx = Vertx.vertx();
-        clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
-        httpClient = new CircuitBreakerSecuredHttpClient(vertx, wrappedHttpClient, metrics, 1, 100L, 200L, 24, clock);
+        givenCurrentTime(Instant.now().toEpochMilli());
+        httpClient = new CircuitBreakerSecuredHttpClient(wrappedHttpClient, metrics, 1, 0.0, 100L, 200L, 24, clock);
     }
 
     @After
@@ -101,6 +103,21 @@ public class CircuitBreakerSecuredHttpClientTest {
         assertThat(future.cause()).isInstanceOf(RuntimeException.class).hasMessage("exception");
     }
 
+    @Test
+    public void requestShouldFailAndOpenCircuitIfWrappedHttpClientThrowsException(TestContext context) {
+        // given
+        given(wrappedHttpClient.request(any(), anyString(), any(), (String) any(), anyLong(), anyLong()))
+                .willThrow(new RuntimeException("exception"));
+
+        // when
+        final Future<?> future1 = doRequest(context);
+        final Future<?> future2 = doRequest(context);
+
+        // then
+        assertThat(future1.cause()).isInstanceOf(RuntimeException.class).hasMessage("exception");
+        assertThat(future2.cause()).isInstanceOf(RuntimeException.class).hasMessage("open circuit");
+    }
+
     @Test
     public void requestShouldFailIfCircuitIsHalfOpenedButWrappedHttpClientFailsAndClosingTimeIsNotPassedBy(
             TestContext context) {
@@ -130,7 +147,7 @@ public class CircuitBreakerSecuredHttpClientTest {
         // when
         final Future<?> future1 = doRequest(context); // 1 call
         final Future<?> future2 = doRequest(context); // 2 call
-        doWaitForClosingInterval(context);
+        doWaitForClosingInterval();
         final Future<?> future3 = doRequest(context); // 3 call
 
         // then
@@ -155,7 +172,7 @@ public class CircuitBreakerSecuredHttpClientTest {
         // when
         final Future<?> future1 = doRequest(context); // 1 call
         final Future<?> future2 = doRequest(context); // 2 call
-        doWaitForClosingInterval(context);
+        doWaitForClosingInterval();
         final Future<?> future3 = doRequest(context); // 3 call
 
         // then
@@ -174,13 +191,13 @@ public class CircuitBreakerSecuredHttpClientTest {
     @Test
     public void requestShouldFailWithOriginalExceptionIfOpeningIntervalExceeds(TestContext context) {
         // given
-        httpClient = new CircuitBreakerSecuredHttpClient(vertx, wrappedHttpClient, metrics, 2, 100L, 200L, 24, clock);
+        httpClient = new CircuitBreakerSecuredHttpClient(wrappedHttpClient, metrics, 2, 0.0, 100L, 200L, 24, clock);
 
         givenHttpClientReturning(new RuntimeException("exception1"), new RuntimeException("exception2"));
 
         // when
         final Future<?> future1 = doRequest(context); // 1 call
-        doWaitForOpeningInterval(context);
+        doWaitForOpeningInterval();
         final Future<?> future2 = doRequest(context); // 2 call
 
         // then
@@ -196,6 +213,9 @@ public class CircuitBreakerSecuredHttpClientTest {
 
     @Test
     public void circuitBreakerNumberGaugeShouldReportActualNumber(TestContext context) {
+        // given
+        givenHttpClientReturning(HttpClientResponse.of(200, null, null));
+
         // when
         doRequest(context);
 
@@ -233,7 +253,7 @@ public class CircuitBreakerSecuredHttpClientTest {
         // when
         doRequest(context); // 1 call
         doRequest(context); // 2 call
-        doWaitForClosingInterval(context);
+        doWaitForClosingInterval();
         doRequest(context); // 3 call
 
         // then
@@ -246,6 +266,31 @@ public class CircuitBreakerSecuredHttpClientTest {
         assertThat(gaugeValueProvider.getAsBoolean()).isFalse();
     }
 
+    @Test
+    public void warmUpConnectionShouldBypassCircuitBreaker(TestContext context) {
+        // given
+        givenHttpClientReturning(new RuntimeException("exception"));
+        given(wrappedHttpClient.warmUpConnection(anyString(), anyLong()))
+                .willReturn(Future.failedFuture(new RuntimeException("warm-up exception")));
+
+        // when
+        final Future<Void> warmUpFuture = httpClient.warmUpConnection("http://url/", 0L);
+        final Future<?> future = doRequest(context);
+
+        // then
+        assertThat(warmUpFuture.cause()).hasMessage("warm-up exception");
+        assertThat(future.cause()).hasMessage("exception");
+    }
+
+    @Test
+    public void openConnectionsShouldReturnNumberOfConnectionsOpenedByWrappedHttpClient() {
+        // given
+        given(wrappedHttpClient.openConnections("url", 80)).willReturn(2);
+
+        // when and then
+        assertThat(httpClient.openConnections("url", 80)).isEqualTo(2);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> void givenHttpClientReturning(T... results) {
         BDDMockito.BDDMyOngoingStubbing<Future<HttpClientResponse>> stubbing =
@@ -271,17 +316,16 @@ public class CircuitBreakerSecuredHttpClientTest {
         return future;
     }
 
-    private void doWaitForOpeningInterval(TestContext context) {
-        doWait(context, 150L);
+    private void doWaitForOpeningInterval() {
+        givenCurrentTime(currentTimeMillis + 150L);
     }
 
-    private void doWaitForClosingInterval(TestContext context) {
-        doWait(context, 250L);
+    private void doWaitForClosingInterval() {
+        givenCurrentTime(currentTimeMillis + 250L);
     }
 
-    private void doWait(TestContext context, long timeout) {
-        final Async async = context.async();
-        vertx.setTimer(timeout, id -> async.complete());
-        async.await();
+    private void givenCurrentTime(long millis) {
+        currentTimeMillis = millis;
+        given(clock.millis()).willReturn(millis);
     }
 }